@@ -203,6 +203,11 @@ public class VertexElement implements Comparable<VertexElement> {
     excludedEdges.clear();
   }
 
+  /** Boolean function to check if an edge is excluded in the getConnectedEdges() function */
+  public boolean isExcludedEdge(EdgeElement edge) {
+    return excludedEdges.isEmpty() == false && excludedEdges.contains(edge);
+  }
+
   /** Add an edge that should be excluded in the getConnectedEdges() function */
   public void excludeEdge(EdgeElement edge) {
     if (this.getConnectedEdges().contains(edge)) this.excludedEdges.add(edge);
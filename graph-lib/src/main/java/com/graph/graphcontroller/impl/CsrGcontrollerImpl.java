@@ -0,0 +1,581 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.graphcontroller.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.EdgeParams;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.logger.GraphLogger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Graph controller storing the topology in compressed sparse row (CSR) form. Vertices and edges
+ * are numbered densely in insertion order, the adjacency of vertex v is found at the positions
+ * offsets[v] to offsets[v + 1] of the targets and adjacent edge arrays. Edges are undirected and
+ * appear in the adjacency of both end points.
+ *
+ * <p>The delay, weight and capacity of the edges are stored in primitive columns. The parameters
+ * of an inserted edge are replaced by a view on these columns, so that reservations made through
+ * {@link EdgeParams} are seen by the algorithms reading the columns directly. The VertexElement and
+ * EdgeElement objects are kept for compatibility with the rest of the library.
+ *
+ * <p>The adjacency arrays are rebuilt on the first access after an insertion. Path computations
+ * may run concurrently once the topology is complete.
+ *
+ * <p>A copy shares the index maps, the adjacency arrays and the columns with the graph it was
+ * created from. Shared arrays are copied by the graph writing them first, so that a copy only
+ * duplicates the columns that are modified, e.g. the available capacity after a reservation.
+ */
+public class CsrGcontrollerImpl implements Gcontroller {
+
+  private static final String classIdentifier = "CsrGcontrollerImpl";
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** Vertices and edges indexed by their dense identifier */
+  private final ArrayList<VertexElement> vertices = new ArrayList<VertexElement>();
+
+  private final ArrayList<EdgeElement> edges = new ArrayList<EdgeElement>();
+
+  /** Mapping from the vertex and edge IDs to the dense identifiers */
+  private HashMap<String, Integer> vertexIndexMap = new HashMap<String, Integer>();
+
+  private HashMap<String, Integer> edgeIndexMap = new HashMap<String, Integer>();
+
+  /** End points of every edge */
+  private int[] edgeSources = new int[INITIAL_CAPACITY];
+
+  private int[] edgeDestinations = new int[INITIAL_CAPACITY];
+
+  /** Parameter columns indexed by edge */
+  private double[] delays = new double[INITIAL_CAPACITY];
+
+  private double[] weights = new double[INITIAL_CAPACITY];
+
+  private double[] maxCapacities = new double[INITIAL_CAPACITY];
+
+  private double[] availableCapacities = new double[INITIAL_CAPACITY];
+
+  /** Adjacency in CSR form, rebuilt after the topology changed */
+  private int[] offsets;
+
+  private int[] targets;
+
+  private int[] adjacentEdges;
+
+  private volatile boolean compiled = false;
+
+  /** Flags for the arrays shared with a copy of the graph, copied before they are written */
+  private boolean sharedStructure = false;
+
+  private boolean sharedDelays = false;
+
+  private boolean sharedWeights = false;
+
+  private boolean sharedMaxCapacities = false;
+
+  private boolean sharedAvailableCapacities = false;
+
+  /** default Constructor */
+  public CsrGcontrollerImpl() {}
+
+  /**
+   * Constructor creating a copy of a graph. The vertex and edge elements are created for the new
+   * graph, the index maps, adjacency arrays and columns are shared with the original graph.
+   */
+  private CsrGcontrollerImpl(CsrGcontrollerImpl original) {
+    synchronized (original) {
+      original.compile();
+      original.markShared();
+      markShared();
+      vertexIndexMap = original.vertexIndexMap;
+      edgeIndexMap = original.edgeIndexMap;
+      edgeSources = original.edgeSources;
+      edgeDestinations = original.edgeDestinations;
+      delays = original.delays;
+      weights = original.weights;
+      maxCapacities = original.maxCapacities;
+      availableCapacities = original.availableCapacities;
+      offsets = original.offsets;
+      targets = original.targets;
+      adjacentEdges = original.adjacentEdges;
+
+      vertices.ensureCapacity(original.vertices.size());
+      for (VertexElement vertex : original.vertices) {
+        vertices.add(vertex.copyVertexElement(this));
+      }
+      edges.ensureCapacity(original.edges.size());
+      for (int i = 0; i < original.edges.size(); i++) {
+        EdgeElement originalEdge = original.edges.get(i);
+        EdgeElement edge =
+            new EdgeElement(
+                originalEdge.getEdgeID(),
+                vertices.get(edgeSources[i]),
+                vertices.get(edgeDestinations[i]),
+                this);
+        ColumnEdgeParams params = new ColumnEdgeParams(edge, i);
+        params.setDynamicLink(originalEdge.getEdgeParams().isDynamicLink());
+        edge.setEdgeParams(params);
+        edges.add(edge);
+        edge.getSourceVertex().insertConnectedEdge(edge);
+        edge.getDestinationVertex().insertConnectedEdge(edge);
+      }
+      compiled = true;
+    }
+  }
+
+  /** Function to mark all arrays as shared with another graph */
+  private void markShared() {
+    sharedStructure = true;
+    sharedDelays = true;
+    sharedWeights = true;
+    sharedMaxCapacities = true;
+    sharedAvailableCapacities = true;
+  }
+
+  /** Function to copy all shared arrays before the topology is modified */
+  private void copySharedStructure() {
+    if (sharedStructure) {
+      vertexIndexMap = new HashMap<String, Integer>(vertexIndexMap);
+      edgeIndexMap = new HashMap<String, Integer>(edgeIndexMap);
+      edgeSources = edgeSources.clone();
+      edgeDestinations = edgeDestinations.clone();
+      sharedStructure = false;
+    }
+    copySharedDelays();
+    copySharedWeights();
+    copySharedMaxCapacities();
+    copySharedAvailableCapacities();
+  }
+
+  private void copySharedDelays() {
+    if (sharedDelays) {
+      delays = delays.clone();
+      sharedDelays = false;
+    }
+  }
+
+  private void copySharedWeights() {
+    if (sharedWeights) {
+      weights = weights.clone();
+      sharedWeights = false;
+    }
+  }
+
+  private void copySharedMaxCapacities() {
+    if (sharedMaxCapacities) {
+      maxCapacities = maxCapacities.clone();
+      sharedMaxCapacities = false;
+    }
+  }
+
+  private void copySharedAvailableCapacities() {
+    if (sharedAvailableCapacities) {
+      availableCapacities = availableCapacities.clone();
+      sharedAvailableCapacities = false;
+    }
+  }
+
+  /** Function to get the number of vertices */
+  public int getVertexCount() {
+    return vertices.size();
+  }
+
+  /** Function to get the number of edges */
+  public int getEdgeCount() {
+    return edges.size();
+  }
+
+  /** Function to get the dense identifier of a vertex, -1 if the vertex does not exist */
+  public int getVertexIndex(String vertexID) {
+    Integer index = vertexIndexMap.get(vertexID);
+    return index == null ? -1 : index;
+  }
+
+  /** Function to get the dense identifier of an edge, -1 if the edge does not exist */
+  public int getEdgeIndex(String edgeID) {
+    Integer index = edgeIndexMap.get(edgeID);
+    return index == null ? -1 : index;
+  }
+
+  /** Function to get the vertex element with the given dense identifier */
+  public VertexElement getVertexElement(int vertexIndex) {
+    return vertices.get(vertexIndex);
+  }
+
+  /** Function to get the edge element with the given dense identifier */
+  public EdgeElement getEdgeElement(int edgeIndex) {
+    return edges.get(edgeIndex);
+  }
+
+  /** Function to get the start of the adjacency of every vertex, of length vertexCount + 1 */
+  public int[] getOffsets() {
+    compile();
+    return offsets;
+  }
+
+  /** Function to get the vertex reached by every adjacency entry */
+  public int[] getTargets() {
+    compile();
+    return targets;
+  }
+
+  /** Function to get the edge of every adjacency entry */
+  public int[] getAdjacentEdges() {
+    compile();
+    return adjacentEdges;
+  }
+
+  public double getDelay(int edgeIndex) {
+    return delays[edgeIndex];
+  }
+
+  public double getWeight(int edgeIndex) {
+    return weights[edgeIndex];
+  }
+
+  public double getMaxCapacity(int edgeIndex) {
+    return maxCapacities[edgeIndex];
+  }
+
+  public double getAvailableCapacity(int edgeIndex) {
+    return availableCapacities[edgeIndex];
+  }
+
+  /** Function to get the end of an edge opposite to the given vertex */
+  public int getOppositeVertex(int edgeIndex, int vertexIndex) {
+    return edgeSources[edgeIndex] == vertexIndex
+        ? edgeDestinations[edgeIndex]
+        : edgeSources[edgeIndex];
+  }
+
+  public synchronized void addVertex(VertexElement vertex) {
+    if (vertex == null) {
+      GraphLogger.logError("Cannot insert a null vertexElement into graph", classIdentifier);
+    } else if (this.vertexExists(vertex) == false) {
+      copySharedStructure();
+      vertexIndexMap.put(vertex.getVertexID(), vertices.size());
+      vertices.add(vertex);
+      compiled = false;
+    } else GraphLogger.logMsg("Vertex already exists", classIdentifier);
+  }
+
+  /**
+   * Function to add an edge in the graph. Also responsible for inserting the edges in the
+   * VertexElements. The parameters of the edge are copied into the columns of the graph.
+   */
+  public synchronized void addEdge(EdgeElement edge) {
+    int source = getVertexIndex(edge.getSourceVertex().getVertexID());
+    int destination = getVertexIndex(edge.getDestinationVertex().getVertexID());
+    if (source < 0 || destination < 0 || edgeIndexMap.containsKey(edge.getEdgeID())) {
+      GraphLogger.logMsg("Error inserting edge in the graph", classIdentifier);
+      return;
+    }
+
+    copySharedStructure();
+    int index = edges.size();
+    if (index == weights.length) {
+      int capacity = index * 2;
+      edgeSources = Arrays.copyOf(edgeSources, capacity);
+      edgeDestinations = Arrays.copyOf(edgeDestinations, capacity);
+      delays = Arrays.copyOf(delays, capacity);
+      weights = Arrays.copyOf(weights, capacity);
+      maxCapacities = Arrays.copyOf(maxCapacities, capacity);
+      availableCapacities = Arrays.copyOf(availableCapacities, capacity);
+    }
+    edgeSources[index] = source;
+    edgeDestinations[index] = destination;
+
+    ColumnEdgeParams params = new ColumnEdgeParams(edge, index);
+    EdgeParams initParams = edge.getEdgeParams();
+    if (initParams != null) {
+      delays[index] = initParams.getDelay();
+      weights[index] = initParams.getWeight();
+      maxCapacities[index] = initParams.getMaxCapacity();
+      availableCapacities[index] = initParams.getAvailableCapacity();
+      params.setDynamicLink(initParams.isDynamicLink());
+    }
+    edge.setEdgeParams(params);
+
+    edgeIndexMap.put(edge.getEdgeID(), index);
+    edges.add(edge);
+    edge.getSourceVertex().insertConnectedEdge(edge);
+    edge.getDestinationVertex().insertConnectedEdge(edge);
+    compiled = false;
+  }
+
+  /** Function to rebuild the adjacency arrays if the topology changed */
+  private void compile() {
+    if (compiled) return;
+    synchronized (this) {
+      if (compiled) return;
+      int vertexCount = vertices.size();
+      int edgeCount = edges.size();
+
+      // Count the adjacency entries of every vertex
+      int[] newOffsets = new int[vertexCount + 1];
+      for (int i = 0; i < edgeCount; i++) {
+        newOffsets[edgeSources[i] + 1]++;
+        newOffsets[edgeDestinations[i] + 1]++;
+      }
+      for (int v = 0; v < vertexCount; v++) {
+        newOffsets[v + 1] += newOffsets[v];
+      }
+
+      // Fill the entries in edge insertion order
+      int[] position = Arrays.copyOf(newOffsets, vertexCount);
+      int[] newTargets = new int[2 * edgeCount];
+      int[] newAdjacentEdges = new int[2 * edgeCount];
+      for (int i = 0; i < edgeCount; i++) {
+        int k = position[edgeSources[i]]++;
+        newTargets[k] = edgeDestinations[i];
+        newAdjacentEdges[k] = i;
+        k = position[edgeDestinations[i]]++;
+        newTargets[k] = edgeSources[i];
+        newAdjacentEdges[k] = i;
+      }
+
+      offsets = newOffsets;
+      targets = newTargets;
+      adjacentEdges = newAdjacentEdges;
+      compiled = true;
+    }
+  }
+
+  public Set<String> getVertexIDSet() {
+    Set<String> vertexIDSet = new LinkedHashSet<String>();
+    for (VertexElement vertex : vertices) {
+      vertexIDSet.add(vertex.getVertexID());
+    }
+    return vertexIDSet;
+  }
+
+  public Set<VertexElement> getVertexSet() {
+    return new HashSet<VertexElement>(vertices);
+  }
+
+  public Set<String> getEdgeIDSet() {
+    Set<String> edgeIDSet = new LinkedHashSet<String>();
+    for (EdgeElement edge : edges) {
+      edgeIDSet.add(edge.getEdgeID());
+    }
+    return edgeIDSet;
+  }
+
+  public Set<EdgeElement> getEdgeSet() {
+    return new HashSet<EdgeElement>(edges);
+  }
+
+  public EdgeElement getConnectingEdge(String vertexID1, String vertexID2) {
+    int edge = findConnectingEdge(getVertexIndex(vertexID1), getVertexIndex(vertexID2));
+    if (edge < 0) {
+      GraphLogger.logError(
+          "No Edge connecting " + vertexID1 + " to " + vertexID2 + " in the CSR Graph",
+          classIdentifier);
+      return null;
+    }
+    return edges.get(edge);
+  }
+
+  public EdgeElement getConnectingEdge(VertexElement vertexID1, VertexElement vertexID2) {
+    return getConnectingEdge(vertexID1.getVertexID(), vertexID2.getVertexID());
+  }
+
+  public ArrayList<EdgeElement> allConnectingEdges(String vertexID1, String vertexID2) {
+    int source = getVertexIndex(vertexID1);
+    int destination = getVertexIndex(vertexID2);
+    ArrayList<EdgeElement> temp = new ArrayList<EdgeElement>();
+    if (source >= 0 && destination >= 0) {
+      int[] offsets = getOffsets();
+      for (int k = offsets[source]; k < offsets[source + 1]; k++) {
+        if (targets[k] == destination) temp.add(edges.get(adjacentEdges[k]));
+      }
+    }
+    if (temp.size() == 0) return null;
+    else return temp;
+  }
+
+  public ArrayList<EdgeElement> allConnectingEdges(
+      VertexElement vertexID1, VertexElement vertexID2) {
+    return allConnectingEdges(vertexID1.getVertexID(), vertexID2.getVertexID());
+  }
+
+  public boolean aConnectingEdge(String vertexID1, String vertexID2) {
+    return findConnectingEdge(getVertexIndex(vertexID1), getVertexIndex(vertexID2)) >= 0;
+  }
+
+  public boolean aConnectingEdge(VertexElement vertexID1, VertexElement vertexID2) {
+    return aConnectingEdge(vertexID1.getVertexID(), vertexID2.getVertexID());
+  }
+
+  /** Function to get the first edge between two vertices, -1 if they are not adjacent */
+  private int findConnectingEdge(int source, int destination) {
+    if (source < 0 || destination < 0) return -1;
+    int[] offsets = getOffsets();
+    for (int k = offsets[source]; k < offsets[source + 1]; k++) {
+      if (targets[k] == destination) return adjacentEdges[k];
+    }
+    return -1;
+  }
+
+  public boolean vertexExists(String vertexID) {
+    return vertexIndexMap.containsKey(vertexID);
+  }
+
+  public boolean vertexExists(VertexElement vertex) {
+    return vertexIndexMap.containsKey(vertex.getVertexID());
+  }
+
+  public VertexElement getVertex(String vertexID) {
+    int index = getVertexIndex(vertexID);
+    if (index < 0) {
+      GraphLogger.logError(
+          "Vertex with ID :" + vertexID + " not found in vertexMap.", classIdentifier);
+      return null;
+    }
+    return vertices.get(index);
+  }
+
+  public EdgeElement getEdge(String edgeID) {
+    int index = getEdgeIndex(edgeID);
+    if (index < 0) {
+      GraphLogger.logError("Edge with ID :" + edgeID + " not found in edgeMap.", classIdentifier);
+      return null;
+    }
+    return edges.get(index);
+  }
+
+  /**
+   * Function to update the parameters of an edge. The values are copied into the columns, the
+   * edge keeps the view on the columns.
+   */
+  public synchronized void updateEdgeParams(String edgeID, EdgeParams params) {
+    int index = getEdgeIndex(edgeID);
+    if (index < 0) {
+      GraphLogger.logError("Edge with ID :" + edgeID + " not found in edgeMap.", classIdentifier);
+      return;
+    }
+    copySharedDelays();
+    copySharedWeights();
+    copySharedMaxCapacities();
+    copySharedAvailableCapacities();
+    delays[index] = params.getDelay();
+    weights[index] = params.getWeight();
+    maxCapacities[index] = params.getMaxCapacity();
+    availableCapacities[index] = params.getAvailableCapacity();
+    edges.get(index).getEdgeParams().setDynamicLink(params.isDynamicLink());
+  }
+
+  public Gcontroller createCopy() {
+    return new CsrGcontrollerImpl(this);
+  }
+
+  /** Edge parameters reading and writing the columns of the graph */
+  private class ColumnEdgeParams extends EdgeParams {
+
+    private final int index;
+
+    private boolean isDynamicLink = false;
+
+    ColumnEdgeParams(EdgeElement edge, int index) {
+      this.setEdgeElement(edge);
+      this.index = index;
+    }
+
+    public boolean isDynamicLink() {
+      return isDynamicLink;
+    }
+
+    public void setDynamicLink(boolean isDynamicLink) {
+      this.isDynamicLink = isDynamicLink;
+    }
+
+    public double getDelay() {
+      return delays[index];
+    }
+
+    protected void setDelay(double delay) {
+      copySharedDelays();
+      delays[index] = delay;
+    }
+
+    public double getWeight() {
+      return weights[index];
+    }
+
+    public void setWeight(double w) {
+      copySharedWeights();
+      weights[index] = w;
+    }
+
+    public double getMaxCapacity() {
+      return maxCapacities[index];
+    }
+
+    public void setMaxCapacity(double capacity) {
+      copySharedMaxCapacities();
+      maxCapacities[index] = capacity;
+    }
+
+    public void setAvailableCapacity(double capacity) {
+      copySharedAvailableCapacities();
+      availableCapacities[index] = capacity;
+    }
+
+    public double getUsedCapacity() {
+      return maxCapacities[index] - availableCapacities[index];
+    }
+
+    public double getAvailableCapacity() {
+      return availableCapacities[index];
+    }
+
+    public boolean reserveCapacity(double capacity) {
+      if (availableCapacities[index] < capacity) {
+        GraphLogger.logError("Not Enough Capacity left for reservation", classIdentifier);
+        return false;
+      }
+      copySharedAvailableCapacities();
+      availableCapacities[index] -= capacity;
+      return true;
+    }
+
+    public boolean releaseCapacity(double capacity) {
+      if (getUsedCapacity() < capacity) {
+        GraphLogger.logError(
+            "Capacity release requested is greater than total used capacity", classIdentifier);
+        return false;
+      }
+      copySharedAvailableCapacities();
+      availableCapacities[index] += capacity;
+      return true;
+    }
+
+    public EdgeParams copyEdgeParams(EdgeElement newElement) {
+      EdgeParams params =
+          new BasicEdgeParams(newElement, getDelay(), getWeight(), getMaxCapacity());
+      params.setAvailableCapacity(getAvailableCapacity());
+      params.setDynamicLink(isDynamicLink);
+      return params;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.common;
+
+/**
+ * Flag used to abort a path computation whose result is no longer needed, either because the
+ * computation was cancelled by the thread owning the request or because the deadline of the request
+ * has passed. The flag is polled by the search between two expansions.
+ */
+public class CancellationFlag {
+
+  private volatile boolean cancelled = false;
+
+  // System.nanoTime() value after which the computation is aborted, 0 if there is no deadline
+  private volatile long deadline = 0;
+
+  /** Function to request the computation to stop */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /** Function to check if the computation was cancelled */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Function to set the deadline of the computation
+   *
+   * @param deadline System.nanoTime() value after which the computation is aborted, 0 for none
+   */
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /** Function to check if the deadline of the computation has passed */
+  public boolean isExpired() {
+    long deadline = this.deadline;
+    return deadline != 0 && System.nanoTime() - deadline >= 0;
+  }
+
+  /** Function polled by the algorithms, true if the computation was cancelled or has expired */
+  public boolean shouldAbort() {
+    return cancelled || isExpired();
+  }
+}
@@ -0,0 +1,366 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.common;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.params.PathParams;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Working storage for label setting searches over a {@link CsrGcontrollerImpl}. Labels are kept in
+ * primitive arrays indexed by the dense vertex identifiers, together with an indexed binary heap.
+ * The arrays are invalidated by incrementing a generation counter, so a search does not allocate
+ * unless the path itself is built.
+ *
+ * <p>Workspaces are borrowed from a bounded pool for the duration of a search and released
+ * afterwards, rather than kept per thread, so that searches running on short lived virtual threads
+ * reuse the arrays as well.
+ */
+public class CsrSearchWorkspace {
+
+  /** Maximum number of idle workspaces kept in the pool */
+  public static final int MAX_POOLED_WORKSPACES = 64;
+
+  // Idle workspaces ready to be reused
+  private static final ConcurrentLinkedQueue<CsrSearchWorkspace> workspaces =
+      new ConcurrentLinkedQueue<CsrSearchWorkspace>();
+
+  // Number of idle workspaces, kept separately as the size of the queue is not constant time
+  private static final AtomicInteger pooledWorkspaces = new AtomicInteger();
+
+  /** Heap position of a settled vertex */
+  private static final int SETTLED = -2;
+
+  /** Generation in which a vertex was last labelled, labels of older generations are unset */
+  private int[] generations = new int[0];
+
+  private int generation = 0;
+
+  private double[] keys = new double[0];
+
+  private double[] tieBreakKeys = new double[0];
+
+  private long[] sequences = new long[0];
+
+  private int[] predecessorEdges = new int[0];
+
+  private int[] predecessorVertices = new int[0];
+
+  /** Position in the heap, -1 if not queued and SETTLED once the label is final */
+  private int[] heapIndexes = new int[0];
+
+  private int[] heap = new int[0];
+
+  private int heapSize;
+
+  private long sequence;
+
+  /** Reusable view on the path to a labelled vertex */
+  private final WorkspacePathElement pathView = new WorkspacePathElement(this);
+
+  /**
+   * Function to borrow a workspace cleared and sized for the graph, a new one is allocated if the
+   * pool is empty. The workspace must be returned with {@link #release()} once the search is done.
+   *
+   * @param vertexCount number of vertices of the searched graph
+   */
+  public static CsrSearchWorkspace acquire(int vertexCount) {
+    CsrSearchWorkspace workspace = workspaces.poll();
+    if (workspace == null) {
+      workspace = new CsrSearchWorkspace();
+    } else {
+      pooledWorkspaces.decrementAndGet();
+    }
+    workspace.reset(vertexCount);
+    return workspace;
+  }
+
+  /**
+   * Function to return the workspace to the pool, the labels and path views of the workspace must
+   * no longer be used
+   */
+  public void release() {
+    if (pooledWorkspaces.incrementAndGet() <= MAX_POOLED_WORKSPACES) {
+      workspaces.offer(this);
+    } else {
+      pooledWorkspaces.decrementAndGet();
+    }
+  }
+
+  /** Function to get the number of idle workspaces currently held by the pool */
+  public static int getPooledWorkspaceCount() {
+    return pooledWorkspaces.get();
+  }
+
+  private void reset(int vertexCount) {
+    if (generations.length < vertexCount) {
+      int capacity = Math.max(vertexCount, generations.length * 2);
+      generations = new int[capacity];
+      keys = new double[capacity];
+      tieBreakKeys = new double[capacity];
+      sequences = new long[capacity];
+      predecessorEdges = new int[capacity];
+      predecessorVertices = new int[capacity];
+      heapIndexes = new int[capacity];
+      heap = new int[capacity];
+      generation = 0;
+    }
+    if (++generation == Integer.MAX_VALUE) {
+      Arrays.fill(generations, 0);
+      generation = 1;
+    }
+    heapSize = 0;
+    sequence = 0;
+  }
+
+  /** Function to label the source of the search as settled with key 0 */
+  public void setSource(int vertex) {
+    generations[vertex] = generation;
+    keys[vertex] = 0;
+    tieBreakKeys[vertex] = 0;
+    predecessorEdges[vertex] = -1;
+    predecessorVertices[vertex] = -1;
+    heapIndexes[vertex] = SETTLED;
+  }
+
+  /**
+   * Function to offer a path reaching a vertex over an edge. The label of the vertex is updated if
+   * the key is smaller than the key of the best path found so far.
+   *
+   * @return true if the label was updated
+   */
+  public boolean relax(int vertex, int edge, int nextVertex, double key) {
+    return relax(vertex, edge, nextVertex, key, 0);
+  }
+
+  /**
+   * Function to offer a path reaching a vertex over an edge. The label of the vertex is updated if
+   * the key is smaller than the key of the best path found so far, or if the keys are equal and the
+   * secondary key is smaller.
+   *
+   * @return true if the label was updated
+   */
+  public boolean relax(int vertex, int edge, int nextVertex, double key, double tieBreakKey) {
+    if (generations[nextVertex] == generation) {
+      if (heapIndexes[nextVertex] == SETTLED
+          || key > keys[nextVertex]
+          || (key == keys[nextVertex] && tieBreakKey >= tieBreakKeys[nextVertex])) return false;
+    } else {
+      generations[nextVertex] = generation;
+      heapIndexes[nextVertex] = -1;
+    }
+    keys[nextVertex] = key;
+    tieBreakKeys[nextVertex] = tieBreakKey;
+    sequences[nextVertex] = sequence++;
+    predecessorEdges[nextVertex] = edge;
+    predecessorVertices[nextVertex] = vertex;
+    if (heapIndexes[nextVertex] < 0) {
+      heap[heapSize] = nextVertex;
+      heapIndexes[nextVertex] = heapSize++;
+    }
+    siftUp(heapIndexes[nextVertex]);
+    return true;
+  }
+
+  /** Function to remove the queued vertex with the smallest key and settle its label */
+  public int poll() {
+    if (heapSize == 0) return -1;
+    int first = heap[0];
+    int last = heap[--heapSize];
+    if (heapSize > 0) {
+      heap[0] = last;
+      heapIndexes[last] = 0;
+      siftDown(0);
+    }
+    heapIndexes[first] = SETTLED;
+    return first;
+  }
+
+  /** Function to get the queued vertex with the smallest key without removing it, -1 if empty */
+  public int peek() {
+    return heapSize == 0 ? -1 : heap[0];
+  }
+
+  public boolean isEmpty() {
+    return heapSize == 0;
+  }
+
+  /** Function to check if the label of a vertex is final */
+  public boolean isSettled(int vertex) {
+    return generations[vertex] == generation && heapIndexes[vertex] == SETTLED;
+  }
+
+  /** Function to check if a vertex has been reached by the search */
+  public boolean isLabelled(int vertex) {
+    return generations[vertex] == generation;
+  }
+
+  public double getKey(int vertex) {
+    return keys[vertex];
+  }
+
+  public double getTieBreakKey(int vertex) {
+    return tieBreakKeys[vertex];
+  }
+
+  /** Function to get the last edge of the best path to a vertex, -1 for the source */
+  public int getPredecessorEdge(int vertex) {
+    return predecessorEdges[vertex];
+  }
+
+  /** Function to get the previous vertex of the best path to a vertex, -1 for the source */
+  public int getPredecessorVertex(int vertex) {
+    return predecessorVertices[vertex];
+  }
+
+  /** Function to get the ordered list of edges of the best path to a vertex */
+  public ArrayList<EdgeElement> getEdgeSequence(CsrGcontrollerImpl graph, int vertex) {
+    int hopCount = 0;
+    for (int v = vertex; predecessorEdges[v] >= 0; v = predecessorVertices[v]) {
+      hopCount++;
+    }
+    EdgeElement[] sequence = new EdgeElement[hopCount];
+    for (int v = vertex; predecessorEdges[v] >= 0; v = predecessorVertices[v]) {
+      sequence[--hopCount] = graph.getEdgeElement(predecessorEdges[v]);
+    }
+    return new ArrayList<EdgeElement>(Arrays.asList(sequence));
+  }
+
+  /** Function to build the best path to a vertex */
+  public PathElement getPath(CsrGcontrollerImpl graph, VertexElement source, int vertex) {
+    return new PathElementImpl(
+        graph, source, graph.getVertexElement(vertex), getEdgeSequence(graph, vertex));
+  }
+
+  /**
+   * Function to get a view on the best path to a vertex. The view is reused by the next call, its
+   * edge sequence is only built if it is inspected.
+   */
+  public PathElement getPathView(CsrGcontrollerImpl graph, VertexElement source, int vertex) {
+    pathView.reset(graph, source, vertex);
+    return pathView;
+  }
+
+  /** Function to check if a vertex lies on the best path to another vertex */
+  boolean pathContainsVertex(int vertex, int pathVertex) {
+    for (int v = vertex; v >= 0; v = predecessorVertices[v]) {
+      if (v == pathVertex) return true;
+    }
+    return false;
+  }
+
+  private boolean less(int a, int b) {
+    if (keys[a] != keys[b]) return keys[a] < keys[b];
+    if (tieBreakKeys[a] != tieBreakKeys[b]) return tieBreakKeys[a] < tieBreakKeys[b];
+    return sequences[a] < sequences[b];
+  }
+
+  private void siftUp(int index) {
+    int vertex = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!less(vertex, heap[parent])) break;
+      heap[index] = heap[parent];
+      heapIndexes[heap[index]] = index;
+      index = parent;
+    }
+    heap[index] = vertex;
+    heapIndexes[vertex] = index;
+  }
+
+  private void siftDown(int index) {
+    int vertex = heap[index];
+    int half = heapSize >>> 1;
+    while (index < half) {
+      int child = 2 * index + 1;
+      if (child + 1 < heapSize && less(heap[child + 1], heap[child])) child++;
+      if (!less(heap[child], vertex)) break;
+      heap[index] = heap[child];
+      heapIndexes[heap[index]] = index;
+      index = child;
+    }
+    heap[index] = vertex;
+    heapIndexes[vertex] = index;
+  }
+
+  /** Path to a labelled vertex of the workspace, the edge sequence is built on first access */
+  private static class WorkspacePathElement extends PathElement {
+
+    private final CsrSearchWorkspace workspace;
+
+    private CsrGcontrollerImpl csrGraph;
+
+    private int vertex;
+
+    private PathElementImpl path;
+
+    WorkspacePathElement(CsrSearchWorkspace workspace) {
+      this.workspace = workspace;
+      this.setPathParams(new PathParams(this));
+    }
+
+    void reset(CsrGcontrollerImpl graph, VertexElement source, int vertex) {
+      this.graph = graph;
+      this.csrGraph = graph;
+      this.source = source;
+      this.destination = graph.getVertexElement(vertex);
+      this.vertex = vertex;
+      this.path = null;
+    }
+
+    private PathElementImpl getPath() {
+      if (path == null) {
+        path = (PathElementImpl) workspace.getPath(csrGraph, source, vertex);
+      }
+      return path;
+    }
+
+    public ArrayList<VertexElement> getTraversedVertices() {
+      return getPath().getTraversedVertices();
+    }
+
+    public ArrayList<EdgeElement> getTraversedEdges() {
+      return getPath().getTraversedEdges();
+    }
+
+    public boolean containsVertex(VertexElement vertexElement) {
+      int index = csrGraph.getVertexIndex(vertexElement.getVertexID());
+      return index >= 0 && workspace.pathContainsVertex(vertex, index);
+    }
+
+    public boolean containsEdge(EdgeElement edge) {
+      return getPath().containsEdge(edge);
+    }
+
+    public boolean resvBandwidth(double bw) {
+      return getPath().resvBandwidth(bw);
+    }
+
+    public boolean releaseBandwidth(double bw) {
+      return getPath().releaseBandwidth(bw);
+    }
+
+    public void setEdgeSequence(ArrayList<EdgeElement> edges) {
+      getPath().setEdgeSequence(edges);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.common;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Label of a vertex reached during a shortest path search. The label stores the key of the best
+ * path found so far and the last edge of that path, the complete path is recovered by following
+ * the predecessor labels back to the source.
+ */
+public class PathLabel {
+
+  /** Vertex owning the label */
+  private final VertexElement vertex;
+
+  /** Key of the best path to the vertex, for example its accumulated weight */
+  private double key;
+
+  /** Secondary key breaking ties between paths of equal key */
+  private double tieBreakKey;
+
+  /** Last edge and label of the previous vertex on the best path, null for the source */
+  private EdgeElement predecessorEdge;
+
+  private PathLabel predecessor;
+
+  /** Number of edges on the best path */
+  private int hopCount;
+
+  /** Flag set once the best path to the vertex is final */
+  private boolean settled;
+
+  /** Position in the heap and insertion order, maintained by PathLabelHeap */
+  int heapIndex = -1;
+
+  long sequence;
+
+  public PathLabel(VertexElement vertex) {
+    this.vertex = vertex;
+  }
+
+  /** Function to get the vertex owning the label */
+  public VertexElement getVertex() {
+    return vertex;
+  }
+
+  /** Function to get the key of the best path to the vertex */
+  public double getKey() {
+    return key;
+  }
+
+  /** Function to get the secondary key of the best path to the vertex */
+  public double getTieBreakKey() {
+    return tieBreakKey;
+  }
+
+  /** Function to get the last edge of the best path, null for the source */
+  public EdgeElement getPredecessorEdge() {
+    return predecessorEdge;
+  }
+
+  /** Function to get the label of the previous vertex on the best path, null for the source */
+  public PathLabel getPredecessor() {
+    return predecessor;
+  }
+
+  /** Function to get the number of edges on the best path */
+  public int getHopCount() {
+    return hopCount;
+  }
+
+  /** Function to record a better path reaching the vertex over the given edge */
+  public void setPredecessor(PathLabel predecessor, EdgeElement predecessorEdge) {
+    this.predecessor = predecessor;
+    this.predecessorEdge = predecessorEdge;
+    this.hopCount = predecessor == null ? 0 : predecessor.hopCount + 1;
+  }
+
+  public boolean isSettled() {
+    return settled;
+  }
+
+  public void setSettled(boolean settled) {
+    this.settled = settled;
+  }
+
+  /** Function to check if the vertex lies on the best path to this label */
+  public boolean pathContainsVertex(VertexElement vertex) {
+    for (PathLabel label = this; label != null; label = label.predecessor) {
+      if (label.vertex.compareTo(vertex) == 0) return true;
+    }
+    return false;
+  }
+
+  /** Function to get the ordered list of edges of the best path, starting at the source */
+  public ArrayList<EdgeElement> getEdgeSequence() {
+    ArrayList<EdgeElement> edges = new ArrayList<EdgeElement>(hopCount);
+    for (PathLabel label = this; label.predecessor != null; label = label.predecessor) {
+      edges.add(label.predecessorEdge);
+    }
+    Collections.reverse(edges);
+    return edges;
+  }
+
+  void setKey(double key, double tieBreakKey) {
+    this.key = key;
+    this.tieBreakKey = tieBreakKey;
+  }
+}
@@ -0,0 +1,139 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.common;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of path labels ordered by their key, then by their secondary key. Labels store
+ * their own heap position, so the key of a queued label can be changed in logarithmic time. Labels
+ * with equal keys are polled in the order in which their key was last set.
+ */
+public class PathLabelHeap {
+
+  private PathLabel[] heap;
+
+  private int size;
+
+  /** Counter providing the insertion order used to break ties */
+  private long sequence;
+
+  public PathLabelHeap() {
+    this(16);
+  }
+
+  public PathLabelHeap(int initialCapacity) {
+    heap = new PathLabel[Math.max(initialCapacity, 1)];
+  }
+
+  /** Function to insert a label or to change the key of a queued label */
+  public void update(PathLabel label, double key) {
+    update(label, key, 0);
+  }
+
+  /** Function to insert a label or to change the keys of a queued label */
+  public void update(PathLabel label, double key, double tieBreakKey) {
+    label.setKey(key, tieBreakKey);
+    label.sequence = sequence++;
+    if (label.heapIndex < 0) {
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, size * 2);
+      }
+      label.heapIndex = size;
+      heap[size++] = label;
+      siftUp(label.heapIndex);
+    } else {
+      // The key may have moved in either direction
+      siftDown(siftUp(label.heapIndex));
+    }
+  }
+
+  /** Function to remove and return the label with the smallest key, null if the heap is empty */
+  public PathLabel poll() {
+    if (size == 0) return null;
+    PathLabel first = heap[0];
+    first.heapIndex = -1;
+    PathLabel last = heap[--size];
+    heap[size] = null;
+    if (size > 0) {
+      heap[0] = last;
+      last.heapIndex = 0;
+      siftDown(0);
+    }
+    return first;
+  }
+
+  /** Function to get the label with the smallest key without removing it, null if empty */
+  public PathLabel peek() {
+    return size == 0 ? null : heap[0];
+  }
+
+  /** Function to check if a label is currently queued */
+  public boolean contains(PathLabel label) {
+    return label.heapIndex >= 0 && label.heapIndex < size && heap[label.heapIndex] == label;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Function to remove all labels from the heap */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      heap[i].heapIndex = -1;
+      heap[i] = null;
+    }
+    size = 0;
+  }
+
+  private boolean less(PathLabel a, PathLabel b) {
+    if (a.getKey() != b.getKey()) return a.getKey() < b.getKey();
+    if (a.getTieBreakKey() != b.getTieBreakKey()) return a.getTieBreakKey() < b.getTieBreakKey();
+    return a.sequence < b.sequence;
+  }
+
+  private int siftUp(int index) {
+    PathLabel label = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!less(label, heap[parent])) break;
+      heap[index] = heap[parent];
+      heap[index].heapIndex = index;
+      index = parent;
+    }
+    heap[index] = label;
+    label.heapIndex = index;
+    return index;
+  }
+
+  private void siftDown(int index) {
+    PathLabel label = heap[index];
+    int half = size >>> 1;
+    while (index < half) {
+      int child = 2 * index + 1;
+      if (child + 1 < size && less(heap[child + 1], heap[child])) child++;
+      if (!less(heap[child], label)) break;
+      heap[index] = heap[child];
+      heap[index].heapIndex = index;
+      index = child;
+    }
+    heap[index] = label;
+    label.heapIndex = index;
+  }
+}
@@ -15,8 +15,13 @@
 package com.graph.path.algorithms.constraints;
 
 import com.graph.elements.vertex.VertexElement;
+import com.graph.path.algorithms.common.CancellationFlag;
 
 public abstract class MultiPathConstraint {
+
+  /** Flag polled by the algorithms to abort the computation, null if it cannot be cancelled */
+  private CancellationFlag cancellationFlag;
+
   public abstract VertexElement getSource();
 
   public abstract VertexElement getDestination();
@@ -24,4 +29,18 @@ public abstract class MultiPathConstraint {
   public abstract int getPathCount();
 
   public abstract double getBw();
+
+  /** Function to set the flag used to cancel the computation */
+  public void setCancellationFlag(CancellationFlag cancellationFlag) {
+    this.cancellationFlag = cancellationFlag;
+  }
+
+  public CancellationFlag getCancellationFlag() {
+    return cancellationFlag;
+  }
+
+  /** Function to check if the computation using this constraint was cancelled or has expired */
+  public boolean shouldAbort() {
+    return cancellationFlag != null && cancellationFlag.shouldAbort();
+  }
 }
@@ -0,0 +1,90 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.constraints.impl;
+
+import com.graph.elements.vertex.VertexElement;
+
+/**
+ * Constraint bounding the accumulated metrics of the path, in addition to the requested bandwidth.
+ * The bounds are inclusive, a metric without bound is not limited.
+ */
+public class MetricBoundConstraint extends SimplePathComputationConstraint {
+
+  /** Upper bounds on the sum of the edge costs, the sum of the edge delays and the hop count */
+  private double maxCost = Double.POSITIVE_INFINITY;
+
+  private double maxDelay = Double.POSITIVE_INFINITY;
+
+  private int maxHops = Integer.MAX_VALUE;
+
+  /** Constructor to set the source and destination */
+  public MetricBoundConstraint(VertexElement source, VertexElement destination) {
+    super(source, destination);
+  }
+
+  /** Constructor to set the source, destination and requested bandwidth */
+  public MetricBoundConstraint(VertexElement source, VertexElement destination, double bw) {
+    super(source, destination, bw);
+  }
+
+  /** Function to get the bound on the cost of the path, the sum of the edge costs */
+  public double getMaxCost() {
+    return maxCost;
+  }
+
+  public void setMaxCost(double maxCost) {
+    this.maxCost = maxCost;
+  }
+
+  /** Function to get the bound on the delay of the path, the sum of the edge delays */
+  public double getMaxDelay() {
+    return maxDelay;
+  }
+
+  public void setMaxDelay(double maxDelay) {
+    this.maxDelay = maxDelay;
+  }
+
+  /** Function to get the bound on the number of edges of the path */
+  public int getMaxHops() {
+    return maxHops;
+  }
+
+  public void setMaxHops(int maxHops) {
+    this.maxHops = maxHops;
+  }
+
+  /** Function to check if at least one metric is bounded */
+  public boolean isBounded() {
+    return maxCost != Double.POSITIVE_INFINITY
+        || maxDelay != Double.POSITIVE_INFINITY
+        || maxHops != Integer.MAX_VALUE;
+  }
+
+  /** Function to get a description of the bounds, unbounded metrics are omitted */
+  public String getBoundsDescription() {
+    StringBuilder builder = new StringBuilder();
+    if (maxCost != Double.POSITIVE_INFINITY) builder.append("cost<=").append(maxCost);
+    if (maxDelay != Double.POSITIVE_INFINITY) {
+      if (builder.length() > 0) builder.append(' ');
+      builder.append("delay<=").append(maxDelay);
+    }
+    if (maxHops != Integer.MAX_VALUE) {
+      if (builder.length() > 0) builder.append(' ');
+      builder.append("hops<=").append(maxHops);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.constraints.multipath.impl;
+
+import com.graph.elements.vertex.VertexElement;
+
+/**
+ * Constraint to compute a set of disjoint paths between the same source and destination. The
+ * paths are link disjoint, or node disjoint if requested, and only use links with the requested
+ * bandwidth.
+ */
+public class DisjointMultiPathComputationConstraint extends SimpleMultiPathComputationConstraint {
+
+  /** true if the paths must not share an intermediate vertex, else they must not share a link */
+  private boolean nodeDisjoint;
+
+  /** Constructor to request link disjoint paths */
+  public DisjointMultiPathComputationConstraint(
+      VertexElement source, VertexElement destination, int pathCount, double bw) {
+    this(source, destination, pathCount, bw, false);
+  }
+
+  /** Constructor to request link or node disjoint paths */
+  public DisjointMultiPathComputationConstraint(
+      VertexElement source,
+      VertexElement destination,
+      int pathCount,
+      double bw,
+      boolean nodeDisjoint) {
+    super(source, destination, pathCount, bw);
+    this.nodeDisjoint = nodeDisjoint;
+  }
+
+  /** Function to check if the paths must be node disjoint */
+  public boolean isNodeDisjoint() {
+    return nodeDisjoint;
+  }
+
+  /** Function to set if the paths must be node disjoint */
+  public void setNodeDisjoint(boolean nodeDisjoint) {
+    this.nodeDisjoint = nodeDisjoint;
+  }
+}
@@ -0,0 +1,264 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.logger.GraphLogger;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.common.CsrSearchWorkspace;
+import com.graph.path.algorithms.common.PathLabel;
+import com.graph.path.algorithms.common.PathLabelHeap;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Algorithm to compute the path of minimum delay among the links with the requested bandwidth,
+ * guided by the coordinates of the vertices (A* search). The topology importers derive the delay
+ * of a link from the Euclidean distance of its end points, so the straight line distance from a
+ * vertex to the destination, divided by the propagation speed, is a lower bound of the delay of
+ * any path between them. Vertices are settled by ascending delay plus this bound, which expands
+ * the vertices towards the destination first. The paths have the delay of the paths of {@link
+ * BwConstrainedMinDelayPathComputationAlgorithm}.
+ *
+ * <p>The bound is consistent as long as no link is faster than the straight line between its end
+ * points at the propagation speed. The links of a graph are checked before its first search, and
+ * graphs with a faster link are searched with Dijkstra's algorithm. The check is made once per
+ * graph, so a graph must not be modified once searched, like the graph of a TED snapshot. Vertices
+ * without coordinates all lie at the origin, the bound is then zero and the search is Dijkstra's
+ * algorithm.
+ */
+public class AStarMinDelayPathComputationAlgorithm
+    extends BwConstrainedMinDelayPathComputationAlgorithm {
+
+  private static final String classIdentifier = "AStarMinDelayPathComputationAlgorithm";
+
+  /** Propagation speed used by the topology importers, in distance units per ms */
+  public static final double PROPAGATION_SPEED = 29.9792458;
+
+  // Delay per distance unit, reduced so that rounding never lifts the bound above a link delay
+  private final double delayPerDistance;
+
+  private final LongAdder expandedVertexCount = new LongAdder();
+
+  // Last graph checked for links faster than the bound
+  private volatile CheckedGraph checkedGraph;
+
+  /** Graph together with the result of its check */
+  private static class CheckedGraph {
+
+    private final Gcontroller graph;
+
+    private final boolean consistent;
+
+    CheckedGraph(Gcontroller graph, boolean consistent) {
+      this.graph = graph;
+      this.consistent = consistent;
+    }
+  }
+
+  /** default Constructor, for the delays computed by the topology importers */
+  public AStarMinDelayPathComputationAlgorithm() {
+    this(PROPAGATION_SPEED);
+  }
+
+  /**
+   * @param propagationSpeed distance covered per unit of delay, no link may be faster. An infinite
+   *     speed disables the bound.
+   */
+  public AStarMinDelayPathComputationAlgorithm(double propagationSpeed) {
+    delayPerDistance = (1 - 1e-9) / propagationSpeed;
+  }
+
+  /**
+   * Function to get the number of vertices expanded by the searches of the instance, a measure of
+   * the search effort independent of the machine
+   */
+  public long getExpandedVertexCount() {
+    return expandedVertexCount.sum();
+  }
+
+  /** Function to get the lower bound of the delay of any path between two vertices */
+  protected double getDelayBound(VertexElement vertex, VertexElement destination) {
+    double dx = vertex.getXCoord() - destination.getXCoord();
+    double dy = vertex.getYCoord() - destination.getYCoord();
+    return Math.sqrt(dx * dx + dy * dy) * delayPerDistance;
+  }
+
+  /**
+   * Function to check that no link of the graph is faster than the bound between its end points,
+   * i.e. that the bound is consistent on the graph
+   */
+  public boolean isBoundConsistent(Gcontroller graph) {
+    for (EdgeElement edge : graph.getEdgeSet()) {
+      if (getEdgeCost(edge) < getDelayBound(edge.getSourceVertex(), edge.getDestinationVertex())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Function to get the result of the check of the graph, the last graph checked is remembered */
+  private boolean hasConsistentBound(Gcontroller graph) {
+    CheckedGraph checked = checkedGraph;
+    if (checked == null || checked.graph != graph) {
+      checked = new CheckedGraph(graph, isBoundConsistent(graph));
+      if (!checked.consistent) {
+        GraphLogger.logMsg(
+            "Link faster than the propagation speed, searching without the bound",
+            classIdentifier);
+      }
+      checkedGraph = checked;
+    }
+    return checked.consistent;
+  }
+
+  /**
+   * A* search keeping a single label per vertex in a binary heap. The key of a label is the delay
+   * of the path plus the bound to the destination, its secondary key the delay of the path.
+   */
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    // Settled vertices are never reopened, which is only correct with a consistent bound
+    if (!hasConsistentBound(graph)) return super.searchPath(graph, constraint);
+    if (graph instanceof CsrGcontrollerImpl) {
+      return searchPath((CsrGcontrollerImpl) graph, constraint);
+    }
+    VertexElement source = graph.getVertex(constraint.getSource().getVertexID());
+    VertexElement target = graph.getVertex(constraint.getDestination().getVertexID());
+    if (source.getConnectedEdges() == null || source.compareTo(target) == 0) {
+      return noPath(constraint);
+    }
+
+    HashMap<VertexElement, PathLabel> labels = new HashMap<VertexElement, PathLabel>();
+    PathLabelHeap heap = new PathLabelHeap();
+    PathLabel sourceLabel = new PathLabel(source);
+    labels.put(source, sourceLabel);
+    heap.update(sourceLabel, getDelayBound(source, target), 0);
+
+    int expanded = 0;
+    try {
+      while (heap.isEmpty() == false) {
+        if (constraint.shouldAbort()) return aborted(constraint);
+        PathLabel label = heap.poll();
+        label.setSettled(true);
+        expanded++;
+        VertexElement vertex = label.getVertex();
+        // The first label of the destination that is settled is the minimum delay path
+        if (vertex.compareTo(target) == 0) {
+          return new PathElementImpl(graph, source, vertex, label.getEdgeSequence());
+        }
+
+        Set<EdgeElement> edges = vertex.getConnectedEdges();
+        if (edges == null) continue;
+        for (EdgeElement edge : edges) {
+          VertexElement nextVertex = getOppositeVertex(edge, vertex);
+          PathLabel nextLabel = labels.get(nextVertex);
+          // The bound is consistent, so a settled vertex cannot be reached with a smaller delay
+          if (nextLabel != null && nextLabel.isSettled()) continue;
+          if (checkConstraint(constraint, edge) != 1) continue;
+          double delay = label.getTieBreakKey() + getEdgeCost(edge);
+          if (nextLabel == null) {
+            nextLabel = new PathLabel(nextVertex);
+            labels.put(nextVertex, nextLabel);
+          } else if (delay >= nextLabel.getTieBreakKey()) {
+            continue;
+          }
+          nextLabel.setPredecessor(label, edge);
+          heap.update(nextLabel, delay + getDelayBound(nextVertex, target), delay);
+        }
+      }
+    } finally {
+      expandedVertexCount.add(expanded);
+    }
+    return noPath(constraint);
+  }
+
+  /** A* search over the primitive arrays of a CSR graph, the labels are kept in the workspace */
+  private PathElement searchPath(
+      CsrGcontrollerImpl graph, SimplePathComputationConstraint constraint) {
+    CsrSearchWorkspace workspace = CsrSearchWorkspace.acquire(graph.getVertexCount());
+    try {
+      return searchPath(graph, constraint, workspace);
+    } finally {
+      workspace.release();
+    }
+  }
+
+  private PathElement searchPath(
+      CsrGcontrollerImpl graph,
+      SimplePathComputationConstraint constraint,
+      CsrSearchWorkspace workspace) {
+    int source = graph.getVertexIndex(constraint.getSource().getVertexID());
+    int target = graph.getVertexIndex(constraint.getDestination().getVertexID());
+    if (source < 0 || target < 0) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    if (source == target) return noPath(constraint);
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] adjacentEdges = graph.getAdjacentEdges();
+    VertexElement sourceVertex = graph.getVertexElement(source);
+    VertexElement targetVertex = graph.getVertexElement(target);
+
+    workspace.setSource(source);
+    int expanded = 0;
+    try {
+      for (int vertex = source; vertex >= 0; vertex = workspace.poll()) {
+        if (constraint.shouldAbort()) return aborted(constraint);
+        expanded++;
+        // The first label of the destination that is settled is the minimum delay path
+        if (vertex == target) {
+          return workspace.getPath(graph, sourceVertex, vertex);
+        }
+
+        VertexElement vertexElement = graph.getVertexElement(vertex);
+        for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+          int nextVertex = targets[k];
+          // The bound is consistent, so a settled vertex cannot be reached with a smaller delay
+          if (workspace.isSettled(nextVertex)) continue;
+          EdgeElement edge = graph.getEdgeElement(adjacentEdges[k]);
+          if (vertexElement.isExcludedEdge(edge) || checkConstraint(constraint, edge) != 1) {
+            continue;
+          }
+          double delay = workspace.getTieBreakKey(vertex) + getEdgeCost(graph, adjacentEdges[k]);
+          if (workspace.isLabelled(nextVertex) && delay >= workspace.getTieBreakKey(nextVertex)) {
+            continue;
+          }
+          double key = delay + getDelayBound(graph.getVertexElement(nextVertex), targetVertex);
+          workspace.relax(vertex, adjacentEdges[k], nextVertex, key, delay);
+        }
+      }
+    } finally {
+      expandedVertexCount.add(expanded);
+    }
+    return noPath(constraint);
+  }
+
+  private PathElement noPath(SimplePathComputationConstraint constraint) {
+    GraphLogger.logError(
+        "No Path found from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+}
@@ -0,0 +1,281 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.logger.GraphLogger;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.common.CsrSearchWorkspace;
+import com.graph.path.algorithms.common.PathLabel;
+import com.graph.path.algorithms.common.PathLabelHeap;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Algorithm to compute the path of minimum delay among the links with the requested bandwidth with
+ * two Dijkstra searches, one from the source and one from the destination. The search with the
+ * smaller key is extended, and every link between the vertices reached by both searches gives a
+ * path. The searches stop once the sum of their smallest keys reaches the delay of the best of
+ * these paths, no path through an unsettled vertex can be faster. The paths have the delay of the
+ * paths of {@link BwConstrainedMinDelayPathComputationAlgorithm}, the two searches together
+ * usually settle fewer vertices than a single one.
+ */
+public class BidirectionalMinDelayPathComputationAlgorithm
+    extends BwConstrainedMinDelayPathComputationAlgorithm {
+
+  private static final String classIdentifier = "BidirectionalMinDelayPathComputationAlgorithm";
+
+  private final LongAdder expandedVertexCount = new LongAdder();
+
+  /**
+   * Function to get the number of vertices expanded by the searches of the instance, a measure of
+   * the search effort independent of the machine. Vertices expanded by both searches count twice.
+   */
+  public long getExpandedVertexCount() {
+    return expandedVertexCount.sum();
+  }
+
+  /** Labels and queue of the search from one end point */
+  private static class Search {
+
+    private final HashMap<VertexElement, PathLabel> labels =
+        new HashMap<VertexElement, PathLabel>();
+
+    private final PathLabelHeap heap = new PathLabelHeap();
+
+    private Search(VertexElement origin) {
+      PathLabel label = new PathLabel(origin);
+      labels.put(origin, label);
+      heap.update(label, 0);
+    }
+
+    private double getMinKey() {
+      return heap.isEmpty() ? Double.POSITIVE_INFINITY : heap.peek().getKey();
+    }
+  }
+
+  /** Best path found so far, the searches meet on the link between the two labels */
+  private static class Meeting {
+
+    private double delay = Double.POSITIVE_INFINITY;
+
+    private PathLabel forwardLabel;
+
+    private EdgeElement edge;
+
+    private PathLabel backwardLabel;
+  }
+
+  /** Best path found so far on a CSR graph, the link is given by its index */
+  private static class CsrMeeting {
+
+    private double delay = Double.POSITIVE_INFINITY;
+
+    private int forwardVertex;
+
+    private int edge = -1;
+
+    private int backwardVertex;
+  }
+
+  /** Bidirectional search keeping a single label per vertex and direction in binary heaps */
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    if (graph instanceof CsrGcontrollerImpl) {
+      return searchPath((CsrGcontrollerImpl) graph, constraint);
+    }
+    VertexElement source = graph.getVertex(constraint.getSource().getVertexID());
+    VertexElement target = graph.getVertex(constraint.getDestination().getVertexID());
+    if (source.getConnectedEdges() == null || source.compareTo(target) == 0) {
+      return noPath(constraint);
+    }
+
+    Search forward = new Search(source);
+    Search backward = new Search(target);
+    Meeting meeting = new Meeting();
+    int expanded = 0;
+    try {
+      // An empty queue has an infinite key, its search reached every vertex it can
+      while (forward.getMinKey() + backward.getMinKey() < meeting.delay) {
+        if (constraint.shouldAbort()) return aborted(constraint);
+        if (forward.getMinKey() <= backward.getMinKey()) {
+          expand(forward, backward, true, meeting, constraint);
+        } else {
+          expand(backward, forward, false, meeting, constraint);
+        }
+        expanded++;
+      }
+    } finally {
+      expandedVertexCount.add(expanded);
+    }
+    if (meeting.edge == null) return noPath(constraint);
+
+    ArrayList<EdgeElement> edges = meeting.forwardLabel.getEdgeSequence();
+    edges.add(meeting.edge);
+    ArrayList<EdgeElement> backwardEdges = meeting.backwardLabel.getEdgeSequence();
+    Collections.reverse(backwardEdges);
+    edges.addAll(backwardEdges);
+    return new PathElementImpl(graph, source, target, edges);
+  }
+
+  /** Function to settle the vertex with the smallest key of a search and to relax its links */
+  private void expand(
+      Search search,
+      Search opposite,
+      boolean isForward,
+      Meeting meeting,
+      SimplePathComputationConstraint constraint) {
+    PathLabel label = search.heap.poll();
+    label.setSettled(true);
+    VertexElement vertex = label.getVertex();
+    Set<EdgeElement> edges = vertex.getConnectedEdges();
+    if (edges == null) return;
+    for (EdgeElement edge : edges) {
+      VertexElement nextVertex = getOppositeVertex(edge, vertex);
+      PathLabel nextLabel = search.labels.get(nextVertex);
+      if (nextLabel != null && nextLabel.isSettled()) continue;
+      if (checkConstraint(constraint, edge) != 1) continue;
+      double delay = label.getKey() + getEdgeCost(edge);
+      // The link joins the two searches if the opposite one reached its other end point
+      PathLabel oppositeLabel = opposite.labels.get(nextVertex);
+      if (oppositeLabel != null && delay + oppositeLabel.getKey() < meeting.delay) {
+        meeting.delay = delay + oppositeLabel.getKey();
+        meeting.forwardLabel = isForward ? label : oppositeLabel;
+        meeting.edge = edge;
+        meeting.backwardLabel = isForward ? oppositeLabel : label;
+      }
+      if (nextLabel == null) {
+        nextLabel = new PathLabel(nextVertex);
+        search.labels.put(nextVertex, nextLabel);
+      } else if (delay >= nextLabel.getKey()) {
+        continue;
+      }
+      nextLabel.setPredecessor(label, edge);
+      search.heap.update(nextLabel, delay);
+    }
+  }
+
+  /**
+   * Bidirectional search over the primitive arrays of a CSR graph, the labels of the two searches
+   * are kept in two workspaces borrowed from the pool
+   */
+  private PathElement searchPath(
+      CsrGcontrollerImpl graph, SimplePathComputationConstraint constraint) {
+    CsrSearchWorkspace forward = CsrSearchWorkspace.acquire(graph.getVertexCount());
+    CsrSearchWorkspace backward = CsrSearchWorkspace.acquire(graph.getVertexCount());
+    try {
+      return searchPath(graph, constraint, forward, backward);
+    } finally {
+      forward.release();
+      backward.release();
+    }
+  }
+
+  private PathElement searchPath(
+      CsrGcontrollerImpl graph,
+      SimplePathComputationConstraint constraint,
+      CsrSearchWorkspace forward,
+      CsrSearchWorkspace backward) {
+    int source = graph.getVertexIndex(constraint.getSource().getVertexID());
+    int target = graph.getVertexIndex(constraint.getDestination().getVertexID());
+    if (source < 0 || target < 0) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    if (source == target) return noPath(constraint);
+
+    forward.setSource(source);
+    backward.setSource(target);
+    CsrMeeting meeting = new CsrMeeting();
+    int expanded = 2;
+    try {
+      expand(graph, forward, backward, true, source, meeting, constraint);
+      expand(graph, backward, forward, false, target, meeting, constraint);
+      // An empty queue has an infinite key, its search reached every vertex it can
+      while (getMinKey(forward) + getMinKey(backward) < meeting.delay) {
+        if (constraint.shouldAbort()) return aborted(constraint);
+        if (getMinKey(forward) <= getMinKey(backward)) {
+          expand(graph, forward, backward, true, forward.poll(), meeting, constraint);
+        } else {
+          expand(graph, backward, forward, false, backward.poll(), meeting, constraint);
+        }
+        expanded++;
+      }
+    } finally {
+      expandedVertexCount.add(expanded);
+    }
+    if (meeting.edge < 0) return noPath(constraint);
+
+    ArrayList<EdgeElement> edges = forward.getEdgeSequence(graph, meeting.forwardVertex);
+    edges.add(graph.getEdgeElement(meeting.edge));
+    ArrayList<EdgeElement> backwardEdges = backward.getEdgeSequence(graph, meeting.backwardVertex);
+    Collections.reverse(backwardEdges);
+    edges.addAll(backwardEdges);
+    return new PathElementImpl(
+        graph, graph.getVertexElement(source), graph.getVertexElement(target), edges);
+  }
+
+  private static double getMinKey(CsrSearchWorkspace workspace) {
+    int vertex = workspace.peek();
+    return vertex < 0 ? Double.POSITIVE_INFINITY : workspace.getKey(vertex);
+  }
+
+  /** Function to relax the links of a vertex of a CSR graph settled by one of the searches */
+  private void expand(
+      CsrGcontrollerImpl graph,
+      CsrSearchWorkspace search,
+      CsrSearchWorkspace opposite,
+      boolean isForward,
+      int vertex,
+      CsrMeeting meeting,
+      SimplePathComputationConstraint constraint) {
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] adjacentEdges = graph.getAdjacentEdges();
+    VertexElement vertexElement = graph.getVertexElement(vertex);
+    for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+      int nextVertex = targets[k];
+      if (search.isSettled(nextVertex)) continue;
+      EdgeElement edge = graph.getEdgeElement(adjacentEdges[k]);
+      if (vertexElement.isExcludedEdge(edge) || checkConstraint(constraint, edge) != 1) continue;
+      double delay = search.getKey(vertex) + getEdgeCost(graph, adjacentEdges[k]);
+      // The link joins the two searches if the opposite one reached its other end point
+      if (opposite.isLabelled(nextVertex) && delay + opposite.getKey(nextVertex) < meeting.delay) {
+        meeting.delay = delay + opposite.getKey(nextVertex);
+        meeting.forwardVertex = isForward ? vertex : nextVertex;
+        meeting.edge = adjacentEdges[k];
+        meeting.backwardVertex = isForward ? nextVertex : vertex;
+      }
+      search.relax(vertex, adjacentEdges[k], nextVertex, delay);
+    }
+  }
+
+  private PathElement noPath(SimplePathComputationConstraint constraint) {
+    GraphLogger.logError(
+        "No Path found from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+}
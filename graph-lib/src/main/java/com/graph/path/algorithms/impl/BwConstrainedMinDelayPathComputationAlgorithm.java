@@ -15,6 +15,7 @@
 package com.graph.path.algorithms.impl;
 
 import com.graph.elements.edge.EdgeElement;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
 import com.graph.path.PathElement;
 import com.graph.path.algorithms.common.StaticPathSortImpl;
 import com.graph.path.algorithms.constraints.Constraint;
@@ -27,6 +28,16 @@ public class BwConstrainedMinDelayPathComputationAlgorithm extends SimplePathCom
     return StaticPathSortImpl.sortPathsByDelay(paths);
   }
 
+  /** Minimize the path delay */
+  protected double getEdgeCost(EdgeElement edge) {
+    return edge.getEdgeParams().getDelay();
+  }
+
+  /** Minimize the path delay */
+  protected double getEdgeCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return graph.getDelay(edgeIndex);
+  }
+
   /** Function to check constraint for the inserted edge and existing path */
   protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
     if ((edge.getEdgeParams().getAvailableCapacity() >= constraint.getBw())) {
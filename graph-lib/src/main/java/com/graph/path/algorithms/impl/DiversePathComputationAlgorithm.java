@@ -0,0 +1,75 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.Constraint;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Algorithm to compute the shortest path avoiding the links and nodes of previously computed paths,
+ * used to compute link or node diverse paths. Links without the requested bandwidth are excluded as
+ * well. The source and destination of the requested path are never excluded, so that diverse paths
+ * between the same end points can be computed.
+ */
+public class DiversePathComputationAlgorithm extends SimplePathComputationAlgorithm {
+
+  private HashSet<String> excludedLinks = new HashSet<String>();
+
+  private HashSet<String> excludedVertices = new HashSet<String>();
+
+  public void flushExcludedElements() {
+    excludedLinks.clear();
+    excludedVertices.clear();
+  }
+
+  /** Function to exclude the links of a path */
+  public void addExcludedLinks(List<EdgeElement> edges) {
+    for (EdgeElement edge : edges) {
+      excludedLinks.add(edge.getEdgeID());
+    }
+  }
+
+  /** Function to exclude the vertices of a path */
+  public void addExcludedVertices(List<VertexElement> vertices) {
+    for (VertexElement vertex : vertices) {
+      excludedVertices.add(vertex.getVertexID());
+    }
+  }
+
+  /** Function to check constraint for the inserted edge and existing path */
+  protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
+    return checkConstraint(constraint, edge);
+  }
+
+  /** Function to check constraint for the inserted edge and existing path */
+  protected int checkConstraint(Constraint constraint, EdgeElement edge) {
+    if (constraint.getBw() > edge.getEdgeParams().getAvailableCapacity()) return 0;
+    if (excludedLinks.contains(edge.getEdgeID())) return 0;
+    if (isExcludedVertex(constraint, edge.getSourceVertex())) return 0;
+    if (isExcludedVertex(constraint, edge.getDestinationVertex())) return 0;
+    return 1;
+  }
+
+  private boolean isExcludedVertex(Constraint constraint, VertexElement vertex) {
+    String vertexID = vertex.getVertexID();
+    return excludedVertices.contains(vertexID)
+        && !vertexID.equals(constraint.getSource().getVertexID())
+        && !vertexID.equals(constraint.getDestination().getVertexID());
+  }
+}
@@ -15,26 +15,89 @@
 package com.graph.path.algorithms.impl;
 
 import com.graph.elements.edge.EdgeElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
 import com.graph.path.PathElement;
 import com.graph.path.algorithms.common.StaticPathSortImpl;
 import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
 import java.util.ArrayList;
 
-/** Algorithm to compute the path with the MaximumBandwidth from a source to a destination */
+/**
+ * Algorithm to compute the path with the MaximumBandwidth from a source to a destination, among
+ * the paths of maximum bandwidth the path of minimum weight is returned (widest shortest path).
+ *
+ * <p>The bandwidth of a path is the minimum available capacity of its edges. The path is computed
+ * in two passes. The first label based search minimizes the maximum of the negated available
+ * capacities, which gives the maximum bandwidth. The second one is a minimum weight search over the
+ * edges offering at least this bandwidth. A single search ordered by bandwidth, then by weight,
+ * keeps the widest path to every vertex and can discard a lighter path that is narrower at an
+ * intermediate vertex but as wide once it reaches the destination.
+ */
 public class MaxBandwidthShortestPathComputationAlgorithm extends SimplePathComputationAlgorithm {
 
-  /** Sort paths by ascending order of weight */
+  // Minimum weight search of the second pass
+  private static final BandwidthConstrainedPathComputationAlgorithm minWeight =
+      new BandwidthConstrainedPathComputationAlgorithm();
+
+  /** Sort paths by descending order of available capacity, then by ascending order of weight */
   protected ArrayList<PathElement> sortPaths(ArrayList<PathElement> paths) {
     return StaticPathSortImpl.sortPathsByBandwidth(paths);
   }
 
+  /** Maximize the bandwidth of the path */
+  protected double getEdgeCost(EdgeElement edge) {
+    return -edge.getEdgeParams().getAvailableCapacity();
+  }
+
+  /** Maximize the bandwidth of the path */
+  protected double getEdgeCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return -graph.getAvailableCapacity(edgeIndex);
+  }
+
+  /** The bandwidth of a path is limited by its edge with the least available capacity */
+  protected double combineCost(double pathCost, double edgeCost) {
+    return Math.max(pathCost, edgeCost);
+  }
+
+  /** Paths of equal bandwidth are ordered by weight */
+  protected double getTieBreakCost(EdgeElement edge) {
+    return edge.getEdgeParams().getWeight();
+  }
+
+  /** Paths of equal bandwidth are ordered by weight */
+  protected double getTieBreakCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return graph.getWeight(edgeIndex);
+  }
+
+  /**
+   * Function to search the widest path, then the path of minimum weight among the edges offering
+   * its bandwidth
+   */
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    PathElement widest = computeShortestPath(graph, constraint);
+    if (widest == null) return null;
+    double bandwidth = Double.POSITIVE_INFINITY;
+    for (EdgeElement edge : widest.getTraversedEdges()) {
+      bandwidth = Math.min(bandwidth, edge.getEdgeParams().getAvailableCapacity());
+    }
+
+    SimplePathComputationConstraint widestConstraint =
+        new SimplePathComputationConstraint(
+            constraint.getSource(), constraint.getDestination(), bandwidth);
+    widestConstraint.setCancellationFlag(constraint.getCancellationFlag());
+    return minWeight.computePath(graph, widestConstraint);
+  }
+
+  /**
+   * Function to check constraint for the inserted edge and existing path, the edges of the path
+   * have been checked when they were inserted
+   */
   protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
-    if ((constraint.getBw() < edge.getEdgeParams().getAvailableCapacity())
-        && (constraint.getBw() < path.getPathParams().getAvailableCapacity())) return 1;
-    else return 0;
+    return checkConstraint(constraint, edge);
   }
 
-  /** Function to check constraint for the inserted edge and existing path */
+  /** Function to check constraint for the inserted edge */
   protected int checkConstraint(Constraint constraint, EdgeElement edge) {
     if (constraint.getBw() < edge.getEdgeParams().getAvailableCapacity()) return 1;
     else return 0;
@@ -0,0 +1,450 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.logger.GraphLogger;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.constraints.impl.MetricBoundConstraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Algorithm to compute the path minimizing a metric, the cost by default, among the links with the
+ * requested bandwidth, subject to upper bounds on the cost, delay and hop count of the path
+ * (resource constrained shortest path). The bounds are given by a {@link MetricBoundConstraint},
+ * other constraints are computed as by {@link BandwidthConstrainedPathComputationAlgorithm}.
+ *
+ * <p>The search is a label setting algorithm: a vertex keeps every label (cost, delay, hops) that
+ * is not dominated by another label of the vertex on the bounded metrics, and the labels are
+ * settled by ascending minimized metric. The shortest paths from every vertex to the destination
+ * are computed first for the minimized and the bounded metrics. They prune the labels that cannot
+ * reach the destination within the bounds and guide the search to the destination like the
+ * potential of an A* search. The first label settled at the destination is the optimal path.
+ */
+public class MetricBoundPathComputationAlgorithm
+    extends BandwidthConstrainedPathComputationAlgorithm {
+
+  private static final String classIdentifier = "MetricBoundPathComputationAlgorithm";
+
+  /** Metrics of a path that can be minimized */
+  public enum Metric {
+    COST,
+    DELAY,
+    HOPS
+  }
+
+  // Labels settled by ascending estimated metric, then by cost, delay and hop count, so that a
+  // label is settled before the labels it dominates
+  private static final Comparator<Label> LABEL_ORDER =
+      Comparator.comparingDouble((Label label) -> label.key)
+          .thenComparingDouble(label -> label.cost)
+          .thenComparingDouble(label -> label.delay)
+          .thenComparingInt(label -> label.hops);
+
+  // Metric minimized by the search
+  private final Metric metric;
+
+  /** Default Constructor, the algorithm minimizes the cost of the path */
+  public MetricBoundPathComputationAlgorithm() {
+    this(Metric.COST);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param metric metric minimized by the algorithm
+   */
+  public MetricBoundPathComputationAlgorithm(Metric metric) {
+    this.metric = metric;
+  }
+
+  public Metric getMetric() {
+    return metric;
+  }
+
+  /** Path from the source to a vertex with its accumulated metrics */
+  private static class Label {
+
+    private final int vertex;
+
+    private final double cost;
+
+    private final double delay;
+
+    private final int hops;
+
+    // Minimized metric plus its lower bound to the destination
+    private final double key;
+
+    // Previous label and last edge of the path, null for the source
+    private final Label predecessor;
+
+    private final EdgeElement edge;
+
+    Label(
+        int vertex,
+        double cost,
+        double delay,
+        int hops,
+        double key,
+        Label predecessor,
+        EdgeElement edge) {
+      this.vertex = vertex;
+      this.cost = cost;
+      this.delay = delay;
+      this.hops = hops;
+      this.key = key;
+      this.predecessor = predecessor;
+      this.edge = edge;
+    }
+
+    ArrayList<EdgeElement> getEdgeSequence() {
+      ArrayList<EdgeElement> edges = new ArrayList<EdgeElement>(hops);
+      for (Label label = this; label.predecessor != null; label = label.predecessor) {
+        edges.add(label.edge);
+      }
+      Collections.reverse(edges);
+      return edges;
+    }
+  }
+
+  /**
+   * Adjacency of the links satisfying the constraint, with the link metrics, so that the search
+   * does not read the graph again. A CSR graph keeps its vertex indices, the vertices of other
+   * graphs are indexed in the order they are reached from the destination.
+   */
+  private class SearchGraph {
+
+    // The links of vertex i are stored from offsets[i] to offsets[i + 1]
+    private int[] offsets;
+
+    private int[] targets;
+
+    private EdgeElement[] edges;
+
+    private double[] costs;
+
+    private double[] delays;
+
+    private int vertexCount;
+
+    private int linkCount;
+
+    // Indices of the vertices of a graph without CSR arrays
+    private HashMap<VertexElement, Integer> indices;
+
+    private CsrGcontrollerImpl csrGraph;
+
+    SearchGraph(Gcontroller graph, VertexElement destination, Constraint constraint) {
+      if (graph instanceof CsrGcontrollerImpl) {
+        csrGraph = (CsrGcontrollerImpl) graph;
+        vertexCount = csrGraph.getVertexCount();
+        offsets = new int[vertexCount + 1];
+        allocate(csrGraph.getTargets().length);
+        int[] csrOffsets = csrGraph.getOffsets();
+        int[] csrTargets = csrGraph.getTargets();
+        int[] adjacentEdges = csrGraph.getAdjacentEdges();
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+          VertexElement vertexElement = csrGraph.getVertexElement(vertex);
+          for (int k = csrOffsets[vertex]; k < csrOffsets[vertex + 1]; k++) {
+            EdgeElement edge = csrGraph.getEdgeElement(adjacentEdges[k]);
+            if (vertexElement.isExcludedEdge(edge) || checkConstraint(constraint, edge) == 0) {
+              continue;
+            }
+            addLink(
+                csrTargets[k],
+                edge,
+                getEdgeCost(csrGraph, adjacentEdges[k]),
+                csrGraph.getDelay(adjacentEdges[k]));
+          }
+          offsets[vertex + 1] = linkCount;
+        }
+        return;
+      }
+      indices = new HashMap<VertexElement, Integer>();
+      ArrayList<VertexElement> vertices = new ArrayList<VertexElement>();
+      indices.put(destination, 0);
+      vertices.add(destination);
+      offsets = new int[17];
+      allocate(64);
+      for (int vertex = 0; vertex < vertices.size(); vertex++) {
+        VertexElement vertexElement = vertices.get(vertex);
+        Set<EdgeElement> connectedEdges = vertexElement.getConnectedEdges();
+        if (connectedEdges != null) {
+          for (EdgeElement edge : connectedEdges) {
+            if (checkConstraint(constraint, edge) == 0) continue;
+            VertexElement neighbour = getOppositeVertex(edge, vertexElement);
+            Integer index = indices.get(neighbour);
+            if (index == null) {
+              index = vertices.size();
+              indices.put(neighbour, index);
+              vertices.add(neighbour);
+            }
+            addLink(index, edge, getEdgeCost(edge), edge.getEdgeParams().getDelay());
+          }
+        }
+        if (vertex + 2 > offsets.length) offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        offsets[vertex + 1] = linkCount;
+      }
+      vertexCount = vertices.size();
+    }
+
+    private void allocate(int capacity) {
+      targets = new int[capacity];
+      edges = new EdgeElement[capacity];
+      costs = new double[capacity];
+      delays = new double[capacity];
+    }
+
+    private void addLink(int target, EdgeElement edge, double cost, double delay) {
+      if (linkCount == targets.length) {
+        targets = Arrays.copyOf(targets, 2 * linkCount);
+        edges = Arrays.copyOf(edges, 2 * linkCount);
+        costs = Arrays.copyOf(costs, 2 * linkCount);
+        delays = Arrays.copyOf(delays, 2 * linkCount);
+      }
+      targets[linkCount] = target;
+      edges[linkCount] = edge;
+      costs[linkCount] = cost;
+      delays[linkCount] = delay;
+      linkCount++;
+    }
+
+    /** Function to get the lengths of the links for a metric, null for the hop count */
+    double[] getLengths(Metric metric) {
+      switch (metric) {
+        case DELAY:
+          return delays;
+        case HOPS:
+          return null;
+        default:
+          return costs;
+      }
+    }
+
+    /** Function to get the index of a vertex, -1 if it is not in the graph */
+    int indexOf(VertexElement vertex) {
+      if (csrGraph != null) return csrGraph.getVertexIndex(vertex.getVertexID());
+      Integer index = indices.get(vertex);
+      return index == null ? -1 : index;
+    }
+
+    /**
+     * Function to get the length of the shortest path from every vertex to the destination, the
+     * links having the given lengths or a length of one if no lengths are given. The links are
+     * bidirectional, so the shortest paths from the destination are computed.
+     */
+    double[] getDistances(int destination, double[] lengths) {
+      double[] distances = new double[vertexCount];
+      Arrays.fill(distances, Double.POSITIVE_INFINITY);
+      distances[destination] = 0;
+      PriorityQueue<double[]> queue =
+          new PriorityQueue<double[]>(Comparator.comparingDouble((double[] entry) -> entry[0]));
+      queue.add(new double[] {0, destination});
+      while (queue.isEmpty() == false) {
+        double[] entry = queue.poll();
+        int vertex = (int) entry[1];
+        if (entry[0] > distances[vertex]) continue;
+        for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+          double distance = entry[0] + (lengths == null ? 1 : lengths[k]);
+          if (distance < distances[targets[k]]) {
+            distances[targets[k]] = distance;
+            queue.add(new double[] {distance, targets[k]});
+          }
+        }
+      }
+      return distances;
+    }
+  }
+
+  /** Function to compute a path, accepts metric bound constraints in addition to simple ones */
+  public PathElement computePath(Gcontroller graph, Constraint constr) {
+    if (constr instanceof MetricBoundConstraint) {
+      return searchPath(graph, (MetricBoundConstraint) constr);
+    }
+    return super.computePath(graph, constr);
+  }
+
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    if (constraint instanceof MetricBoundConstraint
+        && ((MetricBoundConstraint) constraint).isBounded()) {
+      return computeConstrainedPath(graph, (MetricBoundConstraint) constraint);
+    }
+    if (metric != Metric.COST) {
+      // The search without bounds is a shortest path search for the metric
+      MetricBoundConstraint unbounded =
+          new MetricBoundConstraint(
+              constraint.getSource(), constraint.getDestination(), constraint.getBw());
+      unbounded.setCancellationFlag(constraint.getCancellationFlag());
+      return computeConstrainedPath(graph, unbounded);
+    }
+    return super.searchPath(graph, constraint);
+  }
+
+  /** Label setting search for the path minimizing the metric within the bounds of the constraint */
+  private PathElement computeConstrainedPath(Gcontroller graph, MetricBoundConstraint constraint) {
+    VertexElement sourceVertex = graph.getVertex(constraint.getSource().getVertexID());
+    VertexElement destinationVertex = graph.getVertex(constraint.getDestination().getVertexID());
+    if (sourceVertex == null || destinationVertex == null) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    SearchGraph searchGraph = new SearchGraph(graph, destinationVertex, constraint);
+    int source = searchGraph.indexOf(sourceVertex);
+    int destination = searchGraph.indexOf(destinationVertex);
+    if (source < 0 || destination < 0) return noPath(constraint);
+
+    // Lower bounds of the metrics of the paths to the destination, the lower bound of an
+    // unbounded metric is only computed for the minimized metric that guides the search
+    double maxCost = constraint.getMaxCost();
+    double maxDelay = constraint.getMaxDelay();
+    int maxHops = constraint.getMaxHops();
+    boolean costBounded = maxCost != Double.POSITIVE_INFINITY;
+    boolean delayBounded = maxDelay != Double.POSITIVE_INFINITY;
+    boolean hopsBounded = maxHops != Integer.MAX_VALUE;
+    int vertexCount = searchGraph.vertexCount;
+    double[] minMetrics = searchGraph.getDistances(destination, searchGraph.getLengths(metric));
+    double[] minCosts =
+        getLowerBounds(searchGraph, destination, Metric.COST, minMetrics, costBounded);
+    double[] minDelays =
+        getLowerBounds(searchGraph, destination, Metric.DELAY, minMetrics, delayBounded);
+    double[] minHops =
+        getLowerBounds(searchGraph, destination, Metric.HOPS, minMetrics, hopsBounded);
+
+    @SuppressWarnings("unchecked")
+    ArrayList<Label>[] settled = new ArrayList[vertexCount];
+    PriorityQueue<Label> queue = new PriorityQueue<Label>(LABEL_ORDER);
+    if (minMetrics[source] != Double.POSITIVE_INFINITY
+        && minCosts[source] <= maxCost
+        && minDelays[source] <= maxDelay
+        && minHops[source] <= maxHops)
+      queue.add(new Label(source, 0, 0, 0, minMetrics[source], null, null));
+
+    int[] offsets = searchGraph.offsets;
+    int[] targets = searchGraph.targets;
+    double[] costs = searchGraph.costs;
+    double[] delays = searchGraph.delays;
+    while (queue.isEmpty() == false) {
+      if (constraint.shouldAbort()) return aborted(constraint);
+      Label label = queue.poll();
+      int vertex = label.vertex;
+      if (isDominated(
+          settled[vertex],
+          label.cost,
+          label.delay,
+          label.hops,
+          costBounded,
+          delayBounded,
+          hopsBounded)) continue;
+      if (settled[vertex] == null) settled[vertex] = new ArrayList<Label>(2);
+      settled[vertex].add(label);
+      // The first label settled at the destination minimizes the metric
+      if (vertex == destination) {
+        return new PathElementImpl(
+            graph, sourceVertex, destinationVertex, label.getEdgeSequence());
+      }
+
+      int hops = label.hops + 1;
+      for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+        int next = targets[k];
+        double cost = label.cost + costs[k];
+        double delay = label.delay + delays[k];
+        // Prune the labels that cannot reach the destination within the bounds
+        if (minMetrics[next] == Double.POSITIVE_INFINITY
+            || cost + minCosts[next] > maxCost
+            || delay + minDelays[next] > maxDelay
+            || hops + minHops[next] > maxHops) continue;
+        if (isDominated(settled[next], cost, delay, hops, costBounded, delayBounded, hopsBounded))
+          continue;
+        double key = getMetric(cost, delay, hops) + minMetrics[next];
+        queue.add(new Label(next, cost, delay, hops, key, label, searchGraph.edges[k]));
+      }
+    }
+    return noPath(constraint);
+  }
+
+  /** Function to get the value of the minimized metric from the metrics of a path */
+  private double getMetric(double cost, double delay, int hops) {
+    switch (metric) {
+      case DELAY:
+        return delay;
+      case HOPS:
+        return hops;
+      default:
+        return cost;
+    }
+  }
+
+  /**
+   * Function to get the lower bounds of a metric of the paths from every vertex to the destination,
+   * zero if the metric is neither minimized nor bounded
+   */
+  private double[] getLowerBounds(
+      SearchGraph searchGraph,
+      int destination,
+      Metric boundedMetric,
+      double[] minMetrics,
+      boolean bounded) {
+    if (boundedMetric == metric) return minMetrics;
+    if (bounded == false) return new double[searchGraph.vertexCount];
+    return searchGraph.getDistances(destination, searchGraph.getLengths(boundedMetric));
+  }
+
+  /**
+   * Function to check if a label is dominated by a settled label of its vertex. The settled labels
+   * have a lower minimized metric, so the label is dominated if one of them is not higher on the
+   * bounded metrics. The unbounded metrics do not restrict the extension of a label.
+   */
+  private static boolean isDominated(
+      ArrayList<Label> settledLabels,
+      double cost,
+      double delay,
+      int hops,
+      boolean costBounded,
+      boolean delayBounded,
+      boolean hopsBounded) {
+    if (settledLabels == null) return false;
+    for (Label label : settledLabels) {
+      if ((costBounded == false || label.cost <= cost)
+          && (delayBounded == false || label.delay <= delay)
+          && (hopsBounded == false || label.hops <= hops)) return true;
+    }
+    return false;
+  }
+
+  private PathElement noPath(MetricBoundConstraint constraint) {
+    GraphLogger.logError(
+        "No Path found from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID()
+            + " with "
+            + constraint.getBoundsDescription(),
+        classIdentifier);
+    return null;
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+
+/**
+ * Algorithm to compute the path with the minimum number of links among the links with the
+ * requested bandwidth. The bandwidth consumed by a path is the requested bandwidth times its number
+ * of links, so the path minimizes the bandwidth consumption (RFC 5541).
+ */
+public class MinHopPathComputationAlgorithm extends BandwidthConstrainedPathComputationAlgorithm {
+
+  /** Every link counts as one hop */
+  protected double getEdgeCost(EdgeElement edge) {
+    return 1;
+  }
+
+  /** Every link counts as one hop */
+  protected double getEdgeCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return 1;
+  }
+}
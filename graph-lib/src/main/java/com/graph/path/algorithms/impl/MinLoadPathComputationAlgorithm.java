@@ -0,0 +1,99 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.EdgeParams;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+
+/**
+ * Algorithm to compute the path minimizing the load of its most loaded link (minimum load path,
+ * RFC 5541), among the links with the requested bandwidth. The load of a link is the ratio of its
+ * used capacity to its total capacity.
+ *
+ * <p>The minimum load is found by a first search minimizing the maximum link load, the path of
+ * minimum weight among the links not exceeding this load is returned by a second search.
+ */
+public class MinLoadPathComputationAlgorithm extends BandwidthConstrainedPathComputationAlgorithm {
+
+  // Search minimizing the maximum link load
+  private final BottleneckSearch bottleneckSearch = new BottleneckSearch();
+
+  /** Search minimizing the maximum load of the links of the path */
+  private static class BottleneckSearch extends BandwidthConstrainedPathComputationAlgorithm {
+
+    protected double getEdgeCost(EdgeElement edge) {
+      return getLoad(edge);
+    }
+
+    protected double getEdgeCost(CsrGcontrollerImpl graph, int edgeIndex) {
+      return getLoad(graph.getMaxCapacity(edgeIndex), graph.getAvailableCapacity(edgeIndex));
+    }
+
+    protected double combineCost(double pathCost, double edgeCost) {
+      return Math.max(pathCost, edgeCost);
+    }
+  }
+
+  /** Constraint limiting the load of the links of the path */
+  private static class LoadBoundConstraint extends SimplePathComputationConstraint {
+
+    private final double maxLoad;
+
+    LoadBoundConstraint(SimplePathComputationConstraint constraint, double maxLoad) {
+      super(constraint.getSource(), constraint.getDestination(), constraint.getBw());
+      setCancellationFlag(constraint.getCancellationFlag());
+      this.maxLoad = maxLoad;
+    }
+  }
+
+  /** Function to get the load of a link, a link without capacity is fully loaded */
+  private static double getLoad(double maxCapacity, double availableCapacity) {
+    if (maxCapacity <= 0) return 1;
+    return (maxCapacity - availableCapacity) / maxCapacity;
+  }
+
+  private static double getLoad(EdgeElement edge) {
+    EdgeParams params = edge.getEdgeParams();
+    return getLoad(params.getMaxCapacity(), params.getAvailableCapacity());
+  }
+
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    PathElement bottleneckPath = bottleneckSearch.searchPath(graph, constraint);
+    if (bottleneckPath == null) return null;
+    double maxLoad = 0;
+    for (EdgeElement edge : bottleneckPath.getTraversedEdges()) {
+      maxLoad = Math.max(maxLoad, getLoad(edge));
+    }
+    return super.searchPath(graph, new LoadBoundConstraint(constraint, maxLoad));
+  }
+
+  /** Function to check constraint for the inserted edge and existing path */
+  protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
+    return checkConstraint(constraint, edge);
+  }
+
+  /** Function to check constraint for the inserted edge */
+  protected int checkConstraint(Constraint constraint, EdgeElement edge) {
+    if (super.checkConstraint(constraint, edge) == 0) return 0;
+    if (constraint instanceof LoadBoundConstraint
+        && getLoad(edge) > ((LoadBoundConstraint) constraint).maxLoad) return 0;
+    return 1;
+  }
+}
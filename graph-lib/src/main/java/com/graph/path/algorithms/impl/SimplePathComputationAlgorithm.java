@@ -17,13 +17,19 @@ package com.graph.path.algorithms.impl;
 import com.graph.elements.edge.EdgeElement;
 import com.graph.elements.vertex.VertexElement;
 import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
 import com.graph.logger.GraphLogger;
 import com.graph.path.PathElement;
 import com.graph.path.algorithms.PathComputationAlgorithm;
+import com.graph.path.algorithms.common.CsrSearchWorkspace;
+import com.graph.path.algorithms.common.PathLabel;
+import com.graph.path.algorithms.common.PathLabelHeap;
 import com.graph.path.algorithms.constraints.Constraint;
 import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.params.PathParams;
 import com.graph.path.pathelementimpl.PathElementImpl;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -70,13 +76,250 @@ public class SimplePathComputationAlgorithm implements PathComputationAlgorithm
       GraphLogger.logError("Invalid Constraint type used in Algorithm.", classIdentifier);
       return null;
     }
-    SimplePathComputationConstraint constraint = (SimplePathComputationConstraint) constr;
+    return searchPath(graph, (SimplePathComputationConstraint) constr);
+  }
+
+  /**
+   * Function to search the path for a validated constraint. Uses the label based search by default,
+   * subclasses ordering paths by a criterion that is not a sum of edge costs fall back to {@link
+   * #computePathBySorting}
+   */
+  protected PathElement searchPath(Gcontroller graph, SimplePathComputationConstraint constraint) {
+    return computeShortestPath(graph, constraint);
+  }
+
+  /** Function to get the cost of an edge, the search minimizes the sum of the edge costs */
+  protected double getEdgeCost(EdgeElement edge) {
+    return edge.getEdgeParams().getWeight();
+  }
+
+  /**
+   * Function to get the cost of an edge of a CSR graph from its parameter columns. Subclasses
+   * overriding {@link #getEdgeCost(EdgeElement)} have to override this function as well.
+   */
+  protected double getEdgeCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return graph.getWeight(edgeIndex);
+  }
+
+  /**
+   * Function to get the cost of a path extended by an edge, the sum of the costs by default. The
+   * cost of a path with a single edge is the cost of the edge. The cost of a path never decreases
+   * when it is extended, so the costs are non-negative for the sum while the maximum of the edge
+   * costs can be minimized for any costs.
+   */
+  protected double combineCost(double pathCost, double edgeCost) {
+    return pathCost + edgeCost;
+  }
+
+  /**
+   * Function to get the secondary cost of an edge. The sums of the secondary costs break the ties
+   * between paths of equal cost, no secondary cost by default.
+   */
+  protected double getTieBreakCost(EdgeElement edge) {
+    return 0;
+  }
+
+  /** Function to get the secondary cost of an edge of a CSR graph from its parameter columns */
+  protected double getTieBreakCost(CsrGcontrollerImpl graph, int edgeIndex) {
+    return 0;
+  }
+
+  /**
+   * Dijkstra search keeping a single label per vertex in a binary heap. The labels only store the
+   * predecessor edge, the path is built once the destination is reached.
+   */
+  protected PathElement computeShortestPath(
+      Gcontroller graph, SimplePathComputationConstraint constraint) {
+    if (graph instanceof CsrGcontrollerImpl) {
+      return computeShortestPath((CsrGcontrollerImpl) graph, constraint);
+    }
+    VertexElement source = graph.getVertex(constraint.getSource().getVertexID());
+    Set<EdgeElement> sourceEdges = source.getConnectedEdges();
+    if (sourceEdges == null) return null;
+    VertexElement target = graph.getVertex(constraint.getDestination().getVertexID());
+
+    HashMap<VertexElement, PathLabel> labels = new HashMap<VertexElement, PathLabel>();
+    PathLabelHeap heap = new PathLabelHeap();
+    PathLabel sourceLabel = new PathLabel(source);
+    sourceLabel.setSettled(true);
+    labels.put(source, sourceLabel);
+
+    for (EdgeElement edge : sourceEdges) {
+      // Check Constraint for path computation
+      if (checkConstraint(constraint, edge) == 1) {
+        relaxEdge(heap, labels, sourceLabel, edge, getOppositeVertex(edge, source));
+      }
+    }
+
+    while (heap.isEmpty() == false) {
+      if (constraint.shouldAbort()) return aborted(constraint);
+      PathLabel label = heap.poll();
+      label.setSettled(true);
+      VertexElement vertex = label.getVertex();
+      // If the shortest path terminates at the destination return this path
+      if (vertex.compareTo(target) == 0) {
+        return new PathElementImpl(graph, source, vertex, label.getEdgeSequence());
+      }
+
+      Set<EdgeElement> edges = vertex.getConnectedEdges();
+      if (edges == null) continue;
+      // The path is only built if a constraint inspects it
+      PathElement path = new LabelPathElement(graph, source, label);
+      for (EdgeElement edge : edges) {
+        VertexElement nextVertex = getOppositeVertex(edge, vertex);
+        PathLabel nextLabel = labels.get(nextVertex);
+        // Check if the next vertex already belongs to the set of settled vertices
+        if (nextLabel != null && nextLabel.isSettled()) continue;
+        // Check with constraint if edge can be added
+        if (checkConstraint(constraint, edge, path) == 1) {
+          relaxEdge(heap, labels, label, edge, nextVertex);
+        }
+      }
+    }
+    GraphLogger.logError(
+        "No Path found from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+
+  /**
+   * Dijkstra search over the primitive arrays of a CSR graph. The labels are kept in a search
+   * workspace borrowed from the pool, so the search only allocates the returned path.
+   */
+  private PathElement computeShortestPath(
+      CsrGcontrollerImpl graph, SimplePathComputationConstraint constraint) {
+    CsrSearchWorkspace workspace = CsrSearchWorkspace.acquire(graph.getVertexCount());
+    try {
+      return computeShortestPath(graph, constraint, workspace);
+    } finally {
+      workspace.release();
+    }
+  }
+
+  private PathElement computeShortestPath(
+      CsrGcontrollerImpl graph,
+      SimplePathComputationConstraint constraint,
+      CsrSearchWorkspace workspace) {
+    int source = graph.getVertexIndex(constraint.getSource().getVertexID());
+    int target = graph.getVertexIndex(constraint.getDestination().getVertexID());
+    if (source < 0 || target < 0) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] adjacentEdges = graph.getAdjacentEdges();
+    if (offsets[source] == offsets[source + 1]) return null;
+    VertexElement sourceVertex = graph.getVertexElement(source);
+
+    workspace.setSource(source);
+    for (int k = offsets[source]; k < offsets[source + 1]; k++) {
+      EdgeElement edge = graph.getEdgeElement(adjacentEdges[k]);
+      // Check Constraint for path computation
+      if (sourceVertex.isExcludedEdge(edge) == false && checkConstraint(constraint, edge) == 1) {
+        workspace.relax(
+            source,
+            adjacentEdges[k],
+            targets[k],
+            getEdgeCost(graph, adjacentEdges[k]),
+            getTieBreakCost(graph, adjacentEdges[k]));
+      }
+    }
+
+    while (workspace.isEmpty() == false) {
+      if (constraint.shouldAbort()) return aborted(constraint);
+      int vertex = workspace.poll();
+      // If the shortest path terminates at the destination return this path
+      if (vertex == target) {
+        return workspace.getPath(graph, sourceVertex, vertex);
+      }
+
+      VertexElement vertexElement = graph.getVertexElement(vertex);
+      PathElement path = null;
+      for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+        int nextVertex = targets[k];
+        // Check if the next vertex already belongs to the set of settled vertices
+        if (workspace.isSettled(nextVertex)) continue;
+        EdgeElement edge = graph.getEdgeElement(adjacentEdges[k]);
+        if (vertexElement.isExcludedEdge(edge)) continue;
+        // The path view is only built if a constraint inspects it
+        if (path == null) path = workspace.getPathView(graph, sourceVertex, vertex);
+        // Check with constraint if edge can be added
+        if (checkConstraint(constraint, edge, path) == 1) {
+          double key =
+              combineCost(workspace.getKey(vertex), getEdgeCost(graph, adjacentEdges[k]));
+          double tieBreakKey =
+              workspace.getTieBreakKey(vertex) + getTieBreakCost(graph, adjacentEdges[k]);
+          workspace.relax(vertex, adjacentEdges[k], nextVertex, key, tieBreakKey);
+        }
+      }
+    }
+    GraphLogger.logError(
+        "No Path found from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+
+  /** Function to abort a search that was cancelled or has expired, no path is returned */
+  protected PathElement aborted(Constraint constraint) {
+    GraphLogger.logMsg(
+        "Computation from "
+            + constraint.getSource().getVertexID()
+            + " to "
+            + constraint.getDestination().getVertexID()
+            + (constraint.getCancellationFlag().isCancelled() ? " cancelled" : " expired"),
+        classIdentifier);
+    return null;
+  }
+
+  /** Function to update the label of the next vertex if the edge provides a cheaper path */
+  private void relaxEdge(
+      PathLabelHeap heap,
+      HashMap<VertexElement, PathLabel> labels,
+      PathLabel label,
+      EdgeElement edge,
+      VertexElement nextVertex) {
+    // The edges of the source are not combined with the empty path
+    double key =
+        label.getPredecessor() == null
+            ? getEdgeCost(edge)
+            : combineCost(label.getKey(), getEdgeCost(edge));
+    double tieBreakKey = label.getTieBreakKey() + getTieBreakCost(edge);
+    PathLabel nextLabel = labels.get(nextVertex);
+    if (nextLabel == null) {
+      nextLabel = new PathLabel(nextVertex);
+      labels.put(nextVertex, nextLabel);
+    } else if (key > nextLabel.getKey()
+        || (key == nextLabel.getKey() && tieBreakKey >= nextLabel.getTieBreakKey())) {
+      return;
+    }
+    nextLabel.setPredecessor(label, edge);
+    heap.update(nextLabel, key, tieBreakKey);
+  }
+
+  /** Function to get the end of the edge opposite to the given vertex */
+  protected VertexElement getOppositeVertex(EdgeElement edge, VertexElement vertex) {
+    if (edge.getSourceVertex().compareTo(vertex) == 0) return edge.getDestinationVertex();
+    return edge.getSourceVertex();
+  }
+
+  /**
+   * Search keeping every candidate path in a list sorted with {@link #sortPaths}, used when paths
+   * are not ordered by a sum of edge costs
+   */
+  protected PathElement computePathBySorting(
+      Gcontroller graph, SimplePathComputationConstraint constraint) {
     VertexElement source = graph.getVertex(constraint.getSource().getVertexID());
     if (source.getConnectedEdges() == null) return null;
 
     ArrayList<PathElement> list = new ArrayList<PathElement>();
     Iterator<EdgeElement> iter = source.getConnectedEdges().iterator();
-    System.out.println("Connected Edges From source = " + source.getConnectedEdges().size());
     while (iter.hasNext()) {
       EdgeElement edge = iter.next();
       // Check Constraint for path computation
@@ -104,6 +347,7 @@ public class SimplePathComputationAlgorithm implements PathComputationAlgorithm
     visitedVertices.add(source);
 
     while (list.size() > 0) {
+      if (constraint.shouldAbort()) return aborted(constraint);
       PathElementImpl temp = (PathElementImpl) list.get(0);
       list.remove(0);
       if (visitedVertices.contains(temp.getDestination()) == false) {
@@ -159,4 +403,55 @@ public class SimplePathComputationAlgorithm implements PathComputationAlgorithm
         classIdentifier);
     return null;
   }
+
+  /** Path to a labelled vertex, the edge sequence is built on first access */
+  private static class LabelPathElement extends PathElement {
+
+    private final PathLabel label;
+
+    private PathElementImpl path;
+
+    LabelPathElement(Gcontroller graph, VertexElement source, PathLabel label) {
+      this.graph = graph;
+      this.source = source;
+      this.destination = label.getVertex();
+      this.label = label;
+      this.setPathParams(new PathParams(this));
+    }
+
+    private PathElementImpl getPath() {
+      if (path == null) {
+        path = new PathElementImpl(graph, source, destination, label.getEdgeSequence());
+      }
+      return path;
+    }
+
+    public ArrayList<VertexElement> getTraversedVertices() {
+      return getPath().getTraversedVertices();
+    }
+
+    public ArrayList<EdgeElement> getTraversedEdges() {
+      return getPath().getTraversedEdges();
+    }
+
+    public boolean containsVertex(VertexElement vertex) {
+      return label.pathContainsVertex(vertex);
+    }
+
+    public boolean containsEdge(EdgeElement edge) {
+      return getPath().containsEdge(edge);
+    }
+
+    public boolean resvBandwidth(double bw) {
+      return getPath().resvBandwidth(bw);
+    }
+
+    public boolean releaseBandwidth(double bw) {
+      return getPath().releaseBandwidth(bw);
+    }
+
+    public void setEdgeSequence(ArrayList<EdgeElement> edges) {
+      getPath().setEdgeSequence(edges);
+    }
+  }
 }
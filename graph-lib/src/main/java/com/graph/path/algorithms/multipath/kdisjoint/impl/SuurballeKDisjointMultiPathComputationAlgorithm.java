@@ -0,0 +1,421 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.multipath.kdisjoint.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.logger.GraphLogger;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.MultiPathComputationAlgorithm;
+import com.graph.path.algorithms.constraints.MultiPathConstraint;
+import com.graph.path.algorithms.constraints.multipath.impl.DisjointMultiPathComputationConstraint;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Algorithm to compute the k disjoint paths of minimum total weight between a source and a
+ * destination (Suurballe's algorithm, in the form given by Bhandari). The paths are link disjoint,
+ * or node disjoint if requested by a {@link DisjointMultiPathComputationConstraint}, and only use
+ * the links with the requested bandwidth. If less than k disjoint paths exist, the paths of minimum
+ * total weight among the largest number of disjoint paths are computed.
+ *
+ * <p>The paths are added one at a time along the shortest path of the residual graph, in which a
+ * link used by a computed path can be traversed backwards with the opposite weight. A path taking a
+ * link backwards exchanges its tail with the tail of the path using the link, so that the computed
+ * paths are untangled without searching for common links afterwards. The residual graph is a view
+ * on the adjacency of the graph holding the used links, the graph is neither copied nor modified.
+ * The shortest paths are searched with the Dijkstra algorithm on the weights reduced by the
+ * distances of the previous search, which are never negative.
+ *
+ * <p>The paths are returned by ascending weight, null is returned if no path exists.
+ */
+public class SuurballeKDisjointMultiPathComputationAlgorithm
+    implements MultiPathComputationAlgorithm {
+
+  private static final String classIdentifier = "SuurballeKDisjointMultiPathComputationAlgorithm";
+
+  /**
+   * Adjacency of the links with the requested bandwidth and the links used by the computed paths.
+   * Every link is stored once from each end point, the entry of the opposite direction is its twin.
+   * A CSR graph keeps its vertex indices, the vertices of other graphs are indexed in the order
+   * they are reached from the source.
+   */
+  private static class ResidualGraph {
+
+    // The links of vertex i are stored from offsets[i] to offsets[i + 1]
+    private int[] offsets;
+
+    private int[] targets;
+
+    private int[] twins;
+
+    private EdgeElement[] edges;
+
+    private double[] weights;
+
+    // true if a computed path uses the link in the direction of the entry
+    private boolean[] used;
+
+    private int vertexCount;
+
+    private int linkCount;
+
+    // Indices of the vertices of a graph without CSR arrays
+    private HashMap<VertexElement, Integer> indices;
+
+    private CsrGcontrollerImpl csrGraph;
+
+    ResidualGraph(Gcontroller graph, VertexElement source, double bw) {
+      if (graph instanceof CsrGcontrollerImpl) {
+        csrGraph = (CsrGcontrollerImpl) graph;
+        vertexCount = csrGraph.getVertexCount();
+        offsets = new int[vertexCount + 1];
+        allocate(csrGraph.getTargets().length);
+        int[] csrOffsets = csrGraph.getOffsets();
+        int[] csrTargets = csrGraph.getTargets();
+        int[] adjacentEdges = csrGraph.getAdjacentEdges();
+        int[] firstEntries = new int[csrGraph.getEdgeCount()];
+        Arrays.fill(firstEntries, -1);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+          for (int k = csrOffsets[vertex]; k < csrOffsets[vertex + 1]; k++) {
+            int edge = adjacentEdges[k];
+            if (csrTargets[k] == vertex || csrGraph.getAvailableCapacity(edge) < bw) continue;
+            addLink(csrTargets[k], csrGraph.getEdgeElement(edge), csrGraph.getWeight(edge));
+            if (firstEntries[edge] < 0) {
+              firstEntries[edge] = linkCount - 1;
+            } else {
+              pair(firstEntries[edge], linkCount - 1);
+            }
+          }
+          offsets[vertex + 1] = linkCount;
+        }
+      } else {
+        indices = new HashMap<VertexElement, Integer>();
+        ArrayList<VertexElement> vertices = new ArrayList<VertexElement>();
+        HashMap<EdgeElement, Integer> firstEntries = new HashMap<EdgeElement, Integer>();
+        indices.put(source, 0);
+        vertices.add(source);
+        offsets = new int[17];
+        allocate(64);
+        for (int vertex = 0; vertex < vertices.size(); vertex++) {
+          VertexElement vertexElement = vertices.get(vertex);
+          Set<EdgeElement> connectedEdges = vertexElement.getConnectedEdges();
+          if (connectedEdges != null) {
+            for (EdgeElement edge : connectedEdges) {
+              VertexElement neighbour =
+                  edge.getSourceVertex() == vertexElement
+                      ? edge.getDestinationVertex()
+                      : edge.getSourceVertex();
+              if (neighbour == vertexElement) continue;
+              if (edge.getEdgeParams().getAvailableCapacity() < bw) continue;
+              Integer index = indices.get(neighbour);
+              if (index == null) {
+                index = vertices.size();
+                indices.put(neighbour, index);
+                vertices.add(neighbour);
+              }
+              addLink(index, edge, edge.getEdgeParams().getWeight());
+              Integer firstEntry = firstEntries.remove(edge);
+              if (firstEntry == null) {
+                firstEntries.put(edge, linkCount - 1);
+              } else {
+                pair(firstEntry, linkCount - 1);
+              }
+            }
+          }
+          if (vertex + 2 > offsets.length) offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+          offsets[vertex + 1] = linkCount;
+        }
+        vertexCount = vertices.size();
+      }
+      used = new boolean[linkCount];
+    }
+
+    private void allocate(int capacity) {
+      targets = new int[capacity];
+      twins = new int[capacity];
+      edges = new EdgeElement[capacity];
+      weights = new double[capacity];
+    }
+
+    private void addLink(int target, EdgeElement edge, double weight) {
+      if (linkCount == targets.length) {
+        targets = Arrays.copyOf(targets, 2 * linkCount);
+        twins = Arrays.copyOf(twins, 2 * linkCount);
+        edges = Arrays.copyOf(edges, 2 * linkCount);
+        weights = Arrays.copyOf(weights, 2 * linkCount);
+      }
+      targets[linkCount] = target;
+      edges[linkCount] = edge;
+      weights[linkCount] = weight;
+      linkCount++;
+    }
+
+    private void pair(int link, int twin) {
+      twins[link] = twin;
+      twins[twin] = link;
+    }
+
+    /** Function to get the index of a vertex, -1 if it is not in the graph */
+    int indexOf(VertexElement vertex) {
+      if (csrGraph != null) return csrGraph.getVertexIndex(vertex.getVertexID());
+      Integer index = indices.get(vertex);
+      return index == null ? -1 : index;
+    }
+  }
+
+  /**
+   * State of the search for a shortest path of the residual graph. The links are traversed from
+   * vertex to vertex for link disjoint paths. For node disjoint paths every vertex is split into an
+   * entry state 2v and an exit state 2v + 1, connected by an internal link that can only be used by
+   * one path if the vertex is not an end point.
+   */
+  private static class ResidualSearch {
+
+    private final ResidualGraph graph;
+
+    private final boolean nodeDisjoint;
+
+    private final int source;
+
+    private final int destination;
+
+    // true if a computed path crosses the vertex, for node disjoint paths
+    private final boolean[] crossed;
+
+    private final double[] potentials;
+
+    private final double[] distances;
+
+    // State and link from which every state was reached, the link is -1 for an internal link
+    private final int[] predecessors;
+
+    private final int[] predecessorLinks;
+
+    ResidualSearch(ResidualGraph graph, int source, int destination, boolean nodeDisjoint) {
+      this.graph = graph;
+      this.nodeDisjoint = nodeDisjoint;
+      this.source = source;
+      this.destination = destination;
+      int stateCount = nodeDisjoint ? 2 * graph.vertexCount : graph.vertexCount;
+      crossed = new boolean[graph.vertexCount];
+      potentials = new double[stateCount];
+      distances = new double[stateCount];
+      predecessors = new int[stateCount];
+      predecessorLinks = new int[stateCount];
+    }
+
+    private int startState() {
+      return nodeDisjoint ? 2 * source + 1 : source;
+    }
+
+    private int targetState() {
+      return nodeDisjoint ? 2 * destination : destination;
+    }
+
+    /**
+     * Function to add a path along the shortest path of the residual graph, returns false if the
+     * destination cannot be reached
+     */
+    boolean augment() {
+      int start = startState();
+      int target = targetState();
+      Arrays.fill(distances, Double.POSITIVE_INFINITY);
+      distances[start] = 0;
+      PriorityQueue<double[]> queue =
+          new PriorityQueue<double[]>(Comparator.comparingDouble((double[] entry) -> entry[0]));
+      queue.add(new double[] {0, start});
+      while (queue.isEmpty() == false) {
+        double[] entry = queue.poll();
+        int state = (int) entry[1];
+        if (entry[0] > distances[state]) continue;
+        if (state == target) break;
+        if (nodeDisjoint) {
+          relaxSplitState(queue, state);
+        } else {
+          int[] offsets = graph.offsets;
+          for (int k = offsets[state]; k < offsets[state + 1]; k++) {
+            if (graph.used[graph.twins[k]]) {
+              relax(queue, state, graph.targets[k], k, -graph.weights[k]);
+            } else if (graph.used[k] == false) {
+              relax(queue, state, graph.targets[k], k, graph.weights[k]);
+            }
+          }
+        }
+      }
+      double targetDistance = distances[target];
+      if (targetDistance == Double.POSITIVE_INFINITY) return false;
+
+      // The states settled after the destination keep the distance of the destination, so that the
+      // reduced weights remain positive
+      for (int state = 0; state < potentials.length; state++) {
+        potentials[state] += Math.min(distances[state], targetDistance);
+      }
+      for (int state = target; state != start; state = predecessors[state]) {
+        int k = predecessorLinks[state];
+        if (k < 0) {
+          int vertex = state / 2;
+          if (vertex != source && vertex != destination) crossed[vertex] = state % 2 == 1;
+        } else if (graph.used[graph.twins[k]]) {
+          graph.used[graph.twins[k]] = false;
+        } else {
+          graph.used[k] = true;
+        }
+      }
+      return true;
+    }
+
+    private void relaxSplitState(PriorityQueue<double[]> queue, int state) {
+      int vertex = state / 2;
+      int[] offsets = graph.offsets;
+      boolean endPoint = vertex == source || vertex == destination;
+      if (state % 2 == 0) {
+        // Entry state: cross the vertex, or leave backwards over a link used to enter it
+        if (endPoint || crossed[vertex] == false) relax(queue, state, state + 1, -1, 0);
+        for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+          if (graph.used[graph.twins[k]]) {
+            relax(queue, state, 2 * graph.targets[k] + 1, k, -graph.weights[k]);
+          }
+        }
+      } else {
+        // Exit state: go back over the crossing of a path, or leave over an unused link
+        if (endPoint == false && crossed[vertex]) relax(queue, state, state - 1, -1, 0);
+        for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+          if (graph.used[k] == false && graph.used[graph.twins[k]] == false) {
+            relax(queue, state, 2 * graph.targets[k], k, graph.weights[k]);
+          }
+        }
+      }
+    }
+
+    private void relax(
+        PriorityQueue<double[]> queue, int state, int next, int link, double weight) {
+      // Rounding errors must not make a reduced weight negative
+      double reducedWeight = Math.max(0, weight + potentials[state] - potentials[next]);
+      double distance = distances[state] + reducedWeight;
+      if (distance < distances[next]) {
+        distances[next] = distance;
+        predecessors[next] = state;
+        predecessorLinks[next] = link;
+        queue.add(new double[] {distance, next});
+      }
+    }
+  }
+
+  public ArrayList<PathElement> computePath(
+      Gcontroller controller, MultiPathConstraint constraints) {
+    VertexElement sourceVertex = controller.getVertex(constraints.getSource().getVertexID());
+    VertexElement destinationVertex =
+        controller.getVertex(constraints.getDestination().getVertexID());
+    if (sourceVertex == null || destinationVertex == null) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    if (sourceVertex == destinationVertex) {
+      GraphLogger.logError("Source and destination are the same vertex", classIdentifier);
+      return null;
+    }
+    boolean nodeDisjoint =
+        constraints instanceof DisjointMultiPathComputationConstraint
+            && ((DisjointMultiPathComputationConstraint) constraints).isNodeDisjoint();
+
+    ResidualGraph graph = new ResidualGraph(controller, sourceVertex, constraints.getBw());
+    int source = graph.indexOf(sourceVertex);
+    int destination = graph.indexOf(destinationVertex);
+    if (destination < 0) return noPath(constraints);
+
+    // A path count of 0 requests all the disjoint paths
+    int pathCount =
+        constraints.getPathCount() > 0 ? constraints.getPathCount() : Integer.MAX_VALUE;
+    ResidualSearch search = new ResidualSearch(graph, source, destination, nodeDisjoint);
+    int computedPaths = 0;
+    while (computedPaths < pathCount) {
+      if (constraints.shouldAbort()) {
+        GraphLogger.logMsg("Path computation aborted", classIdentifier);
+        return null;
+      }
+      if (search.augment() == false) break;
+      computedPaths++;
+    }
+    if (computedPaths == 0) return noPath(constraints);
+
+    ArrayList<PathElement> paths = new ArrayList<PathElement>(computedPaths);
+    boolean[] traversed = new boolean[graph.linkCount];
+    for (int i = 0; i < computedPaths; i++) {
+      paths.add(
+          new PathElementImpl(
+              controller,
+              sourceVertex,
+              destinationVertex,
+              getEdgeSequence(graph, source, destination, traversed)));
+    }
+    paths.sort(Comparator.comparingDouble(path -> path.getPathParams().getPathWeight()));
+    return paths;
+  }
+
+  /**
+   * Function to follow a path over the used links not yet traversed. Loops of links with a weight
+   * of zero can be left in the used links, they are removed from the path.
+   */
+  private static ArrayList<EdgeElement> getEdgeSequence(
+      ResidualGraph graph, int source, int destination, boolean[] traversed) {
+    ArrayList<Integer> vertices = new ArrayList<Integer>();
+    ArrayList<EdgeElement> edgeSequence = new ArrayList<EdgeElement>();
+    HashMap<Integer, Integer> positions = new HashMap<Integer, Integer>();
+    int vertex = source;
+    positions.put(vertex, 0);
+    vertices.add(vertex);
+    while (vertex != destination) {
+      int link = -1;
+      for (int k = graph.offsets[vertex]; k < graph.offsets[vertex + 1]; k++) {
+        if (graph.used[k] && traversed[k] == false) {
+          link = k;
+          break;
+        }
+      }
+      traversed[link] = true;
+      vertex = graph.targets[link];
+      Integer position = positions.get(vertex);
+      if (position != null) {
+        while (vertices.size() > position + 1) {
+          positions.remove(vertices.remove(vertices.size() - 1));
+          edgeSequence.remove(edgeSequence.size() - 1);
+        }
+      } else {
+        positions.put(vertex, vertices.size());
+        vertices.add(vertex);
+        edgeSequence.add(graph.edges[link]);
+      }
+    }
+    return edgeSequence;
+  }
+
+  private ArrayList<PathElement> noPath(MultiPathConstraint constraints) {
+    GraphLogger.logError(
+        "No Path found from "
+            + constraints.getSource().getVertexID()
+            + " to "
+            + constraints.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+}
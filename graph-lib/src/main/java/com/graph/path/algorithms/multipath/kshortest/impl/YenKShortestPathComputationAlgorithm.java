@@ -0,0 +1,468 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.graph.path.algorithms.multipath.kshortest.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.logger.GraphLogger;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.MultiPathComputationAlgorithm;
+import com.graph.path.algorithms.constraints.MultiPathConstraint;
+import com.graph.path.pathelementimpl.PathElementImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Algorithm to compute the k shortest loopless paths between a source and a destination over the
+ * links with the requested bandwidth (Yen's algorithm). The paths are returned by ascending weight,
+ * null is returned if no path exists. A path count of 0 requests {@link #MAX_PATH_COUNT} paths.
+ *
+ * <p>Every path after the first is the shortest deviation (spur path) from a previous path at one
+ * of its vertices, avoiding the vertices of the common prefix (root path) and the links taken after
+ * it by the previous paths sharing the prefix. The links and vertices are masked in bitsets of the
+ * search, the graph and its vertices are not modified.
+ *
+ * <p>The tree of the shortest paths to the destination is computed once and reused by all spur
+ * searches. Masking links and vertices only lengthens the paths, so the tree distances guide the
+ * spur searches like the potential of an A* search, and the tree path is taken directly if it
+ * avoids the masked links and vertices. Only the k - i best candidates are kept once i paths are
+ * found, and a spur search is skipped if its lower bound cannot improve on them.
+ */
+public class YenKShortestPathComputationAlgorithm implements MultiPathComputationAlgorithm {
+
+  private static final String classIdentifier = "YenKShortestPathComputationAlgorithm";
+
+  /** Number of paths computed if the path count of the constraint is 0 */
+  public static final int MAX_PATH_COUNT = 16;
+
+  // Candidates by ascending weight, then by hop count and by order of discovery
+  private static final Comparator<Path> PATH_ORDER =
+      Comparator.comparingDouble((Path path) -> path.weight)
+          .thenComparingInt(path -> path.edges.length)
+          .thenComparingInt(path -> path.sequence);
+
+  /** Loopless path given by the indices of its vertices and links */
+  private static class Path {
+
+    private final int[] vertices;
+
+    private final int[] edges;
+
+    private final double weight;
+
+    // Order in which the candidates were found, breaks ties between candidates
+    private final int sequence;
+
+    // Index of the vertex at which the path deviates from the path it was derived from
+    private final int deviation;
+
+    Path(int[] vertices, int[] edges, double weight, int sequence, int deviation) {
+      this.vertices = vertices;
+      this.edges = edges;
+      this.weight = weight;
+      this.sequence = sequence;
+      this.deviation = deviation;
+    }
+
+    /** Function to check if the path starts with the first links of the root path and goes on */
+    boolean extendsRoot(Path root, int linkCount) {
+      if (edges.length <= linkCount) return false;
+      for (int i = 0; i < linkCount; i++) {
+        if (edges[i] != root.edges[i]) return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Adjacency of the links with the requested bandwidth. A CSR graph keeps its vertex and edge
+   * indices, the vertices of other graphs are indexed in the order they are reached from the
+   * source and their links in the order they are found.
+   */
+  private static class SearchGraph {
+
+    // The links of vertex i are stored from offsets[i] to offsets[i + 1]
+    private int[] offsets;
+
+    private int[] targets;
+
+    // Index of the link of every adjacency entry, shared by both directions of the link
+    private int[] linkIndices;
+
+    private double[] weights;
+
+    private EdgeElement[] links;
+
+    private double[] linkWeights;
+
+    private int vertexCount;
+
+    private int entryCount;
+
+    // Indices of the vertices of a graph without CSR arrays
+    private HashMap<VertexElement, Integer> indices;
+
+    private CsrGcontrollerImpl csrGraph;
+
+    SearchGraph(Gcontroller graph, VertexElement source, double bw) {
+      if (graph instanceof CsrGcontrollerImpl) {
+        csrGraph = (CsrGcontrollerImpl) graph;
+        vertexCount = csrGraph.getVertexCount();
+        offsets = new int[vertexCount + 1];
+        allocate(csrGraph.getTargets().length);
+        links = new EdgeElement[csrGraph.getEdgeCount()];
+        linkWeights = new double[links.length];
+        int[] csrOffsets = csrGraph.getOffsets();
+        int[] csrTargets = csrGraph.getTargets();
+        int[] adjacentEdges = csrGraph.getAdjacentEdges();
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+          for (int k = csrOffsets[vertex]; k < csrOffsets[vertex + 1]; k++) {
+            int edge = adjacentEdges[k];
+            if (csrTargets[k] == vertex || csrGraph.getAvailableCapacity(edge) < bw) continue;
+            links[edge] = csrGraph.getEdgeElement(edge);
+            linkWeights[edge] = csrGraph.getWeight(edge);
+            addEntry(csrTargets[k], edge, csrGraph.getWeight(edge));
+          }
+          offsets[vertex + 1] = entryCount;
+        }
+        return;
+      }
+      indices = new HashMap<VertexElement, Integer>();
+      ArrayList<VertexElement> vertices = new ArrayList<VertexElement>();
+      HashMap<EdgeElement, Integer> linkIndexMap = new HashMap<EdgeElement, Integer>();
+      ArrayList<EdgeElement> linkList = new ArrayList<EdgeElement>();
+      indices.put(source, 0);
+      vertices.add(source);
+      offsets = new int[17];
+      allocate(64);
+      for (int vertex = 0; vertex < vertices.size(); vertex++) {
+        VertexElement vertexElement = vertices.get(vertex);
+        Set<EdgeElement> connectedEdges = vertexElement.getConnectedEdges();
+        if (connectedEdges != null) {
+          for (EdgeElement edge : connectedEdges) {
+            VertexElement neighbour =
+                edge.getSourceVertex() == vertexElement
+                    ? edge.getDestinationVertex()
+                    : edge.getSourceVertex();
+            if (neighbour == vertexElement) continue;
+            if (edge.getEdgeParams().getAvailableCapacity() < bw) continue;
+            Integer index = indices.get(neighbour);
+            if (index == null) {
+              index = vertices.size();
+              indices.put(neighbour, index);
+              vertices.add(neighbour);
+            }
+            Integer linkIndex = linkIndexMap.get(edge);
+            if (linkIndex == null) {
+              linkIndex = linkList.size();
+              linkIndexMap.put(edge, linkIndex);
+              linkList.add(edge);
+            }
+            addEntry(index, linkIndex, edge.getEdgeParams().getWeight());
+          }
+        }
+        if (vertex + 2 > offsets.length) offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        offsets[vertex + 1] = entryCount;
+      }
+      vertexCount = vertices.size();
+      links = linkList.toArray(new EdgeElement[0]);
+      linkWeights = new double[links.length];
+      for (int link = 0; link < links.length; link++) {
+        linkWeights[link] = links[link].getEdgeParams().getWeight();
+      }
+    }
+
+    private void allocate(int capacity) {
+      targets = new int[capacity];
+      linkIndices = new int[capacity];
+      weights = new double[capacity];
+    }
+
+    private void addEntry(int target, int linkIndex, double weight) {
+      if (entryCount == targets.length) {
+        targets = Arrays.copyOf(targets, 2 * entryCount);
+        linkIndices = Arrays.copyOf(linkIndices, 2 * entryCount);
+        weights = Arrays.copyOf(weights, 2 * entryCount);
+      }
+      targets[entryCount] = target;
+      linkIndices[entryCount] = linkIndex;
+      weights[entryCount] = weight;
+      entryCount++;
+    }
+
+    /** Function to get the index of a vertex, -1 if it is not in the graph */
+    int indexOf(VertexElement vertex) {
+      if (csrGraph != null) return csrGraph.getVertexIndex(vertex.getVertexID());
+      Integer index = indices.get(vertex);
+      return index == null ? -1 : index;
+    }
+  }
+
+  /**
+   * Shortest path tree to the destination and the spur searches using it. The arrays of the spur
+   * searches are reused, the entries written by an earlier search are recognised by their stamp.
+   */
+  private static class SpurSearch {
+
+    private final SearchGraph graph;
+
+    private final int destination;
+
+    // Distance of every vertex to the destination, and the next vertex and link of its tree path
+    private final double[] distances;
+
+    private final int[] nextVertices;
+
+    private final int[] nextLinks;
+
+    // Links and vertices the current spur search must avoid
+    private final BitSet maskedLinks = new BitSet();
+
+    private final BitSet maskedVertices = new BitSet();
+
+    private final double[] weights;
+
+    private final int[] predecessors;
+
+    private final int[] predecessorEntries;
+
+    private final int[] stamps;
+
+    private int stamp = 0;
+
+    SpurSearch(SearchGraph graph, int destination) {
+      this.graph = graph;
+      this.destination = destination;
+      int vertexCount = graph.vertexCount;
+      distances = new double[vertexCount];
+      nextVertices = new int[vertexCount];
+      nextLinks = new int[vertexCount];
+      weights = new double[vertexCount];
+      predecessors = new int[vertexCount];
+      predecessorEntries = new int[vertexCount];
+      stamps = new int[vertexCount];
+      computeTree();
+    }
+
+    // Dijkstra search from the destination, the links are bidirectional
+    private void computeTree() {
+      Arrays.fill(distances, Double.POSITIVE_INFINITY);
+      distances[destination] = 0;
+      nextVertices[destination] = -1;
+      PriorityQueue<double[]> queue =
+          new PriorityQueue<double[]>(Comparator.comparingDouble((double[] entry) -> entry[0]));
+      queue.add(new double[] {0, destination});
+      while (queue.isEmpty() == false) {
+        double[] entry = queue.poll();
+        int vertex = (int) entry[1];
+        if (entry[0] > distances[vertex]) continue;
+        for (int k = graph.offsets[vertex]; k < graph.offsets[vertex + 1]; k++) {
+          int next = graph.targets[k];
+          double distance = entry[0] + graph.weights[k];
+          if (distance < distances[next]) {
+            distances[next] = distance;
+            nextVertices[next] = vertex;
+            nextLinks[next] = graph.linkIndices[k];
+            queue.add(new double[] {distance, next});
+          }
+        }
+      }
+    }
+
+    /** Function to get the tree path from a vertex, null if the destination is unreachable */
+    Path getTreePath(int vertex, int sequence) {
+      if (distances[vertex] == Double.POSITIVE_INFINITY) return null;
+      int hops = 0;
+      for (int v = vertex; v != destination; v = nextVertices[v]) hops++;
+      int[] vertices = new int[hops + 1];
+      int[] links = new int[hops];
+      vertices[0] = vertex;
+      for (int i = 0; i < hops; i++) {
+        links[i] = nextLinks[vertices[i]];
+        vertices[i + 1] = nextVertices[vertices[i]];
+      }
+      return new Path(vertices, links, distances[vertex], sequence, 0);
+    }
+
+    /** Function to check if the tree path from a vertex avoids the masked links and vertices */
+    private boolean isTreePathUnmasked(int vertex) {
+      for (int v = vertex; v != destination; v = nextVertices[v]) {
+        if (maskedLinks.get(nextLinks[v]) || maskedVertices.get(nextVertices[v])) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Function to compute the shortest path from the spur vertex to the destination avoiding the
+     * masked links and vertices, null if there is none
+     */
+    Path getSpurPath(int spur, int sequence) {
+      if (distances[spur] == Double.POSITIVE_INFINITY) return null;
+      if (isTreePathUnmasked(spur)) return getTreePath(spur, sequence);
+
+      // A* search guided by the tree distances, which are lower bounds of the masked distances
+      stamp++;
+      stamps[spur] = stamp;
+      weights[spur] = 0;
+      predecessors[spur] = -1;
+      PriorityQueue<double[]> queue =
+          new PriorityQueue<double[]>(Comparator.comparingDouble((double[] entry) -> entry[0]));
+      queue.add(new double[] {distances[spur], spur});
+      while (queue.isEmpty() == false) {
+        double[] entry = queue.poll();
+        int vertex = (int) entry[1];
+        if (entry[0] > weights[vertex] + distances[vertex]) continue;
+        if (vertex == destination) return buildSpurPath(spur, sequence);
+        for (int k = graph.offsets[vertex]; k < graph.offsets[vertex + 1]; k++) {
+          int next = graph.targets[k];
+          if (distances[next] == Double.POSITIVE_INFINITY
+              || maskedVertices.get(next)
+              || maskedLinks.get(graph.linkIndices[k])) continue;
+          double weight = weights[vertex] + graph.weights[k];
+          if (stamps[next] != stamp || weight < weights[next]) {
+            stamps[next] = stamp;
+            weights[next] = weight;
+            predecessors[next] = vertex;
+            predecessorEntries[next] = k;
+            queue.add(new double[] {weight + distances[next], next});
+          }
+        }
+      }
+      return null;
+    }
+
+    private Path buildSpurPath(int spur, int sequence) {
+      int hops = 0;
+      for (int v = destination; v != spur; v = predecessors[v]) hops++;
+      int[] vertices = new int[hops + 1];
+      int[] links = new int[hops];
+      vertices[hops] = destination;
+      for (int i = hops; i > 0; i--) {
+        links[i - 1] = graph.linkIndices[predecessorEntries[vertices[i]]];
+        vertices[i - 1] = predecessors[vertices[i]];
+      }
+      return new Path(vertices, links, weights[destination], sequence, 0);
+    }
+  }
+
+  public ArrayList<PathElement> computePath(
+      Gcontroller controller, MultiPathConstraint constraints) {
+    VertexElement sourceVertex = controller.getVertex(constraints.getSource().getVertexID());
+    VertexElement destinationVertex =
+        controller.getVertex(constraints.getDestination().getVertexID());
+    if (sourceVertex == null || destinationVertex == null) {
+      GraphLogger.logError("Source or destination not found in the graph", classIdentifier);
+      return null;
+    }
+    if (sourceVertex == destinationVertex) {
+      GraphLogger.logError("Source and destination are the same vertex", classIdentifier);
+      return null;
+    }
+    SearchGraph graph = new SearchGraph(controller, sourceVertex, constraints.getBw());
+    int source = graph.indexOf(sourceVertex);
+    int destination = graph.indexOf(destinationVertex);
+    if (destination < 0) return noPath(constraints);
+    SpurSearch search = new SpurSearch(graph, destination);
+    int sequence = 0;
+    Path shortestPath = search.getTreePath(source, sequence++);
+    if (shortestPath == null) return noPath(constraints);
+
+    int pathCount = constraints.getPathCount() > 0 ? constraints.getPathCount() : MAX_PATH_COUNT;
+    ArrayList<Path> paths = new ArrayList<Path>(pathCount);
+    paths.add(shortestPath);
+    TreeSet<Path> candidates = new TreeSet<Path>(PATH_ORDER);
+    HashSet<String> knownPaths = new HashSet<String>();
+    knownPaths.add(Arrays.toString(shortestPath.edges));
+
+    while (paths.size() < pathCount) {
+      if (constraints.shouldAbort()) {
+        GraphLogger.logMsg("Path computation aborted", classIdentifier);
+        return null;
+      }
+      Path previousPath = paths.get(paths.size() - 1);
+      // Only the candidates that can still be returned are kept
+      int candidateCount = pathCount - paths.size();
+      double rootWeight = 0;
+      search.maskedVertices.clear();
+      for (int i = 0; i < previousPath.edges.length; i++) {
+        int spur = previousPath.vertices[i];
+        if (i > 0) {
+          search.maskedVertices.set(previousPath.vertices[i - 1]);
+          rootWeight += graph.linkWeights[previousPath.edges[i - 1]];
+        }
+        // The deviations before the deviation of the previous path were computed for the path it
+        // was derived from (Lawler)
+        if (i < previousPath.deviation) continue;
+        if (candidates.size() >= candidateCount
+            && rootWeight + search.distances[spur] >= candidates.last().weight) continue;
+
+        search.maskedLinks.clear();
+        for (Path path : paths) {
+          if (path.extendsRoot(previousPath, i)) search.maskedLinks.set(path.edges[i]);
+        }
+        Path spurPath = search.getSpurPath(spur, sequence);
+        if (spurPath == null) continue;
+
+        Path candidate = join(previousPath, i, rootWeight, spurPath, sequence++);
+        if (knownPaths.add(Arrays.toString(candidate.edges))) {
+          candidates.add(candidate);
+          if (candidates.size() > candidateCount) candidates.pollLast();
+        }
+      }
+      if (candidates.isEmpty()) break;
+      paths.add(candidates.pollFirst());
+    }
+
+    ArrayList<PathElement> pathElements = new ArrayList<PathElement>(paths.size());
+    for (Path path : paths) {
+      ArrayList<EdgeElement> edgeSequence = new ArrayList<EdgeElement>(path.edges.length);
+      for (int link : path.edges) {
+        edgeSequence.add(graph.links[link]);
+      }
+      pathElements.add(
+          new PathElementImpl(controller, sourceVertex, destinationVertex, edgeSequence));
+    }
+    return pathElements;
+  }
+
+  // Function to join the first vertices of a path and a spur path from its last vertex
+  private static Path join(
+      Path path, int spurIndex, double rootWeight, Path spurPath, int sequence) {
+    int[] vertices = Arrays.copyOf(path.vertices, spurIndex + spurPath.vertices.length);
+    System.arraycopy(spurPath.vertices, 0, vertices, spurIndex, spurPath.vertices.length);
+    int[] edges = Arrays.copyOf(path.edges, spurIndex + spurPath.edges.length);
+    System.arraycopy(spurPath.edges, 0, edges, spurIndex, spurPath.edges.length);
+    return new Path(vertices, edges, rootWeight + spurPath.weight, sequence, spurIndex);
+  }
+
+  private ArrayList<PathElement> noPath(MultiPathConstraint constraints) {
+    GraphLogger.logError(
+        "No Path found from "
+            + constraints.getSource().getVertexID()
+            + " to "
+            + constraints.getDestination().getVertexID(),
+        classIdentifier);
+    return null;
+  }
+}
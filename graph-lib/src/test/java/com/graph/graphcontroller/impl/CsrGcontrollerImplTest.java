@@ -0,0 +1,312 @@
+package com.graph.graphcontroller.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.algorithms.impl.BandwidthConstrainedPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.BwConstrainedMinDelayPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.SimplePathComputationAlgorithm;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsrGcontrollerImpl Tests")
+class CsrGcontrollerImplTest {
+
+  private static final int VERTICES = 60;
+
+  private CsrGcontrollerImpl graph;
+
+  // Only accepts paths with at most three edges, the check inspects the path being extended
+  private static class HopLimitedPathComputationAlgorithm extends SimplePathComputationAlgorithm {
+
+    protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
+      return path.getTraversedEdges().size() < 3 ? 1 : 0;
+    }
+  }
+
+  private static void addVertices(Gcontroller graph, int count) {
+    for (int i = 0; i < count; i++) {
+      graph.addVertex(new VertexElement("N" + i, graph));
+    }
+  }
+
+  private static EdgeElement addEdge(
+      Gcontroller graph, String edgeID, int source, int destination, double weight) {
+    EdgeElement edge =
+        new EdgeElement(
+            edgeID, graph.getVertex("N" + source), graph.getVertex("N" + destination), graph);
+    edge.setEdgeParams(new BasicEdgeParams(edge, weight * 2, weight, 10));
+    graph.addEdge(edge);
+    return edge;
+  }
+
+  // Builds the same random topology in two graphs
+  private static void createRandomGraphs(Gcontroller first, Gcontroller second, long seed) {
+    Random random = new Random(seed);
+    addVertices(first, VERTICES);
+    addVertices(second, VERTICES);
+    for (int i = 0; i < 4 * VERTICES; i++) {
+      int source = random.nextInt(VERTICES);
+      int destination = random.nextInt(VERTICES);
+      double weight = random.nextDouble();
+      int capacity = random.nextInt(10);
+      if (source != destination && !first.aConnectingEdge("N" + source, "N" + destination)) {
+        addEdge(first, "E" + i, source, destination, weight)
+            .getEdgeParams()
+            .setAvailableCapacity(capacity);
+        addEdge(second, "E" + i, source, destination, weight)
+            .getEdgeParams()
+            .setAvailableCapacity(capacity);
+      }
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    graph = new CsrGcontrollerImpl();
+    addVertices(graph, 4);
+  }
+
+  @Nested
+  @DisplayName("Graph structure")
+  class StructureTests {
+
+    @Test
+    void testAdjacencyArrays() {
+      addEdge(graph, "A", 0, 1, 1);
+      addEdge(graph, "B", 1, 2, 1);
+      addEdge(graph, "C", 0, 2, 1);
+
+      assertArrayEquals(new int[] {0, 2, 4, 6, 6}, graph.getOffsets());
+      assertArrayEquals(new int[] {1, 2, 0, 2, 1, 0}, graph.getTargets());
+      assertArrayEquals(new int[] {0, 2, 0, 1, 1, 2}, graph.getAdjacentEdges());
+    }
+
+    @Test
+    void testAdjacencyIsRebuiltAfterInsertion() {
+      addEdge(graph, "A", 0, 1, 1);
+      assertEquals(2, graph.getTargets().length);
+
+      addEdge(graph, "B", 2, 3, 1);
+
+      assertEquals(4, graph.getTargets().length);
+      assertTrue(graph.aConnectingEdge("N3", "N2"));
+    }
+
+    @Test
+    void testConnectingEdges() {
+      EdgeElement first = addEdge(graph, "A", 0, 1, 1);
+      EdgeElement second = addEdge(graph, "B", 1, 0, 1);
+
+      assertSame(first, graph.getConnectingEdge("N1", "N0"));
+      assertEquals(2, graph.allConnectingEdges("N0", "N1").size());
+      assertTrue(second.getSourceVertex().getConnectedEdges().contains(first));
+      assertFalse(graph.aConnectingEdge("N0", "N3"));
+      assertNull(graph.allConnectingEdges("N0", "N3"));
+      assertNull(graph.getConnectingEdge("N0", "N3"));
+    }
+
+    @Test
+    void testDuplicateElementsAreIgnored() {
+      addEdge(graph, "A", 0, 1, 1);
+      graph.addVertex(new VertexElement("N0", graph));
+      addEdge(graph, "A", 2, 3, 1);
+
+      assertEquals(4, graph.getVertexCount());
+      assertEquals(1, graph.getEdgeCount());
+      assertEquals(4, graph.getVertexIDSet().size());
+    }
+
+    @Test
+    void testIdSetsAreCopies() {
+      graph.getVertexIDSet().remove("N0");
+
+      assertTrue(graph.vertexExists("N0"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Parameter columns")
+  class ColumnTests {
+
+    @Test
+    void testReservationUpdatesColumn() {
+      EdgeElement edge = addEdge(graph, "A", 0, 1, 3);
+
+      assertTrue(edge.getEdgeParams().reserveCapacity(4));
+      assertFalse(edge.getEdgeParams().reserveCapacity(7));
+
+      assertEquals(6.0, graph.getAvailableCapacity(0));
+      assertEquals(3.0, graph.getWeight(0));
+      assertEquals(6.0, graph.getDelay(0));
+      assertEquals(4.0, edge.getEdgeParams().getUsedCapacity());
+    }
+
+    @Test
+    void testColumnsSurviveGrowth() {
+      for (int i = 0; i < 40; i++) {
+        addEdge(graph, "E" + i, i % 4, (i + 1) % 4, i);
+      }
+
+      for (int i = 0; i < 40; i++) {
+        assertEquals((double) i, graph.getEdge("E" + i).getEdgeParams().getWeight());
+      }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+      addEdge(graph, "A", 0, 1, 1);
+      Gcontroller copy = graph.createCopy();
+
+      copy.getEdge("A").getEdgeParams().reserveCapacity(5);
+
+      assertTrue(copy instanceof CsrGcontrollerImpl);
+      assertEquals(5.0, copy.getEdge("A").getEdgeParams().getAvailableCapacity());
+      assertEquals(10.0, graph.getEdge("A").getEdgeParams().getAvailableCapacity());
+    }
+  }
+
+  @Nested
+  @DisplayName("Copy-on-write copies")
+  class CopyTests {
+
+    @Test
+    void testCopySharesAdjacency() {
+      addEdge(graph, "A", 0, 1, 1);
+      addEdge(graph, "B", 1, 2, 1);
+      CsrGcontrollerImpl copy = (CsrGcontrollerImpl) graph.createCopy();
+
+      assertSame(graph.getOffsets(), copy.getOffsets());
+      assertSame(graph.getTargets(), copy.getTargets());
+      assertNotSame(graph.getEdge("A"), copy.getEdge("A"));
+      assertSame(copy, copy.getEdge("A").getGraphController());
+      assertEquals(2, copy.getVertex("N1").getConnectedEdges().size());
+    }
+
+    @Test
+    void testOriginalIsUnchangedByCopy() {
+      addEdge(graph, "A", 0, 1, 1);
+      Gcontroller copy = graph.createCopy();
+
+      copy.getEdge("A").getEdgeParams().setWeight(7);
+      addEdge(copy, "B", 2, 3, 1);
+
+      assertEquals(1.0, graph.getWeight(0));
+      assertEquals(1, graph.getEdgeCount());
+      assertFalse(graph.aConnectingEdge("N2", "N3"));
+      assertTrue(copy.aConnectingEdge("N2", "N3"));
+    }
+
+    @Test
+    void testCopyIsUnchangedByOriginal() {
+      addEdge(graph, "A", 0, 1, 1);
+      CsrGcontrollerImpl copy = (CsrGcontrollerImpl) graph.createCopy();
+
+      graph.getEdge("A").getEdgeParams().reserveCapacity(4);
+      addEdge(graph, "B", 2, 3, 1);
+
+      assertEquals(10.0, copy.getAvailableCapacity(0));
+      assertEquals(1, copy.getEdgeCount());
+      assertEquals(-1, copy.getEdgeIndex("B"));
+    }
+
+    @Test
+    void testUpdateEdgeParamsKeepsColumnView() {
+      EdgeElement edge = addEdge(graph, "A", 0, 1, 1);
+      CsrGcontrollerImpl copy = (CsrGcontrollerImpl) graph.createCopy();
+      BasicEdgeParams params = new BasicEdgeParams(edge, 5, 6, 20);
+      params.setAvailableCapacity(15);
+
+      copy.updateEdgeParams("A", params);
+
+      assertEquals(5.0, copy.getDelay(0));
+      assertEquals(6.0, copy.getEdge("A").getEdgeParams().getWeight());
+      assertEquals(15.0, copy.getEdge("A").getEdgeParams().getAvailableCapacity());
+      assertTrue(copy.getEdge("A").getEdgeParams().reserveCapacity(15));
+      assertEquals(0.0, copy.getAvailableCapacity(0));
+      assertEquals(1.0, graph.getWeight(0));
+    }
+  }
+
+  @Nested
+  @DisplayName("Path computation")
+  class PathComputationTests {
+
+    private GcontrollerImpl referenceGraph;
+
+    @BeforeEach
+    void createGraphs() {
+      graph = new CsrGcontrollerImpl();
+      referenceGraph = new GcontrollerImpl();
+      createRandomGraphs(graph, referenceGraph, 7);
+    }
+
+    // Compares the paths computed on the CSR graph with the JDSL based graph
+    private void assertSamePaths(SimplePathComputationAlgorithm algorithm, double bw) {
+      for (int source = 0; source < VERTICES; source += 5) {
+        for (int destination = 0; destination < VERTICES; destination++) {
+          if (source == destination) continue;
+          PathElement expected =
+              algorithm.computePath(
+                  referenceGraph,
+                  new SimplePathComputationConstraint(
+                      referenceGraph.getVertex("N" + source),
+                      referenceGraph.getVertex("N" + destination),
+                      bw));
+          PathElement actual =
+              algorithm.computePath(
+                  graph,
+                  new SimplePathComputationConstraint(
+                      graph.getVertex("N" + source), graph.getVertex("N" + destination), bw));
+          if (expected == null) {
+            assertNull(actual);
+          } else {
+            assertEquals(expected.getVertexSequence(), actual.getVertexSequence());
+            assertSame(graph, actual.getGraphController());
+          }
+        }
+      }
+    }
+
+    @Test
+    void testShortestWeightPath() {
+      assertSamePaths(new SimplePathComputationAlgorithm(), 0);
+    }
+
+    @Test
+    void testBandwidthConstrainedPath() {
+      assertSamePaths(new BandwidthConstrainedPathComputationAlgorithm(), 5);
+    }
+
+    @Test
+    void testMinimumDelayPath() {
+      assertSamePaths(new BwConstrainedMinDelayPathComputationAlgorithm(), 5);
+    }
+
+    @Test
+    void testConstraintInspectingThePath() {
+      assertSamePaths(new HopLimitedPathComputationAlgorithm(), 0);
+    }
+
+    @Test
+    void testExcludedEdges() {
+      for (int i = 0; i < VERTICES; i += 3) {
+        for (EdgeElement edge : graph.getVertex("N" + i).getConnectedEdges()) {
+          graph.getVertex("N" + i).excludeEdge(edge);
+          referenceGraph.getVertex("N" + i).excludeEdge(referenceGraph.getEdge(edge.getEdgeID()));
+        }
+      }
+
+      assertSamePaths(new SimplePathComputationAlgorithm(), 0);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.graph.graphcontroller.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.algorithms.impl.BandwidthConstrainedPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.SimplePathComputationAlgorithm;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Compares the path computation latency on the JDSL based graph and on the CSR graph for a random
+ * topology with an average degree of six.
+ *
+ * <p>Usage: CsrGraphBenchmark [vertices] [queries]
+ */
+public class CsrGraphBenchmark {
+
+  public static void main(String[] args) {
+    int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+    int queries = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+    PrintStream out = System.out;
+
+    out.println("Vertices: " + vertices + ", queries: " + queries);
+    run(out, "JDSL", new GcontrollerImpl(), vertices, queries);
+    run(out, "CSR", new CsrGcontrollerImpl(), vertices, queries);
+  }
+
+  private static void run(
+      PrintStream out, String name, Gcontroller graph, int vertices, int queries) {
+    Random random = new Random(1);
+    for (int i = 0; i < vertices; i++) {
+      graph.addVertex(new VertexElement("N" + i, graph));
+    }
+    // Spanning tree to connect the graph, followed by random edges
+    for (int i = 1; i < 3 * vertices; i++) {
+      int source = i < vertices ? random.nextInt(i) : random.nextInt(vertices);
+      int destination = i < vertices ? i : random.nextInt(vertices);
+      EdgeElement edge =
+          new EdgeElement(
+              "E" + i, graph.getVertex("N" + source), graph.getVertex("N" + destination), graph);
+      edge.setEdgeParams(
+          new BasicEdgeParams(edge, random.nextDouble(), random.nextDouble(), random.nextInt(10)));
+      graph.addEdge(edge);
+    }
+
+    SimplePathComputationAlgorithm[] algorithms = {
+      new SimplePathComputationAlgorithm(), new BandwidthConstrainedPathComputationAlgorithm()
+    };
+    for (SimplePathComputationAlgorithm algorithm : algorithms) {
+      SimplePathComputationConstraint[] constraints = new SimplePathComputationConstraint[queries];
+      for (int i = 0; i < queries; i++) {
+        constraints[i] =
+            new SimplePathComputationConstraint(
+                graph.getVertex("N" + random.nextInt(vertices)),
+                graph.getVertex("N" + random.nextInt(vertices)),
+                2);
+      }
+      // Warm up
+      for (int i = 0; i < Math.min(queries, 5); i++) {
+        algorithm.computePath(graph, constraints[i]);
+      }
+      long startTime = System.nanoTime();
+      for (SimplePathComputationConstraint constraint : constraints) {
+        algorithm.computePath(graph, constraint);
+      }
+      long elapsed = System.nanoTime() - startTime;
+      out.printf(
+          "%s %s: %.2f ms per path%n",
+          name, algorithm.getClass().getSimpleName(), elapsed / 1e6 / queries);
+    }
+  }
+}
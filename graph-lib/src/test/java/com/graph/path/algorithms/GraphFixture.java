@@ -0,0 +1,112 @@
+package com.graph.path.algorithms;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.algorithms.impl.AStarMinDelayPathComputationAlgorithm;
+import java.util.Random;
+
+/**
+ * Graphs shared by the tests of the path computation algorithms. The vertices are named N0, N1,
+ * ... after their index and the links after their end points, e.g. N0-N1.
+ */
+public abstract class GraphFixture {
+
+  /** Metrics of the links of a random graph */
+  public interface LinkMetrics {
+
+    /** Function to add the link between two vertices with metrics drawn from the random source */
+    void addLink(int source, int destination, Random random);
+  }
+
+  protected Gcontroller graph;
+
+  protected VertexElement vertex(int index) {
+    return graph.getVertex("N" + index);
+  }
+
+  protected void addEdge(
+      int source, int destination, double delay, double weight, double capacity) {
+    EdgeElement edge =
+        new EdgeElement(
+            "N" + source + "-N" + destination, vertex(source), vertex(destination), graph);
+    edge.setEdgeParams(new BasicEdgeParams(edge, delay, weight, capacity));
+    graph.addEdge(edge);
+  }
+
+  protected void createGraph(int vertices) {
+    createGraph(new GcontrollerImpl(), vertices);
+  }
+
+  protected void createGraph(Gcontroller emptyGraph, int vertices) {
+    graph = emptyGraph;
+    for (int i = 0; i < vertices; i++) {
+      graph.addVertex(new VertexElement("N" + i, graph));
+    }
+  }
+
+  /**
+   * Function to create a random connected graph. Every vertex is linked to a random vertex of lower
+   * index, then links are tried between random pairs of vertices that are not linked yet.
+   *
+   * @param vertices number of vertices
+   * @param extraLinks number of links tried after the spanning tree
+   * @param seed seed of the random source
+   * @param metrics function adding a link with random metrics
+   */
+  protected void createRandomGraph(int vertices, int extraLinks, long seed, LinkMetrics metrics) {
+    Random random = new Random(seed);
+    createGraph(vertices);
+    for (int i = 1; i < vertices; i++) {
+      metrics.addLink(random.nextInt(i), i, random);
+    }
+    for (int i = 0; i < extraLinks; i++) {
+      int source = random.nextInt(vertices);
+      int destination = random.nextInt(vertices);
+      if (source != destination && !graph.aConnectingEdge("N" + source, "N" + destination)) {
+        metrics.addLink(source, destination, random);
+      }
+    }
+  }
+
+  private double distance(int source, int destination) {
+    return Math.hypot(
+        vertex(source).getXCoord() - vertex(destination).getXCoord(),
+        vertex(source).getYCoord() - vertex(destination).getYCoord());
+  }
+
+  /**
+   * Function to create a random connected geometric graph in a square of 1000 km. Every vertex is
+   * linked to its nearest predecessor and half of the close vertices are linked. Links are up to
+   * twice as slow as the straight line at the propagation speed, half of them exactly as fast.
+   */
+  protected void createGeometricGraph(Gcontroller emptyGraph, int vertices, long seed) {
+    Random random = new Random(seed);
+    graph = emptyGraph;
+    for (int i = 0; i < vertices; i++) {
+      graph.addVertex(
+          new VertexElement("N" + i, graph, random.nextInt(1000), random.nextInt(1000)));
+    }
+    for (int i = 1; i < vertices; i++) {
+      int nearest = 0;
+      for (int j = 1; j < i; j++) {
+        if (distance(i, j) < distance(i, nearest)) nearest = j;
+      }
+      for (int j = 0; j < i; j++) {
+        if (j == nearest || (distance(i, j) < 160 && random.nextBoolean())) {
+          double stretch = random.nextBoolean() ? 1 : 1 + random.nextDouble();
+          double delay =
+              distance(i, j) / AStarMinDelayPathComputationAlgorithm.PROPAGATION_SPEED * stretch;
+          addEdge(j, i, delay, 1, random.nextInt(10));
+        }
+      }
+    }
+  }
+
+  protected SimplePathComputationConstraint constraint(int source, int destination, double bw) {
+    return new SimplePathComputationConstraint(vertex(source), vertex(destination), bw);
+  }
+}
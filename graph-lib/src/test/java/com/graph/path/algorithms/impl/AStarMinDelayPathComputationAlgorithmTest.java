@@ -0,0 +1,90 @@
+package com.graph.path.algorithms.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cases specific to the A* search, the cases shared with other searches are in
+ * MinDelaySearchTest
+ */
+@DisplayName("AStarMinDelayPathComputationAlgorithm Tests")
+class AStarMinDelayPathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 60;
+
+  private final AStarMinDelayPathComputationAlgorithm algorithm =
+      new AStarMinDelayPathComputationAlgorithm();
+
+  @Test
+  void testBoundReducesExpandedVertices() {
+    AStarMinDelayPathComputationAlgorithm unbounded =
+        new AStarMinDelayPathComputationAlgorithm(Double.POSITIVE_INFINITY);
+    createGeometricGraph(new CsrGcontrollerImpl(), VERTICES, 4);
+    for (int source = 0; source < VERTICES; source += 3) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        algorithm.computePath(graph, constraint(source, destination, 0));
+        unbounded.computePath(graph, constraint(source, destination, 0));
+      }
+    }
+
+    assertTrue(algorithm.getExpandedVertexCount() > 0);
+    assertTrue(
+        algorithm.getExpandedVertexCount() < unbounded.getExpandedVertexCount(),
+        algorithm.getExpandedVertexCount() + " " + unbounded.getExpandedVertexCount());
+  }
+
+  // The links N0-N2 and N2-N3 are faster than the straight line, the bound of N2 overestimates
+  // the delay of N2-N3 and would settle N3 over N1 first
+  private void createGraphWithFastLinks(Gcontroller emptyGraph) {
+    graph = emptyGraph;
+    graph.addVertex(new VertexElement("N0", graph, 0, 0));
+    graph.addVertex(new VertexElement("N1", graph, 150, 0));
+    graph.addVertex(new VertexElement("N2", graph, 0, 300));
+    graph.addVertex(new VertexElement("N3", graph, 300, 0));
+    addEdge(0, 1, 5.01, 1, 10);
+    addEdge(1, 3, 5.01, 1, 10);
+    addEdge(0, 2, 1, 1, 10);
+    addEdge(2, 3, 0.1, 1, 10);
+  }
+
+  @Test
+  void testLinkFasterThanTheBound() {
+    Gcontroller[] emptyGraphs = {new GcontrollerImpl(), new CsrGcontrollerImpl()};
+    for (Gcontroller emptyGraph : emptyGraphs) {
+      createGraphWithFastLinks(emptyGraph);
+
+      assertFalse(algorithm.isBoundConsistent(graph));
+      PathElement path = algorithm.computePath(graph, constraint(0, 3, 0));
+      assertEquals("N0-N2-N3", path.getVertexSequence());
+      assertEquals(1.1, path.getPathParams().getPathDelay(), 1e-9);
+    }
+  }
+
+  @Test
+  void testGeometricGraphIsConsistent() {
+    createGeometricGraph(new CsrGcontrollerImpl(), VERTICES, 4);
+
+    assertTrue(algorithm.isBoundConsistent(graph));
+  }
+
+  @Test
+  void testVerticesWithoutCoordinates() {
+    createGraph(4);
+    addEdge(0, 1, 10, 1, 10);
+    addEdge(1, 3, 10, 1, 10);
+    addEdge(0, 2, 2, 1, 10);
+    addEdge(2, 3, 2, 1, 10);
+
+    PathElement path = algorithm.computePath(graph, constraint(0, 3, 0));
+    assertEquals("N0-N2-N3", path.getVertexSequence());
+  }
+}
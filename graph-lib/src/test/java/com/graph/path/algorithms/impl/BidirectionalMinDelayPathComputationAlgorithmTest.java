@@ -0,0 +1,67 @@
+package com.graph.path.algorithms.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cases specific to the bidirectional search, the cases shared with other searches are in
+ * MinDelaySearchTest
+ */
+@DisplayName("BidirectionalMinDelayPathComputationAlgorithm Tests")
+class BidirectionalMinDelayPathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 60;
+
+  private final BidirectionalMinDelayPathComputationAlgorithm algorithm =
+      new BidirectionalMinDelayPathComputationAlgorithm();
+
+  @Test
+  void testSearchesExpandFewerVerticesThanDijkstra() {
+    AStarMinDelayPathComputationAlgorithm unbounded =
+        new AStarMinDelayPathComputationAlgorithm(Double.POSITIVE_INFINITY);
+    createGeometricGraph(new CsrGcontrollerImpl(), VERTICES, 4);
+    for (int source = 0; source < VERTICES; source += 3) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        algorithm.computePath(graph, constraint(source, destination, 0));
+        unbounded.computePath(graph, constraint(source, destination, 0));
+      }
+    }
+
+    assertTrue(algorithm.getExpandedVertexCount() > 0);
+    assertTrue(
+        algorithm.getExpandedVertexCount() < unbounded.getExpandedVertexCount(),
+        algorithm.getExpandedVertexCount() + " " + unbounded.getExpandedVertexCount());
+  }
+
+  // The searches meet on the links of the source or the destination
+  @Test
+  void testSearchesMeetOnAnyLink() {
+    for (Gcontroller emptyGraph :
+        new Gcontroller[] {new GcontrollerImpl(), new CsrGcontrollerImpl()}) {
+      // Square 0-1-3 and 0-2-3 with the diagonals 0-3 and 1-2
+      createGraph(emptyGraph, 4);
+      addEdge(0, 1, 10, 1, 10);
+      addEdge(1, 3, 10, 1, 10);
+      addEdge(0, 2, 12, 1, 10);
+      addEdge(2, 3, 12, 1, 5);
+      addEdge(0, 3, 30, 1, 10);
+      addEdge(1, 2, 1, 1, 10);
+      PathElement path = algorithm.computePath(graph, constraint(1, 2, 0));
+      assertEquals("N1-N2", path.getVertexSequence());
+      path = algorithm.computePath(graph, constraint(0, 3, 0));
+      assertEquals("N0-N1-N3", path.getVertexSequence());
+
+      graph.getEdge("N1-N3").getEdgeParams().reserveCapacity(8);
+      path = algorithm.computePath(graph, constraint(0, 3, 10));
+      assertEquals("N0-N3", path.getVertexSequence());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.topology.importers.impl.SNDLibImportTopology;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the label based widest shortest path search with the sorted search it replaced. The
+ * paths of every pair of vertices of the SNDlib topologies are compared, then the latency of both
+ * searches is measured on a random topology with an average degree of six.
+ *
+ * <p>Usage: MaxBandwidthBenchmark [vertices] [queries] [topologyFile...]
+ */
+public class MaxBandwidthBenchmark {
+
+  private static final String[] DEFAULT_TOPOLOGIES = {
+    "cli-launcher/src/main/resources/atlanta.txt",
+    "cli-launcher/src/main/resources/austria.txt",
+    "cli-launcher/src/main/resources/newyork.txt"
+  };
+
+  private static final MaxBandwidthShortestPathComputationAlgorithm algorithm =
+      new MaxBandwidthShortestPathComputationAlgorithm();
+
+  public static void main(String[] args) {
+    int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    String[] topologies = DEFAULT_TOPOLOGIES;
+    if (args.length > 2) {
+      topologies = new String[args.length - 2];
+      System.arraycopy(args, 2, topologies, 0, topologies.length);
+    }
+
+    PrintStream out = System.out;
+
+    for (String topology : topologies) {
+      Gcontroller graph = new GcontrollerImpl();
+      new SNDLibImportTopology().importTopology(graph, topology);
+      List<SimplePathComputationConstraint> constraints =
+          new ArrayList<SimplePathComputationConstraint>();
+      for (VertexElement source : graph.getVertexSet()) {
+        for (VertexElement destination : graph.getVertexSet()) {
+          if (source != destination) {
+            constraints.add(new SimplePathComputationConstraint(source, destination));
+          }
+        }
+      }
+      out.printf(
+          "%s: %d of %d paths identical%n",
+          topology, countIdenticalPaths(graph, constraints), constraints.size());
+    }
+
+    Gcontroller graph = createRandomGraph(vertices);
+    Random random = new Random(2);
+    List<SimplePathComputationConstraint> constraints =
+        new ArrayList<SimplePathComputationConstraint>();
+    for (int i = 0; i < queries; i++) {
+      constraints.add(
+          new SimplePathComputationConstraint(
+              graph.getVertex("N" + random.nextInt(vertices)),
+              graph.getVertex("N" + random.nextInt(vertices)),
+              random.nextInt(3)));
+    }
+    // Warm up
+    for (SimplePathComputationConstraint constraint : constraints.subList(0, 2)) {
+      algorithm.computePathBySorting(graph, constraint);
+    }
+    for (int i = 0; i < 50; i++) {
+      algorithm.computePath(graph, constraints.get(i % queries));
+    }
+
+    long startTime = System.nanoTime();
+    for (SimplePathComputationConstraint constraint : constraints) {
+      algorithm.computePathBySorting(graph, constraint);
+    }
+    double sortedTime = (System.nanoTime() - startTime) / 1e6 / queries;
+    startTime = System.nanoTime();
+    for (SimplePathComputationConstraint constraint : constraints) {
+      algorithm.computePath(graph, constraint);
+    }
+    double heapTime = (System.nanoTime() - startTime) / 1e6 / queries;
+    out.printf(
+        "Random topology: %d vertices, %d queries, %d of %d paths identical%n",
+        vertices, queries, countIdenticalPaths(graph, constraints), queries);
+    out.printf("  sorted search: %.3f ms per path%n", sortedTime);
+    out.printf("  label search:  %.3f ms per path (%.0fx)%n", heapTime, sortedTime / heapTime);
+  }
+
+  private static int countIdenticalPaths(
+      Gcontroller graph, List<SimplePathComputationConstraint> constraints) {
+    int identical = 0;
+    for (SimplePathComputationConstraint constraint : constraints) {
+      PathElement expected = algorithm.computePathBySorting(graph, constraint);
+      PathElement actual = algorithm.computePath(graph, constraint);
+      if (expected == null
+          ? actual == null
+          : actual != null && expected.getVertexSequence().equals(actual.getVertexSequence())) {
+        identical++;
+      }
+    }
+    return identical;
+  }
+
+  // Spanning tree to connect the graph, followed by random edges with few distinct capacities
+  private static Gcontroller createRandomGraph(int vertices) {
+    Gcontroller graph = new GcontrollerImpl();
+    Random random = new Random(1);
+    for (int i = 0; i < vertices; i++) {
+      graph.addVertex(new VertexElement("N" + i, graph));
+    }
+    for (int i = 1; i < 3 * vertices; i++) {
+      int source = i < vertices ? random.nextInt(i) : random.nextInt(vertices);
+      int destination = i < vertices ? i : random.nextInt(vertices);
+      if (source == destination) continue;
+      EdgeElement edge =
+          new EdgeElement(
+              "E" + i, graph.getVertex("N" + source), graph.getVertex("N" + destination), graph);
+      edge.setEdgeParams(
+          new BasicEdgeParams(edge, random.nextDouble(), random.nextDouble(), random.nextInt(10)));
+      graph.addEdge(edge);
+    }
+    return graph;
+  }
+}
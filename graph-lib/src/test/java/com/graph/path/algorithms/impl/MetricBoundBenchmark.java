@@ -0,0 +1,155 @@
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.impl.MetricBoundConstraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.topology.importers.impl.SNDLibImportTopology;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares the label setting search of the metric bound algorithm with the enumeration of all
+ * simple paths within the bounds, for every pair of vertices of SNDlib topologies. The delay of a
+ * pair is bounded to 1.2 times its minimum delay and the hop count to the minimum hop count plus
+ * two, so that the minimum cost path often violates a bound.
+ *
+ * <p>Usage: MetricBoundBenchmark [topologyFile...]
+ */
+public class MetricBoundBenchmark {
+
+  private static final int WARM_UP_ROUNDS = 20;
+
+  private static final int MEASURED_ROUNDS = 10;
+
+  private static final String[] DEFAULT_TOPOLOGIES = {
+    "cli-launcher/src/main/resources/austria.txt", "cli-launcher/src/main/resources/newyork.txt"
+  };
+
+  public static void main(String[] args) {
+    String[] topologies = args.length > 0 ? args : DEFAULT_TOPOLOGIES;
+
+    PrintStream out = System.out;
+
+    for (String topology : topologies) {
+      Gcontroller graph = new GcontrollerImpl();
+      new SNDLibImportTopology().importTopology(graph, topology);
+      run(out, topology, graph);
+    }
+  }
+
+  private static void run(PrintStream out, String topology, Gcontroller graph) {
+    List<MetricBoundConstraint> constraints = new ArrayList<MetricBoundConstraint>();
+    BwConstrainedMinDelayPathComputationAlgorithm minDelay =
+        new BwConstrainedMinDelayPathComputationAlgorithm();
+    MinHopPathComputationAlgorithm minHop = new MinHopPathComputationAlgorithm();
+    for (VertexElement source : graph.getVertexSet()) {
+      for (VertexElement destination : graph.getVertexSet()) {
+        if (source == destination) continue;
+        SimplePathComputationConstraint simple =
+            new SimplePathComputationConstraint(source, destination);
+        PathElement fastest = minDelay.computePath(graph, simple);
+        PathElement shortest = minHop.computePath(graph, simple);
+        if (fastest == null) continue;
+        MetricBoundConstraint constraint = new MetricBoundConstraint(source, destination);
+        constraint.setMaxDelay(1.2 * fastest.getPathParams().getPathDelay());
+        constraint.setMaxHops(shortest.getTraversedEdges().size() + 2);
+        constraints.add(constraint);
+      }
+    }
+
+    MetricBoundPathComputationAlgorithm algorithm = new MetricBoundPathComputationAlgorithm();
+    double[] labelSettingCosts = new double[constraints.size()];
+    double[] enumerationCosts = new double[constraints.size()];
+    // Warm up
+    for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+      for (MetricBoundConstraint constraint : constraints) {
+        algorithm.computePath(graph, constraint);
+        enumerate(constraint);
+      }
+    }
+
+    // Best of several rounds, the rounds are interleaved so that both searches run in the same
+    // state of the JIT compiler
+    long labelSettingTime = Long.MAX_VALUE;
+    long enumerationTime = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long startTime = System.nanoTime();
+      for (int i = 0; i < constraints.size(); i++) {
+        PathElement path = algorithm.computePath(graph, constraints.get(i));
+        labelSettingCosts[i] =
+            path == null ? Double.POSITIVE_INFINITY : path.getPathParams().getPathWeight();
+      }
+      labelSettingTime = Math.min(labelSettingTime, System.nanoTime() - startTime);
+
+      startTime = System.nanoTime();
+      for (int i = 0; i < constraints.size(); i++) {
+        enumerationCosts[i] = enumerate(constraints.get(i));
+      }
+      enumerationTime = Math.min(enumerationTime, System.nanoTime() - startTime);
+    }
+
+    int mismatches = 0;
+    for (int i = 0; i < constraints.size(); i++) {
+      if (Math.abs(labelSettingCosts[i] - enumerationCosts[i]) > 1e-9) mismatches++;
+    }
+    out.printf(
+        "%s: %d vertices, %d edges, %d requests%n",
+        topology, graph.getVertexSet().size(), graph.getEdgeSet().size(), constraints.size());
+    out.printf("  label setting: %.1f us per path%n", labelSettingTime / 1e3 / constraints.size());
+    out.printf("  enumeration:   %.1f us per path%n", enumerationTime / 1e3 / constraints.size());
+    out.printf("  mismatches:    %d%n", mismatches);
+  }
+
+  // Minimum cost of the simple paths within the bounds, found by enumerating all of them
+  private static double enumerate(MetricBoundConstraint constraint) {
+    return enumerate(
+        constraint.getSource(),
+        constraint.getDestination(),
+        new HashSet<VertexElement>(),
+        0,
+        0,
+        0,
+        constraint);
+  }
+
+  private static double enumerate(
+      VertexElement vertex,
+      VertexElement destination,
+      Set<VertexElement> visited,
+      double cost,
+      double delay,
+      int hops,
+      MetricBoundConstraint constraint) {
+    if (delay > constraint.getMaxDelay() || hops > constraint.getMaxHops()) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if (vertex == destination) return cost;
+    double minimum = Double.POSITIVE_INFINITY;
+    visited.add(vertex);
+    for (EdgeElement edge : vertex.getConnectedEdges()) {
+      VertexElement next =
+          edge.getSourceVertex() == vertex ? edge.getDestinationVertex() : edge.getSourceVertex();
+      if (visited.contains(next)) continue;
+      minimum =
+          Math.min(
+              minimum,
+              enumerate(
+                  next,
+                  destination,
+                  visited,
+                  cost + edge.getEdgeParams().getWeight(),
+                  delay + edge.getEdgeParams().getDelay(),
+                  hops + 1,
+                  constraint));
+    }
+    visited.remove(vertex);
+    return minimum;
+  }
+}
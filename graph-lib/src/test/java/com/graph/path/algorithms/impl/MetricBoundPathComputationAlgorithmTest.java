@@ -0,0 +1,276 @@
+package com.graph.path.algorithms.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import com.graph.path.algorithms.constraints.impl.MetricBoundConstraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.algorithms.impl.MetricBoundPathComputationAlgorithm.Metric;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MetricBoundPathComputationAlgorithm Tests")
+class MetricBoundPathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 14;
+
+  private final MetricBoundPathComputationAlgorithm algorithm =
+      new MetricBoundPathComputationAlgorithm();
+
+  // Random connected graph, cheap links tend to be slow
+  private void createRandomGraph(long seed) {
+    createRandomGraph(
+        VERTICES,
+        2 * VERTICES,
+        seed,
+        (source, destination, random) -> {
+          double weight = 1 + random.nextInt(10);
+          addEdge(source, destination, 12 - weight + random.nextInt(4), weight, random.nextInt(10));
+        });
+  }
+
+  @Override
+  protected MetricBoundConstraint constraint(int source, int destination, double bw) {
+    return new MetricBoundConstraint(vertex(source), vertex(destination), bw);
+  }
+
+  private static double getMetric(Metric metric, double weight, double delay, int hops) {
+    return metric == Metric.DELAY ? delay : metric == Metric.HOPS ? hops : weight;
+  }
+
+  // Minimum metric of the simple paths within the bounds, found by enumerating all of them
+  private double enumerateMinimum(
+      Metric metric,
+      VertexElement vertex,
+      VertexElement destination,
+      Set<VertexElement> visited,
+      double weight,
+      double delay,
+      int hops,
+      MetricBoundConstraint constraint) {
+    if (weight > constraint.getMaxCost()
+        || delay > constraint.getMaxDelay()
+        || hops > constraint.getMaxHops()) return Double.POSITIVE_INFINITY;
+    if (vertex == destination) return getMetric(metric, weight, delay, hops);
+    double minimum = Double.POSITIVE_INFINITY;
+    visited.add(vertex);
+    for (EdgeElement edge : vertex.getConnectedEdges()) {
+      if (edge.getEdgeParams().getAvailableCapacity() < constraint.getBw()) continue;
+      VertexElement next =
+          edge.getSourceVertex() == vertex ? edge.getDestinationVertex() : edge.getSourceVertex();
+      if (visited.contains(next)) continue;
+      minimum =
+          Math.min(
+              minimum,
+              enumerateMinimum(
+                  metric,
+                  next,
+                  destination,
+                  visited,
+                  weight + edge.getEdgeParams().getWeight(),
+                  delay + edge.getEdgeParams().getDelay(),
+                  hops + 1,
+                  constraint));
+    }
+    visited.remove(vertex);
+    return minimum;
+  }
+
+  // Checks the bounds and returns the minimized metric of the path
+  private double assertWithinBounds(
+      PathElement path, MetricBoundConstraint constraint, Metric metric) {
+    double weight = 0;
+    double delay = 0;
+    for (EdgeElement edge : path.getTraversedEdges()) {
+      weight += edge.getEdgeParams().getWeight();
+      delay += edge.getEdgeParams().getDelay();
+      assertTrue(edge.getEdgeParams().getAvailableCapacity() >= constraint.getBw());
+    }
+    int hops = path.getTraversedEdges().size();
+    assertTrue(weight <= constraint.getMaxCost());
+    assertTrue(delay <= constraint.getMaxDelay());
+    assertTrue(hops <= constraint.getMaxHops());
+    assertEquals(constraint.getSource().getVertexID(), path.getSource().getVertexID());
+    assertEquals(constraint.getDestination().getVertexID(), path.getDestination().getVertexID());
+    return getMetric(metric, weight, delay, hops);
+  }
+
+  private void assertSameAsEnumeration(double maxDelay, int maxHops, double bw) {
+    assertSameAsEnumeration(Metric.COST, Double.POSITIVE_INFINITY, maxDelay, maxHops, bw);
+  }
+
+  // Compares the label setting search with the enumeration of all paths for all vertex pairs
+  private void assertSameAsEnumeration(
+      Metric metric, double maxCost, double maxDelay, int maxHops, double bw) {
+    MetricBoundPathComputationAlgorithm search = new MetricBoundPathComputationAlgorithm(metric);
+    for (int source = 0; source < VERTICES; source += 2) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        MetricBoundConstraint constraint = constraint(source, destination, bw);
+        constraint.setMaxCost(maxCost);
+        constraint.setMaxDelay(maxDelay);
+        constraint.setMaxHops(maxHops);
+        double expected =
+            enumerateMinimum(
+                metric,
+                vertex(source),
+                vertex(destination),
+                new HashSet<VertexElement>(),
+                0,
+                0,
+                0,
+                constraint);
+        PathElement path = search.computePath(graph, constraint);
+        if (expected == Double.POSITIVE_INFINITY) {
+          assertNull(path, source + "-" + destination);
+        } else {
+          assertNotNull(path, source + "-" + destination);
+          assertEquals(expected, assertWithinBounds(path, constraint, metric), 1e-9);
+        }
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Equivalence with the enumeration of all paths")
+  class EquivalenceTests {
+
+    @Test
+    void testDelayBound() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(20, Integer.MAX_VALUE, 0);
+      }
+    }
+
+    @Test
+    void testHopBound() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(Double.POSITIVE_INFINITY, 3, 0);
+      }
+    }
+
+    @Test
+    void testDelayAndHopBoundsWithBandwidth() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(25, 4, 3);
+      }
+    }
+
+    @Test
+    void testMinimumDelayWithinCostAndHopBounds() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(Metric.DELAY, 15, Double.POSITIVE_INFINITY, 4, 0);
+      }
+    }
+
+    @Test
+    void testMinimumHopsWithinDelayBound() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(Metric.HOPS, Double.POSITIVE_INFINITY, 20, Integer.MAX_VALUE, 3);
+      }
+    }
+
+    @Test
+    void testMinimumDelayWithoutBounds() {
+      for (long seed = 1; seed <= 3; seed++) {
+        createRandomGraph(seed);
+        assertSameAsEnumeration(
+            Metric.DELAY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Integer.MAX_VALUE, 0);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Path selection")
+  class PathSelectionTests {
+
+    // Square 0-1-3 (cheap and slow) and 0-2-3 (expensive and fast), plus a direct link 0-3
+    // that is the most expensive
+    private void createSquare() {
+      createGraph(4);
+      addEdge(0, 1, 10, 1, 10);
+      addEdge(1, 3, 10, 1, 10);
+      addEdge(0, 2, 2, 5, 10);
+      addEdge(2, 3, 2, 5, 10);
+      addEdge(0, 3, 30, 20, 10);
+    }
+
+    @Test
+    void testCheapestPathWithoutBounds() {
+      createSquare();
+      PathElement path = algorithm.computePath(graph, constraint(0, 3, 0));
+      assertEquals("N0-N1-N3", path.getVertexSequence());
+    }
+
+    @Test
+    void testDelayBoundSelectsFasterPath() {
+      createSquare();
+      MetricBoundConstraint constraint = constraint(0, 3, 0);
+      constraint.setMaxDelay(19);
+      assertEquals("N0-N2-N3", algorithm.computePath(graph, constraint).getVertexSequence());
+    }
+
+    @Test
+    void testHopBoundSelectsDirectLink() {
+      createSquare();
+      MetricBoundConstraint constraint = constraint(0, 3, 0);
+      constraint.setMaxHops(1);
+      assertEquals("N0-N3", algorithm.computePath(graph, constraint).getVertexSequence());
+    }
+
+    @Test
+    void testNoPathWithinBounds() {
+      createSquare();
+      MetricBoundConstraint constraint = constraint(0, 3, 0);
+      constraint.setMaxDelay(19);
+      constraint.setMaxHops(1);
+      assertNull(algorithm.computePath(graph, constraint));
+    }
+
+    @Test
+    void testSimpleConstraintIsAccepted() {
+      createSquare();
+      PathElement path =
+          algorithm.computePath(
+              graph, new SimplePathComputationConstraint(vertex(0), vertex(3), 0));
+      assertEquals("N0-N1-N3", path.getVertexSequence());
+    }
+
+    @Test
+    void testMinimumDelayWithinCostBound() {
+      createSquare();
+      MetricBoundPathComputationAlgorithm minDelay =
+          new MetricBoundPathComputationAlgorithm(Metric.DELAY);
+      MetricBoundConstraint constraint = constraint(0, 3, 0);
+      constraint.setMaxHops(2);
+      assertEquals("N0-N2-N3", minDelay.computePath(graph, constraint).getVertexSequence());
+      // N0-N2-N3 is the fastest path but exceeds the cost bound
+      constraint.setMaxCost(5);
+      assertEquals("N0-N1-N3", minDelay.computePath(graph, constraint).getVertexSequence());
+    }
+
+    @Test
+    void testMinimumHopsWithinDelayBound() {
+      createSquare();
+      MetricBoundPathComputationAlgorithm minHops =
+          new MetricBoundPathComputationAlgorithm(Metric.HOPS);
+      MetricBoundConstraint constraint = constraint(0, 3, 0);
+      assertEquals("N0-N3", minHops.computePath(graph, constraint).getVertexSequence());
+      // The direct link exceeds the delay bound
+      constraint.setMaxDelay(25);
+      constraint.setMaxCost(5);
+      assertEquals("N0-N1-N3", minHops.computePath(graph, constraint).getVertexSequence());
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package com.graph.path.algorithms.impl;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.topology.importers.impl.SNDLibImportTopology;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the minimum delay searches, Dijkstra's algorithm, the bidirectional search and the A*
+ * search bounded by the coordinates, by the number of expanded vertices and the latency per path.
+ * The SNDlib topology is searched for every pair of vertices on both graph implementations. The
+ * random geometric topologies place the vertices uniformly in a square and link the vertices
+ * closer than a radius giving an average degree of six, the delay of a link is up to 1.5 times the
+ * propagation delay of the straight line.
+ *
+ * <p>Usage: MinDelaySearchBenchmark [topologyFile] [vertices...]
+ */
+public class MinDelaySearchBenchmark {
+
+  private static final int WARM_UP_ROUNDS = 10;
+
+  private static final int MEASURED_ROUNDS = 5;
+
+  private static final int GEOMETRIC_QUERIES = 200;
+
+  // Mean distance between neighbouring vertices of the geometric topologies, in km
+  private static final double SPACING = 50;
+
+  public static void main(String[] args) {
+    String topology = args.length > 0 ? args[0] : "cli-launcher/src/main/resources/austria.txt";
+    int[] sizes = {10000, 100000};
+    if (args.length > 1) {
+      sizes = new int[args.length - 1];
+      for (int i = 1; i < args.length; i++) {
+        sizes[i - 1] = Integer.parseInt(args[i]);
+      }
+    }
+
+    PrintStream out = System.out;
+
+    for (Gcontroller graph : new Gcontroller[] {new GcontrollerImpl(), new CsrGcontrollerImpl()}) {
+      new SNDLibImportTopology().importTopology(graph, topology);
+      List<SimplePathComputationConstraint> constraints =
+          new ArrayList<SimplePathComputationConstraint>();
+      for (VertexElement source : graph.getVertexSet()) {
+        for (VertexElement destination : graph.getVertexSet()) {
+          if (source != destination) {
+            constraints.add(new SimplePathComputationConstraint(source, destination, 0));
+          }
+        }
+      }
+      run(out, topology + " (" + graph.getClass().getSimpleName() + ")", graph, constraints);
+    }
+
+    for (int vertices : sizes) {
+      Random random = new Random(1);
+      Gcontroller graph = createGeometricGraph(vertices, random);
+      List<SimplePathComputationConstraint> constraints =
+          new ArrayList<SimplePathComputationConstraint>();
+      for (int i = 0; i < GEOMETRIC_QUERIES; i++) {
+        constraints.add(
+            new SimplePathComputationConstraint(
+                graph.getVertex("N" + random.nextInt(vertices)),
+                graph.getVertex("N" + random.nextInt(vertices)),
+                0));
+      }
+      run(out, "geometric (CsrGcontrollerImpl)", graph, constraints);
+    }
+  }
+
+  private static Gcontroller createGeometricGraph(int vertices, Random random) {
+    Gcontroller graph = new CsrGcontrollerImpl();
+    double side = Math.sqrt(vertices) * SPACING;
+    double radius = SPACING * Math.sqrt(6 / Math.PI);
+    int cells = (int) Math.ceil(side / radius);
+    // Vertices bucketed by grid cells of the size of the radius
+    List<List<VertexElement>> grid = new ArrayList<List<VertexElement>>();
+    for (int i = 0; i < cells * cells; i++) {
+      grid.add(new ArrayList<VertexElement>());
+    }
+    int edges = 0;
+    for (int i = 0; i < vertices; i++) {
+      VertexElement vertex =
+          new VertexElement(
+              "N" + i, graph, random.nextDouble() * side, random.nextDouble() * side);
+      graph.addVertex(vertex);
+      int x = (int) (vertex.getXCoord() / radius);
+      int y = (int) (vertex.getYCoord() / radius);
+      for (int cx = Math.max(x - 1, 0); cx <= Math.min(x + 1, cells - 1); cx++) {
+        for (int cy = Math.max(y - 1, 0); cy <= Math.min(y + 1, cells - 1); cy++) {
+          for (VertexElement neighbour : grid.get(cx * cells + cy)) {
+            double distance =
+                Math.hypot(
+                    vertex.getXCoord() - neighbour.getXCoord(),
+                    vertex.getYCoord() - neighbour.getYCoord());
+            if (distance > radius) continue;
+            EdgeElement edge = new EdgeElement("E" + edges++, neighbour, vertex, graph);
+            double delay =
+                distance
+                    / AStarMinDelayPathComputationAlgorithm.PROPAGATION_SPEED
+                    * (1 + random.nextDouble() / 2);
+            edge.setEdgeParams(new BasicEdgeParams(edge, delay, 1, 40));
+            graph.addEdge(edge);
+          }
+        }
+      }
+      grid.get(x * cells + y).add(vertex);
+    }
+    return graph;
+  }
+
+  private static double[] computeDelays(
+      SimplePathComputationAlgorithm algorithm,
+      Gcontroller graph,
+      List<SimplePathComputationConstraint> constraints) {
+    double[] delays = new double[constraints.size()];
+    for (int i = 0; i < constraints.size(); i++) {
+      PathElement path = algorithm.computePath(graph, constraints.get(i));
+      delays[i] = path == null ? Double.POSITIVE_INFINITY : path.getPathParams().getPathDelay();
+    }
+    return delays;
+  }
+
+  private static void run(
+      PrintStream out,
+      String name,
+      Gcontroller graph,
+      List<SimplePathComputationConstraint> constraints) {
+    // The unbounded A* search expands the vertices of Dijkstra's algorithm
+    AStarMinDelayPathComputationAlgorithm unbounded =
+        new AStarMinDelayPathComputationAlgorithm(Double.POSITIVE_INFINITY);
+    BidirectionalMinDelayPathComputationAlgorithm bidirectional =
+        new BidirectionalMinDelayPathComputationAlgorithm();
+    AStarMinDelayPathComputationAlgorithm aStar = new AStarMinDelayPathComputationAlgorithm();
+    computeDelays(unbounded, graph, constraints);
+    computeDelays(bidirectional, graph, constraints);
+    computeDelays(aStar, graph, constraints);
+    long[] expansions = {
+      unbounded.getExpandedVertexCount(),
+      bidirectional.getExpandedVertexCount(),
+      aStar.getExpandedVertexCount()
+    };
+
+    String[] names = {"Dijkstra", "bidirectional", "A*"};
+    SimplePathComputationAlgorithm[] algorithms = {
+      new BwConstrainedMinDelayPathComputationAlgorithm(), bidirectional, aStar
+    };
+    double[][] delays = new double[algorithms.length][];
+    for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+      for (SimplePathComputationAlgorithm algorithm : algorithms) {
+        computeDelays(algorithm, graph, constraints);
+      }
+    }
+    // Best of several rounds, the rounds are interleaved so that all searches run in the same
+    // state of the JIT compiler
+    long[] times = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      for (int i = 0; i < algorithms.length; i++) {
+        long startTime = System.nanoTime();
+        delays[i] = computeDelays(algorithms[i], graph, constraints);
+        times[i] = Math.min(times[i], System.nanoTime() - startTime);
+      }
+    }
+
+    int mismatches = 0;
+    for (int i = 1; i < algorithms.length; i++) {
+      for (int j = 0; j < constraints.size(); j++) {
+        if (Math.abs(delays[i][j] - delays[0][j]) > 1e-9) mismatches++;
+      }
+    }
+    out.printf(
+        "%s: %d vertices, %d edges, %d requests%n",
+        name, graph.getVertexSet().size(), graph.getEdgeSet().size(), constraints.size());
+    for (int i = 0; i < algorithms.length; i++) {
+      out.printf(
+          "  %-14s %9.1f expanded vertices, %9.1f us per path%n",
+          names[i] + ":",
+          (double) expansions[i] / constraints.size(),
+          times[i] / 1e3 / constraints.size());
+    }
+    out.printf("  mismatches:    %d%n", mismatches);
+  }
+}
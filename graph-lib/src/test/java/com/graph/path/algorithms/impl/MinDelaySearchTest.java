@@ -0,0 +1,119 @@
+package com.graph.path.algorithms.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import com.graph.path.algorithms.PathComputationAlgorithm;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests shared by the searches for the minimum delay path that replace Dijkstra's algorithm, the
+ * bidirectional search and the A* search
+ */
+@DisplayName("Minimum delay search Tests")
+class MinDelaySearchTest extends GraphFixture {
+
+  private static final int VERTICES = 60;
+
+  private final BwConstrainedMinDelayPathComputationAlgorithm dijkstra =
+      new BwConstrainedMinDelayPathComputationAlgorithm();
+
+  static Stream<PathComputationAlgorithm> searches() {
+    return Stream.of(
+        new BidirectionalMinDelayPathComputationAlgorithm(),
+        new AStarMinDelayPathComputationAlgorithm());
+  }
+
+  private void assertValidPath(PathElement path, SimplePathComputationConstraint constraint) {
+    Set<VertexElement> vertices = new HashSet<VertexElement>(path.getTraversedVertices());
+    assertEquals(path.getTraversedVertices().size(), vertices.size(), "loop");
+    for (EdgeElement edge : path.getTraversedEdges()) {
+      assertTrue(edge.getEdgeParams().getAvailableCapacity() >= constraint.getBw());
+    }
+    assertEquals(constraint.getSource().getVertexID(), path.getSource().getVertexID());
+    assertEquals(constraint.getDestination().getVertexID(), path.getDestination().getVertexID());
+  }
+
+  // Compares the delay of the paths with the paths of Dijkstra's algorithm for all vertex pairs
+  private void assertSameDelayAsDijkstra(PathComputationAlgorithm search, double bw) {
+    for (int source = 0; source < VERTICES; source += 3) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        PathElement expected = dijkstra.computePath(graph, constraint(source, destination, bw));
+        PathElement path = search.computePath(graph, constraint(source, destination, bw));
+        if (expected == null) {
+          assertNull(path, source + "-" + destination);
+        } else {
+          assertNotNull(path, source + "-" + destination);
+          assertValidPath(path, constraint(source, destination, bw));
+          assertEquals(
+              expected.getPathParams().getPathDelay(),
+              path.getPathParams().getPathDelay(),
+              1e-9,
+              source + "-" + destination);
+        }
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("searches")
+  void testSameDelayAsDijkstraOnGeometricGraphs(PathComputationAlgorithm search) {
+    for (long seed = 1; seed <= 3; seed++) {
+      createGeometricGraph(new GcontrollerImpl(), VERTICES, seed);
+      assertSameDelayAsDijkstra(search, 0);
+      assertSameDelayAsDijkstra(search, 5);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("searches")
+  void testSameDelayAsDijkstraOnGeometricCsrGraphs(PathComputationAlgorithm search) {
+    for (long seed = 1; seed <= 3; seed++) {
+      createGeometricGraph(new CsrGcontrollerImpl(), VERTICES, seed);
+      assertSameDelayAsDijkstra(search, 0);
+      assertSameDelayAsDijkstra(search, 5);
+    }
+  }
+
+  // Square 0-1-3 and 0-2-3, the straight line 0-3 has no link
+  private void createSquare(Gcontroller emptyGraph) {
+    graph = emptyGraph;
+    graph.addVertex(new VertexElement("N0", graph, 0, 0));
+    graph.addVertex(new VertexElement("N1", graph, 200, 0));
+    graph.addVertex(new VertexElement("N2", graph, 0, 200));
+    graph.addVertex(new VertexElement("N3", graph, 200, 200));
+    addEdge(0, 1, 10, 1, 10);
+    addEdge(1, 3, 10, 1, 10);
+    addEdge(0, 2, 12, 1, 10);
+    addEdge(2, 3, 12, 1, 5);
+  }
+
+  @ParameterizedTest
+  @MethodSource("searches")
+  void testBandwidthSelectsSlowerPath(PathComputationAlgorithm search) {
+    for (Gcontroller emptyGraph :
+        new Gcontroller[] {new GcontrollerImpl(), new CsrGcontrollerImpl()}) {
+      createSquare(emptyGraph);
+      PathElement path = search.computePath(graph, constraint(0, 3, 0));
+      assertEquals("N0-N1-N3", path.getVertexSequence());
+
+      graph.getEdge("N1-N3").getEdgeParams().reserveCapacity(8);
+      path = search.computePath(graph, constraint(0, 3, 5));
+      assertEquals("N0-N2-N3", path.getVertexSequence());
+      assertNull(search.computePath(graph, constraint(0, 3, 6)));
+    }
+  }
+}
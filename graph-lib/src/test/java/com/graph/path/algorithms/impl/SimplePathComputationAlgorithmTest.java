@@ -0,0 +1,249 @@
+package com.graph.path.algorithms.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import com.graph.path.algorithms.common.CancellationFlag;
+import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SimplePathComputationAlgorithm Tests")
+class SimplePathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 40;
+
+  // Only accepts paths with at most three edges, the check inspects the path being extended
+  private static class HopLimitedPathComputationAlgorithm extends SimplePathComputationAlgorithm {
+
+    protected int checkConstraint(Constraint constraint, EdgeElement edge, PathElement path) {
+      return path.getTraversedEdges().size() < 3 ? 1 : 0;
+    }
+  }
+
+  // Random connected graph, the weights and delays are distinct so that shortest paths are unique
+  private void createRandomGraph(long seed) {
+    createRandomGraph(
+        VERTICES,
+        2 * VERTICES,
+        seed,
+        (source, destination, random) ->
+            addEdge(
+                source, destination, random.nextDouble(), random.nextDouble(), random.nextInt(10)));
+  }
+
+  // Compares the heap based search with the sorted candidate list for all vertex pairs
+  private void assertSameAsSortedSearch(SimplePathComputationAlgorithm algorithm, double bw) {
+    for (int source = 0; source < VERTICES; source += 3) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        SimplePathComputationConstraint constraint = constraint(source, destination, bw);
+        PathElement expected = algorithm.computePathBySorting(graph, constraint);
+        PathElement actual = algorithm.computePath(graph, constraint);
+        if (expected == null) {
+          assertNull(actual, "N" + source + " to N" + destination);
+        } else {
+          assertNotNull(actual, "N" + source + " to N" + destination);
+          assertEquals(expected.getVertexSequence(), actual.getVertexSequence());
+        }
+      }
+    }
+  }
+
+  // The sorted search finds the maximum bandwidth but may miss the lightest of the widest paths
+  private void assertAtLeastAsGoodAsSortedSearch(
+      MaxBandwidthShortestPathComputationAlgorithm algorithm, double bw) {
+    for (int source = 0; source < VERTICES; source += 3) {
+      for (int destination = 0; destination < VERTICES; destination++) {
+        if (source == destination) continue;
+        SimplePathComputationConstraint constraint = constraint(source, destination, bw);
+        PathElement expected = algorithm.computePathBySorting(graph, constraint);
+        PathElement actual = algorithm.computePath(graph, constraint);
+        if (expected == null) {
+          assertNull(actual, "N" + source + " to N" + destination);
+        } else {
+          assertNotNull(actual, "N" + source + " to N" + destination);
+          assertEquals(
+              expected.getPathParams().getAvailableCapacity(),
+              actual.getPathParams().getAvailableCapacity());
+          assertTrue(
+              actual.getPathParams().getPathWeight()
+                  <= expected.getPathParams().getPathWeight() + 1e-9);
+        }
+      }
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    createRandomGraph(42);
+  }
+
+  @Nested
+  @DisplayName("Same paths as the sorted search")
+  class EquivalenceTests {
+
+    @Test
+    void testShortestWeightPath() {
+      assertSameAsSortedSearch(new SimplePathComputationAlgorithm(), 0);
+    }
+
+    @Test
+    void testBandwidthConstrainedPath() {
+      assertSameAsSortedSearch(new BandwidthConstrainedPathComputationAlgorithm(), 4);
+    }
+
+    @Test
+    void testMinimumDelayPath() {
+      assertSameAsSortedSearch(new BwConstrainedMinDelayPathComputationAlgorithm(), 4);
+    }
+
+    @Test
+    void testMaxBandwidthPath() {
+      assertAtLeastAsGoodAsSortedSearch(new MaxBandwidthShortestPathComputationAlgorithm(), 0);
+      assertAtLeastAsGoodAsSortedSearch(new MaxBandwidthShortestPathComputationAlgorithm(), 4);
+    }
+
+    @Test
+    void testMaxBandwidthPathWithEqualWeights() {
+      for (EdgeElement edge : graph.getEdgeSet()) {
+        edge.getEdgeParams().setWeight(1);
+      }
+      // The choice among paths of equal bandwidth and weight depends on the order of the edges
+      MaxBandwidthShortestPathComputationAlgorithm algorithm =
+          new MaxBandwidthShortestPathComputationAlgorithm();
+      for (int destination = 1; destination < VERTICES; destination++) {
+        SimplePathComputationConstraint constraint = constraint(0, destination, 0);
+        PathElement expected = algorithm.computePathBySorting(graph, constraint);
+        PathElement actual = algorithm.computePath(graph, constraint);
+        assertEquals(
+            expected.getPathParams().getAvailableCapacity(),
+            actual.getPathParams().getAvailableCapacity());
+        assertTrue(
+            actual.getPathParams().getPathWeight() <= expected.getPathParams().getPathWeight());
+      }
+    }
+
+    @Test
+    void testLinkExcludedPath() {
+      LinkExcludedPathComputationAlgorithm algorithm = new LinkExcludedPathComputationAlgorithm();
+      ArrayList<EdgeElement> excluded = new ArrayList<EdgeElement>();
+      excluded.addAll(vertex(0).getConnectedEdges());
+      excluded.addAll(vertex(7).getConnectedEdges());
+      algorithm.addExcludedLinks(excluded);
+
+      assertSameAsSortedSearch(algorithm, 0);
+    }
+
+    @Test
+    void testConstraintInspectingThePath() {
+      assertSameAsSortedSearch(new HopLimitedPathComputationAlgorithm(), 0);
+    }
+  }
+
+  @Nested
+  @DisplayName("Path selection")
+  class PathSelectionTests {
+
+    @BeforeEach
+    void createDiamond() {
+      // N0 - N1 - N3 is light but slow, N0 - N2 - N3 is heavy but fast
+      createGraph(4);
+      addEdge(0, 1, 10, 1, 5);
+      addEdge(1, 3, 10, 1, 5);
+      addEdge(0, 2, 1, 5, 10);
+      addEdge(2, 3, 1, 5, 10);
+    }
+
+    @Test
+    void testLowestWeightPath() {
+      SimplePathComputationAlgorithm algorithm = new SimplePathComputationAlgorithm();
+
+      PathElement path = algorithm.computePath(graph, constraint(0, 3, 0));
+
+      assertEquals("N0-N1-N3", path.getVertexSequence());
+      assertEquals(2.0, path.getPathParams().getPathWeight());
+    }
+
+    @Test
+    void testLowestDelayPath() {
+      SimplePathComputationAlgorithm algorithm =
+          new BwConstrainedMinDelayPathComputationAlgorithm();
+
+      PathElement path = algorithm.computePath(graph, constraint(0, 3, 0));
+
+      assertEquals("N0-N2-N3", path.getVertexSequence());
+    }
+
+    @Test
+    void testBandwidthExcludesLightPath() {
+      SimplePathComputationAlgorithm algorithm =
+          new BandwidthConstrainedPathComputationAlgorithm();
+
+      PathElement path = algorithm.computePath(graph, constraint(0, 3, 8));
+
+      assertEquals("N0-N2-N3", path.getVertexSequence());
+    }
+
+    @Test
+    void testLightestOfTheWidestPaths() {
+      // N3 - N4 limits both paths to a bandwidth of 5, N0 - N2 - N3 is the widest path to N3 but
+      // N0 - N1 - N3 is lighter
+      graph.addVertex(new VertexElement("N4", graph));
+      addEdge(3, 4, 1, 1, 5);
+      SimplePathComputationAlgorithm algorithm = new MaxBandwidthShortestPathComputationAlgorithm();
+
+      PathElement path = algorithm.computePath(graph, constraint(0, 4, 0));
+
+      assertEquals("N0-N1-N3-N4", path.getVertexSequence());
+      assertEquals(5.0, path.getPathParams().getAvailableCapacity());
+    }
+
+    @Test
+    void testNoPathWithoutCapacity() {
+      SimplePathComputationAlgorithm algorithm =
+          new BandwidthConstrainedPathComputationAlgorithm();
+
+      assertNull(algorithm.computePath(graph, constraint(0, 3, 20)));
+    }
+
+    @Test
+    void testCancelledSearchReturnsNoPath() {
+      CancellationFlag flag = new CancellationFlag();
+      // Cancels the computation once the first vertex is expanded
+      SimplePathComputationAlgorithm algorithm =
+          new SimplePathComputationAlgorithm() {
+            protected int checkConstraint(
+                Constraint constraint, EdgeElement edge, PathElement path) {
+              flag.cancel();
+              return 1;
+            }
+          };
+      SimplePathComputationConstraint constraint = constraint(0, 3, 0);
+      constraint.setCancellationFlag(flag);
+
+      assertNull(algorithm.computePath(graph, constraint));
+      assertNull(algorithm.computePathBySorting(graph, constraint));
+      assertTrue(constraint.shouldAbort());
+    }
+
+    @Test
+    void testExpiredSearchReturnsNoPath() {
+      CancellationFlag flag = new CancellationFlag();
+      flag.setDeadline(System.nanoTime() - 1);
+      SimplePathComputationConstraint constraint = constraint(0, 3, 0);
+      constraint.setCancellationFlag(flag);
+
+      assertNull(new SimplePathComputationAlgorithm().computePath(graph, constraint));
+      assertFalse(flag.isCancelled());
+      assertTrue(flag.isExpired());
+    }
+  }
+}
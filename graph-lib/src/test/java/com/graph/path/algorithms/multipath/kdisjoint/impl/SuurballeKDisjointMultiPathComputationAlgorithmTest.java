@@ -0,0 +1,265 @@
+package com.graph.path.algorithms.multipath.kdisjoint.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import com.graph.path.algorithms.constraints.multipath.impl.DisjointMultiPathComputationConstraint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SuurballeKDisjointMultiPathComputationAlgorithm Tests")
+class SuurballeKDisjointMultiPathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 8;
+
+  private final SuurballeKDisjointMultiPathComputationAlgorithm algorithm =
+      new SuurballeKDisjointMultiPathComputationAlgorithm();
+
+  // Source and destination of the enumerated paths, shared by node disjoint paths
+  private Set<VertexElement> endPoints;
+
+  // Random connected graph with links of unit delay
+  private void createRandomGraph(long seed) {
+    createRandomGraph(
+        VERTICES,
+        VERTICES,
+        seed,
+        (source, destination, random) ->
+            addEdge(source, destination, 1, random.nextInt(6), random.nextInt(10)));
+  }
+
+  private ArrayList<PathElement> compute(
+      int source, int destination, int pathCount, double bw, boolean nodeDisjoint) {
+    return algorithm.computePath(
+        graph,
+        new DisjointMultiPathComputationConstraint(
+            vertex(source), vertex(destination), pathCount, bw, nodeDisjoint));
+  }
+
+  // Every simple path from the vertex to the destination over links with the bandwidth
+  private void enumeratePaths(
+      VertexElement vertex,
+      VertexElement destination,
+      double bw,
+      ArrayList<EdgeElement> edges,
+      Set<VertexElement> visited,
+      List<List<EdgeElement>> paths) {
+    if (vertex == destination) {
+      paths.add(new ArrayList<EdgeElement>(edges));
+      return;
+    }
+    for (EdgeElement edge : vertex.getConnectedEdges()) {
+      VertexElement next =
+          edge.getSourceVertex() == vertex ? edge.getDestinationVertex() : edge.getSourceVertex();
+      if (visited.contains(next) || edge.getEdgeParams().getAvailableCapacity() < bw) continue;
+      visited.add(next);
+      edges.add(edge);
+      enumeratePaths(next, destination, bw, edges, visited, paths);
+      edges.remove(edges.size() - 1);
+      visited.remove(next);
+    }
+  }
+
+  // Minimum weight of every number of disjoint paths, found by trying all combinations of paths
+  private void enumerateMinimumWeights(
+      List<List<EdgeElement>> paths,
+      int first,
+      int count,
+      double weight,
+      Set<EdgeElement> usedEdges,
+      Set<VertexElement> usedVertices,
+      boolean nodeDisjoint,
+      double[] minimumWeights) {
+    minimumWeights[count] = Math.min(minimumWeights[count], weight);
+    if (count + 1 == minimumWeights.length) return;
+    for (int i = first; i < paths.size(); i++) {
+      List<EdgeElement> path = paths.get(i);
+      Set<VertexElement> vertices = new HashSet<VertexElement>();
+      boolean disjoint = true;
+      double pathWeight = 0;
+      for (EdgeElement edge : path) {
+        disjoint &= !usedEdges.contains(edge);
+        pathWeight += edge.getEdgeParams().getWeight();
+        vertices.add(edge.getSourceVertex());
+        vertices.add(edge.getDestinationVertex());
+      }
+      if (nodeDisjoint) {
+        for (VertexElement vertex : usedVertices) {
+          disjoint &= !vertices.contains(vertex);
+        }
+      }
+      if (!disjoint) continue;
+      usedEdges.addAll(path);
+      Set<VertexElement> nextUsedVertices = new HashSet<VertexElement>(usedVertices);
+      nextUsedVertices.addAll(vertices);
+      nextUsedVertices.removeAll(endPoints);
+      enumerateMinimumWeights(
+          paths,
+          i + 1,
+          count + 1,
+          weight + pathWeight,
+          usedEdges,
+          nextUsedVertices,
+          nodeDisjoint,
+          minimumWeights);
+      usedEdges.removeAll(path);
+    }
+  }
+
+  private void assertOptimalPaths(
+      int source, int destination, int pathCount, double bw, boolean nodeDisjoint) {
+    List<List<EdgeElement>> paths = new ArrayList<List<EdgeElement>>();
+    endPoints = Set.of(vertex(source), vertex(destination));
+    Set<VertexElement> visited = new HashSet<VertexElement>();
+    visited.add(vertex(source));
+    enumeratePaths(vertex(source), vertex(destination), bw, new ArrayList<>(), visited, paths);
+    double[] minimumWeights = new double[pathCount + 1];
+    Arrays.fill(minimumWeights, Double.POSITIVE_INFINITY);
+    enumerateMinimumWeights(
+        paths, 0, 0, 0, new HashSet<>(), new HashSet<>(), nodeDisjoint, minimumWeights);
+    int expectedCount = pathCount;
+    while (minimumWeights[expectedCount] == Double.POSITIVE_INFINITY) expectedCount--;
+
+    ArrayList<PathElement> computedPaths =
+        compute(source, destination, pathCount, bw, nodeDisjoint);
+
+    if (expectedCount == 0) {
+      assertNull(computedPaths);
+      return;
+    }
+    assertEquals(expectedCount, computedPaths.size());
+    double weight = 0;
+    Set<EdgeElement> usedEdges = new HashSet<EdgeElement>();
+    Set<VertexElement> usedVertices = new HashSet<VertexElement>();
+    for (PathElement path : computedPaths) {
+      assertEquals("N" + source, path.getSourceID());
+      assertEquals("N" + destination, path.getDestinationID());
+      weight += path.getPathParams().getPathWeight();
+      for (EdgeElement edge : path.getTraversedEdges()) {
+        assertTrue(usedEdges.add(edge));
+        assertTrue(edge.getEdgeParams().getAvailableCapacity() >= bw);
+      }
+      ArrayList<VertexElement> vertices = path.getTraversedVertices();
+      for (VertexElement vertex : vertices.subList(1, vertices.size() - 1)) {
+        assertTrue(usedVertices.add(vertex) || !nodeDisjoint);
+      }
+    }
+    assertEquals(minimumWeights[expectedCount], weight, 1e-9);
+  }
+
+  @Nested
+  @DisplayName("computePath(Gcontroller controller, MultiPathConstraint constraints)")
+  class ComputePathTests {
+
+    @Test
+    void testLinkDisjointPathsAreOptimal() {
+      for (long seed = 0; seed < 60; seed++) {
+        createRandomGraph(seed);
+        assertOptimalPaths((int) (seed % VERTICES), (int) ((seed + 3) % VERTICES), 3, 0, false);
+      }
+    }
+
+    @Test
+    void testNodeDisjointPathsAreOptimal() {
+      for (long seed = 0; seed < 60; seed++) {
+        createRandomGraph(seed);
+        assertOptimalPaths((int) (seed % VERTICES), (int) ((seed + 5) % VERTICES), 3, 0, true);
+      }
+    }
+
+    @Test
+    void testPathsOnlyUseLinksWithTheBandwidth() {
+      for (long seed = 0; seed < 60; seed++) {
+        createRandomGraph(seed);
+        assertOptimalPaths((int) (seed % VERTICES), (int) ((seed + 2) % VERTICES), 2, 4, false);
+        assertOptimalPaths((int) (seed % VERTICES), (int) ((seed + 2) % VERTICES), 2, 4, true);
+      }
+    }
+
+    // The shortest path N0-N1-N2-N3 leaves no second path once its links are removed
+    @Test
+    void testTrapTopology() {
+      createGraph(4);
+      addEdge(0, 1, 1, 1, 10);
+      addEdge(1, 2, 1, 1, 10);
+      addEdge(2, 3, 1, 1, 10);
+      addEdge(0, 2, 1, 3, 10);
+      addEdge(1, 3, 1, 3, 10);
+
+      ArrayList<PathElement> paths = compute(0, 3, 2, 0, true);
+
+      assertEquals(2, paths.size());
+      assertEquals(4.0, paths.get(0).getPathParams().getPathWeight());
+      assertEquals(4.0, paths.get(1).getPathParams().getPathWeight());
+      assertFalse(paths.get(0).containsEdge(graph.getEdge("N1-N2")));
+      assertFalse(paths.get(1).containsEdge(graph.getEdge("N1-N2")));
+    }
+
+    @Test
+    void testNodeDisjointPathsAvoidSharedVertex() {
+      // Two link disjoint paths cross N2, only one node disjoint path exists
+      createGraph(6);
+      addEdge(0, 1, 1, 1, 10);
+      addEdge(1, 2, 1, 1, 10);
+      addEdge(0, 3, 1, 1, 10);
+      addEdge(3, 2, 1, 1, 10);
+      addEdge(2, 4, 1, 1, 10);
+      addEdge(2, 5, 1, 1, 10);
+      addEdge(5, 4, 1, 1, 10);
+
+      assertEquals(2, compute(0, 4, 2, 0, false).size());
+      assertEquals(1, compute(0, 4, 2, 0, true).size());
+    }
+
+    @Test
+    void testAllDisjointPathsAreComputedForPathCountZero() {
+      createRandomGraph(7);
+      int degree = vertex(0).getConnectedEdges().size();
+
+      ArrayList<PathElement> paths = compute(0, 1, 0, 0, false);
+
+      assertTrue(paths.size() <= degree);
+      assertOptimalPaths(0, 1, paths.size(), 0, false);
+    }
+
+    @Test
+    void testPathsAreSortedByWeight() {
+      createRandomGraph(11);
+
+      ArrayList<PathElement> paths = compute(0, 5, 3, 0, false);
+
+      for (int i = 1; i < paths.size(); i++) {
+        assertTrue(
+            paths.get(i - 1).getPathParams().getPathWeight()
+                <= paths.get(i).getPathParams().getPathWeight());
+      }
+    }
+
+    @Test
+    void testGraphIsNotModified() {
+      createRandomGraph(3);
+      double weight = 0;
+      for (EdgeElement edge : graph.getEdgeSet()) {
+        weight += edge.getEdgeParams().getWeight();
+      }
+
+      ArrayList<PathElement> paths = compute(0, 4, 3, 0, false);
+
+      double weightAfter = 0;
+      for (EdgeElement edge : graph.getEdgeSet()) {
+        weightAfter += edge.getEdgeParams().getWeight();
+      }
+      assertEquals(weight, weightAfter);
+      assertSame(graph, paths.get(0).getGraphController());
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.graph.path.algorithms.multipath.kshortest.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.GraphFixture;
+import com.graph.path.algorithms.constraints.multipath.impl.SimpleMultiPathComputationConstraint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("YenKShortestPathComputationAlgorithm Tests")
+class YenKShortestPathComputationAlgorithmTest extends GraphFixture {
+
+  private static final int VERTICES = 9;
+
+  private final YenKShortestPathComputationAlgorithm algorithm =
+      new YenKShortestPathComputationAlgorithm();
+
+  // Random connected graph with links of unit delay
+  private void createRandomGraph(long seed) {
+    createRandomGraph(
+        VERTICES,
+        VERTICES,
+        seed,
+        (source, destination, random) ->
+            addEdge(source, destination, 1, random.nextInt(6), random.nextInt(10)));
+  }
+
+  private ArrayList<PathElement> compute(int source, int destination, int pathCount, double bw) {
+    return algorithm.computePath(
+        graph,
+        new SimpleMultiPathComputationConstraint(
+            vertex(source), vertex(destination), pathCount, bw));
+  }
+
+  // Weight of every simple path from the vertex to the destination over links with the bandwidth
+  private void enumerateWeights(
+      VertexElement vertex,
+      VertexElement destination,
+      double bw,
+      double weight,
+      Set<VertexElement> visited,
+      List<Double> weights) {
+    if (vertex == destination) {
+      weights.add(weight);
+      return;
+    }
+    for (EdgeElement edge : vertex.getConnectedEdges()) {
+      VertexElement next =
+          edge.getSourceVertex() == vertex ? edge.getDestinationVertex() : edge.getSourceVertex();
+      if (visited.contains(next) || edge.getEdgeParams().getAvailableCapacity() < bw) continue;
+      visited.add(next);
+      enumerateWeights(
+          next, destination, bw, weight + edge.getEdgeParams().getWeight(), visited, weights);
+      visited.remove(next);
+    }
+  }
+
+  private void assertShortestPaths(int source, int destination, int pathCount, double bw) {
+    List<Double> weights = new ArrayList<Double>();
+    Set<VertexElement> visited = new HashSet<VertexElement>();
+    visited.add(vertex(source));
+    enumerateWeights(vertex(source), vertex(destination), bw, 0, visited, weights);
+    Collections.sort(weights);
+
+    ArrayList<PathElement> paths = compute(source, destination, pathCount, bw);
+
+    if (weights.isEmpty()) {
+      assertNull(paths);
+      return;
+    }
+    assertEquals(Math.min(pathCount, weights.size()), paths.size());
+    Set<String> vertexSequences = new HashSet<String>();
+    for (int i = 0; i < paths.size(); i++) {
+      PathElement path = paths.get(i);
+      assertEquals(weights.get(i), path.getPathParams().getPathWeight(), 1e-9);
+      assertTrue(vertexSequences.add(path.getVertexSequence()));
+      ArrayList<VertexElement> vertices = path.getTraversedVertices();
+      assertEquals(vertices.size(), new HashSet<VertexElement>(vertices).size());
+      assertSame(vertex(source), vertices.get(0));
+      assertSame(vertex(destination), vertices.get(vertices.size() - 1));
+      for (EdgeElement edge : path.getTraversedEdges()) {
+        assertTrue(edge.getEdgeParams().getAvailableCapacity() >= bw);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("computePath(Gcontroller controller, MultiPathConstraint constraints)")
+  class ComputePathTests {
+
+    @Test
+    void testPathsAreTheShortestLooplessPaths() {
+      for (long seed = 0; seed < 60; seed++) {
+        createRandomGraph(seed);
+        assertShortestPaths((int) (seed % VERTICES), (int) ((seed + 4) % VERTICES), 16, 0);
+      }
+    }
+
+    @Test
+    void testPathsOnlyUseLinksWithTheBandwidth() {
+      for (long seed = 0; seed < 60; seed++) {
+        createRandomGraph(seed);
+        assertShortestPaths((int) (seed % VERTICES), (int) ((seed + 2) % VERTICES), 8, 3);
+      }
+    }
+
+    @Test
+    void testSinglePathIsTheShortestPath() {
+      for (long seed = 0; seed < 20; seed++) {
+        createRandomGraph(seed);
+        assertShortestPaths(0, VERTICES - 1, 1, 0);
+      }
+    }
+
+    @Test
+    void testPathCountZeroComputesMaximumPathCount() {
+      createGraph(VERTICES);
+      for (int i = 0; i < VERTICES; i++) {
+        for (int j = i + 1; j < VERTICES; j++) {
+          addEdge(i, j, 1, 1 + (i + j) % 3, 10);
+        }
+      }
+
+      ArrayList<PathElement> paths = compute(0, 1, 0, 0);
+
+      assertEquals(YenKShortestPathComputationAlgorithm.MAX_PATH_COUNT, paths.size());
+    }
+
+    @Test
+    void testGraphIsNotModified() {
+      createRandomGraph(5);
+
+      compute(0, 4, 16, 0);
+
+      for (VertexElement vertex : graph.getVertexSet()) {
+        for (EdgeElement edge : vertex.getConnectedEdges()) {
+          assertFalse(vertex.isExcludedEdge(edge));
+        }
+      }
+    }
+  }
+}
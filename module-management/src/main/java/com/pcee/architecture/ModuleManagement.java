@@ -17,10 +17,12 @@ package com.pcee.architecture;
 import com.pcee.architecture.clientmodule.ClientModule;
 import com.pcee.architecture.clientmodule.ClientModuleImpl;
 import com.pcee.architecture.computationmodule.ComputationModule;
+import com.pcee.architecture.computationmodule.ComputationModuleConfig;
 import com.pcee.architecture.computationmodule.ComputationModuleImpl;
 import com.pcee.architecture.computationmodule.ted.TopologyInformation;
 import com.pcee.architecture.networkmodule.NetworkModule;
 import com.pcee.architecture.networkmodule.NetworkModuleImpl;
+import com.pcee.architecture.networkmodule.PceFrameDecoder;
 import com.pcee.architecture.sessionmodule.SessionModule;
 import com.pcee.architecture.sessionmodule.SessionModuleImpl;
 import java.io.FileInputStream;
@@ -35,6 +37,9 @@ public class ModuleManagement {
   private ComputationModule computationModule;
   private ClientModule clientModule;
 
+  // Deadlines of the received requests, requests have no deadline unless configured
+  private RequestDeadlineMonitor requestDeadlineMonitor = new RequestDeadlineMonitor(0);
+
   boolean running = false;
   boolean isServer = false;
 
@@ -81,7 +86,13 @@ public class ModuleManagement {
       Properties reader = new Properties();
       reader.load(new FileInputStream(configFile));
 
-      int port = 0, sessionThreads = 0, computationThreads = 0;
+      int port = 0, sessionThreads = 0;
+      int maxMessageLength = PceFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+      long outboundHighWaterMark = NetworkModuleImpl.DEFAULT_OUTBOUND_HIGH_WATER_MARK;
+      int networkThreads = NetworkModuleImpl.DEFAULT_NETWORK_THREADS;
+      long requestTimeout = 0;
+      boolean keepaliveSuppression = false;
+      ComputationModuleConfig computationConfig = new ComputationModuleConfig();
 
       try {
         /*				String logger = reader.getProperty("logging");
@@ -100,9 +111,51 @@ public class ModuleManagement {
          */
         port = Integer.valueOf(reader.getProperty("port"));
         sessionThreads = Integer.valueOf(reader.getProperty("sessionThreads"));
-        computationThreads = Integer.valueOf(reader.getProperty("computationThreads"));
+        computationConfig.setComputationThreads(
+            Integer.valueOf(reader.getProperty("computationThreads")));
+        if (reader.getProperty("maxMessageLength") != null) {
+          maxMessageLength = Integer.valueOf(reader.getProperty("maxMessageLength"));
+        }
+        if (reader.getProperty("outboundHighWaterMark") != null) {
+          outboundHighWaterMark = Long.valueOf(reader.getProperty("outboundHighWaterMark"));
+        }
+        if (reader.getProperty("networkThreads") != null) {
+          networkThreads = Integer.valueOf(reader.getProperty("networkThreads"));
+        }
+        if (reader.getProperty("pathCacheSize") != null) {
+          computationConfig.setPathCacheSize(Integer.valueOf(reader.getProperty("pathCacheSize")));
+        }
+        if (reader.getProperty("pathCacheBandwidthBucket") != null) {
+          computationConfig.setPathCacheBandwidthBucket(
+              Double.valueOf(reader.getProperty("pathCacheBandwidthBucket")));
+        }
+        if (reader.getProperty("requestQueueCapacity") != null) {
+          computationConfig.setRequestQueueCapacity(
+              Integer.valueOf(reader.getProperty("requestQueueCapacity")));
+        }
+        if (reader.getProperty("requestAgingInterval") != null) {
+          computationConfig.setRequestAgingInterval(
+              Long.valueOf(reader.getProperty("requestAgingInterval")));
+        }
+        if (reader.getProperty("requestTimeout") != null) {
+          requestTimeout = Long.valueOf(reader.getProperty("requestTimeout"));
+        }
+        if (reader.getProperty("computationExecutor") != null) {
+          computationConfig.setComputationExecutor(
+              reader.getProperty("computationExecutor").trim());
+        }
+        if (reader.getProperty("keepaliveSuppression") != null) {
+          keepaliveSuppression = Boolean.valueOf(reader.getProperty("keepaliveSuppression").trim());
+        }
+        if (reader.getProperty("requestBatchSize") != null) {
+          computationConfig.setRequestBatchSize(
+              Integer.valueOf(reader.getProperty("requestBatchSize")));
+        }
         TopologyInformation.setTopoPath(reader.getProperty("topology"));
         TopologyInformation.setImporter(reader.getProperty("importer"));
+        if (reader.getProperty("graphBackend") != null) {
+          TopologyInformation.setGraphBackend(reader.getProperty("graphBackend"));
+        }
         TopologyInformation.setTopologyUpdatePort(
             Integer.parseInt(reader.getProperty("topologyUpdatePort")));
       } catch (Exception e) {
@@ -112,11 +165,15 @@ public class ModuleManagement {
       if (running == false) {
 
         this.isServer = isServer;
-        networkModule = new NetworkModuleImpl(isServer, this, port);
-        if (isServer == false) sessionModule = new SessionModuleImpl(this, sessionThreads);
-        else sessionModule = new SessionModuleImpl(this, sessionThreads);
+        requestDeadlineMonitor = new RequestDeadlineMonitor(requestTimeout);
+        networkModule =
+            new NetworkModuleImpl(
+                isServer, this, port, maxMessageLength, outboundHighWaterMark, networkThreads);
+        if (isServer == false)
+          sessionModule = new SessionModuleImpl(this, sessionThreads, keepaliveSuppression);
+        else sessionModule = new SessionModuleImpl(this, sessionThreads, keepaliveSuppression);
         if (isServer == true) {
-          computationModule = new ComputationModuleImpl(this, computationThreads);
+          computationModule = new ComputationModuleImpl(this, computationConfig);
           clientModule = new ClientModuleImpl(this);
         } else {
           clientModule = new ClientModuleImpl(this);
@@ -161,6 +218,10 @@ public class ModuleManagement {
     return clientModule;
   }
 
+  public RequestDeadlineMonitor getRequestDeadlineMonitor() {
+    return requestDeadlineMonitor;
+  }
+
   public boolean isServer() {
     return isServer;
   }
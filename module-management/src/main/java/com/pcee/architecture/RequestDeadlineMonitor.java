@@ -0,0 +1,91 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture;
+
+import com.pcee.protocol.message.PceMessage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deadlines of the received path computation requests. The deadline of a request starts when the
+ * network module receives it and is carried by the message through the session and computation
+ * modules. Each stage drops the requests that have expired and records them here.
+ */
+public class RequestDeadlineMonitor {
+
+  /** Stage at which an expired request was dropped */
+  public enum Stage {
+    // Before the session module forwards the request to the computation module
+    SESSION,
+    // When a worker takes the request from the request queue
+    QUEUE,
+    // While the path of the request was computed
+    COMPUTATION;
+  }
+
+  // Time in nanoseconds a request may take to be answered, 0 if requests have no deadline
+  private final long requestTimeoutNanos;
+
+  // Number of expired requests per stage
+  private final LongAdder[] expiredRequests = new LongAdder[Stage.values().length];
+
+  /**
+   * Constructor
+   *
+   * @param requestTimeout time in milliseconds a request may take to be answered, 0 if requests
+   *     have no deadline
+   */
+  public RequestDeadlineMonitor(long requestTimeout) {
+    this.requestTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(requestTimeout);
+    for (int i = 0; i < expiredRequests.length; i++) {
+      expiredRequests[i] = new LongAdder();
+    }
+  }
+
+  /** Function to check if requests are given a deadline */
+  public boolean isEnabled() {
+    return requestTimeoutNanos > 0;
+  }
+
+  /**
+   * Function to start the deadline of a received message, only path computation requests are
+   * given a deadline
+   *
+   * @param message message received by the network module
+   */
+  public void startDeadline(PceMessage message) {
+    if (isEnabled() && message.getMessageHeader().getTypeDecimalValue() == 3) {
+      message.setDeadline(System.nanoTime() + requestTimeoutNanos);
+    }
+  }
+
+  /** Function to record a request dropped because it expired */
+  public void recordExpired(Stage stage) {
+    expiredRequests[stage.ordinal()].increment();
+  }
+
+  /** Function to get the number of requests that expired at a stage */
+  public long getExpiredCount(Stage stage) {
+    return expiredRequests[stage.ordinal()].sum();
+  }
+
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Expired requests:");
+    for (Stage stage : Stage.values()) {
+      builder.append(' ').append(stage).append('=').append(getExpiredCount(stage));
+    }
+    return builder.toString();
+  }
+}
@@ -76,7 +76,9 @@ public class ClientModuleImpl extends ClientModule {
   public synchronized void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
     logger.debug("|");
     logger.debug("Entering: receiveMessage(PceMessage message, ModuleEnum sourceLayer)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
     logger.debug("| sourceLayer: {}", sourceLayer);
 
     switch (sourceLayer) {
@@ -107,7 +109,9 @@ public class ClientModuleImpl extends ClientModule {
   public synchronized void sendMessage(PceMessage message, ModuleEnum targetLayer) {
     logger.debug("|");
     logger.debug("Entering: sendMessage(PceMessage message, ModuleEnum targetLayer)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
     logger.debug("| targetLayer: {}", targetLayer);
 
     switch (targetLayer) {
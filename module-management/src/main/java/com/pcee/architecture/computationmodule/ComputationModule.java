@@ -33,4 +33,16 @@ public abstract class ComputationModule implements Module {
       PceAddress address, String requestID, LinkedBlockingQueue<PceMessage> queue);
 
   protected abstract void processResponseFromRemotePeer(PceMessage message);
+
+  /**
+   * Function called when a request is dropped because its deadline passed in the request queue,
+   * the request is not answered by default
+   */
+  public void dropExpiredRequest(PceMessage request) {}
+
+  /**
+   * Function to schedule a request to be computed again, e.g. a request attached to an identical
+   * computation that was aborted, the request is not answered by default
+   */
+  public void requeueRequest(PceMessage request) {}
 }
@@ -0,0 +1,108 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule;
+
+import com.pcee.architecture.computationmodule.cache.PathCache;
+import com.pcee.architecture.computationmodule.threadpool.ComputationExecutor;
+import com.pcee.architecture.computationmodule.threadpool.RequestScheduler;
+
+/**
+ * Configuration of the computation module. Every value starts at its default, the values read from
+ * the configuration file are set by ModuleManagement.
+ */
+public class ComputationModuleConfig {
+
+  // Number of worker threads, or maximum number of concurrent computations of the virtual and
+  // fork/join executors
+  private int computationThreads = 5;
+
+  // Maximum number of cached paths, 0 disables the path cache
+  private int pathCacheSize = PathCache.DEFAULT_CAPACITY;
+
+  // Granularity of the bandwidth of cached requests, 0 to cache every requested bandwidth
+  // separately
+  private double pathCacheBandwidthBucket = 0;
+
+  // Maximum number of requests waiting for a worker, further requests are rejected with an
+  // overload notification
+  private int requestQueueCapacity = RequestScheduler.DEFAULT_CAPACITY;
+
+  // Time in milliseconds after which a waiting request is promoted by one priority level, 0 to
+  // schedule strictly by priority
+  private long requestAgingInterval = RequestScheduler.DEFAULT_AGING_INTERVAL;
+
+  // Type of the executor: platform, virtual or forkjoin, see ComputationExecutor
+  private String computationExecutor = ComputationExecutor.PLATFORM;
+
+  // Maximum number of requests of a PCReq message answered by a single PCRep message, the responses
+  // of larger messages are split over several PCRep messages
+  private int requestBatchSize = RequestBatch.DEFAULT_SIZE;
+
+  public int getComputationThreads() {
+    return computationThreads;
+  }
+
+  public void setComputationThreads(int computationThreads) {
+    this.computationThreads = computationThreads;
+  }
+
+  public int getPathCacheSize() {
+    return pathCacheSize;
+  }
+
+  public void setPathCacheSize(int pathCacheSize) {
+    this.pathCacheSize = pathCacheSize;
+  }
+
+  public double getPathCacheBandwidthBucket() {
+    return pathCacheBandwidthBucket;
+  }
+
+  public void setPathCacheBandwidthBucket(double pathCacheBandwidthBucket) {
+    this.pathCacheBandwidthBucket = pathCacheBandwidthBucket;
+  }
+
+  public int getRequestQueueCapacity() {
+    return requestQueueCapacity;
+  }
+
+  public void setRequestQueueCapacity(int requestQueueCapacity) {
+    this.requestQueueCapacity = requestQueueCapacity;
+  }
+
+  public long getRequestAgingInterval() {
+    return requestAgingInterval;
+  }
+
+  public void setRequestAgingInterval(long requestAgingInterval) {
+    this.requestAgingInterval = requestAgingInterval;
+  }
+
+  public String getComputationExecutor() {
+    return computationExecutor;
+  }
+
+  public void setComputationExecutor(String computationExecutor) {
+    this.computationExecutor = computationExecutor;
+  }
+
+  public int getRequestBatchSize() {
+    return requestBatchSize;
+  }
+
+  public void setRequestBatchSize(int requestBatchSize) {
+    this.requestBatchSize = requestBatchSize;
+  }
+}
@@ -16,14 +16,32 @@ package com.pcee.architecture.computationmodule;
 
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.computationmodule.cache.PathCache;
 import com.pcee.architecture.computationmodule.ted.TopologyInformation;
+import com.pcee.architecture.computationmodule.threadpool.BoundedTaskExecutor;
+import com.pcee.architecture.computationmodule.threadpool.ComputationExecutor;
+import com.pcee.architecture.computationmodule.threadpool.ObjectiveFunctionRegistry;
+import com.pcee.architecture.computationmodule.threadpool.RequestScheduler;
+import com.pcee.architecture.computationmodule.threadpool.SvecBatchExecutor;
 import com.pcee.architecture.computationmodule.threadpool.ThreadPool;
 import com.pcee.logger.PceeLoggerFactory;
 import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceNotificationObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.PceTypedNotificationObject;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.notification.PceNotificationFrame;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.request.PceRequestFrameFactory;
 import com.pcee.protocol.response.PceResponseFrame;
 import com.pcee.protocol.response.PceResponseFrameFactory;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import org.slf4j.Logger;
 
@@ -39,17 +57,41 @@ public class ComputationModuleImpl extends ComputationModule {
   // modules
   private final ModuleManagement lm;
 
-  // Thread Pool Implementation to compute incoming requests
-  private ThreadPool threadPool;
+  // Executor computing incoming requests, a thread pool unless configured otherwise
+  private ComputationExecutor computationExecutor;
 
-  // Used by the ThreadPool class to initialize the given amount of Threads
+  // Type of the executor, see ComputationExecutor
+  private final String computationExecutorType;
+
+  // Used by the executor to initialize the given amount of Threads, or as the maximum number of
+  // concurrent computations
   private final int computationThreads;
 
-  // Thread-safe queue to store requests to be used by the thread pool
-  private LinkedBlockingQueue<PceMessage> requestQueue;
+  // Cache of the computed paths shared by the workers
+  private final PathCache pathCache;
+
+  // Maximum number of requests waiting for a worker
+  private final int requestQueueCapacity;
+
+  // Time in milliseconds after which a waiting request is promoted by one priority level
+  private final long requestAgingInterval;
+
+  // Bounded priority queue to store requests to be used by the thread pool
+  private RequestScheduler requestScheduler;
+
+  // Executor computing the requests synchronized by SVEC objects on a fork/join pool
+  private SvecBatchExecutor svecBatchExecutor;
+
+  // Maximum number of requests of a PCReq message answered by a single PCRep message
+  private final int requestBatchSize;
 
-  // HashMap for keeping track of requests made to remote peers and the associated worker tasks
-  private HashMap<String, LinkedBlockingQueue<PceMessage>> remotePeerResponseAssociationHashMap;
+  // Batch of every request of a PCReq message carrying several requests whose response is pending,
+  // keyed by peer and request ID
+  private ConcurrentHashMap<String, RequestBatch> pendingRequestBatches;
+
+  // Map for keeping track of requests made to remote peers and the associated worker tasks
+  private ConcurrentHashMap<String, LinkedBlockingQueue<PceMessage>>
+      remotePeerResponseAssociationHashMap;
 
   /**
    * Default Constructor
@@ -57,24 +99,47 @@ public class ComputationModuleImpl extends ComputationModule {
    * @param layerManagement
    */
   public ComputationModuleImpl(ModuleManagement layerManagement) {
-    lm = layerManagement;
-    computationThreads = 5;
-    start();
+    this(layerManagement, new ComputationModuleConfig());
   }
 
   public ComputationModuleImpl(ModuleManagement layerManagement, int computationThreads) {
+    this(layerManagement, withComputationThreads(computationThreads));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param layerManagement
+   * @param config configuration of the module
+   */
+  public ComputationModuleImpl(ModuleManagement layerManagement, ComputationModuleConfig config) {
     lm = layerManagement;
-    this.computationThreads = computationThreads;
+    this.requestBatchSize = Math.max(1, config.getRequestBatchSize());
+    this.computationThreads = config.getComputationThreads();
+    this.computationExecutorType = config.getComputationExecutor();
+    this.requestQueueCapacity = config.getRequestQueueCapacity();
+    this.requestAgingInterval = config.getRequestAgingInterval();
+    pathCache = new PathCache(config.getPathCacheSize(), config.getPathCacheBandwidthBucket());
     start();
   }
 
+  private static ComputationModuleConfig withComputationThreads(int computationThreads) {
+    ComputationModuleConfig config = new ComputationModuleConfig();
+    config.setComputationThreads(computationThreads);
+    return config;
+  }
+
   public void stop(boolean graceful) {
     logger.info("Stopping Computation Module, graceful={}", graceful ? "true" : "false");
     if (graceful) {
       // Include code for graceful stop
     } else {
-      threadPool.stop();
-      requestQueue.clear();
+      computationExecutor.stop();
+      svecBatchExecutor.stop();
+      requestScheduler.clear();
+      TopologyInformation.getInstance().removeUpdateListener(pathCache);
+      logger.info("{}", pathCache);
+      logger.info("{}", lm.getRequestDeadlineMonitor());
       TopologyInformation.closeInstance();
     }
   }
@@ -82,19 +147,59 @@ public class ComputationModuleImpl extends ComputationModule {
   public void start() {
     // Initialize the topology to import the definition from file and start the thread to listen for
     // topology updates
-    TopologyInformation.getInstance();
+    TopologyInformation.getInstance().addUpdateListener(pathCache);
 
     // Innitialize the map that will record the responses coming from remote peers
-    remotePeerResponseAssociationHashMap = new HashMap<String, LinkedBlockingQueue<PceMessage>>();
+    remotePeerResponseAssociationHashMap =
+        new ConcurrentHashMap<String, LinkedBlockingQueue<PceMessage>>();
+    pendingRequestBatches = new ConcurrentHashMap<String, RequestBatch>();
     // Initialize a new request Queue
-    requestQueue = new LinkedBlockingQueue<PceMessage>();
-    // Initialize the thread pool used for computing requests
-    threadPool = new ThreadPool(lm, computationThreads, requestQueue);
+    requestScheduler = new RequestScheduler(requestQueueCapacity, requestAgingInterval);
+    // Initialize the executor used for computing requests
+    if (ComputationExecutor.VIRTUAL.equalsIgnoreCase(computationExecutorType)
+        || ComputationExecutor.FORK_JOIN.equalsIgnoreCase(computationExecutorType)) {
+      computationExecutor =
+          new BoundedTaskExecutor(
+              lm, computationExecutorType, computationThreads, requestScheduler, pathCache);
+    } else {
+      computationExecutor = new ThreadPool(lm, computationThreads, requestScheduler, pathCache);
+    }
+    svecBatchExecutor = new SvecBatchExecutor(lm, computationThreads);
+  }
+
+  /** Function to get the queue of requests waiting for a worker */
+  public RequestScheduler getRequestScheduler() {
+    return requestScheduler;
   }
 
+  /** Function to get the cache of the computed paths */
+  public PathCache getPathCache() {
+    return pathCache;
+  }
+
+  /** Function to get the algorithms and latency metrics of the objective functions */
+  public ObjectiveFunctionRegistry getObjectiveFunctionRegistry() {
+    return computationExecutor.getObjectiveFunctionRegistry();
+  }
+
+  /**
+   * Function to drop the work of a closed session. Queued requests of the session are removed and
+   * the computations in progress are cancelled, their responses could not be delivered anyway.
+   */
   public void closeConnection(PceAddress address) {
-    // TODO Auto-generated method stub
-    // Explicit removal of requests from closed connections not implemented
+    int removedRequests = requestScheduler.removeRequests(address);
+    int cancelledRequests = computationExecutor.cancelRequests(address);
+    cancelledRequests += svecBatchExecutor.cancelRequests(address);
+    pendingRequestBatches
+        .values()
+        .removeIf(batch -> batch.getAddress().getIPv4Address().equals(address.getIPv4Address()));
+    if (removedRequests > 0 || cancelledRequests > 0) {
+      logger.info(
+          "Session {} closed, removed {} queued and cancelled {} running requests",
+          address.getIPv4Address(),
+          removedRequests,
+          cancelledRequests);
+    }
   }
 
   public void registerConnection(
@@ -106,13 +211,27 @@ public class ComputationModuleImpl extends ComputationModule {
 
   public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
     logger.debug("Entering: receiveMessage(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
     logger.debug("| sourceLayer: {}", sourceLayer);
     switch (sourceLayer) {
       case SESSION_MODULE:
         // If message is a path computation request process message
-        if (message.getMessageHeader().getTypeDecimalValue() == 3) requestQueue.add(message);
-        else if (message.getMessageHeader().getTypeDecimalValue() == 4)
+        if (message.getMessageHeader().getTypeDecimalValue() == 3) {
+          int requestCount = getObjectCount(message, 2);
+          if (requestCount > 0 && getObjectCount(message, 11) > 0) {
+            // Requests synchronized by SVEC objects are computed together
+            if (!svecBatchExecutor.submit(message)) {
+              logger.info("SVEC executor full, rejecting requests: {}", svecBatchExecutor);
+              sendOverloadNotification(message);
+            }
+          } else if (requestCount > 1) {
+            receiveRequestBatch(message);
+          } else if (!requestScheduler.offer(message)) {
+            rejectOverloadedRequest(message);
+          }
+        } else if (message.getMessageHeader().getTypeDecimalValue() == 4)
           // Path computation response received from another PCE server /// needs to be sent to a
           // worker in the computataion module
           processResponseFromRemotePeer(message);
@@ -124,39 +243,213 @@ public class ComputationModuleImpl extends ComputationModule {
     }
   }
 
+  // Function to count the objects of a class, e.g. the RP objects of a PCReq message, without
+  // decoding them
+  private static int getObjectCount(PceMessage message, int objectClass) {
+    int count = 0;
+    int objectCount = message.getObjectCount();
+    for (int i = 0; i < objectCount; i++) {
+      if (message.getObjectClass(i) == objectClass) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Function to queue the requests of a PCReq message carrying several requests. Every request is
+   * computed as a message of its own, the responses of up to requestBatchSize requests are
+   * collected by a RequestBatch and returned in a single PCRep message.
+   *
+   * @param message path computation request message
+   */
+  protected void receiveRequestBatch(PceMessage message) {
+    PceAddress address = message.getAddress();
+    LinkedList<PceRequestFrame> requestFrames =
+        PceRequestFrameFactory.getPathComputationRequestFrames(message);
+    logger.info(
+        "Received {} requests in a single message from {}",
+        requestFrames.size(),
+        address.getIPv4Address());
+    for (int start = 0; start < requestFrames.size(); start += requestBatchSize) {
+      List<PceRequestFrame> batchFrames =
+          requestFrames.subList(start, Math.min(start + requestBatchSize, requestFrames.size()));
+      RequestBatch batch = new RequestBatch(address);
+      ArrayList<PceMessage> requests = new ArrayList<PceMessage>(batchFrames.size());
+      for (PceRequestFrame requestFrame : batchFrames) {
+        PceMessage request = PceMessageFactory.generateMessage(requestFrame);
+        request.setAddress(address);
+        request.setDeadline(message.getDeadline());
+        // A request ID already pending for the peer is answered on its own
+        String key = getKeyForBatchedRequest(address, requestFrame.getRequestID());
+        if (pendingRequestBatches.putIfAbsent(key, batch) == null) {
+          batch.addRequest(requestFrame.getRequestID());
+        }
+        requests.add(request);
+      }
+
+      int queued = requestScheduler.offerAll(requests);
+      for (int i = queued; i < requests.size(); i++) {
+        rejectOverloadedRequest(requests.get(i));
+        int requestID = batchFrames.get(i).getRequestID();
+        if (pendingRequestBatches.remove(getKeyForBatchedRequest(address, requestID), batch)
+            && batch.removeRequest(requestID)) {
+          sendBatchResponse(batch);
+        }
+      }
+    }
+  }
+
+  private String getKeyForBatchedRequest(PceAddress address, int requestID) {
+    return address.getIPv4Address() + "-" + requestID;
+  }
+
+  /**
+   * Function to collect the response to a request of a batch, the PCRep message is sent once all
+   * requests of the batch have been answered
+   *
+   * @param message response generated by a worker
+   * @return false if the request is not part of a batch and the response has to be sent
+   */
+  private boolean collectBatchedResponse(PceMessage message) {
+    if (message.getMessageHeader().getTypeDecimalValue() != 4) {
+      return false;
+    }
+    PceResponseFrame responseFrame =
+        PceResponseFrameFactory.getPathComputationResponseFrame(message);
+    RequestBatch batch =
+        pendingRequestBatches.remove(
+            getKeyForBatchedRequest(message.getAddress(), responseFrame.getRequestID()));
+    if (batch == null) {
+      return false;
+    }
+    if (batch.addResponse(responseFrame)) {
+      sendBatchResponse(batch);
+    }
+    return true;
+  }
+
+  /**
+   * Function to answer a request of a batch that was dropped because its deadline passed in the
+   * request queue, so that the response of the batch is still sent. Other expired requests are not
+   * answered.
+   */
+  public void dropExpiredRequest(PceMessage request) {
+    if (pendingRequestBatches.isEmpty()) return;
+    int requestID = getRequestID(request);
+    RequestBatch batch =
+        pendingRequestBatches.remove(getKeyForBatchedRequest(request.getAddress(), requestID));
+    if (batch != null && batch.addExpiredRequest(requestID)) {
+      sendBatchResponse(batch);
+    }
+  }
+
+  /**
+   * Function to queue a request again, the request is scheduled by its priority like a newly
+   * received request. A rejected request of a batch is removed from the response of the batch.
+   */
+  public void requeueRequest(PceMessage request) {
+    if (requestScheduler.offer(request)) return;
+    rejectOverloadedRequest(request);
+    if (pendingRequestBatches.isEmpty()) return;
+    int requestID = getRequestID(request);
+    RequestBatch batch =
+        pendingRequestBatches.remove(getKeyForBatchedRequest(request.getAddress(), requestID));
+    if (batch != null && batch.removeRequest(requestID)) {
+      sendBatchResponse(batch);
+    }
+  }
+
+  // Function to get the request ID of a single request message, -1 if it has no RP object
+  private static int getRequestID(PceMessage request) {
+    PceObjectFrame rp = request.getFirstObject(2);
+    if (!(rp instanceof PceRequestParametersObject)) return -1;
+    return ((PceRequestParametersObject) rp).getRequestIDNumberDecimalValue();
+  }
+
+  private void sendBatchResponse(RequestBatch batch) {
+    lm.getSessionModule()
+        .receiveMessage(batch.generateResponseMessage(), ModuleEnum.COMPUTATION_MODULE);
+  }
+
+  /**
+   * Function to answer a request that could not be queued with a PCNtf message cancelling the
+   * request because the PCE is overloaded. RFC 5440 defines no PCErr type for overload, so the
+   * notification is used instead.
+   *
+   * @param message rejected path computation request
+   */
+  protected void rejectOverloadedRequest(PceMessage message) {
+    logger.info("Request queue full, rejecting request: {}", requestScheduler);
+    sendOverloadNotification(message);
+  }
+
+  /**
+   * Function to send the PCNtf message cancelling the requests of a message because the PCE is
+   * overloaded, the notification carries the RP object of every request of the message
+   */
+  private void sendOverloadNotification(PceMessage message) {
+
+    LinkedList<PceNotificationObject> notificationList = new LinkedList<PceNotificationObject>();
+    notificationList.add(
+        PceObjectFrameFactory.generatePCEPNotificationObject(
+            "1",
+            "0",
+            PceTypedNotificationObject.TYPE_PENDING_REQUEST_CANCELLED,
+            PceTypedNotificationObject.VALUE_PCE_CANCELS_REQUESTS));
+    notificationList.add(
+        PceObjectFrameFactory.generatePCEPNotificationObject(
+            "1",
+            "0",
+            PceTypedNotificationObject.TYPE_OVERLOADED_PCE,
+            PceTypedNotificationObject.VALUE_PCE_OVERLOADED));
+    PceNotificationFrame frame = new PceNotificationFrame(notificationList);
+    LinkedList<PceRequestParametersObject> rpList = new LinkedList<PceRequestParametersObject>();
+    int objectCount = message.getObjectCount();
+    for (int i = 0; i < objectCount; i++) {
+      if (message.getObjectClass(i) != 2) continue;
+      PceObjectFrame rp = message.getObject(i);
+      if (rp instanceof PceRequestParametersObject) rpList.add((PceRequestParametersObject) rp);
+    }
+    if (!rpList.isEmpty()) {
+      frame.insertRequestParametersObjectList(rpList);
+    }
+
+    PceMessage notification = PceMessageFactory.generateMessage(frame);
+    notification.setAddress(message.getAddress());
+    sendMessage(notification, ModuleEnum.SESSION_MODULE);
+  }
+
   private String getKeyForRemotePeerAssociation(PceAddress address, String requestID) {
     return address.getIPv4Address(true) + "-" + requestID;
   }
 
-  public synchronized boolean isValidRequestToRemotePeer(PceAddress address, String requestID) {
+  public boolean isValidRequestToRemotePeer(PceAddress address, String requestID) {
     // If the particular combination of remote PCE peer and request ID already exist do not make a
     // new association
     String key = getKeyForRemotePeerAssociation(address, requestID);
     return !remotePeerResponseAssociationHashMap.containsKey(key);
   }
 
-  public synchronized void registerRequestToRemotePeer(
+  public void registerRequestToRemotePeer(
       PceAddress address, String requestID, LinkedBlockingQueue<PceMessage> queue) {
-    if (isValidRequestToRemotePeer(address, requestID)) {
-      String key = getKeyForRemotePeerAssociation(address, requestID);
-      remotePeerResponseAssociationHashMap.put(key, queue);
-    } else logger.info("registerRequestToRemotePeer: Not a valid request");
+    String key = getKeyForRemotePeerAssociation(address, requestID);
+    if (remotePeerResponseAssociationHashMap.putIfAbsent(key, queue) != null)
+      logger.info("registerRequestToRemotePeer: Not a valid request");
   }
 
   // Function to implement a mechanism where a response from another server (hierarchical or PCE
   // peer) is sent to the correct worker task
-  protected synchronized void processResponseFromRemotePeer(PceMessage message) {
+  protected void processResponseFromRemotePeer(PceMessage message) {
     PceAddress address = message.getAddress();
     // Message is of type PCEP Response
     PceResponseFrame responseFrame =
         PceResponseFrameFactory.getPathComputationResponseFrame(message);
     String requestID = Integer.toString(responseFrame.getRequestID());
     String key = getKeyForRemotePeerAssociation(address, requestID);
-    if (remotePeerResponseAssociationHashMap.containsKey(key)) {
+    LinkedBlockingQueue<PceMessage> queue = remotePeerResponseAssociationHashMap.remove(key);
+    if (queue != null) {
       logger.info(
           "Path Computation Response Received by the computation Module, adding to queue from worker task");
-      remotePeerResponseAssociationHashMap.get(key).add(message);
-      remotePeerResponseAssociationHashMap.remove(key);
+      queue.add(message);
     } else {
       logger.info(
           "Response for Peer-requestID combination that is not registered with the computation module");
@@ -169,6 +462,10 @@ public class ComputationModuleImpl extends ComputationModule {
         // undefined
         break;
       case SESSION_MODULE:
+        if (!pendingRequestBatches.isEmpty() && collectBatchedResponse(message)) {
+          // The response is sent with the other responses of its batch
+          break;
+        }
         lm.getSessionModule().receiveMessage(message, ModuleEnum.COMPUTATION_MODULE);
         break;
       case COMPUTATION_MODULE:
@@ -0,0 +1,140 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule;
+
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.response.PceResponseFrame;
+import com.pcee.protocol.response.PceResponseFrameFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Requests of a PCReq message carrying several requests. The requests are computed independently,
+ * their responses are collected and sent back in a single PCRep message holding one response per
+ * request, in the order of the requests.
+ */
+public class RequestBatch {
+
+  /** Default maximum number of requests answered by a single PCRep message */
+  public static final int DEFAULT_SIZE = 64;
+
+  // Peer that sent the requests
+  private final PceAddress address;
+
+  // Response of every request in the order of the message, null until it was computed
+  private final ArrayList<PceResponseFrame> responses = new ArrayList<PceResponseFrame>();
+
+  // Position of every request ID in the list of responses
+  private final HashMap<Integer, Integer> positions = new HashMap<Integer, Integer>();
+
+  // Number of requests still waiting for their response
+  private int pendingRequests = 0;
+
+  /**
+   * Constructor
+   *
+   * @param address peer that sent the requests
+   */
+  public RequestBatch(PceAddress address) {
+    this.address = address;
+  }
+
+  /**
+   * Function to add a request, called for every request before the first one is computed
+   *
+   * @param requestID
+   */
+  public synchronized void addRequest(int requestID) {
+    positions.put(requestID, responses.size());
+    responses.add(null);
+    pendingRequests++;
+  }
+
+  /**
+   * Function to store the response of a request
+   *
+   * @param response
+   * @return true if this was the last missing response
+   */
+  public synchronized boolean addResponse(PceResponseFrame response) {
+    Integer position = positions.remove(response.getRequestID());
+    if (position == null) {
+      return false;
+    }
+    responses.set(position, response);
+    pendingRequests--;
+    return pendingRequests == 0;
+  }
+
+  /**
+   * Function to answer a request dropped because its deadline passed in the request queue. The
+   * NO-PATH object reports the PCE as unavailable, as for a request that expired during its
+   * computation.
+   *
+   * @param requestID
+   * @return true if this was the last missing response
+   */
+  public boolean addExpiredRequest(int requestID) {
+    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
+    noPath.setNoPathVectorDecimalValue(PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE);
+    PceRequestParametersObject RP =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceResponseFrame response = PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
+    response.insertNoPathObject(noPath);
+    return addResponse(response);
+  }
+
+  /**
+   * Function to remove a request answered on its own, e.g. a request rejected by the scheduler
+   *
+   * @param requestID
+   * @return true if the remaining requests have all been answered
+   */
+  public synchronized boolean removeRequest(int requestID) {
+    if (positions.remove(requestID) == null) {
+      return false;
+    }
+    pendingRequests--;
+    return pendingRequests == 0 && hasResponses();
+  }
+
+  private boolean hasResponses() {
+    for (PceResponseFrame response : responses) {
+      if (response != null) return true;
+    }
+    return false;
+  }
+
+  /** Function to generate the PCRep message holding the responses of all answered requests */
+  public synchronized PceMessage generateResponseMessage() {
+    ArrayList<PceResponseFrame> responseFrames = new ArrayList<PceResponseFrame>(responses.size());
+    for (PceResponseFrame response : responses) {
+      if (response != null) responseFrames.add(response);
+    }
+    PceMessage message = PceMessageFactory.generateMessage(responseFrames);
+    message.setAddress(address);
+    return message;
+  }
+
+  public PceAddress getAddress() {
+    return address;
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.cache;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.path.PathElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path stored in the {@link PathCache}. Only the IDs of the traversed vertices and edges are kept,
+ * so that a cached path does not hold on to the graph of an old TED version.
+ */
+public class CachedPath {
+
+  private final List<String> vertexIDs;
+
+  private final List<String> edgeIDs;
+
+  // Available capacity of the path when it was computed
+  private final double availableCapacity;
+
+  // Version of the TED the path was computed on
+  private final long tedVersion;
+
+  /**
+   * Constructor creating the cached form of a computed path
+   *
+   * @param path
+   * @param tedVersion
+   */
+  public CachedPath(PathElement path, long tedVersion) {
+    ArrayList<String> vertices = new ArrayList<String>();
+    for (VertexElement vertex : path.getTraversedVertices()) {
+      vertices.add(vertex.getVertexID());
+    }
+    // Available capacity of the bottleneck edge, -1 for an empty path as in PathParams
+    ArrayList<String> edges = new ArrayList<String>();
+    double capacity = -1;
+    for (EdgeElement edge : path.getTraversedEdges()) {
+      edges.add(edge.getEdgeID());
+      double edgeCapacity = edge.getEdgeParams().getAvailableCapacity();
+      if (edges.size() == 1 || edgeCapacity < capacity) capacity = edgeCapacity;
+    }
+    this.vertexIDs = Collections.unmodifiableList(vertices);
+    this.edgeIDs = Collections.unmodifiableList(edges);
+    this.availableCapacity = capacity;
+    this.tedVersion = tedVersion;
+  }
+
+  /** Constructor */
+  public CachedPath(
+      List<String> vertexIDs, List<String> edgeIDs, double availableCapacity, long tedVersion) {
+    this.vertexIDs = Collections.unmodifiableList(new ArrayList<String>(vertexIDs));
+    this.edgeIDs = Collections.unmodifiableList(new ArrayList<String>(edgeIDs));
+    this.availableCapacity = availableCapacity;
+    this.tedVersion = tedVersion;
+  }
+
+  /** Function to get the IDs of the traversed vertices, from source to destination */
+  public List<String> getVertexIDs() {
+    return vertexIDs;
+  }
+
+  /** Function to get the IDs of the traversed edges */
+  public List<String> getEdgeIDs() {
+    return edgeIDs;
+  }
+
+  public double getAvailableCapacity() {
+    return availableCapacity;
+  }
+
+  public long getTedVersion() {
+    return tedVersion;
+  }
+}
@@ -0,0 +1,242 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.cache;
+
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import com.pcee.architecture.computationmodule.ted.TopologyUpdateListener;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of computed paths, keyed by the signature of the request. The least recently used
+ * path is evicted once the capacity is reached.
+ *
+ * <p>A cached path stays valid across TED versions until an update can change the result of its
+ * request:
+ *
+ * <ul>
+ *   <li>any modification of an edge traversed by the path, as the path or its available capacity
+ *       may change,
+ *   <li>an increase of available capacity anywhere, for bandwidth constrained requests, as a
+ *       better path may have become feasible,
+ *   <li>any modification of an edge, for requests whose objective function depends on the
+ *       available capacity of every edge, as the load or bandwidth of another path may change,
+ *   <li>a decrease of weight or delay anywhere, for all requests.
+ * </ul>
+ *
+ * <p>A path computed on a TED version older than the last invalidating update is not inserted, as
+ * it may have been computed before the update and missed the invalidation.
+ */
+public class PathCache implements TopologyUpdateListener {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  // Maximum number of cached paths, 0 disables the cache
+  private final int capacity;
+
+  // Granularity of the bandwidth in the request signature, 0 to use the exact bandwidth
+  private final double bandwidthBucket;
+
+  // Cached paths in access order
+  private final LinkedHashMap<PathCacheKey, CachedPath> pathMap;
+
+  // Keys of the cached paths traversing every edge
+  private final HashMap<String, HashSet<PathCacheKey>> edgeIndexMap =
+      new HashMap<String, HashSet<PathCacheKey>>();
+
+  // Version of the last TED update that invalidated cached paths
+  private long invalidationVersion = 0;
+
+  private long hits = 0;
+
+  private long misses = 0;
+
+  private long evictions = 0;
+
+  private long invalidations = 0;
+
+  /**
+   * Default Constructor
+   *
+   * @param capacity maximum number of cached paths, 0 disables the cache
+   * @param bandwidthBucket granularity of the requested bandwidth, 0 to use the exact bandwidth
+   */
+  public PathCache(int capacity, double bandwidthBucket) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Path cache capacity must not be negative: " + capacity);
+    }
+    if (bandwidthBucket < 0) {
+      throw new IllegalArgumentException(
+          "Path cache bandwidth bucket must not be negative: " + bandwidthBucket);
+    }
+    this.capacity = capacity;
+    this.bandwidthBucket = bandwidthBucket;
+    pathMap =
+        new LinkedHashMap<PathCacheKey, CachedPath>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          protected boolean removeEldestEntry(Map.Entry<PathCacheKey, CachedPath> eldest) {
+            if (size() > PathCache.this.capacity) {
+              evictions++;
+              removeFromEdgeIndex(eldest.getKey(), eldest.getValue());
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /** Function to check if paths are cached */
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  /**
+   * Function to get the bandwidth used to compute a request. With a bandwidth bucket, the
+   * requested bandwidth is rounded up to the bucket, so that the path computed for the bucket
+   * satisfies all requests of the bucket.
+   *
+   * @param bandwidth requested bandwidth, 0 for no constraint
+   * @return bandwidth used for the computation and the request signature
+   */
+  public double getBucketBandwidth(double bandwidth) {
+    if (!isEnabled() || bandwidthBucket == 0 || bandwidth <= 0) return bandwidth;
+    return Math.ceil(bandwidth / bandwidthBucket) * bandwidthBucket;
+  }
+
+  /**
+   * Function to get the cached path for a request
+   *
+   * @param key signature of the request
+   * @return cached path, null if the request signature is not cached
+   */
+  public synchronized CachedPath get(PathCacheKey key) {
+    if (!isEnabled()) return null;
+    CachedPath path = pathMap.get(key);
+    if (path == null) misses++;
+    else hits++;
+    return path;
+  }
+
+  /**
+   * Function to insert a computed path
+   *
+   * @param key signature of the request
+   * @param path path computed for the request
+   * @return true if the path was inserted, false if it was computed on an outdated TED version
+   */
+  public synchronized boolean put(PathCacheKey key, CachedPath path) {
+    if (!isEnabled() || path.getTedVersion() < invalidationVersion) return false;
+    CachedPath previous = pathMap.put(key, path);
+    if (previous != null) removeFromEdgeIndex(key, previous);
+    for (String edgeID : path.getEdgeIDs()) {
+      HashSet<PathCacheKey> keys = edgeIndexMap.get(edgeID);
+      if (keys == null) {
+        keys = new HashSet<PathCacheKey>();
+        edgeIndexMap.put(edgeID, keys);
+      }
+      keys.add(key);
+    }
+    return true;
+  }
+
+  public synchronized void topologyUpdated(
+      TedSnapshot snapshot,
+      Collection<String> edgeIDs,
+      boolean capacityIncreased,
+      boolean metricsDecreased) {
+    invalidationVersion = snapshot.getVersion();
+    if (metricsDecreased) {
+      invalidations += pathMap.size();
+      pathMap.clear();
+      edgeIndexMap.clear();
+      return;
+    }
+    for (String edgeID : edgeIDs) {
+      HashSet<PathCacheKey> keys = edgeIndexMap.remove(edgeID);
+      if (keys != null) {
+        for (PathCacheKey key : keys) {
+          CachedPath path = pathMap.remove(key);
+          if (path != null) {
+            invalidations++;
+            removeFromEdgeIndex(key, path);
+          }
+        }
+      }
+    }
+    // Every modification of an edge may change its available capacity
+    if (capacityIncreased || edgeIDs.isEmpty() == false) {
+      Iterator<Map.Entry<PathCacheKey, CachedPath>> iter = pathMap.entrySet().iterator();
+      while (iter.hasNext()) {
+        Map.Entry<PathCacheKey, CachedPath> entry = iter.next();
+        if (entry.getKey().isCapacityDependent()
+            || (capacityIncreased && entry.getKey().isBandwidthConstrained())) {
+          invalidations++;
+          iter.remove();
+          removeFromEdgeIndex(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+
+  /** Function to remove the key of a path from the index of the traversed edges */
+  private void removeFromEdgeIndex(PathCacheKey key, CachedPath path) {
+    for (String edgeID : path.getEdgeIDs()) {
+      HashSet<PathCacheKey> keys = edgeIndexMap.get(edgeID);
+      if (keys != null) {
+        keys.remove(key);
+        if (keys.isEmpty()) edgeIndexMap.remove(edgeID);
+      }
+    }
+  }
+
+  /** Function to get the number of cached paths */
+  public synchronized int size() {
+    return pathMap.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  public synchronized long getInvalidationCount() {
+    return invalidations;
+  }
+
+  public synchronized String toString() {
+    return "PathCache size="
+        + pathMap.size()
+        + " hits="
+        + hits
+        + " misses="
+        + misses
+        + " evictions="
+        + evictions
+        + " invalidations="
+        + invalidations;
+  }
+}
@@ -0,0 +1,160 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.cache;
+
+/**
+ * Signature of a path computation request used as key of the {@link PathCache}. Requests with the
+ * same signature are answered with the same path.
+ */
+public class PathCacheKey {
+
+  // Objective function used by requests that do not specify one
+  public static final int NO_OBJECTIVE_FUNCTION = 0;
+
+  private final String sourceID;
+
+  private final String destinationID;
+
+  // Bandwidth used for the computation, rounded up to the bandwidth bucket, 0 for no constraint
+  private final double bandwidth;
+
+  private final int objectiveFunction;
+
+  // Name of the path computation algorithm
+  private final String algorithm;
+
+  // Description of the bounds on the path metrics, empty for no bounds
+  private final String metricBounds;
+
+  // Set if the path depends on the available capacity of every edge, whatever the bandwidth
+  private final boolean capacityDependent;
+
+  private final int hashCode;
+
+  /** Default Constructor, for requests without bounds on the path metrics */
+  public PathCacheKey(
+      String sourceID,
+      String destinationID,
+      double bandwidth,
+      int objectiveFunction,
+      String algorithm) {
+    this(sourceID, destinationID, bandwidth, objectiveFunction, algorithm, "");
+  }
+
+  /** Constructor for requests with bounds on the path metrics */
+  public PathCacheKey(
+      String sourceID,
+      String destinationID,
+      double bandwidth,
+      int objectiveFunction,
+      String algorithm,
+      String metricBounds) {
+    this(sourceID, destinationID, bandwidth, objectiveFunction, algorithm, metricBounds, false);
+  }
+
+  /**
+   * Constructor for requests whose objective function depends on the available capacity of every
+   * edge, e.g. the minimum load or maximum bandwidth path
+   */
+  public PathCacheKey(
+      String sourceID,
+      String destinationID,
+      double bandwidth,
+      int objectiveFunction,
+      String algorithm,
+      String metricBounds,
+      boolean capacityDependent) {
+    this.sourceID = sourceID;
+    this.destinationID = destinationID;
+    this.bandwidth = bandwidth;
+    this.objectiveFunction = objectiveFunction;
+    this.algorithm = algorithm;
+    this.metricBounds = metricBounds;
+    this.capacityDependent = capacityDependent;
+    int hash = sourceID.hashCode();
+    hash = 31 * hash + destinationID.hashCode();
+    hash = 31 * hash + Double.hashCode(bandwidth);
+    hash = 31 * hash + objectiveFunction;
+    hash = 31 * hash + algorithm.hashCode();
+    hashCode = 31 * hash + metricBounds.hashCode();
+  }
+
+  public String getSourceID() {
+    return sourceID;
+  }
+
+  public String getDestinationID() {
+    return destinationID;
+  }
+
+  public double getBandwidth() {
+    return bandwidth;
+  }
+
+  public int getObjectiveFunction() {
+    return objectiveFunction;
+  }
+
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  public String getMetricBounds() {
+    return metricBounds;
+  }
+
+  /** Function to check if the path depends on the available capacity of the edges */
+  public boolean isBandwidthConstrained() {
+    return bandwidth > 0;
+  }
+
+  /**
+   * Function to check if the path depends on the available capacity of every edge, so that any
+   * change of capacity may change the path
+   */
+  public boolean isCapacityDependent() {
+    return capacityDependent;
+  }
+
+  public int hashCode() {
+    return hashCode;
+  }
+
+  public boolean equals(Object object) {
+    if (this == object) return true;
+    if (!(object instanceof PathCacheKey)) return false;
+    PathCacheKey key = (PathCacheKey) object;
+    return hashCode == key.hashCode
+        && Double.compare(bandwidth, key.bandwidth) == 0
+        && objectiveFunction == key.objectiveFunction
+        && sourceID.equals(key.sourceID)
+        && destinationID.equals(key.destinationID)
+        && algorithm.equals(key.algorithm)
+        && metricBounds.equals(key.metricBounds);
+  }
+
+  public String toString() {
+    return sourceID
+        + "-"
+        + destinationID
+        + " bw="
+        + bandwidth
+        + " of="
+        + objectiveFunction
+        + " "
+        + algorithm
+        + (metricBounds.isEmpty() ? "" : " " + metricBounds);
+  }
+}
@@ -0,0 +1,63 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.ted;
+
+import com.graph.graphcontroller.Gcontroller;
+
+/**
+ * Immutable version of the traffic engineering database (TED). The graph of a snapshot is never
+ * modified after the snapshot was published, so that path computations can read it without
+ * creating a copy. Topology updates create the graph of the next version and publish a new
+ * snapshot with a higher version number.
+ */
+public class TedSnapshot {
+
+  // Version number, incremented with every published update
+  private final long version;
+
+  // Graph of the version, must not be modified
+  private final Gcontroller graph;
+
+  /**
+   * Default Constructor
+   *
+   * @param version
+   * @param graph
+   */
+  public TedSnapshot(long version, Gcontroller graph) {
+    this.version = version;
+    this.graph = graph;
+  }
+
+  /** Function to get the version number of the snapshot */
+  public long getVersion() {
+    return version;
+  }
+
+  /** Function to get the graph of the snapshot */
+  public Gcontroller getGraph() {
+    return graph;
+  }
+
+  /**
+   * Function to create the snapshot following this snapshot
+   *
+   * @param nextGraph graph of the next version
+   * @return snapshot with the next version number
+   */
+  public TedSnapshot nextVersion(Gcontroller nextGraph) {
+    return new TedSnapshot(version + 1, nextGraph);
+  }
+}
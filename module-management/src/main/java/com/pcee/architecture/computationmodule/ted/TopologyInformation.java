@@ -20,6 +20,7 @@ import com.graph.elements.edge.EdgeElement;
 import com.graph.elements.edge.params.EdgeParams;
 import com.graph.elements.edge.params.impl.BasicEdgeParams;
 import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.CsrGcontrollerImpl;
 import com.graph.graphcontroller.impl.GcontrollerImpl;
 import com.graph.topology.importers.ImportTopology;
 import com.graph.topology.importers.impl.BRITEImportTopology;
@@ -33,8 +34,11 @@ import java.io.InputStreamReader;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 
 /**
@@ -58,8 +62,15 @@ public class TopologyInformation {
   // Static oject instance of the TopologyInformation Class
   private static TopologyInformation _instance;
 
-  // Graph Instance
-  private Gcontroller graph;
+  // Current version of the TED, replaced when an update is published
+  private volatile TedSnapshot snapshot;
+
+  // Lock serializing the topology updates
+  private final Object updateLock = new Object();
+
+  // Listeners notified about the published updates
+  private final CopyOnWriteArrayList<TopologyUpdateListener> updateListeners =
+      new CopyOnWriteArrayList<TopologyUpdateListener>();
 
   // Topology Importer used to populate the graph instance
   private static ImportTopology topology;
@@ -67,6 +78,9 @@ public class TopologyInformation {
   // path to the topology description file
   private static String topoPath = ".//atlanta.txt";
 
+  // Graph implementation used to store the topology, JDSL or CSR
+  private static String graphBackend = "JDSL";
+
   /**
    * Function to set the port for topology Updates
    *
@@ -96,10 +110,26 @@ public class TopologyInformation {
     }
   }
 
+  /**
+   * @param backend graph implementation, CSR selects the compressed sparse row graph suited for
+   *     large topologies, any other value the JDSL based graph
+   */
+  public static void setGraphBackend(String backend) {
+    graphBackend = backend;
+  }
+
+  /** Function to create an empty graph of the configured implementation */
+  public static Gcontroller createGraph() {
+    if (graphBackend.equalsIgnoreCase("CSR")) {
+      return new CsrGcontrollerImpl();
+    }
+    return new GcontrollerImpl();
+  }
+
   /** default constructor */
   private TopologyInformation() {
     topology = new SNDLibImportTopology();
-    graph = new GcontrollerImpl();
+    Gcontroller graph = createGraph();
 
     // Source file used to instantiate the topology
     File file = new File(topoPath);
@@ -107,8 +137,8 @@ public class TopologyInformation {
     // Function to import the topology stored in the text file into the
     // graph object
     topology.importTopology(graph, file.getAbsolutePath());
-    if (graph == null) logger.debug("Error in loading graph from file");
-    else logger.info("NetworkSize: {}", networkSize());
+    snapshot = new TedSnapshot(1, graph);
+    logger.info("NetworkSize: {}", networkSize());
 
     // Start Topology Update Listener
     logger.info("Starting thread to listen for topology updates on port {}", topologyUpdatePort);
@@ -116,17 +146,51 @@ public class TopologyInformation {
   }
 
   /**
-   * Function to update the graph instance used inside the Topology Information object
+   * Function to update the graph instance used inside the Topology Information object. The graph
+   * is published as a new version of the TED and must not be modified afterwards.
    *
    * @param newGraph
    */
-  public synchronized void updateGraph(Gcontroller newGraph) {
-    graph = newGraph;
+  public void updateGraph(Gcontroller newGraph) {
+    synchronized (updateLock) {
+      // Any edge may have changed
+      publishGraph(newGraph, newGraph.getEdgeIDSet(), true, true);
+    }
+  }
+
+  /**
+   * Function to publish a graph as the next version of the TED and notify the update listeners,
+   * called holding the update lock
+   *
+   * @param newGraph graph of the next version
+   * @param edgeIDs IDs of the modified edges
+   * @param capacityIncreased true if the available capacity of an edge increased
+   * @param metricsDecreased true if the weight or delay of an edge decreased
+   */
+  private void publishGraph(
+      Gcontroller newGraph,
+      Collection<String> edgeIDs,
+      boolean capacityIncreased,
+      boolean metricsDecreased) {
+    snapshot = snapshot.nextVersion(newGraph);
+    for (TopologyUpdateListener listener : updateListeners) {
+      listener.topologyUpdated(snapshot, edgeIDs, capacityIncreased, metricsDecreased);
+    }
+  }
+
+  /** Function to register a listener notified about the published updates */
+  public void addUpdateListener(TopologyUpdateListener listener) {
+    updateListeners.add(listener);
+  }
+
+  /** Function to remove a listener registered for updates */
+  public void removeUpdateListener(TopologyUpdateListener listener) {
+    updateListeners.remove(listener);
   }
 
   /** Function to determine the network size */
   public int networkSize() {
-    return graph.getVertexSet().size();
+    return snapshot.getGraph().getVertexSet().size();
   }
 
   /** Function to get the instance of the TopologyInformation class */
@@ -140,9 +204,25 @@ public class TopologyInformation {
     if (_instance != null) _instance = null;
   }
 
-  /** Function to get the graph object used */
+  /** Function to get the graph of the current TED version, the graph must not be modified */
   public Gcontroller getGraph() {
-    return graph;
+    return snapshot.getGraph();
+  }
+
+  /** Function to get the current version of the TED */
+  public TedSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Function to check if a TED version is still the current version, used to detect results
+   * computed on an outdated topology
+   *
+   * @param version
+   * @return true if no update was published after the version
+   */
+  public boolean isCurrentVersion(long version) {
+    return snapshot.getVersion() == version;
   }
 
   /**
@@ -178,29 +258,20 @@ public class TopologyInformation {
                   // Request to reserve capacity on a sequence of nodes
                   double capacity = Double.parseDouble(input.get("capacity").toString());
                   ArrayList vertexSequence = ((ArrayList) input.get("vertexSequence"));
-                  synchronized (graph) {
-                    int i = 0;
-                    for (i = 0; i < vertexSequence.size() - 1; i++) {
-
+                  synchronized (updateLock) {
+                    // The reservation is made on the next version, which is discarded if the
+                    // reservation fails
+                    Gcontroller graph = snapshot.getGraph().createCopy();
+                    ArrayList<String> edgeIDs = new ArrayList<String>();
+                    for (int i = 0; i < vertexSequence.size() - 1; i++) {
                       String sourceID = (String) vertexSequence.get(i);
                       String destID = (String) vertexSequence.get(i + 1);
                       if (graph.aConnectingEdge(sourceID, destID)) {
-                        if (!graph
-                            .getConnectingEdge(sourceID, destID)
-                            .getEdgeParams()
-                            .reserveCapacity(capacity)) {
+                        EdgeElement edge = graph.getConnectingEdge(sourceID, destID);
+                        edgeIDs.add(edge.getEdgeID());
+                        if (!edge.getEdgeParams().reserveCapacity(capacity)) {
                           logger.info(
                               "Cannot reserve capacity between {} and {}", sourceID, destID);
-                          for (int j = 0; j < i; j++) {
-                            // Releasing capacity that was reserved till before i
-                            String srcID = (String) vertexSequence.get(j);
-                            String dstID = (String) vertexSequence.get(j + 1);
-                            graph
-                                .getConnectingEdge(srcID, dstID)
-                                .getEdgeParams()
-                                .releaseCapacity(capacity);
-                          }
-                          // break;
                           Map map = new HashMap();
                           map.put("response", false);
                           map.put(
@@ -216,15 +287,6 @@ public class TopologyInformation {
                             "Invalid Vertex Sequence sent, no edge found between {} and {}",
                             sourceID,
                             destID);
-                        for (int j = 0; j < i; j++) {
-                          // Releasing capacity that was reserved till before i
-                          String srcID = (String) vertexSequence.get(j);
-                          String dstID = (String) vertexSequence.get(j + 1);
-                          graph
-                              .getConnectingEdge(srcID, dstID)
-                              .getEdgeParams()
-                              .releaseCapacity(capacity);
-                        }
                         Map map = new HashMap();
                         map.put("response", false);
                         map.put(
@@ -236,41 +298,35 @@ public class TopologyInformation {
                         return json.toJson(map);
                       }
                     }
-                    if (i == vertexSequence.size() - 1) {
-                      logger.info("Successfully reserved capacity on provided sequence");
-                      Map map = new HashMap();
-                      map.put("response", true);
-                      return json.toJson(map);
-                    }
+                    publishGraph(graph, edgeIDs, false, false);
+                    logger.info(
+                        "Successfully reserved capacity on provided sequence, TED version {}",
+                        snapshot.getVersion());
+                    Map map = new HashMap();
+                    map.put("response", true);
+                    return json.toJson(map);
                   }
 
                 } else if (input.get("operation").toString().equalsIgnoreCase("release")) {
                   // Request to reserve capacity on a sequence of nodes
                   double capacity = Double.parseDouble(input.get("capacity").toString());
                   ArrayList vertexSequence = ((ArrayList) input.get("vertexSequence"));
-                  synchronized (graph) {
-                    int i = 0;
-                    for (i = 0; i < vertexSequence.size() - 1; i++) {
+                  synchronized (updateLock) {
+                    // The release is made on the next version, which is discarded if the release
+                    // fails
+                    Gcontroller graph = snapshot.getGraph().createCopy();
+                    ArrayList<String> edgeIDs = new ArrayList<String>();
+                    for (int i = 0; i < vertexSequence.size() - 1; i++) {
                       String sourceID = (String) vertexSequence.get(i);
                       String destID = (String) vertexSequence.get(i + 1);
                       if (graph.aConnectingEdge(sourceID, destID)) {
-                        if (!graph
-                            .getConnectingEdge(sourceID, destID)
-                            .getEdgeParams()
-                            .releaseCapacity(capacity)) {
+                        EdgeElement edge = graph.getConnectingEdge(sourceID, destID);
+                        edgeIDs.add(edge.getEdgeID());
+                        if (!edge.getEdgeParams().releaseCapacity(capacity)) {
                           logger.info(
                               "Cannot release additional capacity between {} and {}",
                               sourceID,
                               destID);
-                          for (int j = 0; j < i; j++) {
-                            // Releasing capacity that was reserved till before i
-                            String srcID = (String) vertexSequence.get(j);
-                            String dstID = (String) vertexSequence.get(j + 1);
-                            graph
-                                .getConnectingEdge(srcID, dstID)
-                                .getEdgeParams()
-                                .reserveCapacity(capacity);
-                          }
                           Map map = new HashMap();
                           map.put("response", false);
                           map.put(
@@ -286,15 +342,6 @@ public class TopologyInformation {
                             "Invalid Vertex Sequence sent, no edge found between {} and {}",
                             sourceID,
                             destID);
-                        for (int j = 0; j < i; j++) {
-                          // Releasing capacity that was reserved till before i
-                          String srcID = (String) vertexSequence.get(j);
-                          String dstID = (String) vertexSequence.get(j + 1);
-                          graph
-                              .getConnectingEdge(srcID, dstID)
-                              .getEdgeParams()
-                              .reserveCapacity(capacity);
-                        }
                         Map map = new HashMap();
                         map.put("response", false);
                         map.put(
@@ -306,12 +353,13 @@ public class TopologyInformation {
                         return json.toJson(map);
                       }
                     }
-                    if (i == vertexSequence.size() - 1) {
-                      logger.info("Successfully released capacity on provided sequence");
-                      Map map = new HashMap();
-                      map.put("response", true);
-                      return json.toJson(map);
-                    }
+                    publishGraph(graph, edgeIDs, true, false);
+                    logger.info(
+                        "Successfully released capacity on provided sequence, TED version {}",
+                        snapshot.getVersion());
+                    Map map = new HashMap();
+                    map.put("response", true);
+                    return json.toJson(map);
                   }
 
                 } else if (input
@@ -324,19 +372,38 @@ public class TopologyInformation {
                   double weight = Double.parseDouble(input.get("weight").toString());
                   double delay = Double.parseDouble(input.get("delay").toString());
                   ArrayList vSequence = ((ArrayList) input.get("vertexSequence"));
-                  synchronized (graph) {
+                  synchronized (updateLock) {
                     ArrayList<String> vertexSequence = new ArrayList<String>();
                     for (int i = 0; i < vSequence.size(); i++) {
                       vertexSequence.add(vSequence.get(i).toString());
                     }
                     String sourceID = vertexSequence.get(0);
                     String destID = vertexSequence.get(vertexSequence.size() - 1);
-                    if (graph.aConnectingEdge(sourceID, destID)) {
+                    if (snapshot.getGraph().aConnectingEdge(sourceID, destID)) {
+                      Gcontroller graph = snapshot.getGraph().createCopy();
                       EdgeElement edge = graph.getConnectingEdge(sourceID, destID);
+                      EdgeParams oldParams = edge.getEdgeParams();
+                      boolean capacityIncreased = avcapacity > oldParams.getAvailableCapacity();
+                      boolean metricsDecreased =
+                          weight < oldParams.getWeight() || delay < oldParams.getDelay();
                       EdgeParams params = new BasicEdgeParams(edge, delay, weight, capacity);
                       params.setAvailableCapacity(avcapacity);
-                      edge.setEdgeParams(params);
-                      logger.info("Updated Edge definition from {} to {}", sourceID, destID);
+                      if (graph instanceof CsrGcontrollerImpl) {
+                        // Keep the view on the parameter columns of the CSR graph
+                        ((CsrGcontrollerImpl) graph).updateEdgeParams(edge.getEdgeID(), params);
+                      } else {
+                        edge.setEdgeParams(params);
+                      }
+                      publishGraph(
+                          graph,
+                          Collections.singletonList(edge.getEdgeID()),
+                          capacityIncreased,
+                          metricsDecreased);
+                      logger.info(
+                          "Updated Edge definition from {} to {}, TED version {}",
+                          sourceID,
+                          destID,
+                          snapshot.getVersion());
                       Map map = new HashMap();
                       map.put("response", true);
                       return json.toJson(map);
@@ -0,0 +1,39 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.ted;
+
+import java.util.Collection;
+
+/**
+ * Interface for the components that need to be notified about the updates published by the TED.
+ * Listeners are called by the topology update thread after the new version was published, one
+ * update at a time.
+ */
+public interface TopologyUpdateListener {
+
+  /**
+   * Function called after an update was published
+   *
+   * @param snapshot new version of the TED
+   * @param edgeIDs IDs of the edges modified by the update
+   * @param capacityIncreased true if the available capacity of an edge increased
+   * @param metricsDecreased true if the weight or delay of an edge decreased
+   */
+  public void topologyUpdated(
+      TedSnapshot snapshot,
+      Collection<String> edgeIDs,
+      boolean capacityIncreased,
+      boolean metricsDecreased);
+}
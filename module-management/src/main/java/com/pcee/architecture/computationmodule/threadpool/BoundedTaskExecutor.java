@@ -0,0 +1,230 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.computationmodule.cache.PathCache;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import com.pcee.architecture.computationmodule.ted.TopologyInformation;
+import com.pcee.logger.PceeLoggerFactory;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+
+/**
+ * Executor computing every request in its own task, either on a virtual thread or on a fork/join
+ * pool. A dispatcher thread takes requests from the request scheduler once one of the permits of
+ * the semaphore is available, so that the requests keep being scheduled by priority and at most
+ * {@code concurrency} computations run at the same time.
+ *
+ * <p>Virtual threads are unmounted from their carrier thread while blocked, for instance while a
+ * task waits for the response of a remote peer, so a large concurrency limit costs no platform
+ * threads. The fork/join pool runs the tasks on as many platform threads as the concurrency limit
+ * and suits purely CPU bound computations.
+ */
+public class BoundedTaskExecutor implements ComputationExecutor {
+
+  private static Logger logger = PceeLoggerFactory.getLogger(BoundedTaskExecutor.class);
+
+  // Module management instance to send response to the computation layer
+  private final ModuleManagement lm;
+
+  // Type of the executor, VIRTUAL or FORK_JOIN
+  private final String type;
+
+  // Maximum number of computations running at the same time
+  private final int concurrency;
+
+  // Permits of the running computations
+  private final Semaphore permits;
+
+  // Executor running the computation tasks
+  private final ExecutorService executor;
+
+  // Scheduler from which the dispatcher takes incoming requests
+  private final RequestScheduler requestScheduler;
+
+  // Cache of the computed paths shared by the tasks
+  private final PathCache pathCache;
+
+  // Coalescing of identical requests computed concurrently by the tasks
+  private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+  // Algorithms of the objective functions shared by the tasks
+  private final ObjectiveFunctionRegistry objectiveFunctions = new ObjectiveFunctionRegistry();
+
+  // Tasks in progress, used to cancel the computations of closed sessions
+  private final Set<WorkerTask> runningTasks = ConcurrentHashMap.newKeySet();
+
+  // Thread taking requests from the scheduler and starting their tasks
+  private final Thread dispatcher;
+
+  private volatile boolean terminate = false;
+
+  // Number of completed tasks
+  private final LongAdder completedTasks = new LongAdder();
+
+  /**
+   * Constructor
+   *
+   * @param layerManagement
+   * @param type VIRTUAL for one virtual thread per request, FORK_JOIN for a fork/join pool
+   * @param concurrency maximum number of computations running at the same time
+   * @param requestScheduler
+   * @param pathCache
+   */
+  public BoundedTaskExecutor(
+      ModuleManagement layerManagement,
+      String type,
+      int concurrency,
+      RequestScheduler requestScheduler,
+      PathCache pathCache) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+    }
+    lm = layerManagement;
+    this.concurrency = concurrency;
+    this.requestScheduler = requestScheduler;
+    this.pathCache = pathCache;
+    permits = new Semaphore(concurrency);
+    if (FORK_JOIN.equalsIgnoreCase(type)) {
+      this.type = FORK_JOIN;
+      executor = new ForkJoinPool(concurrency);
+    } else {
+      this.type = VIRTUAL;
+      ThreadFactory factory = Thread.ofVirtual().name("ComputationTask-", 0).factory();
+      executor = Executors.newThreadPerTaskExecutor(factory);
+    }
+    logger.info("Initializing " + this.type + " executor, concurrency = " + concurrency);
+    dispatcher = new Thread(this::dispatch, "ComputationDispatcher");
+    dispatcher.start();
+  }
+
+  /** Main loop of the dispatcher thread */
+  private void dispatch() {
+    while (!terminate) {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        continue;
+      }
+      PceMessage request;
+      try {
+        request = requestScheduler.take();
+      } catch (InterruptedException e) {
+        permits.release();
+        continue;
+      }
+      if (request.isExpired()) {
+        // The requesting peer no longer waits for the response
+        logger.info("Dropping request that expired in the request queue");
+        lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.QUEUE);
+        lm.getComputationModule().dropExpiredRequest(request);
+        permits.release();
+        continue;
+      }
+      // The TED snapshot is immutable and shared by all tasks
+      TedSnapshot ted = TopologyInformation.getInstance().getSnapshot();
+      WorkerTask task =
+          new WorkerTask(lm, request, ted, pathCache, requestCoalescer, objectiveFunctions);
+      runningTasks.add(task);
+      try {
+        executor.execute(() -> compute(task));
+      } catch (RejectedExecutionException e) {
+        // The executor was stopped
+        runningTasks.remove(task);
+        permits.release();
+      }
+    }
+    logger.debug("Stopping Computation Dispatcher");
+  }
+
+  /** Function to compute a request in a task of the executor */
+  private void compute(WorkerTask task) {
+    try {
+      task.run();
+      if (!TopologyInformation.getInstance().isCurrentVersion(task.getTedVersion())) {
+        logger.info(
+            "TED was updated during the computation, result computed on outdated version "
+                + task.getTedVersion());
+      }
+      completedTasks.increment();
+    } finally {
+      runningTasks.remove(task);
+      permits.release();
+    }
+  }
+
+  public RequestCoalescer getRequestCoalescer() {
+    return requestCoalescer;
+  }
+
+  public ObjectiveFunctionRegistry getObjectiveFunctionRegistry() {
+    return objectiveFunctions;
+  }
+
+  public int cancelRequests(PceAddress address) {
+    int cancelledRequests = requestCoalescer.cancel(address);
+    for (WorkerTask task : runningTasks) {
+      if (task.isFromSession(address)) {
+        task.cancel();
+        cancelledRequests++;
+      }
+    }
+    return cancelledRequests;
+  }
+
+  /** Function to get the number of computations in progress */
+  public int getActiveCount() {
+    return concurrency - permits.availablePermits();
+  }
+
+  /** Function to get the number of completed computations */
+  public long getCompletedTaskCount() {
+    return completedTasks.sum();
+  }
+
+  public void stop() {
+    logger.info("{}", requestScheduler);
+    logger.info("{}", requestCoalescer);
+    logger.info("{}", objectiveFunctions);
+    logger.info("{}", this);
+    terminate = true;
+    dispatcher.interrupt();
+    executor.shutdownNow();
+  }
+
+  public String toString() {
+    return "BoundedTaskExecutor[type="
+        + type
+        + ", concurrency="
+        + concurrency
+        + ", active="
+        + getActiveCount()
+        + ", completed="
+        + getCompletedTaskCount()
+        + "]";
+  }
+}
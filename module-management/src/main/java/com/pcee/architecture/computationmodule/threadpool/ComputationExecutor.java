@@ -0,0 +1,51 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+
+/**
+ * Executor computing the path computation requests taken from the request scheduler. The executor
+ * is selected by the computationExecutor configuration property.
+ */
+public interface ComputationExecutor {
+
+  /** Fixed pool of platform worker threads, see {@link ThreadPool} */
+  String PLATFORM = "platform";
+
+  /** One virtual thread per request, see {@link BoundedTaskExecutor} */
+  String VIRTUAL = "virtual";
+
+  /** Work-stealing pool for CPU bound computations, see {@link BoundedTaskExecutor} */
+  String FORK_JOIN = "forkjoin";
+
+  /** Function to get the coalescing of identical requests shared by the computations */
+  RequestCoalescer getRequestCoalescer();
+
+  /** Function to get the algorithms of the objective functions shared by the computations */
+  ObjectiveFunctionRegistry getObjectiveFunctionRegistry();
+
+  /**
+   * Function to cancel the computations in progress for a closed session, including the requests
+   * attached to identical computations
+   *
+   * @param address address of the closed session
+   * @return number of cancelled requests
+   */
+  int cancelRequests(PceAddress address);
+
+  /** Function to stop the executor, computations in progress are interrupted */
+  void stop();
+}
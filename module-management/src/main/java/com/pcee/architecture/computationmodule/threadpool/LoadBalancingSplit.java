@@ -0,0 +1,77 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.path.PathElement;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Split of the requested bandwidth of a request with a LOAD-BALANCING object (RFC 5440) over a set
+ * of candidate paths. At most Max-LSP paths are selected, every selected path carries at least
+ * Min-Bandwidth and the amounts carried by the selected paths sum to the requested bandwidth.
+ *
+ * <p>The candidates are visited by ascending weight and each one carries as much of the remaining
+ * bandwidth as its links allow. Candidates sharing a link share its available capacity.
+ */
+public class LoadBalancingSplit {
+
+  private LoadBalancingSplit() {}
+
+  /**
+   * Function to split the bandwidth over the candidate paths
+   *
+   * @param paths candidate paths by ascending weight
+   * @param maxPathCount maximum number of selected paths (Max-LSP)
+   * @param bandwidth bandwidth to carry over the selected paths
+   * @param minBandwidth minimum bandwidth carried by each selected path (Min-Bandwidth)
+   * @return bandwidth carried by each candidate, 0 if the candidate is not selected, or null if
+   *     the bandwidth cannot be carried
+   */
+  public static double[] split(
+      List<PathElement> paths, int maxPathCount, double bandwidth, double minBandwidth) {
+    double[] amounts = new double[paths.size()];
+    // Bandwidth already carried over each link by the selected paths
+    HashMap<EdgeElement, Double> carried = new HashMap<EdgeElement, Double>();
+    double remaining = bandwidth;
+    int pathCount = 0;
+    for (int i = 0; i < paths.size() && remaining > 0 && pathCount < maxPathCount; i++) {
+      List<EdgeElement> edges = paths.get(i).getTraversedEdges();
+      double residual = Double.POSITIVE_INFINITY;
+      for (EdgeElement edge : edges) {
+        double available =
+            edge.getEdgeParams().getAvailableCapacity() - carried.getOrDefault(edge, 0.0);
+        residual = Math.min(residual, available);
+      }
+      double amount = Math.min(residual, remaining);
+      // The last path allowed must carry the whole remainder
+      if (pathCount == maxPathCount - 1 && amount < remaining) continue;
+      // A remainder below Min-Bandwidth could not be carried by a further path
+      if (amount < remaining && remaining - amount < minBandwidth) {
+        amount = remaining - minBandwidth;
+      }
+      if (amount <= 0 || amount < minBandwidth) continue;
+      for (EdgeElement edge : edges) {
+        carried.merge(edge, amount, Double::sum);
+      }
+      amounts[i] = amount;
+      remaining -= amount;
+      pathCount++;
+    }
+    if (remaining > 0) return null;
+    return amounts;
+  }
+}
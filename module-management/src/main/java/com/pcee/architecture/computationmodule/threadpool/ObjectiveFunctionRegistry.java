@@ -0,0 +1,303 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.graph.path.algorithms.PathComputationAlgorithm;
+import com.graph.path.algorithms.impl.AStarMinDelayPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.BandwidthConstrainedPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.BidirectionalMinDelayPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.BwConstrainedMinDelayPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.MaxBandwidthShortestPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.MetricBoundPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.MetricBoundPathComputationAlgorithm.Metric;
+import com.graph.path.algorithms.impl.MinHopPathComputationAlgorithm;
+import com.graph.path.algorithms.impl.MinLoadPathComputationAlgorithm;
+import com.pcee.logger.PceeLoggerFactory;
+import com.pcee.protocol.request.PceRequestFrame;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+
+/**
+ * Path computation algorithms keyed by the objective function (OF) code of the OF object (RFC
+ * 5541). The algorithm instances hold no state of a computation and are shared by all requests,
+ * every objective function records the latency of its computations.
+ *
+ * <p>The objective functions of a set of synchronized paths, MLL and MCC, are computed for every
+ * path on its own by the algorithm of the corresponding single path objective function. Requests
+ * without OF object, or with an unsupported one, are computed as before the OF object was
+ * supported: with the maximum bandwidth path if they carry a BANDWIDTH object, with the minimum
+ * cost path otherwise.
+ *
+ * <p>Requests bounding the delay, hop count or cost of the path with METRIC objects are computed
+ * with the path minimizing the metric of their OF within the bounds: the cost for MCP, MCC and
+ * requests without OF, {@link #METRIC_BOUND}, the delay for the minimum delay OFs, {@link
+ * #METRIC_BOUND_DELAY}, and the hop count for MBC, {@link #METRIC_BOUND_HOPS}. The load and
+ * bandwidth OFs, MLP, MLL and MBP, are not supported with bounds.
+ *
+ * <p>The minimum delay path can also be searched from both end points, {@link
+ * #MIN_DELAY_BIDIRECTIONAL}, or guided by the coordinates of the vertices, {@link
+ * #MIN_DELAY_A_STAR}. They return paths of the same delay as {@link #MIN_DELAY} and let a client
+ * pick the search that suits the topology.
+ */
+public class ObjectiveFunctionRegistry {
+
+  private static final Logger logger = PceeLoggerFactory.getLogger(ObjectiveFunctionRegistry.class);
+
+  /** Minimum Cost Path */
+  public static final int MCP = 1;
+
+  /** Minimum Load Path */
+  public static final int MLP = 2;
+
+  /** Maximum residual Bandwidth Path */
+  public static final int MBP = 3;
+
+  /** Minimize aggregate Bandwidth Consumption */
+  public static final int MBC = 4;
+
+  /** Minimize the Load of the most loaded Link */
+  public static final int MLL = 5;
+
+  /** Minimize the Cumulative Cost of a set of paths */
+  public static final int MCC = 6;
+
+  /** Minimum delay path, not assigned by RFC 5541 */
+  public static final int MIN_DELAY = 32768;
+
+  /** Minimum cost path within the bounds of the METRIC objects, not assigned by RFC 5541 */
+  public static final int METRIC_BOUND = 32769;
+
+  /** Minimum delay path searched from both end points, not assigned by RFC 5541 */
+  public static final int MIN_DELAY_BIDIRECTIONAL = 32770;
+
+  /** Minimum delay path searched with the coordinates as A* bound, not assigned by RFC 5541 */
+  public static final int MIN_DELAY_A_STAR = 32771;
+
+  /** Minimum delay path within the bounds of the METRIC objects, not assigned by RFC 5541 */
+  public static final int METRIC_BOUND_DELAY = 32772;
+
+  /** Minimum hop path within the bounds of the METRIC objects, not assigned by RFC 5541 */
+  public static final int METRIC_BOUND_HOPS = 32773;
+
+  /** Algorithm and latency metrics of an objective function */
+  public static class ObjectiveFunction {
+
+    private final int code;
+
+    private final String name;
+
+    private final PathComputationAlgorithm algorithm;
+
+    private final boolean capacityDependent;
+
+    // Number of computations and their total and maximum duration in nanoseconds
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Long::max, 0);
+
+    ObjectiveFunction(
+        int code, String name, PathComputationAlgorithm algorithm, boolean capacityDependent) {
+      this.code = code;
+      this.name = name;
+      this.algorithm = algorithm;
+      this.capacityDependent = capacityDependent;
+    }
+
+    public int getCode() {
+      return code;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** Function to get the algorithm shared by all requests of the objective function */
+    public PathComputationAlgorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    /**
+     * Function to check if the paths depend on the available capacity of every edge, not only on
+     * the edges lacking the requested bandwidth
+     */
+    public boolean isCapacityDependent() {
+      return capacityDependent;
+    }
+
+    /**
+     * Function to record the duration of a computation
+     *
+     * @param latency duration in nanoseconds
+     */
+    public void recordLatency(long latency) {
+      computations.increment();
+      totalLatency.add(latency);
+      maxLatency.accumulate(latency);
+    }
+
+    public long getComputationCount() {
+      return computations.sum();
+    }
+
+    /** Function to get the mean duration of the computations in microseconds */
+    public long getMeanLatency() {
+      long count = computations.sum();
+      return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatency.sum() / count);
+    }
+
+    /** Function to get the maximum duration of the computations in microseconds */
+    public long getMaxLatency() {
+      return TimeUnit.NANOSECONDS.toMicros(maxLatency.get());
+    }
+
+    public String toString() {
+      return name
+          + "[computations="
+          + getComputationCount()
+          + ", mean="
+          + getMeanLatency()
+          + "us, max="
+          + getMaxLatency()
+          + "us]";
+    }
+  }
+
+  // Objective functions ordered by code
+  private final ConcurrentSkipListMap<Integer, ObjectiveFunction> objectiveFunctions =
+      new ConcurrentSkipListMap<Integer, ObjectiveFunction>();
+
+  // Code of the objective function computing the requests of an OF code with bounded metrics
+  private final ConcurrentSkipListMap<Integer, Integer> boundedObjectiveFunctions =
+      new ConcurrentSkipListMap<Integer, Integer>();
+
+  /**
+   * Default Constructor, registers the objective functions of RFC 5541, the minimum delay with its
+   * search variants and the metric bounds
+   */
+  public ObjectiveFunctionRegistry() {
+    PathComputationAlgorithm minCost = new BandwidthConstrainedPathComputationAlgorithm();
+    PathComputationAlgorithm minLoad = new MinLoadPathComputationAlgorithm();
+    register(MCP, "MCP", minCost);
+    register(MLP, "MLP", minLoad, true);
+    register(MBP, "MBP", new MaxBandwidthShortestPathComputationAlgorithm(), true);
+    register(MBC, "MBC", new MinHopPathComputationAlgorithm());
+    register(MLL, "MLL", minLoad, true);
+    register(MCC, "MCC", minCost);
+    register(MIN_DELAY, "MinDelay", new BwConstrainedMinDelayPathComputationAlgorithm());
+    register(METRIC_BOUND, "MetricBound", new MetricBoundPathComputationAlgorithm());
+    register(
+        MIN_DELAY_BIDIRECTIONAL,
+        "BidirectionalMinDelay",
+        new BidirectionalMinDelayPathComputationAlgorithm());
+    register(MIN_DELAY_A_STAR, "AStarMinDelay", new AStarMinDelayPathComputationAlgorithm());
+    register(
+        METRIC_BOUND_DELAY,
+        "MetricBoundDelay",
+        new MetricBoundPathComputationAlgorithm(Metric.DELAY));
+    register(
+        METRIC_BOUND_HOPS, "MetricBoundHops", new MetricBoundPathComputationAlgorithm(Metric.HOPS));
+    for (int code : new int[] {MCP, MCC, METRIC_BOUND}) {
+      boundedObjectiveFunctions.put(code, METRIC_BOUND);
+    }
+    for (int code :
+        new int[] {MIN_DELAY, MIN_DELAY_BIDIRECTIONAL, MIN_DELAY_A_STAR, METRIC_BOUND_DELAY}) {
+      boundedObjectiveFunctions.put(code, METRIC_BOUND_DELAY);
+    }
+    for (int code : new int[] {MBC, METRIC_BOUND_HOPS}) {
+      boundedObjectiveFunctions.put(code, METRIC_BOUND_HOPS);
+    }
+  }
+
+  /**
+   * Function to register the algorithm of an objective function, replacing the registered one
+   *
+   * @param code OF code
+   * @param name name used in the metrics
+   * @param algorithm algorithm shared by all requests, must not hold state of a computation
+   * @return the registered objective function
+   */
+  public ObjectiveFunction register(int code, String name, PathComputationAlgorithm algorithm) {
+    return register(code, name, algorithm, false);
+  }
+
+  /**
+   * Function to register the algorithm of an objective function, replacing the registered one
+   *
+   * @param code OF code
+   * @param name name used in the metrics
+   * @param algorithm algorithm shared by all requests, must not hold state of a computation
+   * @param capacityDependent true if the paths depend on the available capacity of every edge
+   * @return the registered objective function
+   */
+  public ObjectiveFunction register(
+      int code, String name, PathComputationAlgorithm algorithm, boolean capacityDependent) {
+    ObjectiveFunction objectiveFunction =
+        new ObjectiveFunction(code, name, algorithm, capacityDependent);
+    objectiveFunctions.put(code, objectiveFunction);
+    return objectiveFunction;
+  }
+
+  /** Function to get the objective function of a code, null if it is not supported */
+  public ObjectiveFunction get(int code) {
+    return objectiveFunctions.get(code);
+  }
+
+  /** Function to get the objective function used to compute a request */
+  public ObjectiveFunction getObjectiveFunction(PceRequestFrame requestFrame) {
+    if (requestFrame.containsObjectiveFunctionObject()) {
+      int code = requestFrame.extractObjectiveFunctionObject().getOfCodeDecimalValue();
+      ObjectiveFunction objectiveFunction = objectiveFunctions.get(code);
+      if (objectiveFunction != null) {
+        return objectiveFunction;
+      }
+      logger.info("Objective function " + code + " not supported, using the default one");
+    }
+    return objectiveFunctions.get(requestFrame.containsBandwidthObject() ? MBP : MCP);
+  }
+
+  /**
+   * Function to get the objective function used to compute a request with bounded metrics. It
+   * minimizes the metric of the OF of the request within the bounds, the cost if the request has no
+   * OF object or an unknown one.
+   *
+   * @return the objective function, null if the OF of the request is not supported with bounds
+   */
+  public ObjectiveFunction getBoundedObjectiveFunction(PceRequestFrame requestFrame) {
+    if (requestFrame.containsObjectiveFunctionObject()) {
+      int code = requestFrame.extractObjectiveFunctionObject().getOfCodeDecimalValue();
+      Integer boundedCode = boundedObjectiveFunctions.get(code);
+      if (boundedCode != null) {
+        return objectiveFunctions.get(boundedCode);
+      }
+      if (objectiveFunctions.containsKey(code)) {
+        logger.info("Objective function " + code + " not supported with bounded metrics");
+        return null;
+      }
+      logger.info("Objective function " + code + " not supported, using the default one");
+    }
+    return objectiveFunctions.get(METRIC_BOUND);
+  }
+
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Objective functions:");
+    for (ObjectiveFunction objectiveFunction : objectiveFunctions.values()) {
+      builder.append(' ').append(objectiveFunction);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.pcee.architecture.computationmodule.cache.PathCacheKey;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Single-flight coalescing of identical path computation requests. The first worker task computing
+ * a request signature on a TED version leads the computation, tasks with the same signature and
+ * TED version arriving while the computation is in progress are attached to it instead of being
+ * computed again. The leader answers every attached task with its own response once the path is
+ * computed.
+ */
+public class RequestCoalescer {
+
+  // Computations in progress, with the tasks attached to them
+  private final HashMap<FlightKey, ArrayList<WorkerTask>> inFlightMap =
+      new HashMap<FlightKey, ArrayList<WorkerTask>>();
+
+  // Number of computations started by a leader
+  private long computations = 0;
+
+  // Number of requests attached to a computation in progress, i.e. computations saved
+  private long coalescedRequests = 0;
+
+  /** Signature of a request together with the TED version it is computed on */
+  private static class FlightKey {
+
+    private final PathCacheKey key;
+
+    private final long tedVersion;
+
+    FlightKey(PathCacheKey key, long tedVersion) {
+      this.key = key;
+      this.tedVersion = tedVersion;
+    }
+
+    public int hashCode() {
+      return 31 * key.hashCode() + Long.hashCode(tedVersion);
+    }
+
+    public boolean equals(Object object) {
+      if (!(object instanceof FlightKey)) return false;
+      FlightKey flightKey = (FlightKey) object;
+      return tedVersion == flightKey.tedVersion && key.equals(flightKey.key);
+    }
+  }
+
+  /**
+   * Function to join the computation of a request signature
+   *
+   * @param key signature of the request
+   * @param tedVersion version of the TED the request is computed on
+   * @param task task computing the request
+   * @return true if the task leads the computation and must call {@link #complete}, false if the
+   *     task was attached to a computation in progress and is answered by its leader
+   */
+  public synchronized boolean join(PathCacheKey key, long tedVersion, WorkerTask task) {
+    FlightKey flightKey = new FlightKey(key, tedVersion);
+    ArrayList<WorkerTask> followers = inFlightMap.get(flightKey);
+    if (followers != null) {
+      followers.add(task);
+      coalescedRequests++;
+      return false;
+    }
+    inFlightMap.put(flightKey, new ArrayList<WorkerTask>());
+    computations++;
+    return true;
+  }
+
+  /**
+   * Function called by the leader once the computation is complete. Tasks arriving afterwards
+   * start a new computation.
+   *
+   * @param key signature of the request
+   * @param tedVersion version of the TED the request was computed on
+   * @return tasks attached to the computation, to be answered by the leader
+   */
+  public synchronized List<WorkerTask> complete(PathCacheKey key, long tedVersion) {
+    ArrayList<WorkerTask> followers = inFlightMap.remove(new FlightKey(key, tedVersion));
+    if (followers == null) return new ArrayList<WorkerTask>();
+    return followers;
+  }
+
+  /**
+   * Function to cancel the attached tasks of a closed session, they are removed from their
+   * computation and not answered
+   *
+   * @param address address of the closed session
+   * @return number of cancelled tasks
+   */
+  public synchronized int cancel(PceAddress address) {
+    int cancelledTasks = 0;
+    for (ArrayList<WorkerTask> followers : inFlightMap.values()) {
+      for (int i = followers.size() - 1; i >= 0; i--) {
+        if (followers.get(i).isFromSession(address)) {
+          followers.remove(i).cancel();
+          cancelledTasks++;
+        }
+      }
+    }
+    return cancelledTasks;
+  }
+
+  /** Function to get the number of computations in progress */
+  public synchronized int getInFlightCount() {
+    return inFlightMap.size();
+  }
+
+  /** Function to get the number of computations started */
+  public synchronized long getComputationCount() {
+    return computations;
+  }
+
+  /** Function to get the number of requests answered by another computation */
+  public synchronized long getCoalescedRequestCount() {
+    return coalescedRequests;
+  }
+
+  public synchronized String toString() {
+    return "RequestCoalescer computations="
+        + computations
+        + " coalescedRequests="
+        + coalescedRequests;
+  }
+}
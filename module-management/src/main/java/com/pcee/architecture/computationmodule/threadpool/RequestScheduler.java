@@ -0,0 +1,307 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of path computation requests waiting for a worker. Requests are ordered by the
+ * priority of their RP object (RFC 5440, 0 = unspecified, 7 = highest) and in arrival order within
+ * a priority. Waiting requests are aged, every aging interval spent in the queue raises the
+ * effective priority of a request by one, so that low priority requests are not starved by a
+ * steady stream of high priority ones.
+ *
+ * <p>Requests offered while the queue is full are rejected, the caller is responsible for
+ * informing the requesting peer.
+ */
+public class RequestScheduler {
+
+  /** Default maximum number of queued requests */
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  /** Default aging interval in milliseconds */
+  public static final long DEFAULT_AGING_INTERVAL = 1000;
+
+  // Number of priority levels of the RP object
+  private static final int PRIORITY_LEVELS = 8;
+
+  // Requests waiting for a worker, one FIFO per priority level
+  private final ArrayDeque<QueuedRequest>[] queues;
+
+  // Maximum number of queued requests
+  private final int capacity;
+
+  // Time in nanoseconds after which a waiting request is promoted by one priority level, 0 disables
+  // aging
+  private final long agingIntervalNanos;
+
+  // Number of queued requests
+  private int size = 0;
+
+  // Largest number of requests queued at the same time
+  private int maxDepth = 0;
+
+  // Number of requests handed to a worker
+  private long scheduledRequests = 0;
+
+  // Number of requests rejected because the queue was full
+  private long rejectedRequests = 0;
+
+  // Number of queued requests removed because their session was closed
+  private long removedRequests = 0;
+
+  // Sum and maximum of the time spent in the queue by scheduled requests, in nanoseconds
+  private long totalWaitTime = 0;
+  private long maxWaitTime = 0;
+
+  /** Request together with the time it was queued */
+  private static class QueuedRequest {
+
+    private final PceMessage message;
+
+    private final long queuedTime;
+
+    QueuedRequest(PceMessage message, long queuedTime) {
+      this.message = message;
+      this.queuedTime = queuedTime;
+    }
+  }
+
+  /**
+   * Constructor
+   *
+   * @param capacity maximum number of queued requests
+   * @param agingInterval time in milliseconds after which a waiting request is promoted by one
+   *     priority level, 0 to schedule strictly by priority
+   */
+  @SuppressWarnings("unchecked")
+  public RequestScheduler(int capacity, long agingInterval) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.agingIntervalNanos = TimeUnit.MILLISECONDS.toNanos(agingInterval);
+    queues = new ArrayDeque[PRIORITY_LEVELS];
+    for (int i = 0; i < PRIORITY_LEVELS; i++) {
+      queues[i] = new ArrayDeque<QueuedRequest>();
+    }
+  }
+
+  /**
+   * Function to get the priority of a path computation request
+   *
+   * @param message path computation request
+   * @return priority of the RP object, 0 if the request has no RP object
+   */
+  public static int getPriority(PceMessage message) {
+    PceObjectFrame object = message.getFirstObject(2);
+    if (object instanceof PceRequestParametersObject) {
+      return ((PceRequestParametersObject) object).getPriFlagDecimalValue();
+    }
+    return 0;
+  }
+
+  /**
+   * Function to check if a request was received on the session of a peer
+   *
+   * @param message path computation request
+   * @param address address of the peer
+   */
+  public static boolean isFromSession(PceMessage message, PceAddress address) {
+    PceAddress messageAddress = message.getAddress();
+    return messageAddress != null
+        && messageAddress.getIPv4Address().equals(address.getIPv4Address());
+  }
+
+  /**
+   * Function to queue a request
+   *
+   * @param message path computation request
+   * @return false if the queue is full and the request was rejected
+   */
+  public boolean offer(PceMessage message) {
+    int priority = getPriority(message);
+    synchronized (this) {
+      if (size >= capacity) {
+        rejectedRequests++;
+        return false;
+      }
+      queues[priority].addLast(new QueuedRequest(message, System.nanoTime()));
+      size++;
+      maxDepth = Math.max(maxDepth, size);
+      notify();
+      return true;
+    }
+  }
+
+  /**
+   * Function to queue the requests of a message carrying several requests. The requests are
+   * queued in order with a single lock acquisition, as many as the remaining capacity allows.
+   *
+   * @param messages path computation requests
+   * @return number of queued requests, the following requests were rejected
+   */
+  public int offerAll(List<PceMessage> messages) {
+    int[] priorities = new int[messages.size()];
+    for (int i = 0; i < priorities.length; i++) {
+      priorities[i] = getPriority(messages.get(i));
+    }
+    synchronized (this) {
+      int queued = Math.min(messages.size(), capacity - size);
+      long now = System.nanoTime();
+      for (int i = 0; i < queued; i++) {
+        queues[priorities[i]].addLast(new QueuedRequest(messages.get(i), now));
+      }
+      size += queued;
+      maxDepth = Math.max(maxDepth, size);
+      rejectedRequests += messages.size() - queued;
+      if (queued > 1) {
+        notifyAll();
+      } else if (queued == 1) {
+        notify();
+      }
+      return queued;
+    }
+  }
+
+  /**
+   * Function to wait for the next request to compute
+   *
+   * @return the queued request with the highest effective priority
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public synchronized PceMessage take() throws InterruptedException {
+    while (size == 0) {
+      wait();
+    }
+    long now = System.nanoTime();
+    ArrayDeque<QueuedRequest> selectedQueue = null;
+    long selectedPriority = -1;
+    for (int priority = 0; priority < PRIORITY_LEVELS; priority++) {
+      QueuedRequest head = queues[priority].peekFirst();
+      if (head == null) continue;
+      long effectivePriority = priority;
+      if (agingIntervalNanos > 0) {
+        effectivePriority += (now - head.queuedTime) / agingIntervalNanos;
+      }
+      // On equal effective priority the request waiting longer is preferred
+      if (effectivePriority > selectedPriority
+          || (effectivePriority == selectedPriority
+              && head.queuedTime - selectedQueue.peekFirst().queuedTime < 0)) {
+        selectedQueue = queues[priority];
+        selectedPriority = effectivePriority;
+      }
+    }
+    QueuedRequest request = selectedQueue.pollFirst();
+    size--;
+    scheduledRequests++;
+    long waitTime = now - request.queuedTime;
+    totalWaitTime += waitTime;
+    maxWaitTime = Math.max(maxWaitTime, waitTime);
+    return request.message;
+  }
+
+  /**
+   * Function to remove the queued requests of a closed session
+   *
+   * @param address address of the closed session
+   * @return number of removed requests
+   */
+  public synchronized int removeRequests(PceAddress address) {
+    int removed = 0;
+    for (ArrayDeque<QueuedRequest> queue : queues) {
+      Iterator<QueuedRequest> iter = queue.iterator();
+      while (iter.hasNext()) {
+        if (isFromSession(iter.next().message, address)) {
+          iter.remove();
+          removed++;
+        }
+      }
+    }
+    size -= removed;
+    removedRequests += removed;
+    return removed;
+  }
+
+  /** Function to remove all queued requests */
+  public synchronized void clear() {
+    for (ArrayDeque<QueuedRequest> queue : queues) {
+      queue.clear();
+    }
+    size = 0;
+  }
+
+  /** Function to get the number of queued requests */
+  public synchronized int size() {
+    return size;
+  }
+
+  /** Function to get the number of queued requests of a priority */
+  public synchronized int size(int priority) {
+    return queues[priority].size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public synchronized int getMaxDepth() {
+    return maxDepth;
+  }
+
+  public synchronized long getScheduledRequestCount() {
+    return scheduledRequests;
+  }
+
+  public synchronized long getRejectedRequestCount() {
+    return rejectedRequests;
+  }
+
+  public synchronized long getRemovedRequestCount() {
+    return removedRequests;
+  }
+
+  /** Function to get the average time in milliseconds spent in the queue by scheduled requests */
+  public synchronized double getAverageWaitTime() {
+    if (scheduledRequests == 0) return 0;
+    return totalWaitTime / 1e6 / scheduledRequests;
+  }
+
+  /** Function to get the longest time in milliseconds spent in the queue by a scheduled request */
+  public synchronized double getMaxWaitTime() {
+    return maxWaitTime / 1e6;
+  }
+
+  public synchronized String toString() {
+    return String.format(
+        "Request scheduler: depth=%d/%d, maxDepth=%d, scheduled=%d, rejected=%d, removed=%d,"
+            + " averageWait=%.3f ms, maxWait=%.3f ms",
+        size,
+        capacity,
+        maxDepth,
+        scheduledRequests,
+        rejectedRequests,
+        removedRequests,
+        getAverageWaitTime(),
+        getMaxWaitTime());
+  }
+}
@@ -0,0 +1,320 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.graph.path.algorithms.common.CancellationFlag;
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import com.pcee.architecture.computationmodule.ted.TopologyInformation;
+import com.pcee.logger.PceeLoggerFactory;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.impl.PceSynchronizationVectorObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import com.pcee.protocol.response.PceResponseFrame;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+
+/**
+ * Executor computing the PCReq messages carrying SVEC objects. The requests of a message are split
+ * into groups, two requests belong to the same group if they are linked by a chain of SVEC objects,
+ * requests without SVEC object form a group of their own. All groups of a message are computed on
+ * the same TED snapshot, independent groups run in parallel on a fork/join pool, see {@link
+ * SvecGroupTask}. The responses of all requests are returned in a single PCRep message.
+ *
+ * <p>The number of messages waiting for or in computation is bounded like the request queue of the
+ * single requests, a message beyond the capacity is rejected so that the caller can notify the
+ * peer of the overload. Messages whose deadline passed before their computation started are
+ * dropped.
+ */
+public class SvecBatchExecutor {
+
+  private static Logger logger = PceeLoggerFactory.getLogger(SvecBatchExecutor.class);
+
+  /** Default maximum number of messages waiting for or in computation */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  // Module management instance to send the responses to the session layer
+  private final ModuleManagement lm;
+
+  // Pool computing the messages and their groups
+  private final ForkJoinPool pool;
+
+  // Messages in progress, used to cancel the computations of closed sessions
+  private final Set<SynchronizedRequest> runningRequests = ConcurrentHashMap.newKeySet();
+
+  // One permit for every message that can be submitted before the capacity is reached
+  private final Semaphore permits;
+
+  private final int capacity;
+
+  // Number of computed, rejected and expired messages and of computed groups
+  private final LongAdder completedMessages = new LongAdder();
+  private final LongAdder completedGroups = new LongAdder();
+  private final LongAdder rejectedMessages = new LongAdder();
+  private final LongAdder expiredMessages = new LongAdder();
+
+  /** Computation of all groups of a PCReq message */
+  private class SynchronizedRequest extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PceMessage message;
+
+    private final CancellationFlag cancellationFlag = new CancellationFlag();
+
+    SynchronizedRequest(PceMessage message) {
+      this.message = message;
+      cancellationFlag.setDeadline(message.getDeadline());
+    }
+
+    protected void compute() {
+      try {
+        if (cancellationFlag.isCancelled()) return;
+        if (message.isExpired()) {
+          // The requesting peer no longer waits for the responses
+          logger.info("Dropping synchronized requests that expired before their computation");
+          expiredMessages.increment();
+          int requestCount = getRequestCount(message);
+          for (int i = 0; i < requestCount; i++) {
+            lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.QUEUE);
+          }
+          return;
+        }
+        // The TED snapshot is immutable and shared by all groups of the message
+        TedSnapshot ted = TopologyInformation.getInstance().getSnapshot();
+        List<SvecGroupTask> groups = createGroups(ted, message, cancellationFlag);
+        invokeAll(groups);
+        if (cancellationFlag.isCancelled()) return;
+        sendResponse(message, groups);
+        completedGroups.add(groups.size());
+        completedMessages.increment();
+      } finally {
+        runningRequests.remove(this);
+        permits.release();
+      }
+    }
+  }
+
+  /**
+   * Constructor
+   *
+   * @param layerManagement
+   * @param parallelism number of threads of the fork/join pool
+   */
+  public SvecBatchExecutor(ModuleManagement layerManagement, int parallelism) {
+    this(layerManagement, parallelism, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param layerManagement
+   * @param parallelism number of threads of the fork/join pool
+   * @param capacity maximum number of messages waiting for or in computation
+   */
+  public SvecBatchExecutor(ModuleManagement layerManagement, int parallelism, int capacity) {
+    lm = layerManagement;
+    pool = new ForkJoinPool(Math.max(1, parallelism));
+    this.capacity = Math.max(1, capacity);
+    permits = new Semaphore(this.capacity);
+  }
+
+  /**
+   * Function to compute the requests of a PCReq message carrying SVEC objects, the response is
+   * sent to the session layer once all requests have been computed
+   *
+   * @param message path computation request message
+   * @return false if the message was rejected because the executor is at capacity
+   */
+  public boolean submit(PceMessage message) {
+    if (!permits.tryAcquire()) {
+      rejectedMessages.increment();
+      return false;
+    }
+    SynchronizedRequest request = new SynchronizedRequest(message);
+    runningRequests.add(request);
+    try {
+      pool.execute(request);
+    } catch (RejectedExecutionException e) {
+      // The executor was stopped
+      runningRequests.remove(request);
+      permits.release();
+    }
+    return true;
+  }
+
+  // Function to count the requests of a message, the RP objects, without decoding them
+  private static int getRequestCount(PceMessage message) {
+    int count = 0;
+    int objectCount = message.getObjectCount();
+    for (int i = 0; i < objectCount; i++) {
+      if (message.getObjectClass(i) == 2) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Function to split the requests of a message into the groups linked by SVEC objects, in the
+   * order of their first request
+   */
+  static List<SvecGroupTask> createGroups(
+      TedSnapshot ted, PceMessage message, CancellationFlag cancellationFlag) {
+    LinkedList<PceRequestFrame> requestFrames =
+        PceRequestFrameFactory.getPathComputationRequestFrames(message);
+    LinkedList<PceSynchronizationVectorObject> svecList =
+        requestFrames.getFirst().extractSynchronizationVectorObjectList();
+    if (svecList == null) {
+      svecList = new LinkedList<PceSynchronizationVectorObject>();
+    }
+
+    // Union-find over the positions of the requests
+    HashMap<Integer, Integer> positions = new HashMap<Integer, Integer>();
+    int[] parents = new int[requestFrames.size()];
+    int position = 0;
+    for (PceRequestFrame requestFrame : requestFrames) {
+      positions.putIfAbsent(requestFrame.getRequestID(), position);
+      parents[position] = position;
+      position++;
+    }
+    // Position of the first request of the SVEC object, -1 if no request of the message is listed
+    int[] svecRoots = new int[svecList.size()];
+    for (int i = 0; i < svecList.size(); i++) {
+      svecRoots[i] = -1;
+      for (int requestID : svecList.get(i).getRequestIDNumbersDecimalValues()) {
+        Integer requestPosition = positions.get(requestID);
+        if (requestPosition == null) continue;
+        if (svecRoots[i] < 0) {
+          svecRoots[i] = requestPosition;
+        } else {
+          parents[find(parents, requestPosition)] = find(parents, svecRoots[i]);
+        }
+      }
+    }
+
+    LinkedHashMap<Integer, ArrayList<PceRequestFrame>> members =
+        new LinkedHashMap<Integer, ArrayList<PceRequestFrame>>();
+    position = 0;
+    for (PceRequestFrame requestFrame : requestFrames) {
+      members
+          .computeIfAbsent(find(parents, position++), root -> new ArrayList<PceRequestFrame>())
+          .add(requestFrame);
+    }
+    HashMap<Integer, ArrayList<PceSynchronizationVectorObject>> svecs =
+        new HashMap<Integer, ArrayList<PceSynchronizationVectorObject>>();
+    for (int i = 0; i < svecList.size(); i++) {
+      if (svecRoots[i] < 0) continue;
+      svecs
+          .computeIfAbsent(
+              find(parents, svecRoots[i]),
+              root -> new ArrayList<PceSynchronizationVectorObject>())
+          .add(svecList.get(i));
+    }
+
+    ArrayList<SvecGroupTask> groups = new ArrayList<SvecGroupTask>(members.size());
+    for (Integer root : members.keySet()) {
+      List<PceSynchronizationVectorObject> groupSvecs = svecs.get(root);
+      if (groupSvecs == null) {
+        groupSvecs = new ArrayList<PceSynchronizationVectorObject>();
+      }
+      groups.add(
+          new SvecGroupTask(ted.getGraph(), members.get(root), groupSvecs, cancellationFlag));
+    }
+    return groups;
+  }
+
+  private static int find(int[] parents, int position) {
+    while (parents[position] != position) {
+      parents[position] = parents[parents[position]];
+      position = parents[position];
+    }
+    return position;
+  }
+
+  /** Function to send the responses of all groups of a message in a single PCRep message */
+  private void sendResponse(PceMessage message, List<SvecGroupTask> groups) {
+    ArrayList<PceResponseFrame> responseFrames = new ArrayList<PceResponseFrame>();
+    for (SvecGroupTask group : groups) {
+      responseFrames.addAll(group.getResponses());
+      for (int i = 0; i < group.getExpiredRequests(); i++) {
+        lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.COMPUTATION);
+      }
+    }
+    logger.info(
+        "Computed {} synchronized requests in {} groups from {}",
+        responseFrames.size(),
+        groups.size(),
+        message.getAddress().getIPv4Address());
+    PceMessage response = PceMessageFactory.generateMessage(responseFrames);
+    response.setAddress(message.getAddress());
+    lm.getComputationModule().sendMessage(response, ModuleEnum.SESSION_MODULE);
+  }
+
+  /**
+   * Function to cancel the computations in progress for a closed session
+   *
+   * @param address address of the closed session
+   * @return number of cancelled messages
+   */
+  public int cancelRequests(PceAddress address) {
+    int cancelledRequests = 0;
+    for (SynchronizedRequest request : runningRequests) {
+      if (RequestScheduler.isFromSession(request.message, address)) {
+        request.cancellationFlag.cancel();
+        cancelledRequests++;
+      }
+    }
+    return cancelledRequests;
+  }
+
+  /** Function to stop the executor, computations in progress are interrupted */
+  public void stop() {
+    logger.info("{}", this);
+    pool.shutdownNow();
+  }
+
+  public String toString() {
+    return "SvecBatchExecutor[parallelism="
+        + pool.getParallelism()
+        + ", capacity="
+        + capacity
+        + ", running="
+        + runningRequests.size()
+        + ", completedMessages="
+        + completedMessages.sum()
+        + ", completedGroups="
+        + completedGroups.sum()
+        + ", rejectedMessages="
+        + rejectedMessages.sum()
+        + ", expiredMessages="
+        + expiredMessages.sum()
+        + "]";
+  }
+}
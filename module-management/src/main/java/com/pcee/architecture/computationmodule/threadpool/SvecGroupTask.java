@@ -0,0 +1,328 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.common.CancellationFlag;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.graph.path.algorithms.constraints.multipath.impl.DisjointMultiPathComputationConstraint;
+import com.graph.path.algorithms.impl.DiversePathComputationAlgorithm;
+import com.graph.path.algorithms.multipath.kdisjoint.impl.SuurballeKDisjointMultiPathComputationAlgorithm;
+import com.pcee.logger.PceeLoggerFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
+import com.pcee.protocol.message.objectframe.impl.PceExplicitRouteObject;
+import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.PceSynchronizationVectorObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.EroSubobjects;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.response.PceResponseFrame;
+import com.pcee.protocol.response.PceResponseFrameFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import org.slf4j.Logger;
+
+/**
+ * Computation of a group of requests synchronized by SVEC objects. The members of the group are
+ * computed one after the other in the order of the PCReq message, on a private copy of the graph
+ * of a single TED snapshot. The bandwidth of every computed path is reserved on the copy, so that
+ * later members only use the capacity left by the earlier ones, and the links and nodes of earlier
+ * members of a common SVEC are excluded according to its diversity flags.
+ *
+ * <p>Excluding the paths of earlier members can leave no path to later members although enough
+ * diverse paths exist. If all members have the same end points and must be diverse from each
+ * other, they are therefore first computed together as the disjoint paths of minimum total weight,
+ * and only computed one after the other if not enough disjoint paths exist.
+ *
+ * <p>The TED holds no shared risk link groups, every link is treated as a group of its own, so SRLG
+ * diverse paths are computed as link diverse paths.
+ */
+public class SvecGroupTask extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger logger = PceeLoggerFactory.getLogger(SvecGroupTask.class);
+
+  // Graph of the TED snapshot shared by all groups of the message, must not be modified
+  private final Gcontroller graph;
+
+  // Requests of the group in the order of the message
+  private final List<PceRequestFrame> members;
+
+  // SVEC objects synchronizing the requests of the group
+  private final List<PceSynchronizationVectorObject> svecList;
+
+  // Request IDs of every SVEC object, decoded once for all members
+  private final ArrayList<LinkedHashSet<Integer>> svecRequestIDs;
+
+  // Flag shared by all groups of the message, holds the deadline of the message
+  private final CancellationFlag cancellationFlag;
+
+  // Response of every member, in the order of the members
+  private final ArrayList<PceResponseFrame> responses = new ArrayList<PceResponseFrame>();
+
+  // Number of members not computed before the deadline of the message
+  private int expiredRequests = 0;
+
+  /**
+   * Constructor
+   *
+   * @param graph graph of the TED snapshot, a copy is modified by the computation
+   * @param members requests of the group in the order of the message
+   * @param svecList SVEC objects of the group
+   * @param cancellationFlag flag cancelling the computation of the message
+   */
+  public SvecGroupTask(
+      Gcontroller graph,
+      List<PceRequestFrame> members,
+      List<PceSynchronizationVectorObject> svecList,
+      CancellationFlag cancellationFlag) {
+    this.graph = graph;
+    this.members = members;
+    this.svecList = svecList;
+    this.cancellationFlag = cancellationFlag;
+    svecRequestIDs = new ArrayList<LinkedHashSet<Integer>>(svecList.size());
+    for (PceSynchronizationVectorObject svec : svecList) {
+      svecRequestIDs.add(new LinkedHashSet<Integer>(svec.getRequestIDNumbersDecimalValues()));
+    }
+  }
+
+  protected void compute() {
+    // Reservations are only made on a copy, the snapshot is shared with other computations
+    Gcontroller groupGraph = requestsBandwidth() ? graph.createCopy() : graph;
+    if (computeDisjointPaths(groupGraph)) return;
+    DiversePathComputationAlgorithm algo = new DiversePathComputationAlgorithm();
+    HashMap<Integer, PathElement> paths = new HashMap<Integer, PathElement>();
+
+    for (PceRequestFrame requestFrame : members) {
+      if (cancellationFlag.isCancelled()) return;
+      int requestID = requestFrame.getRequestID();
+      String sourceID = requestFrame.getSourceAddress().getIPv4Address(false).trim();
+      String destID = requestFrame.getDestinationAddress().getIPv4Address(false).trim();
+      if (cancellationFlag.isExpired()) {
+        expiredRequests++;
+        responses.add(generateNoPathFrame(requestID, true));
+        continue;
+      }
+      if (!groupGraph.vertexExists(sourceID) || !groupGraph.vertexExists(destID)) {
+        logger.info("End points of request " + requestID + " not in the topology");
+        responses.add(generateNoPathFrame(requestID, false));
+        continue;
+      }
+
+      algo.flushExcludedElements();
+      excludeDiverseElements(algo, requestID, paths);
+      double bandwidth = getBandwidth(requestFrame);
+      SimplePathComputationConstraint constr =
+          new SimplePathComputationConstraint(
+              groupGraph.getVertex(sourceID), groupGraph.getVertex(destID), bandwidth);
+      constr.setCancellationFlag(cancellationFlag);
+      PathElement path = algo.computePath(groupGraph, constr);
+
+      if (path == null) {
+        boolean expired = cancellationFlag.isExpired();
+        if (expired) expiredRequests++;
+        responses.add(generateNoPathFrame(requestID, expired));
+      } else if (bandwidth > 0 && !path.resvBandwidth(bandwidth)) {
+        responses.add(generateNoPathFrame(requestID, false));
+      } else {
+        logger.info("Computed path of request " + requestID + " is " + path.getVertexSequence());
+        paths.put(requestID, path);
+        responses.add(generateResponseFrame(requestFrame, path));
+      }
+    }
+  }
+
+  /**
+   * Function to compute the members of the group together as disjoint paths, the paths are
+   * assigned to the members by ascending weight. Returns false if the members must be computed one
+   * after the other.
+   */
+  private boolean computeDisjointPaths(Gcontroller groupGraph) {
+    Boolean nodeDiverse = getGroupDiversity();
+    if (nodeDiverse == null || cancellationFlag.isCancelled() || cancellationFlag.isExpired()) {
+      return false;
+    }
+    PceRequestFrame firstMember = members.get(0);
+    String sourceID = firstMember.getSourceAddress().getIPv4Address(false).trim();
+    String destID = firstMember.getDestinationAddress().getIPv4Address(false).trim();
+    if (!groupGraph.vertexExists(sourceID) || !groupGraph.vertexExists(destID)) return false;
+
+    // Every link carries a single member, so it needs the bandwidth of the largest member
+    double bandwidth = 0;
+    for (PceRequestFrame requestFrame : members) {
+      bandwidth = Math.max(bandwidth, getBandwidth(requestFrame));
+    }
+    DisjointMultiPathComputationConstraint constr =
+        new DisjointMultiPathComputationConstraint(
+            groupGraph.getVertex(sourceID),
+            groupGraph.getVertex(destID),
+            members.size(),
+            bandwidth,
+            nodeDiverse);
+    constr.setCancellationFlag(cancellationFlag);
+    ArrayList<PathElement> paths =
+        new SuurballeKDisjointMultiPathComputationAlgorithm().computePath(groupGraph, constr);
+    if (paths == null || paths.size() < members.size()) return false;
+
+    for (int i = 0; i < members.size(); i++) {
+      PceRequestFrame requestFrame = members.get(i);
+      PathElement path = paths.get(i);
+      double memberBandwidth = getBandwidth(requestFrame);
+      if (memberBandwidth > 0 && !path.resvBandwidth(memberBandwidth)) {
+        responses.add(generateNoPathFrame(requestFrame.getRequestID(), false));
+      } else {
+        logger.info(
+            "Computed disjoint path of request "
+                + requestFrame.getRequestID()
+                + " is "
+                + path.getVertexSequence());
+        responses.add(generateResponseFrame(requestFrame, path));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Function to get the diversity required between all members of the group, if they have the
+   * same end points: true for node diversity, false for link diversity. Returns null if some
+   * members need not be diverse, or if a node diverse SVEC object only holds some of the members.
+   */
+  private Boolean getGroupDiversity() {
+    if (members.size() < 2) return null;
+    PceRequestFrame firstMember = members.get(0);
+    String sourceID = firstMember.getSourceAddress().getIPv4Address(false).trim();
+    String destID = firstMember.getDestinationAddress().getIPv4Address(false).trim();
+    for (PceRequestFrame requestFrame : members) {
+      if (!sourceID.equals(requestFrame.getSourceAddress().getIPv4Address(false).trim())
+          || !destID.equals(requestFrame.getDestinationAddress().getIPv4Address(false).trim())) {
+        return null;
+      }
+    }
+
+    boolean linkDiverse = false;
+    boolean nodeDiverse = false;
+    for (int i = 0; i < svecList.size(); i++) {
+      PceSynchronizationVectorObject svec = svecList.get(i);
+      boolean svecNodeDiverse = svec.getNFlagDecimalValue() == 1;
+      boolean svecDiverse =
+          svecNodeDiverse || svec.getLFlagDecimalValue() == 1 || svec.getSFlagDecimalValue() == 1;
+      int memberCount = 0;
+      for (PceRequestFrame requestFrame : members) {
+        if (svecRequestIDs.get(i).contains(requestFrame.getRequestID())) memberCount++;
+      }
+      if (memberCount == members.size()) {
+        linkDiverse |= svecDiverse;
+        nodeDiverse |= svecNodeDiverse;
+      } else if (svecNodeDiverse && memberCount > 1) {
+        return null;
+      }
+    }
+    return linkDiverse ? Boolean.valueOf(nodeDiverse) : null;
+  }
+
+  // Function to check if a member of the group requests bandwidth
+  private boolean requestsBandwidth() {
+    for (PceRequestFrame requestFrame : members) {
+      if (getBandwidth(requestFrame) > 0) return true;
+    }
+    return false;
+  }
+
+  private static double getBandwidth(PceRequestFrame requestFrame) {
+    if (!requestFrame.containsBandwidthObject()) return 0;
+    return requestFrame.extractBandwidthObject().getBandwidthFloatValue();
+  }
+
+  /**
+   * Function to exclude the links and nodes of the paths computed for the requests sharing a SVEC
+   * object with the given request, according to the diversity flags of the SVEC object
+   */
+  private void excludeDiverseElements(
+      DiversePathComputationAlgorithm algo, int requestID, HashMap<Integer, PathElement> paths) {
+    for (int i = 0; i < svecList.size(); i++) {
+      PceSynchronizationVectorObject svec = svecList.get(i);
+      boolean linkDiverse = svec.getLFlagDecimalValue() == 1 || svec.getSFlagDecimalValue() == 1;
+      boolean nodeDiverse = svec.getNFlagDecimalValue() == 1;
+      if (!linkDiverse && !nodeDiverse) continue;
+      LinkedHashSet<Integer> requestIDs = svecRequestIDs.get(i);
+      if (!requestIDs.contains(requestID)) continue;
+      for (int otherRequestID : requestIDs) {
+        PathElement path = paths.get(otherRequestID);
+        if (path == null) continue;
+        if (linkDiverse) algo.addExcludedLinks(path.getTraversedEdges());
+        if (nodeDiverse) algo.addExcludedVertices(path.getTraversedVertices());
+      }
+    }
+  }
+
+  private static PceResponseFrame generateResponseFrame(
+      PceRequestFrame requestFrame, PathElement path) {
+    ArrayList<EroSubobjects> vertexList = new ArrayList<EroSubobjects>();
+    for (VertexElement vertex : path.getTraversedVertices()) {
+      vertexList.add(new PceAddress(vertex.getVertexID(), false));
+    }
+    PceExplicitRouteObject ERO =
+        PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", vertexList);
+    PceRequestParametersObject RP =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestFrame.getRequestID()));
+    PceResponseFrame respFrame = PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
+    respFrame.insertExplicitRouteObject(ERO);
+    if (requestFrame.containsBandwidthObject()) {
+      // The requested bandwidth was reserved along the path
+      PceBandwidthObject bw =
+          PceObjectFrameFactory.generatePCEPBandwidthObject(
+              "1", "0", requestFrame.extractBandwidthObject().getBandwidthFloatValue());
+      respFrame.insertBandwidthObject(bw);
+    }
+    return respFrame;
+  }
+
+  /**
+   * Function to generate the response of a request without path, the NO-PATH-VECTOR TLV reports
+   * the PCE as unavailable if the deadline passed during the computation
+   */
+  private static PceResponseFrame generateNoPathFrame(int requestID, boolean expired) {
+    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
+    if (expired) {
+      noPath.setNoPathVectorDecimalValue(PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE);
+    }
+    PceRequestParametersObject RP =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceResponseFrame responseFrame =
+        PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
+    responseFrame.insertNoPathObject(noPath);
+    return responseFrame;
+  }
+
+  /** Function to get the response of every member, in the order of the members */
+  public List<PceResponseFrame> getResponses() {
+    return responses;
+  }
+
+  /** Function to get the number of members not computed before the deadline of the message */
+  public int getExpiredRequests() {
+    return expiredRequests;
+  }
+}
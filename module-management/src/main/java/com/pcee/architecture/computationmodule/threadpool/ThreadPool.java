@@ -16,12 +16,12 @@ package com.pcee.architecture.computationmodule.threadpool;
 
 import com.graph.graphcontroller.Gcontroller;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.computationmodule.cache.PathCache;
 import com.pcee.architecture.computationmodule.ted.TopologyInformation;
 import com.pcee.logger.PceeLoggerFactory;
-import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.concurrent.LinkedBlockingQueue;
 import org.slf4j.Logger;
 
 /**
@@ -31,7 +31,7 @@ import org.slf4j.Logger;
  * @author Mohit Chamania
  * @author Marek Drogon
  */
-public class ThreadPool {
+public class ThreadPool implements ComputationExecutor {
 
   private static Logger logger = PceeLoggerFactory.getLogger(ThreadPool.class);
 
@@ -44,12 +44,21 @@ public class ThreadPool {
   // Map association to store worker threads against their IDs
   private HashMap<String, Worker> threadHashMap;
 
-  // Blocking queue used by workers to read incoming requests
-  private LinkedBlockingQueue<PceMessage> requestQueue;
+  // Scheduler used by workers to read incoming requests
+  private RequestScheduler requestScheduler;
 
   // Graph instance used by workers to perform path computations
   private Gcontroller graph;
 
+  // Cache of the computed paths shared by the workers
+  private PathCache pathCache;
+
+  // Coalescing of identical requests computed concurrently by the workers
+  private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+  // Algorithms of the objective functions shared by the workers
+  private final ObjectiveFunctionRegistry objectiveFunctions = new ObjectiveFunctionRegistry();
+
   // Module management instance to send response to the computation layer
   private ModuleManagement lm;
 
@@ -61,16 +70,19 @@ public class ThreadPool {
    *
    * @param layerManagement
    * @param threadCount
-   * @param requestQueue
+   * @param requestScheduler
+   * @param pathCache
    */
   public ThreadPool(
       ModuleManagement layerManagement,
       int threadCount,
-      LinkedBlockingQueue<PceMessage> requestQueue) {
+      RequestScheduler requestScheduler,
+      PathCache pathCache) {
     lm = layerManagement;
     this.threadCount = threadCount;
     isInitialized = false;
-    this.requestQueue = requestQueue;
+    this.requestScheduler = requestScheduler;
+    this.pathCache = pathCache;
     graph = topologyInstance.getGraph();
     // initialize the worker threads
     initThreadPool();
@@ -87,7 +99,7 @@ public class ThreadPool {
       threadHashMap = new HashMap<String, Worker>();
       for (int i = 0; i < threadCount; i++) {
         String id = "Thread-" + Integer.toString(i);
-        Worker worker = new Worker(lm, this, id, requestQueue, graph);
+        Worker worker = new Worker(lm, this, id, requestScheduler, graph, pathCache);
         worker.setName("WorkerThread-" + i);
         threadHashMap.put(id, worker);
         worker.start();
@@ -108,8 +120,28 @@ public class ThreadPool {
     return topologyInstance.getGraph();
   }
 
+  /** Function to get the coalescing of identical requests shared by the workers */
+  public RequestCoalescer getRequestCoalescer() {
+    return requestCoalescer;
+  }
+
+  public ObjectiveFunctionRegistry getObjectiveFunctionRegistry() {
+    return objectiveFunctions;
+  }
+
+  public int cancelRequests(PceAddress address) {
+    int cancelledRequests = requestCoalescer.cancel(address);
+    for (Worker worker : threadHashMap.values()) {
+      if (worker.cancelTask(address)) cancelledRequests++;
+    }
+    return cancelledRequests;
+  }
+
   /** Function to stop the thread pool */
   public void stop() {
+    logger.info("{}", requestScheduler);
+    logger.info("{}", requestCoalescer);
+    logger.info("{}", objectiveFunctions);
     Iterator<String> iter = threadHashMap.keySet().iterator();
     while (iter.hasNext()) {
       String id = iter.next();
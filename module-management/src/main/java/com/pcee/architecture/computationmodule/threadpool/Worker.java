@@ -16,9 +16,12 @@ package com.pcee.architecture.computationmodule.threadpool;
 
 import com.graph.graphcontroller.Gcontroller;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.computationmodule.cache.PathCache;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
 import com.pcee.architecture.computationmodule.ted.TopologyInformation;
 import com.pcee.protocol.message.PceMessage;
-import java.util.concurrent.LinkedBlockingQueue;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,10 +30,13 @@ public class Worker extends Thread {
   private Logger logger;
 
   private String ID;
-  private LinkedBlockingQueue<PceMessage> requestQueue;
+  private RequestScheduler requestScheduler;
   private ThreadPool pool;
   private ModuleManagement lm;
   private boolean terminateWorker = false;
+  private PathCache pathCache;
+  // Task currently computed by the worker, null while waiting for a request
+  private volatile WorkerTask currentTask;
 
   /**
    * Function to set the flag to terminate the worker thread
@@ -41,25 +47,43 @@ public class Worker extends Thread {
     this.terminateWorker = value;
   }
 
+  /**
+   * Function to cancel the task in progress if it was received on a closed session
+   *
+   * @param address address of the closed session
+   * @return true if the task in progress was cancelled
+   */
+  public boolean cancelTask(PceAddress address) {
+    WorkerTask task = currentTask;
+    if (task != null && task.isFromSession(address)) {
+      task.cancel();
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Default Constructor
    *
    * @param layerManagement
    * @param pool
    * @param ID
-   * @param requestQueue
+   * @param requestScheduler
    * @param graph
+   * @param pathCache
    */
   public Worker(
       ModuleManagement layerManagement,
       ThreadPool pool,
       String ID,
-      LinkedBlockingQueue<PceMessage> requestQueue,
-      Gcontroller graph) {
+      RequestScheduler requestScheduler,
+      Gcontroller graph,
+      PathCache pathCache) {
     lm = layerManagement;
     this.pool = pool;
     this.ID = ID;
-    this.requestQueue = requestQueue;
+    this.requestScheduler = requestScheduler;
+    this.pathCache = pathCache;
     logger = LoggerFactory.getLogger("Worker-" + ID);
   }
 
@@ -73,10 +97,10 @@ public class Worker extends Thread {
       WorkerTask task = null;
       try {
         if (flag == 0) {
-          request = requestQueue.take();
+          request = requestScheduler.take();
           // Record the leaving Queue Time for each request
           //					logger.info("Starting request ID " + request.getRequestID());
-          logger.info("Current Length of Request Queue = " + requestQueue.size());
+          logger.info("Current Length of Request Queue = " + requestScheduler.size());
         }
       } catch (InterruptedException e) {
         if (terminateWorker) {
@@ -87,10 +111,36 @@ public class Worker extends Thread {
       }
       // Flag to check if thread was interrupted during a wait operation or during a computation
       flag = 1;
+      if (request != null && request.isExpired()) {
+        // The requesting peer no longer waits for the response
+        logger.info("Dropping request that expired in the request queue");
+        lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.QUEUE);
+        lm.getComputationModule().dropExpiredRequest(request);
+        flag = 0;
+        continue;
+      }
       if (request != null) {
+        // The TED snapshot is immutable and shared by all workers
+        TedSnapshot ted = TopologyInformation.getInstance().getSnapshot();
         task =
-            new WorkerTask(lm, request, TopologyInformation.getInstance().getGraph().createCopy());
-        task.run();
+            new WorkerTask(
+                lm,
+                request,
+                ted,
+                pathCache,
+                pool.getRequestCoalescer(),
+                pool.getObjectiveFunctionRegistry());
+        currentTask = task;
+        try {
+          task.run();
+        } finally {
+          currentTask = null;
+        }
+        if (!TopologyInformation.getInstance().isCurrentVersion(task.getTedVersion())) {
+          logger.info(
+              "TED was updated during the computation, result computed on outdated version "
+                  + task.getTedVersion());
+        }
         //				logger.info("Completed processing of request ID " + request.getRequestID());
       }
       if (Thread.currentThread().isInterrupted()) {
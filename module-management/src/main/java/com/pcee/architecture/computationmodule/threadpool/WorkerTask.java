@@ -18,18 +18,26 @@ import com.graph.elements.vertex.VertexElement;
 import com.graph.graphcontroller.Gcontroller;
 import com.graph.path.PathElement;
 import com.graph.path.algorithms.PathComputationAlgorithm;
-import com.graph.path.algorithms.constraints.Constraint;
+import com.graph.path.algorithms.common.CancellationFlag;
+import com.graph.path.algorithms.constraints.impl.MetricBoundConstraint;
 import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
-import com.graph.path.algorithms.impl.MaxBandwidthShortestPathComputationAlgorithm;
-import com.graph.path.algorithms.impl.SimplePathComputationAlgorithm;
+import com.graph.path.algorithms.constraints.multipath.impl.SimpleMultiPathComputationConstraint;
+import com.graph.path.algorithms.multipath.kshortest.impl.YenKShortestPathComputationAlgorithm;
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.computationmodule.cache.CachedPath;
+import com.pcee.architecture.computationmodule.cache.PathCache;
+import com.pcee.architecture.computationmodule.cache.PathCacheKey;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
 import com.pcee.logger.PceeLoggerFactory;
 import com.pcee.protocol.message.PceMessage;
 import com.pcee.protocol.message.PceMessageFactory;
 import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
 import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
 import com.pcee.protocol.message.objectframe.impl.PceExplicitRouteObject;
+import com.pcee.protocol.message.objectframe.impl.PceLoadBalancingObject;
+import com.pcee.protocol.message.objectframe.impl.PceMetricObject;
 import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
 import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.EroSubobjects;
@@ -39,6 +47,8 @@ import com.pcee.protocol.request.PceRequestFrameFactory;
 import com.pcee.protocol.response.PceResponseFrame;
 import com.pcee.protocol.response.PceResponseFrameFactory;
 import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
 import org.slf4j.Logger;
 
 /**
@@ -50,28 +60,74 @@ import org.slf4j.Logger;
 public class WorkerTask implements Runnable {
 
   private Logger logger = PceeLoggerFactory.getLogger("WorkerTask");
+  // Algorithm computing the candidate paths of load balancing requests, shared by all tasks
+  private static final YenKShortestPathComputationAlgorithm loadBalancingPaths =
+      new YenKShortestPathComputationAlgorithm();
   // Request to be processed
   private PceMessage request;
   // Graph used for computation of the request
   private Gcontroller graph;
+  // Version of the TED the graph belongs to
+  private long tedVersion;
+  // Cache of the computed paths
+  private PathCache pathCache;
+  // Coalescing of identical requests computed concurrently
+  private RequestCoalescer requestCoalescer;
+  // Algorithms of the objective functions, shared by all tasks
+  private ObjectiveFunctionRegistry objectiveFunctions;
+  // Decoded request, set when the task is run
+  private PceRequestFrame requestFrame;
+  // Flag set when the session of the request is closed, also holds the deadline of the request
+  private final CancellationFlag cancellationFlag = new CancellationFlag();
   // Module management object to send the response to the session layer
   private ModuleManagement lm;
 
-  /** Default Constructor */
-  public WorkerTask(ModuleManagement layerManagement, PceMessage request, Gcontroller graph) {
+  /** Default Constructor, the graph of the TED snapshot is read without creating a copy */
+  public WorkerTask(
+      ModuleManagement layerManagement,
+      PceMessage request,
+      TedSnapshot ted,
+      PathCache pathCache,
+      RequestCoalescer requestCoalescer,
+      ObjectiveFunctionRegistry objectiveFunctions) {
     lm = layerManagement;
     this.request = request;
-    this.graph = graph;
+    this.pathCache = pathCache;
+    this.requestCoalescer = requestCoalescer;
+    this.objectiveFunctions = objectiveFunctions;
+    updateSnapshot(ted);
   }
 
-  /** Function to update the graph instance used for computation */
-  public void updateGraph(Gcontroller newGraph) {
-    this.graph = newGraph;
+  /** Function to update the TED snapshot used for computation */
+  public void updateSnapshot(TedSnapshot ted) {
+    this.graph = ted.getGraph();
+    this.tedVersion = ted.getVersion();
+  }
+
+  /** Function to get the version of the TED used for computation */
+  public long getTedVersion() {
+    return tedVersion;
+  }
+
+  /** Function to cancel the task, the request is not answered */
+  public void cancel() {
+    cancellationFlag.cancel();
+  }
+
+  public boolean isCancelled() {
+    return cancellationFlag.isCancelled();
+  }
+
+  /** Function to check if the request of this task was received on the session of a peer */
+  public boolean isFromSession(PceAddress address) {
+    return request != null && RequestScheduler.isFromSession(request, address);
   }
 
   /** Function to implement the path computation operations */
   public void run() {
-    PceRequestFrame requestFrame = PceRequestFrameFactory.getPathComputationRequestFrame(request);
+    if (isCancelled()) return;
+    cancellationFlag.setDeadline(request.getDeadline());
+    requestFrame = PceRequestFrameFactory.getPathComputationRequestFrame(request);
     logger.info("Starting Processing of Request: " + requestFrame.getRequestID());
     processSingleDomainRequest(requestFrame);
     logger.info("Completed Processing of Request: " + requestFrame.getRequestID());
@@ -83,61 +139,111 @@ public class WorkerTask implements Runnable {
     String sourceID = requestFrame.getSourceAddress().getIPv4Address(false).trim();
     String destID = requestFrame.getDestinationAddress().getIPv4Address(false).trim();
     if (graph.vertexExists(sourceID) && graph.vertexExists(destID)) {
+      // Without a BANDWIDTH object there is no bandwidth to split, a single path is computed
+      if (requestFrame.containsLoadBalancingObject()
+          && requestFrame.containsBandwidthObject()
+          && requestFrame.extractLoadBalancingObject().getMaxLSPDecimalValue() > 1) {
+        processLoadBalancingRequest(sourceID, destID);
+        return;
+      }
       // begin path computation
       // Check if bandwidth objecy exists in the request frame
-      Constraint constr = null;
-      PathComputationAlgorithm algo = null;
+      double bandwidth = 0;
       if (requestFrame.containsBandwidthObject()) {
         logger.info("Request Contains bandwidth Object");
-        constr =
-            new SimplePathComputationConstraint(
-                graph.getVertex(sourceID),
-                graph.getVertex(destID),
+        // Requests are computed for the upper bound of their bandwidth bucket
+        bandwidth =
+            pathCache.getBucketBandwidth(
                 requestFrame.extractBandwidthObject().getBandwidthFloatValue());
-        algo = new MaxBandwidthShortestPathComputationAlgorithm();
-      } else {
-        constr =
-            new SimplePathComputationConstraint(graph.getVertex(sourceID), graph.getVertex(destID));
-        algo = new SimplePathComputationAlgorithm();
       }
-      // Start Path Computation
-      PathElement element = algo.computePath(graph, constr);
-      if (element != null) {
-        logger.info("Computed path is " + element.getVertexSequence());
-        // return response
-        ArrayList<EroSubobjects> vertexList = getTraversedVertexes(element.getTraversedVertices());
-
-        // Generate ERO Object
-        PceExplicitRouteObject ERO =
-            PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", vertexList);
-        // atleast one path was computed
-        PceRequestParametersObject RP =
-            PceObjectFrameFactory.generatePCEPRequestParametersObject(
-                "1", "0", "0", "0", "0", "1", Integer.toString(requestFrame.getRequestID()));
-
-        PceResponseFrame respFrame =
-            PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
-
-        respFrame.insertExplicitRouteObject(ERO);
-
-        if (requestFrame.containsBandwidthObject()) {
-          PceBandwidthObject bw =
-              PceObjectFrameFactory.generatePCEPBandwidthObject(
-                  "1", "0", (float) element.getPathParams().getAvailableCapacity());
-          respFrame.insertBandwidthObject(bw);
+      SimplePathComputationConstraint constr =
+          createConstraint(graph.getVertex(sourceID), graph.getVertex(destID), bandwidth);
+      // The algorithm is selected by the objective function of the request, bounded metrics
+      // are only supported by the metric bound algorithms
+      String metricBounds = "";
+      ObjectiveFunctionRegistry.ObjectiveFunction objectiveFunction;
+      if (constr instanceof MetricBoundConstraint) {
+        metricBounds = ((MetricBoundConstraint) constr).getBoundsDescription();
+        logger.info("Request Contains bounded metrics " + metricBounds);
+        objectiveFunction = objectiveFunctions.getBoundedObjectiveFunction(requestFrame);
+        if (objectiveFunction == null) {
+          returnUnsupportedBoundsMessage();
+          return;
         }
-
-        PceMessage mesg = PceMessageFactory.generateMessage(respFrame);
-        mesg.setAddress(request.getAddress());
-
-        logger.info("Path found in the domain. Sending back to client");
-        // Send response message from the computation layer to the session layer
-        lm.getComputationModule().sendMessage(mesg, ModuleEnum.SESSION_MODULE);
-
       } else {
-        // No path Found in the source domain return no path Object
-        returnNoPathMessage(requestFrame.getRequestID());
+        objectiveFunction = objectiveFunctions.getObjectiveFunction(requestFrame);
+      }
+      PathComputationAlgorithm algo = objectiveFunction.getAlgorithm();
+      PathCacheKey key =
+          new PathCacheKey(
+              sourceID,
+              destID,
+              bandwidth,
+              objectiveFunction.getCode(),
+              algo.getClass().getSimpleName(),
+              metricBounds,
+              objectiveFunction.isCapacityDependent());
+      CachedPath path = pathCache.get(key);
+      // Set if the deadline of the request passed before a path was found
+      boolean expired = false;
+      if (path != null) {
+        logger.info(
+            "Cached path is "
+                + path.getVertexIDs()
+                + " computed on TED version "
+                + path.getTedVersion());
+      } else if (!requestCoalescer.join(key, tedVersion, this)) {
+        // The response is sent by the task computing the identical request
+        logger.info(
+            "Request "
+                + requestFrame.getRequestID()
+                + " attached to identical request in progress on TED version "
+                + tedVersion);
+        return;
+      } else {
+        try {
+          constr.setCancellationFlag(cancellationFlag);
+          // Start Path Computation
+          long startTime = System.nanoTime();
+          PathElement element = algo.computePath(graph, constr);
+          objectiveFunction.recordLatency(System.nanoTime() - startTime);
+          expired = element == null && cancellationFlag.isExpired();
+          if (element != null && !isCancelled()) {
+            logger.info(
+                "Computed path is "
+                    + element.getVertexSequence()
+                    + " on TED version "
+                    + tedVersion);
+            path = new CachedPath(element, tedVersion);
+            pathCache.put(key, path);
+          }
+        } finally {
+          // Answer the identical requests attached during the computation
+          for (WorkerTask follower : requestCoalescer.complete(key, tedVersion)) {
+            if (follower.isCancelled()) {
+              continue;
+            } else if (follower.request.isExpired()) {
+              follower.expire();
+            } else if (isCancelled() || expired) {
+              // The computation was aborted, the attached request is scheduled again to be
+              // computed on its own
+              lm.getComputationModule().requeueRequest(follower.request);
+            } else {
+              follower.sendResponse(path);
+            }
+          }
+        }
+      }
+      if (isCancelled()) {
+        logger.info(
+            "Request " + requestFrame.getRequestID() + " cancelled, the session was closed");
+        return;
       }
+      if (expired) {
+        expire();
+        return;
+      }
+      sendResponse(path);
 
     } else {
       // Source and/or destination not present in the PCE
@@ -161,35 +267,237 @@ public class WorkerTask implements Runnable {
     }
   }
 
+  /**
+   * Function to compute the paths of a request with LOAD-BALANCING and BANDWIDTH objects (RFC
+   * 5440): at most Max-LSP paths, each carrying at least Min-Bandwidth, that together carry the
+   * requested bandwidth. The candidates are the k shortest paths over the links with Min-Bandwidth
+   * available, k being Max-LSP, and MAX_PATH_COUNT if Max-LSP candidates cannot carry the
+   * bandwidth. The response holds one ERO per path and one BANDWIDTH object per ERO in the same
+   * order, with the bandwidth carried by the path. The paths are neither cached nor coalesced, the
+   * cache only holds single paths.
+   */
+  private void processLoadBalancingRequest(String sourceID, String destID) {
+    PceLoadBalancingObject loadBalancing = requestFrame.extractLoadBalancingObject();
+    int maxPathCount =
+        Math.min(
+            loadBalancing.getMaxLSPDecimalValue(),
+            YenKShortestPathComputationAlgorithm.MAX_PATH_COUNT);
+    double minBandwidth = loadBalancing.getMinBandwidthFloatValue();
+    double bandwidth = requestFrame.extractBandwidthObject().getBandwidthFloatValue();
+    logger.info(
+        "Request Contains load balancing Object, splitting "
+            + bandwidth
+            + " over at most "
+            + maxPathCount
+            + " paths of at least "
+            + minBandwidth);
+    ArrayList<PathElement> paths = null;
+    double[] amounts = null;
+    int candidateCount = maxPathCount;
+    while (amounts == null) {
+      SimpleMultiPathComputationConstraint constr =
+          new SimpleMultiPathComputationConstraint(
+              graph.getVertex(sourceID), graph.getVertex(destID), candidateCount, minBandwidth);
+      constr.setCancellationFlag(cancellationFlag);
+      paths = loadBalancingPaths.computePath(graph, constr);
+      if (isCancelled()) {
+        logger.info(
+            "Request " + requestFrame.getRequestID() + " cancelled, the session was closed");
+        return;
+      }
+      if (paths == null) {
+        if (cancellationFlag.isExpired()) {
+          expire();
+        } else {
+          returnNoPathMessage(requestFrame.getRequestID());
+        }
+        return;
+      }
+      amounts = LoadBalancingSplit.split(paths, maxPathCount, bandwidth, minBandwidth);
+      // Further candidates are only computed if the search was not exhausted
+      if (amounts == null
+          && (paths.size() < candidateCount
+              || candidateCount == YenKShortestPathComputationAlgorithm.MAX_PATH_COUNT)) {
+        logger.info("Bandwidth of request " + requestFrame.getRequestID() + " cannot be split");
+        returnNoPathMessage(requestFrame.getRequestID());
+        return;
+      }
+      candidateCount = YenKShortestPathComputationAlgorithm.MAX_PATH_COUNT;
+    }
+
+    LinkedList<PceExplicitRouteObject> EROList = new LinkedList<PceExplicitRouteObject>();
+    LinkedList<PceBandwidthObject> bwList = new LinkedList<PceBandwidthObject>();
+    for (int i = 0; i < paths.size(); i++) {
+      if (amounts[i] == 0) continue;
+      PathElement path = paths.get(i);
+      logger.info("Computed path is " + path.getVertexSequence() + " carrying " + amounts[i]);
+      ArrayList<String> vertexIDs = new ArrayList<String>();
+      for (VertexElement vertex : path.getTraversedVertices()) {
+        vertexIDs.add(vertex.getVertexID());
+      }
+      EROList.add(
+          PceObjectFrameFactory.generatePCEPExplicitRouteObject(
+              "1", "0", getTraversedVertexes(vertexIDs)));
+      bwList.add(PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", (float) amounts[i]));
+    }
+    PceRequestParametersObject RP =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestFrame.getRequestID()));
+    PceResponseFrame respFrame = PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
+    respFrame.insertExplicitRouteObjectList(EROList);
+    respFrame.insertBandwidthObjectList(bwList);
+
+    PceMessage mesg = PceMessageFactory.generateMessage(respFrame);
+    mesg.setAddress(request.getAddress());
+    logger.info("Sending " + EROList.size() + " load balanced paths back to client");
+    lm.getComputationModule().sendMessage(mesg, ModuleEnum.SESSION_MODULE);
+  }
+
+  /**
+   * Function to create the constraint of the request. The bounded METRIC objects (B flag set) are
+   * translated into a metric bound constraint, the IGP and TE metrics both bound the link weights
+   * of the TED. Bounds on other metrics are ignored.
+   */
+  private SimplePathComputationConstraint createConstraint(
+      VertexElement source, VertexElement destination, double bandwidth) {
+    MetricBoundConstraint constraint = new MetricBoundConstraint(source, destination, bandwidth);
+    if (requestFrame.containsMetricObjectList()) {
+      for (PceMetricObject metric : requestFrame.extractMetricObjectList()) {
+        if (metric.getBFlagDecimalValue() == 0) continue;
+        float bound = metric.getMetricValueFloatValue();
+        switch (metric.getTypeDecimalValue()) {
+          case PceMetricObject.METRIC_TYPE_IGP:
+          case PceMetricObject.METRIC_TYPE_TE:
+            constraint.setMaxCost(Math.min(constraint.getMaxCost(), bound));
+            break;
+          case PceMetricObject.METRIC_TYPE_HOP_COUNT:
+            constraint.setMaxHops(Math.min(constraint.getMaxHops(), (int) bound));
+            break;
+          case PceMetricObject.METRIC_TYPE_PATH_DELAY:
+            constraint.setMaxDelay(Math.min(constraint.getMaxDelay(), bound));
+            break;
+          default:
+            logger.info("Bound on metric type " + metric.getTypeDecimalValue() + " not supported");
+        }
+      }
+    }
+    if (constraint.isBounded()) return constraint;
+    return new SimplePathComputationConstraint(source, destination, bandwidth);
+  }
+
+  /** Function to answer the request of this task once its deadline passed during the computation */
+  private void expire() {
+    logger.info("Request " + requestFrame.getRequestID() + " expired during the computation");
+    lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.COMPUTATION);
+    returnTimeoutMessage(requestFrame.getRequestID());
+  }
+
+  /**
+   * Function to send the response to the request of this task, a no path object is sent if no path
+   * was found
+   *
+   * @param path
+   */
+  protected void sendResponse(CachedPath path) {
+    if (path != null) {
+      // return response
+      ArrayList<EroSubobjects> vertexList = getTraversedVertexes(path.getVertexIDs());
+
+      // Generate ERO Object
+      PceExplicitRouteObject ERO =
+          PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", vertexList);
+      // atleast one path was computed
+      PceRequestParametersObject RP =
+          PceObjectFrameFactory.generatePCEPRequestParametersObject(
+              "1", "0", "0", "0", "0", "1", Integer.toString(requestFrame.getRequestID()));
+
+      PceResponseFrame respFrame = PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
+
+      respFrame.insertExplicitRouteObject(ERO);
+
+      if (requestFrame.containsBandwidthObject()) {
+        PceBandwidthObject bw =
+            PceObjectFrameFactory.generatePCEPBandwidthObject(
+                "1", "0", (float) path.getAvailableCapacity());
+        respFrame.insertBandwidthObject(bw);
+      }
+
+      PceMessage mesg = PceMessageFactory.generateMessage(respFrame);
+      mesg.setAddress(request.getAddress());
+
+      logger.info("Path found in the domain. Sending back to client");
+      // Send response message from the computation layer to the session layer
+      lm.getComputationModule().sendMessage(mesg, ModuleEnum.SESSION_MODULE);
+
+    } else {
+      // No path Found in the source domain return no path Object
+      returnNoPathMessage(requestFrame.getRequestID());
+    }
+  }
+
   /** Function to return the no Path message to the Client */
   protected void returnNoPathMessage(int requestID) {
     // Generate a No path object
+    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
+    returnNoPathMessage(requestID, noPath);
+  }
+
+  /**
+   * Function to return the no Path message to the Client when the objective function of the
+   * request cannot be computed with bounded metrics. The C flag of the NO-PATH object is set and
+   * the bounded METRIC objects of the request are returned as the unsatisfied constraints.
+   */
+  private void returnUnsupportedBoundsMessage() {
+    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 0, "1");
+    LinkedList<PceMetricObject> bounds = new LinkedList<PceMetricObject>();
+    for (PceMetricObject metric : requestFrame.extractMetricObjectList()) {
+      if (metric.getBFlagDecimalValue() == 1) bounds.add(metric);
+    }
+    returnNoPathMessage(requestFrame.getRequestID(), noPath, bounds);
+  }
+
+  /**
+   * Function to return the no Path message to the Client when the deadline of the request passed
+   * during the computation. The NO-PATH-VECTOR TLV reports the PCE as unavailable, RFC 5440 defines
+   * no reason for timeouts.
+   */
+  protected void returnTimeoutMessage(int requestID) {
+    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
+    noPath.setNoPathVectorDecimalValue(PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE);
+    returnNoPathMessage(requestID, noPath);
+  }
+
+  private void returnNoPathMessage(int requestID, PceNoPathObject noPath) {
+    returnNoPathMessage(requestID, noPath, null);
+  }
+
+  private void returnNoPathMessage(
+      int requestID, PceNoPathObject noPath, LinkedList<PceMetricObject> unsatisfiedMetrics) {
     PceRequestParametersObject RP =
         PceObjectFrameFactory.generatePCEPRequestParametersObject(
             "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
-    PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
     PceResponseFrame responseFrame =
         PceResponseFrameFactory.generatePathComputationResponseFrame(RP);
     responseFrame.insertNoPathObject(noPath);
+    if (unsatisfiedMetrics != null) responseFrame.insertMetricObjectList(unsatisfiedMetrics);
     PceMessage mesg = PceMessageFactory.generateMessage(responseFrame);
     mesg.setAddress(request.getAddress());
     lm.getComputationModule().sendMessage(mesg, ModuleEnum.SESSION_MODULE);
   }
 
   /**
-   * Function to get the list of traversed vertices as PCEP addresses from the List of vertices in
-   * the graph. Used to create ERO
+   * Function to get the list of traversed vertices as PCEP addresses from the List of vertex IDs
+   * of a path. Used to create ERO
    *
-   * @param resp
+   * @param vertexIDs
    * @return
    */
-  protected ArrayList<EroSubobjects> getTraversedVertexes(
-      ArrayList<VertexElement> vertexArrayList) {
+  protected ArrayList<EroSubobjects> getTraversedVertexes(List<String> vertexIDs) {
 
     ArrayList<EroSubobjects> traversedVertexesList = new ArrayList<EroSubobjects>();
 
-    for (int i = 0; i < vertexArrayList.size(); i++) {
-      traversedVertexesList.add(new PceAddress(vertexArrayList.get(i).getVertexID(), false));
+    for (int i = 0; i < vertexIDs.size(); i++) {
+      traversedVertexesList.add(new PceAddress(vertexIDs.get(i), false));
     }
     return traversedVertexesList;
   }
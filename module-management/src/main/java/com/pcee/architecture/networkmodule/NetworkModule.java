@@ -15,6 +15,9 @@
 package com.pcee.architecture.networkmodule;
 
 import com.pcee.architecture.Module;
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.protocol.message.PceMessage;
+import java.util.List;
 
 /**
  * Abstract Super class to unify multiple Network Module implementations
@@ -26,4 +29,16 @@ public abstract class NetworkModule implements Module {
   // Abstract class definition used in order to ensure that new functions specific to the layer may
   // be incorporated easily
 
+  /**
+   * Function to receive a batch of messages from another layer. Implementations may override it to
+   * hand the batch over to the writer threads in a single pass
+   *
+   * @param messages
+   * @param sourceLayer
+   */
+  public void receiveMessages(List<PceMessage> messages, ModuleEnum sourceLayer) {
+    for (PceMessage message : messages) {
+      receiveMessage(message, sourceLayer);
+    }
+  }
 }
@@ -17,22 +17,21 @@ package com.pcee.architecture.networkmodule;
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
 import com.pcee.logger.PceeLoggerFactory;
-import com.pcee.protocol.message.PceCommonMessageHeader;
-import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceMessage;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 
 /**
@@ -49,15 +48,14 @@ public class NetworkModuleImpl extends NetworkModule {
   // modules
   private ModuleManagement lm;
 
-  // Java NIO selector object used to monitor incoming connection requests as
-  // well as data read requests
+  // Java NIO selector object used to monitor incoming connection requests
   private Selector selector;
 
   // Thread instance used to operate the Selector
   private Thread selectorthread;
 
   // Boolean flag used by the selector thread for graceful stop
-  private boolean selectorStop = false;
+  private volatile boolean selectorStop = false;
 
   // Port at which the selector threads listens for incoming PCEP connections,
   // default value is 4189
@@ -65,22 +63,55 @@ public class NetworkModuleImpl extends NetworkModule {
 
   // Map to store correlation between the session ID and the corresponding
   // Selection Key
-  private HashMap<String, SelectionKey> addressToSelectionKeyHashMap =
-      new HashMap<String, SelectionKey>();
+  private ConcurrentHashMap<String, SelectionKey> addressToSelectionKeyHashMap =
+      new ConcurrentHashMap<String, SelectionKey>();
 
   // Map to store correlation between the session ID and the corresponding
   // socket channel
-  private HashMap<String, SocketChannel> addressToSocketChannelHashMap =
-      new HashMap<String, SocketChannel>();
+  private ConcurrentHashMap<String, SocketChannel> addressToSocketChannelHashMap =
+      new ConcurrentHashMap<String, SocketChannel>();
 
-  // Map based buffer to store partial messages received by the selector
-  // during a read cycle
-  private HashMap<String, String> partialMessageHashMap = new HashMap<String, String>();
+  // Size of the pooled direct buffers used to read from the sockets
+  private static final int READ_BUFFER_SIZE = 16 * 1024;
 
-  // Queues of Socket Channels for registering connections gracefully in the
-  // socket layer
-  private LinkedBlockingQueue<SocketChannel> registerConnQueue =
-      new LinkedBlockingQueue<SocketChannel>();
+  // Maximum number of idle read buffers kept for new connections
+  private static final int MAX_POOLED_READ_BUFFERS = 64;
+
+  // Pool of read buffers shared by the frame decoders of all connections
+  private PceBufferPool readBufferPool =
+      new PceBufferPool(READ_BUFFER_SIZE, MAX_POOLED_READ_BUFFERS);
+
+  // Maximum length of a received message, larger messages cause the connection to be closed
+  private int maxMessageLength = PceFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+
+  // Default number of bytes queued for a connection from which back-pressure
+  // is reported to the session module
+  public static final long DEFAULT_OUTBOUND_HIGH_WATER_MARK = 1024 * 1024;
+
+  // Number of queued bytes from which a connection is back-pressured
+  private long outboundHighWaterMark = DEFAULT_OUTBOUND_HIGH_WATER_MARK;
+
+  // Map to store the queue of messages waiting to be written to every
+  // connection. Filled by the module threads and drained by the reactor
+  // threads
+  private ConcurrentHashMap<String, PceOutboundQueue> outboundQueueHashMap =
+      new ConcurrentHashMap<String, PceOutboundQueue>();
+
+  // Default number of reactor threads reading and writing the connections
+  public static final int DEFAULT_NETWORK_THREADS = 1;
+
+  // Reactors serving the connections, every connection is assigned to one
+  // reactor for its whole lifetime
+  private PceNetworkReactor[] reactors;
+
+  // Map to store correlation between the session ID and the reactor serving
+  // the connection
+  private ConcurrentHashMap<String, PceNetworkReactor> addressToReactorHashMap =
+      new ConcurrentHashMap<String, PceNetworkReactor>();
+
+  // Index of the reactor from which the search for the least loaded reactor
+  // starts, rotated so that ties are assigned round-robin
+  private AtomicInteger nextReactorIndex = new AtomicInteger();
 
   // Boolean flag to indicate if the Network Module is used on the server side
   // (indicating if it should listen for new connection requests
@@ -88,6 +119,9 @@ public class NetworkModuleImpl extends NetworkModule {
 
   private ServerSocketChannel serverSocketChannel;
 
+  // Number of reactor threads
+  private int networkThreads = DEFAULT_NETWORK_THREADS;
+
   /**
    * Default Constructor
    *
@@ -113,6 +147,45 @@ public class NetworkModuleImpl extends NetworkModule {
     this.start();
   }
 
+  public NetworkModuleImpl(
+      boolean isServer,
+      ModuleManagement layerManagement,
+      int port,
+      int maxMessageLength,
+      long outboundHighWaterMark) {
+    logger.debug(
+        "Entering: NetworkModuleImpl(boolean isServer, ModuleManagement layerManagement, int port, int maxMessageLength, long outboundHighWaterMark)");
+
+    lm = layerManagement;
+    this.port = port;
+    this.isServer = isServer;
+    this.maxMessageLength = maxMessageLength;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.start();
+  }
+
+  public NetworkModuleImpl(
+      boolean isServer,
+      ModuleManagement layerManagement,
+      int port,
+      int maxMessageLength,
+      long outboundHighWaterMark,
+      int networkThreads) {
+    logger.debug(
+        "Entering: NetworkModuleImpl(boolean isServer, ModuleManagement layerManagement, int port, int maxMessageLength, long outboundHighWaterMark, int networkThreads)");
+
+    if (networkThreads < 1) {
+      throw new IllegalArgumentException("Invalid number of network threads: " + networkThreads);
+    }
+    lm = layerManagement;
+    this.port = port;
+    this.isServer = isServer;
+    this.maxMessageLength = maxMessageLength;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.networkThreads = networkThreads;
+    this.start();
+  }
+
   public void stop(boolean graceful) {
     logger.debug("Entering: stop(" + (graceful ? "true" : "false") + ")");
     if (graceful) {
@@ -121,12 +194,16 @@ public class NetworkModuleImpl extends NetworkModule {
       // Clear mappings
       addressToSelectionKeyHashMap.clear();
       addressToSocketChannelHashMap.clear();
-      partialMessageHashMap.clear();
-      registerConnQueue.clear();
-      // Close the selector
-      selectorStop = true;
-      selector.wakeup();
+      addressToReactorHashMap.clear();
+      outboundQueueHashMap.clear();
+      // Stop the reactors
+      for (PceNetworkReactor reactor : reactors) {
+        reactor.stop();
+      }
       if (isServer) {
+        // Close the selector accepting connections
+        selectorStop = true;
+        selector.wakeup();
         try {
           serverSocketChannel.socket().close();
         } catch (IOException e) {
@@ -140,26 +217,50 @@ public class NetworkModuleImpl extends NetworkModule {
   public void start() {
     logger.debug("Entering: start()");
 
-    initSelectorParams();
-    startSelectorThread();
+    initReactors();
+    if (isServer) {
+      initSelectorParams();
+      startSelectorThread();
+    }
   }
 
   public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
     logger.debug("Entering: receiveMessage(PceMessage message, ModuleEnum sourceLayer)");
-    logger.debug("| message: " + message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: " + message.contentInformation());
+    }
     logger.debug("| sourceLayer: " + sourceLayer);
 
-    writeSocket(message);
+    writeSocket(message, null);
+  }
+
+  @Override
+  public void receiveMessages(List<PceMessage> messages, ModuleEnum sourceLayer) {
+    logger.debug("Entering: receiveMessages(List<PceMessage> messages, ModuleEnum sourceLayer)");
+    logger.debug("| messages: " + messages.size() + ", sourceLayer: " + sourceLayer);
+
+    // Every reactor is woken up once for the whole batch
+    Set<PceNetworkReactor> reactorsToWakeUp = new HashSet<PceNetworkReactor>();
+    for (PceMessage message : messages) {
+      writeSocket(message, reactorsToWakeUp);
+    }
+    for (PceNetworkReactor reactor : reactorsToWakeUp) {
+      reactor.wakeup();
+    }
   }
 
   public void sendMessage(PceMessage message, ModuleEnum targetLayer) {
     logger.debug("Entering: sendMessage(PceMessage message, ModuleEnum targetLayer)");
-    logger.debug("message:" + message.binaryInformation());
-    logger.debug("| message: " + message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("message:" + message.binaryInformation());
+      logger.debug("| message: " + message.contentInformation());
+    }
     logger.debug("| targetLayer: " + targetLayer);
 
     switch (targetLayer) {
       case SESSION_MODULE:
+        // The deadline of a request starts once it is received
+        lm.getRequestDeadlineMonitor().startDeadline(message);
         lm.getSessionModule().receiveMessage(message, ModuleEnum.NETWORK_MODULE);
         break;
       case COMPUTATION_MODULE:
@@ -207,6 +308,8 @@ public class NetworkModuleImpl extends NetworkModule {
 
         // Register SocketChannel first
         insertSocketChannelToHashMap(remoteAddress, socketChannel);
+        insertOutboundQueueToHashMap(remoteAddress);
+        PceNetworkReactor reactor = assignReactor(remoteAddress);
 
         // This step intimates the state machine that connection is
         // established. State Machine can then send out The first OPEN
@@ -216,8 +319,7 @@ public class NetworkModuleImpl extends NetworkModule {
         // Socket is registered with the selector only after state
         // machine is initialized so that an OPEN message is not
         // received before an OPEN message has been sent out
-        registerConnQueue.add(socketChannel);
-        selector.wakeup();
+        reactor.registerConnection(socketChannel);
       }
     } catch (java.net.ConnectException e) {
       logger.error(
@@ -231,24 +333,33 @@ public class NetworkModuleImpl extends NetworkModule {
     logger.debug("Entering: closeConnection(Address address)");
     logger.debug("| address: " + address.getIPv4Address());
 
-    SelectionKey key = getSelectionKeyFromHashMap(address);
-    if (key != null) {
-      SocketChannel socketChannel = (SocketChannel) key.channel();
+    // Remove the mappings from the different Map structures, so that no
+    // new message is queued for the connection
+    SocketChannel socketChannel = getSocketChannelFromHashMap(address);
+    PceOutboundQueue outboundQueue = removeOutboundQueue(address);
+    PceNetworkReactor reactor = addressToReactorHashMap.remove(address.getIPv4Address());
+    removeSelectionKey(address);
+    removeSocketChannel(address);
+
+    if (outboundQueue != null) {
+      outboundQueue.markClosing();
+    }
+    if (reactor != null) {
+      // The frame decoder is released and the socket channel is closed by
+      // the reactor thread, once the messages queued before the close, e.g.
+      // a CLOSE or a PCErr, have been written
+      reactor.releaseConnection(address);
       if (socketChannel != null) {
-        try {
-          // close the socket channel
-          socketChannel.close();
-          // cancel the key with the selector
-          key.cancel();
-        } catch (IOException e) {
-          logger.debug("| IOException in closing socket ");
-        }
+        reactor.closeConnection(socketChannel, outboundQueue);
+      }
+    } else if (socketChannel != null) {
+      try {
+        // close the socket channel
+        socketChannel.close();
+      } catch (IOException e) {
+        logger.debug("| IOException in closing socket ");
       }
     }
-    // Remove the mappings from the different Map structures
-    removePartialMessageFromHashMap(address);
-    removeSelectionKey(address);
-    removeSocketChannel(address);
   }
 
   private void startSelectorThread() {
@@ -263,7 +374,7 @@ public class NetworkModuleImpl extends NetworkModule {
             while (!selectorStop) {
               try {
 
-                logger.info("| Listening for Events");
+                logger.info("| Listening for Connections");
                 selector.select();
 
                 // Processing Events received from the selector
@@ -283,31 +394,10 @@ public class NetworkModuleImpl extends NetworkModule {
                         // Connection
                         connectionReceived(socketChannel);
                       }
-
-                    } else if (key.isReadable()) {
-
-                      if (((SocketChannel) key.channel()).socket().isClosed() == false) {
-                        readSocket(key);
-                      } else key.cancel();
                     }
                   }
                 }
 
-                // Register new sockets into the selector
-                while (registerConnQueue.size() != 0) {
-                  logger.info("Registering new Connection");
-                  SocketChannel socketChannel = registerConnQueue.take();
-                  // Retreiving SelectionKey associated with socket
-                  // channel
-                  SelectionKey key = socketChannel.register(selector, SelectionKey.OP_READ);
-                  // Register the socket channel in the hash map
-                  PceAddress address =
-                      new PceAddress(
-                          socketChannel.socket().getInetAddress().getHostAddress().trim(),
-                          socketChannel.socket().getPort());
-                  insertSelectionKeyToHashMap(address, key);
-                }
-
                 // If selector is scheduled for stopping, close the
                 // selector and terminate the thread
                 if (selectorStop) {
@@ -318,9 +408,6 @@ public class NetworkModuleImpl extends NetworkModule {
               } catch (IOException e) {
                 logger.info("IOException with the selector");
                 e.printStackTrace();
-              } catch (InterruptedException e) {
-                logger.info(
-                    "Thread Interrupted when reading new connections from the register connection queue");
               }
             }
           }
@@ -329,9 +416,26 @@ public class NetworkModuleImpl extends NetworkModule {
     selectorthread.start();
   }
 
+  /** Function to create and start the reactors serving the connections */
+  private void initReactors() {
+    logger.debug("Entering: initReactors()");
+    logger.debug("| networkThreads: " + networkThreads);
+
+    reactors = new PceNetworkReactor[networkThreads];
+    try {
+      for (int i = 0; i < networkThreads; i++) {
+        reactors[i] =
+            new PceNetworkReactor(
+                this, lm, "SelectorThread-NetworkReader" + i, readBufferPool, maxMessageLength);
+        reactors[i].start();
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
   /**
-   * Function to initialize the selector, and if server, start a serversocketchannel to recieve
-   * connections
+   * Function to initialize the selector and start a serversocketchannel to recieve connections
    */
   private void initSelectorParams() {
     logger.debug("Entering: initSelectorParams()");
@@ -340,18 +444,16 @@ public class NetworkModuleImpl extends NetworkModule {
     try {
       selector = Selector.open();
 
-      if (isServer) {
-        serverSocketChannel = ServerSocketChannel.open();
-        try {
-          serverSocketChannel.socket().bind(new InetSocketAddress(port));
-        } catch (java.net.BindException e) {
-          logger.error(
-              "The PCEP Port is Already in use by another application. Terminating Server Instance");
-          System.exit(-1);
-        }
-        serverSocketChannel.configureBlocking(false);
-        serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+      serverSocketChannel = ServerSocketChannel.open();
+      try {
+        serverSocketChannel.socket().bind(new InetSocketAddress(port));
+      } catch (java.net.BindException e) {
+        logger.error(
+            "The PCEP Port is Already in use by another application. Terminating Server Instance");
+        System.exit(-1);
       }
+      serverSocketChannel.configureBlocking(false);
+      serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
     } catch (IOException e) {
       e.printStackTrace();
     }
@@ -371,19 +473,20 @@ public class NetworkModuleImpl extends NetworkModule {
     int port = socketChannel.socket().getPort();
     PceAddress address = new PceAddress(addressString, port);
 
-    // Check if a selection key is already registered
-    if (getSelectionKeyFromHashMap(address) == null) {
+    // Check if a connection is already registered
+    if (getSocketChannelFromHashMap(address) == null) {
       // Configure Socket Properties
       socketChannel.configureBlocking(false);
       insertSocketChannelToHashMap(address, socketChannel);
+      insertOutboundQueueToHashMap(address);
+      PceNetworkReactor reactor = assignReactor(address);
 
       // if the server is receiving a connection then the remote peer is a
       // client
       lm.getSessionModule().registerConnection(address, true, false, false);
 
-      logger.info("New Connection Accepted, registering with selector");
-      SelectionKey key = socketChannel.register(selector, SelectionKey.OP_READ);
-      insertSelectionKeyToHashMap(address, key);
+      logger.info("New Connection Accepted, registering with " + reactor.getName());
+      reactor.registerConnection(socketChannel);
 
     } else {
       logger.info(
@@ -394,192 +497,56 @@ public class NetworkModuleImpl extends NetworkModule {
     }
   }
 
-  private void readSocket(SelectionKey key) {
-    logger.debug("Entering: readSocket(SelectionKey key)");
-    logger.debug("| key: " + key.toString());
-
-    ByteBuffer messageBuffer = ByteBuffer.allocate(2000);
-
-    SocketChannel inputSocketChannel = (SocketChannel) key.channel();
-    // System.out.println("Reading Data From remote address:" +
-    // inputSocketChannel.socket().getInetAddress().getHostAddress().trim()
-    // + ":" + inputSocketChannel.socket().getPort());
-
-    String addressString = inputSocketChannel.socket().getInetAddress().getHostAddress().trim();
-    int port = inputSocketChannel.socket().getPort();
-    PceAddress address = new PceAddress(addressString, port);
-
-    if (inputSocketChannel.isConnected()) {
-      try {
-        // Appends the initial buffer string to the incoming message
-        // string
-        String messageString = getPartialMessageFromHashMap(address);
-        // Clear the buffer for this string
-        removePartialMessageFromHashMap(address);
-
-        int loopCount = 0;
-        int flag = 0;
-        byte[] receivedMessageByteArray = null;
-        while (true) {
-          // //System.out.println("\t\t\tReading from Input Buffer Queue");
-          messageBuffer.clear();
-          int byteCounter;
-          byteCounter = inputSocketChannel.read(messageBuffer);
-
-          if (byteCounter == -1) {
-            logger.info(
-                "Socket Shut Down Cleanly, Closing Connection for address: "
-                    + address.getIPv4Address());
-            lm.getSessionModule().closeConnection(address);
-            break;
-          }
-
-          if (byteCounter < -1) {
-            // Unknown error
-            logger.info(
-                "Unknown error in socket. Closing Connection from address: "
-                    + address.getIPv4Address());
-            lm.getSessionModule().closeConnection(address);
-            break;
-          }
-
-          if (byteCounter == 0) {
-            // //System.out.println("LoopCount == " + loopCount);
-            if ((loopCount == 0) && (flag == 0)) {
-              flag = 1;
-              continue;
-            } else if ((loopCount == 0) && (flag == 1)) {
-              // Selector in read loop with no data to read,
-              // Closing Connection
-              logger.info(
-                  "Selector in read loop with no data to read, Closing Connection from address: "
-                      + address.getIPv4Address());
-              lm.getSessionModule().closeConnection(address);
-              break;
-            }
-            break;
-          }
-          messageBuffer.flip();
-          receivedMessageByteArray = new byte[byteCounter];
-          messageBuffer.get(receivedMessageByteArray);
-
-          // Append the received string onto the existing buffered
-          // data
-          messageString += PceComputationFactory.byteArrayToRawMessage(receivedMessageByteArray);
-          // //System.out.println("MessageString = " + messageString);
-          loopCount++;
-        }
-
-        String messageStringTrimed = messageString.trim();
-
-        if (messageStringTrimed.length() != 0) {
-          LinkedList<String> messages = parseMultipleMessages(messageStringTrimed, address);
-          Iterator<String> iter = messages.iterator();
-          while (iter.hasNext()) {
-            String temp = iter.next();
-            byte[] messageByteArray = PceComputationFactory.rawMessageToByteArray(temp);
-
-            PceMessage receivedMessage = new PceMessage(messageByteArray);
-            receivedMessage.setAddress(address);
-
-            /*
-             * System.out.println("Received Message type  = " +
-             * receivedMessage.getMessageHeader()
-             * .getTypeDecimalValue());
-             * System.out.println("Received message data " + temp);
-             */ sendMessage(receivedMessage, ModuleEnum.SESSION_MODULE);
-          }
-        }
-      } catch (IOException e) {
-        logger.info(
-            "Error when reading from socket for address "
-                + address.getIPv4Address()
-                + " Closing connection");
-        lm.getSessionModule().closeConnection(address);
-      }
-
-    } else {
-      logger.debug(
-          "| Input Channel Closed for " + address.getIPv4Address() + " Closing connection");
-      lm.getSessionModule().closeConnection(address);
-    }
-  }
-
   /**
-   * Function to check if the incoming string has multiple concatenated messages if one of the
-   * messages is smaller than a full message, adds this message to the insertPartialMessageToHashMap
-   * based buffer
-   *
-   * @param binaryString
-   * @param address
-   * @return LinkedList<String> containing the complete concatenated messages
-   */
-  private LinkedList<String> parseMultipleMessages(String binaryString, PceAddress address) {
-    logger.debug("Entering: parseMultipleMessages(String binaryString, Address address)");
-
-    LinkedList<String> output = new LinkedList<String>();
-    while (binaryString.length() > 0) {
-      if (binaryString.length() >= 32) {
-        String currentHeaderString = binaryString.substring(0, 32);
-        PceCommonMessageHeader messageHeader = new PceCommonMessageHeader(currentHeaderString);
-
-        int bitLength = messageHeader.getLengthDecimalValue() * 8;
-
-        if (binaryString.length() >= bitLength) {
-          String subString = binaryString.substring(0, bitLength);
-          output.add(subString);
-          binaryString = binaryString.substring(bitLength);
-        } else {
-          insertPartialMessageToHashMap(address, binaryString);
-          binaryString = "";
-          break;
-        }
-      } else {
-        insertPartialMessageToHashMap(address, binaryString);
-        binaryString = "";
-        break;
-      }
-    }
-    return output;
-  }
-
-  /**
-   * Function to write a PceMessage to the network
+   * Function to queue a PceMessage for writing to the network. The message is written by the
+   * reactor thread of the connection, so the calling thread never waits for the socket.
    *
    * @param message
+   * @param reactorsToWakeUp reactors to be woken up by the caller after a batch, or null to wake up
+   *     the reactor immediately
    */
-  private void writeSocket(PceMessage message) {
+  private void writeSocket(PceMessage message, Set<PceNetworkReactor> reactorsToWakeUp) {
     logger.debug("Entering: writeSocket(PceMessage message)");
-    logger.debug("| message: " + message.contentInformation());
-    logger.debug("| " + message.binaryInformation());
-    logger.debug("| " + message.toString());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: " + message.contentInformation());
+      logger.debug("| " + message.toString());
+    }
 
     SocketChannel outputSocketChannel = getSocketChannelFromHashMap(message.getAddress());
 
     if (outputSocketChannel != null) {
       if (outputSocketChannel.isConnected() == true) {
+        PceOutboundQueue outboundQueue = getOutboundQueueFromHashMap(message.getAddress());
+        if (outboundQueue == null || outboundQueue.isClosing()) {
+          // The connection is being closed
+          logger.info(
+              "| Dropping message for closed connection " + message.getAddress().getIPv4Address());
+          return;
+        }
 
-        byte[] messageByteArray = message.getMessageByteArray();
         // System.out.println("Sending data to " +
         // message.getAddress().getAddress() + ", Size = " +
         // messageByteArray.length);
-        ByteBuffer messageBuffer = ByteBuffer.allocate(messageByteArray.length);
-        messageBuffer.clear();
-
-        messageBuffer.put(messageByteArray);
-        messageBuffer.flip();
-        while (messageBuffer.hasRemaining()) {
-          try {
-            synchronized (outputSocketChannel) {
-              outputSocketChannel.write(messageBuffer);
-            }
-          } catch (ClosedByInterruptException e) {
-            // System.out.println("Problem is synchronous operation");
-            break;
-          } catch (IOException e) {
-            // System.out.println("Connection Closed Illegally");
-            // lm.getSessionLayer().closeConnection(message.getAddress());
-            break;
+        if (outboundQueue.add(ByteBuffer.wrap(message.getMessageByteArray()))) {
+          logger.info(
+              "Outbound queue for "
+                  + message.getAddress().getIPv4Address()
+                  + " exceeds "
+                  + outboundHighWaterMark
+                  + " bytes");
+          lm.getSessionModule().updateBackPressure(message.getAddress(), true);
+        }
+
+        // Only the first message queued since the last write wakes up the
+        // reactor
+        PceNetworkReactor reactor =
+            addressToReactorHashMap.get(message.getAddress().getIPv4Address());
+        if (reactor != null && outboundQueue.scheduleWrite()) {
+          if (reactorsToWakeUp == null) {
+            reactor.scheduleWrite(message.getAddress());
+          } else {
+            reactor.queueWrite(message.getAddress());
+            reactorsToWakeUp.add(reactor);
           }
         }
       } else {
@@ -609,29 +576,13 @@ public class NetworkModuleImpl extends NetworkModule {
     else return null;
   }
 
-  /**
-   * Function to retrieve a Selection Key from the hash map
-   *
-   * @param address
-   * @return
-   */
-  private SelectionKey getSelectionKeyFromHashMap(PceAddress address) {
-    logger.debug("Entering: getSelectionKey(Address address)");
-
-    logger.info("| Getting SelectionKey for " + address.getIPv4Address());
-    // Check if mapping exists
-    if (addressToSelectionKeyHashMap.containsKey(address.getIPv4Address()))
-      return addressToSelectionKeyHashMap.get(address.getIPv4Address());
-    else return null;
-  }
-
   /**
    * Function to insert a selection key to the hash map
    *
    * @param address
    * @param key
    */
-  private void insertSelectionKeyToHashMap(PceAddress address, SelectionKey key) {
+  void insertSelectionKeyToHashMap(PceAddress address, SelectionKey key) {
     logger.debug("Entering: insertSelectionKeyToHashMap(Address address, SelectionKey key)");
     logger.debug("| address: " + address.getIPv4Address());
 
@@ -677,52 +628,100 @@ public class NetworkModuleImpl extends NetworkModule {
   }
 
   /**
-   * Function to retrieve a partial message string from the hash map based buffer
+   * Function to create the outbound queue of a new connection
    *
    * @param address
-   * @return
    */
-  private String getPartialMessageFromHashMap(PceAddress address) {
-    logger.debug("Entering: getPartialMessageFromHashMap(Address address)");
+  private void insertOutboundQueueToHashMap(PceAddress address) {
+    logger.debug("Entering: insertOutboundQueueToHashMap(Address address)");
     logger.debug("| address: " + address.getIPv4Address());
 
-    logger.info("Getting String for " + address.getIPv4Address());
-    if (partialMessageHashMap.containsKey(address.getIPv4Address())) {
-      return partialMessageHashMap.get(address.getIPv4Address());
-    } else {
-      return "";
-    }
+    outboundQueueHashMap.put(address.getIPv4Address(), new PceOutboundQueue(outboundHighWaterMark));
+  }
+
+  /**
+   * Function to retrieve the outbound queue of a connection
+   *
+   * @param address
+   * @return the queue, or null if the connection is closed
+   */
+  private PceOutboundQueue getOutboundQueueFromHashMap(PceAddress address) {
+    logger.debug("Entering: getOutboundQueueFromHashMap(Address address)");
+    logger.debug("| address: " + address.getIPv4Address());
+
+    return outboundQueueHashMap.get(address.getIPv4Address());
   }
 
   /**
-   * Function to insert a partial message string into the hash map based buffer
+   * Function to remove the outbound queue of a connection, the messages not written yet are still
+   * written by the reactor closing the connection
    *
    * @param address
-   * @param partialMessage
+   * @return the removed queue, or null if the connection has no queue
    */
-  private void insertPartialMessageToHashMap(PceAddress address, String partialMessage) {
-    logger.debug("Entering: insertPartialMessageToHashMap(Address address, String partialMessage)");
+  private PceOutboundQueue removeOutboundQueue(PceAddress address) {
+    logger.debug("Entering: removeOutboundQueue(Address address)");
     logger.debug("| address: " + address.getIPv4Address());
-    logger.debug("| Partial Message: " + partialMessage);
 
-    logger.info("Inserting Partial String for " + address.getIPv4Address());
-    // System.out.println("Inserting Partial String for " +
-    // address.getAddress() + ", Stirng = " + partialMessage);
-    partialMessageHashMap.put(address.getIPv4Address(), partialMessage);
+    return outboundQueueHashMap.remove(address.getIPv4Address());
   }
 
   /**
-   * Function to remove the partial message entry from the hash map based buffer
+   * Function to assign a new connection to the reactor serving the fewest connections. The search
+   * starts at a rotating index, so that reactors with the same load are assigned round-robin.
    *
    * @param address
+   * @return the reactor serving the connection
    */
-  private void removePartialMessageFromHashMap(PceAddress address) {
-    logger.debug("Entring: removePartialMessageFromHashMap(Address address)");
+  private PceNetworkReactor assignReactor(PceAddress address) {
+    logger.debug("Entering: assignReactor(PceAddress address)");
     logger.debug("| address: " + address.getIPv4Address());
 
-    logger.info("Removing Partial Message for " + address.getIPv4Address());
+    int startIndex = Math.floorMod(nextReactorIndex.getAndIncrement(), reactors.length);
+    PceNetworkReactor reactor = reactors[startIndex];
+    for (int i = 1; i < reactors.length; i++) {
+      PceNetworkReactor candidate = reactors[(startIndex + i) % reactors.length];
+      if (candidate.getConnectionCount() < reactor.getConnectionCount()) {
+        reactor = candidate;
+      }
+    }
+    addressToReactorHashMap.put(address.getIPv4Address(), reactor);
+    return reactor;
+  }
+
+  /** Function to get the number of connections served by every reactor */
+  public int[] getReactorConnectionCounts() {
+    int[] connectionCounts = new int[reactors.length];
+    for (int i = 0; i < reactors.length; i++) {
+      connectionCounts[i] = reactors[i].getConnectionCount();
+    }
+    return connectionCounts;
+  }
+
+  /** Function used by the reactors to retrieve the socket channel of a connection */
+  SocketChannel getSocketChannel(PceAddress address) {
+    return addressToSocketChannelHashMap.get(address.getIPv4Address());
+  }
+
+  /** Function used by the reactors to retrieve the selection key of a connection */
+  SelectionKey getSelectionKey(PceAddress address) {
+    return addressToSelectionKeyHashMap.get(address.getIPv4Address());
+  }
 
-    if (partialMessageHashMap.containsKey(address.getIPv4Address()))
-      partialMessageHashMap.remove(address.getIPv4Address());
+  /** Function used by the reactors to retrieve the outbound queue of a connection, if any */
+  PceOutboundQueue getOutboundQueue(PceAddress address) {
+    return outboundQueueHashMap.get(address.getIPv4Address());
+  }
+
+  /**
+   * Function to build the address of the remote peer of a socket channel
+   *
+   * @param socketChannel
+   * @return
+   */
+  static PceAddress getAddress(SocketChannel socketChannel) {
+    return new PceAddress(
+        socketChannel.socket().getInetAddress().getHostAddress().trim(),
+        socketChannel.socket().getPort());
   }
 }
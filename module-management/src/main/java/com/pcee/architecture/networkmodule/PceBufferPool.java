@@ -0,0 +1,88 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.networkmodule;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of equally sized direct buffers used as socket read buffers. Direct buffers are passed to
+ * the socket without the intermediate copy the JDK performs for heap buffers, but are expensive to
+ * allocate, hence they are recycled when a connection is closed.
+ */
+public class PceBufferPool {
+
+  // Size of every buffer handed out by the pool
+  private final int bufferSize;
+
+  // Maximum number of idle buffers kept in the pool
+  private final int maxPooledBuffers;
+
+  // Idle buffers ready to be reused
+  private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+
+  // Number of idle buffers, kept separately as the size of the queue is not constant time
+  private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+  /**
+   * Default Constructor
+   *
+   * @param bufferSize size in bytes of the pooled buffers
+   * @param maxPooledBuffers maximum number of idle buffers retained
+   */
+  public PceBufferPool(int bufferSize, int maxPooledBuffers) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  /** Function to get a cleared buffer, a new one is allocated if the pool is empty */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    pooledBuffers.decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Function to return a buffer to the pool. Buffers that were not allocated by the pool are
+   * discarded.
+   */
+  public void release(ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+      return;
+    }
+    if (pooledBuffers.incrementAndGet() <= maxPooledBuffers) {
+      buffers.offer(buffer);
+    } else {
+      pooledBuffers.decrementAndGet();
+    }
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** Function to get the number of idle buffers currently held by the pool */
+  public int getPooledBufferCount() {
+    return pooledBuffers.get();
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.networkmodule;
+
+import com.pcee.protocol.message.PceByteCodec;
+import com.pcee.protocol.message.PceConstantValues;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Streaming decoder splitting the byte stream of a single PCEP connection into messages using the
+ * length field of the common message header.
+ *
+ * <p>Bytes are accumulated in a buffer taken from a {@link PceBufferPool}. Complete messages are
+ * returned as slices of that buffer, so no data is copied while framing. A slice is only valid
+ * until the next call to {@link #read(ReadableByteChannel)}, which may compact the buffer; callers
+ * that keep a message beyond that point have to copy it. Partial messages stay in the buffer, which
+ * is only enlarged for messages that do not fit into a pooled buffer.
+ *
+ * <p>Instances are not thread safe and are meant to be used by the selector thread only.
+ */
+public class PceFrameDecoder {
+
+  // Largest value of the 16 bit length field of the common message header
+  public static final int DEFAULT_MAX_FRAME_LENGTH = 0xFFFF;
+
+  private static final int HEADER_BYTE_LENGTH = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+
+  // Pool providing the accumulation buffers
+  private final PceBufferPool bufferPool;
+
+  // Messages announcing a larger length are rejected
+  private final int maxFrameLength;
+
+  // Accumulation buffer, bytes between frameStart and the buffer position are not decoded yet
+  private ByteBuffer buffer;
+
+  // Index of the first byte of the next message inside the buffer
+  private int frameStart;
+
+  /**
+   * Default Constructor
+   *
+   * @param bufferPool pool providing the accumulation buffers
+   * @param maxFrameLength maximum accepted message length in bytes
+   */
+  public PceFrameDecoder(PceBufferPool bufferPool, int maxFrameLength) {
+    if (maxFrameLength < HEADER_BYTE_LENGTH) {
+      throw new IllegalArgumentException("Invalid maximum message length: " + maxFrameLength);
+    }
+    this.bufferPool = bufferPool;
+    this.maxFrameLength = maxFrameLength;
+  }
+
+  /**
+   * Function to read the available bytes from the channel into the accumulation buffer. Frames
+   * returned by {@link #nextFrame()} before this call must no longer be used.
+   *
+   * @param channel channel to read from
+   * @return the number of bytes read, or -1 if the channel has reached end-of-stream
+   * @throws IOException if the channel cannot be read or the buffered data is not a valid message
+   */
+  public int read(ReadableByteChannel channel) throws IOException {
+    prepareBuffer();
+    return channel.read(buffer);
+  }
+
+  /**
+   * Function to get the next complete message from the accumulation buffer
+   *
+   * @return a buffer holding exactly one message, or null if no complete message is buffered
+   * @throws IOException if the length of the buffered message is invalid or exceeds the maximum
+   */
+  public ByteBuffer nextFrame() throws IOException {
+    if (getBufferedByteCount() < HEADER_BYTE_LENGTH) {
+      return null;
+    }
+
+    int frameLength = getPendingFrameLength();
+    if (getBufferedByteCount() < frameLength) {
+      return null;
+    }
+
+    ByteBuffer frame = buffer.slice(frameStart, frameLength);
+    frameStart += frameLength;
+    return frame;
+  }
+
+  /** Function to get the number of bytes received but not returned as a message yet */
+  public int getBufferedByteCount() {
+    return buffer == null ? 0 : buffer.position() - frameStart;
+  }
+
+  /** Function to return the accumulation buffer to the pool, buffered bytes are discarded */
+  public void release() {
+    if (buffer != null) {
+      bufferPool.release(buffer);
+      buffer = null;
+    }
+    frameStart = 0;
+  }
+
+  /** Function to read and validate the length of the message starting at frameStart */
+  private int getPendingFrameLength() throws IOException {
+    int frameLength = PceByteCodec.readUnsignedShort(buffer, frameStart + 2);
+    if (frameLength < HEADER_BYTE_LENGTH) {
+      throw new IOException("Invalid PCEP message length " + frameLength);
+    }
+    if (frameLength > maxFrameLength) {
+      throw new IOException(
+          "PCEP message length " + frameLength + " exceeds the maximum of " + maxFrameLength);
+    }
+    return frameLength;
+  }
+
+  /**
+   * Function to make room in the accumulation buffer for at least one more byte and for the whole
+   * pending message, compacting or enlarging the buffer if required
+   */
+  private void prepareBuffer() throws IOException {
+    int buffered = getBufferedByteCount();
+
+    if (buffered == 0) {
+      // Nothing pending, start over at the beginning of a pooled buffer
+      if (buffer == null || buffer.capacity() != bufferPool.getBufferSize()) {
+        release();
+        buffer = bufferPool.acquire();
+      } else {
+        buffer.clear();
+      }
+      frameStart = 0;
+      return;
+    }
+
+    int required = buffered + 1;
+    if (buffered >= HEADER_BYTE_LENGTH) {
+      required = Math.max(required, getPendingFrameLength());
+    }
+    if (buffer.capacity() - frameStart >= required) {
+      return;
+    }
+
+    if (required <= buffer.capacity()) {
+      // Move the pending bytes to the start of the buffer
+      buffer.limit(buffer.position()).position(frameStart);
+      buffer.compact();
+    } else {
+      int capacity = Math.max(required, Math.min(buffer.capacity() * 2, maxFrameLength));
+      ByteBuffer largerBuffer = ByteBuffer.allocateDirect(capacity);
+      largerBuffer.put(buffer.slice(frameStart, buffered));
+      bufferPool.release(buffer);
+      buffer = largerBuffer;
+    }
+    frameStart = 0;
+  }
+}
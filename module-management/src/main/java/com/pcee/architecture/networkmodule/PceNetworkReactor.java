@@ -0,0 +1,580 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.networkmodule;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.logger.PceeLoggerFactory;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+
+/**
+ * Reader selector of the Network Module. Every connection is served by exactly one reactor, which
+ * reads and frames its incoming messages and writes its outbound queue. The Network Module runs
+ * several reactors to spread the connections over multiple threads.
+ */
+public class PceNetworkReactor {
+
+  private static Logger logger = PceeLoggerFactory.getLogger(PceNetworkReactor.class);
+
+  // Time given to a closed connection to write its queued messages before the
+  // socket is closed, in milliseconds
+  static final long CLOSE_TIMEOUT = 5000;
+
+  // Network Module owning the connection maps and the outbound queues
+  private NetworkModuleImpl networkModule;
+
+  // Management Object used to forward communications between the different
+  // modules
+  private ModuleManagement lm;
+
+  // Java NIO selector object used to monitor data read and write requests
+  private Selector selector;
+
+  // Thread instance used to operate the Selector
+  private Thread reactorThread;
+
+  // Name of the reactor thread
+  private String name;
+
+  // Boolean flag used by the reactor thread for graceful stop
+  private volatile boolean reactorStop = false;
+
+  // Number of connections currently assigned to this reactor
+  private AtomicInteger connectionCount = new AtomicInteger();
+
+  // Pool of read buffers shared by the frame decoders of all reactors
+  private PceBufferPool readBufferPool;
+
+  // Maximum length of a received message, larger messages cause the connection to be closed
+  private int maxMessageLength;
+
+  // Map to store the frame decoder of every connection, the decoders buffer
+  // partial messages received by the selector during a read cycle. Only
+  // accessed by the reactor thread
+  private HashMap<String, PceFrameDecoder> frameDecoderHashMap =
+      new HashMap<String, PceFrameDecoder>();
+
+  // Queues of Socket Channels for registering connections gracefully in the
+  // socket layer
+  private LinkedBlockingQueue<SocketChannel> registerConnQueue =
+      new LinkedBlockingQueue<SocketChannel>();
+
+  // Queue of frame decoders of closed connections, released by the reactor
+  // thread so that a buffer is never returned to the pool while in use
+  private LinkedBlockingQueue<PceAddress> releaseDecoderQueue =
+      new LinkedBlockingQueue<PceAddress>();
+
+  // Queue of connections with newly queued messages, the reactor thread
+  // starts writing them and registers OP_WRITE if the socket is full
+  private LinkedBlockingQueue<PceAddress> pendingWriteQueue = new LinkedBlockingQueue<PceAddress>();
+
+  // Queue of connections closed by the session module, the reactor thread
+  // writes their remaining messages before closing the sockets
+  private LinkedBlockingQueue<SocketChannel> closeConnQueue =
+      new LinkedBlockingQueue<SocketChannel>();
+
+  // Outbound queues of the connections in closeConnQueue
+  private ConcurrentHashMap<SocketChannel, PceOutboundQueue> closingOutboundQueues =
+      new ConcurrentHashMap<SocketChannel, PceOutboundQueue>();
+
+  // Deadlines of the closed connections still writing their queued messages,
+  // the outbound queue is attached to the selection key. Only accessed by the
+  // reactor thread
+  private HashMap<SelectionKey, Long> closeDeadlineHashMap = new HashMap<SelectionKey, Long>();
+
+  /**
+   * Default Constructor
+   *
+   * @param networkModule
+   * @param layerManagement
+   * @param name name of the reactor thread
+   * @param readBufferPool
+   * @param maxMessageLength
+   * @throws IOException if the selector cannot be opened
+   */
+  public PceNetworkReactor(
+      NetworkModuleImpl networkModule,
+      ModuleManagement layerManagement,
+      String name,
+      PceBufferPool readBufferPool,
+      int maxMessageLength)
+      throws IOException {
+    logger.debug("Entering: PceNetworkReactor(String name)");
+    logger.debug("| name: " + name);
+
+    this.networkModule = networkModule;
+    this.lm = layerManagement;
+    this.name = name;
+    this.readBufferPool = readBufferPool;
+    this.maxMessageLength = maxMessageLength;
+    this.selector = Selector.open();
+  }
+
+  public void start() {
+    logger.debug("Entering: start()");
+
+    reactorThread =
+        new Thread() {
+          public void run() {
+            while (!reactorStop) {
+              try {
+                // Closed connections are checked for their deadline while
+                // writing their queued messages
+                selector.select(closeDeadlineHashMap.isEmpty() ? 0 : CLOSE_TIMEOUT);
+                processSelectedKeys();
+                processQueues();
+                closeExpiredConnections();
+
+                // If selector is scheduled for stopping, close the
+                // selector and terminate the thread
+                if (reactorStop) {
+                  logger.info("Closing the Selector of " + name);
+                  selector.close();
+                  break;
+                }
+              } catch (IOException e) {
+                logger.info("IOException with the selector of " + name);
+                e.printStackTrace();
+              } catch (InterruptedException e) {
+                logger.info("Thread Interrupted when reading from the reactor queues");
+              }
+            }
+          }
+        };
+    reactorThread.setName(name);
+    reactorThread.start();
+  }
+
+  public void stop() {
+    logger.debug("Entering: stop()");
+
+    frameDecoderHashMap.clear();
+    registerConnQueue.clear();
+    releaseDecoderQueue.clear();
+    pendingWriteQueue.clear();
+    closeConnQueue.clear();
+    closingOutboundQueues.clear();
+    reactorStop = true;
+    selector.wakeup();
+  }
+
+  /**
+   * Function to assign a connected, non-blocking socket channel to this reactor
+   *
+   * @param socketChannel
+   */
+  public void registerConnection(SocketChannel socketChannel) {
+    logger.debug("Entering: registerConnection(SocketChannel socketChannel)");
+
+    connectionCount.incrementAndGet();
+    registerConnQueue.add(socketChannel);
+    selector.wakeup();
+  }
+
+  /**
+   * Function to release the resources of a closed connection
+   *
+   * @param address
+   */
+  public void releaseConnection(PceAddress address) {
+    logger.debug("Entering: releaseConnection(PceAddress address)");
+    logger.debug("| address: " + address.getIPv4Address());
+
+    connectionCount.decrementAndGet();
+    releaseDecoderQueue.add(address);
+    selector.wakeup();
+  }
+
+  /**
+   * Function to close a connection once its queued messages have been written, the socket is
+   * closed by the reactor thread
+   *
+   * @param socketChannel
+   * @param outboundQueue queue of the messages still to be written, null if there are none
+   */
+  public void closeConnection(SocketChannel socketChannel, PceOutboundQueue outboundQueue) {
+    logger.debug(
+        "Entering: closeConnection(SocketChannel socketChannel, PceOutboundQueue outboundQueue)");
+
+    if (outboundQueue != null) {
+      closingOutboundQueues.put(socketChannel, outboundQueue);
+    }
+    closeConnQueue.add(socketChannel);
+    selector.wakeup();
+  }
+
+  /**
+   * Function to request the reactor thread to write the outbound queue of a connection
+   *
+   * @param address
+   */
+  public void scheduleWrite(PceAddress address) {
+    pendingWriteQueue.add(address);
+    selector.wakeup();
+  }
+
+  /**
+   * Function to queue a write without waking up the reactor thread, used for batches of messages
+   * followed by a single call to {@link #wakeup()}
+   *
+   * @param address
+   */
+  public void queueWrite(PceAddress address) {
+    pendingWriteQueue.add(address);
+  }
+
+  /** Function to wake up the reactor thread to write the queued connections */
+  public void wakeup() {
+    selector.wakeup();
+  }
+
+  /** Function to get the number of connections served by this reactor */
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Function to process the read and write events of the registered connections */
+  private void processSelectedKeys() {
+    Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+    while (keyIterator.hasNext()) {
+
+      SelectionKey key = keyIterator.next();
+      keyIterator.remove();
+
+      if (key.isValid() && key.attachment() != null) {
+        // Closed connection writing its remaining messages
+        if (key.isWritable()) {
+          flushClosingConnection(key);
+        }
+      } else if (key.isValid()) {
+        if (key.isReadable()) {
+          if (((SocketChannel) key.channel()).socket().isClosed() == false) {
+            readSocket(key);
+          } else key.cancel();
+        }
+        // The key may have been cancelled while reading
+        if (key.isValid() && key.isWritable()) {
+          flushOutboundQueue(NetworkModuleImpl.getAddress((SocketChannel) key.channel()), key);
+        }
+      }
+    }
+  }
+
+  /** Function to process the requests queued by other threads */
+  private void processQueues() throws IOException, InterruptedException {
+    // Register new sockets into the selector
+    while (registerConnQueue.size() != 0) {
+      logger.info("Registering new Connection with " + name);
+      SocketChannel socketChannel = registerConnQueue.take();
+      if (!socketChannel.isOpen()) {
+        // Connection closed before it was registered
+        continue;
+      }
+      PceAddress address = NetworkModuleImpl.getAddress(socketChannel);
+      if (networkModule.getSocketChannel(address) != socketChannel) {
+        // Connection closed before it was registered, the socket is closed
+        // with the queued close request
+        continue;
+      }
+      // Retreiving SelectionKey associated with socket channel
+      SelectionKey key = socketChannel.register(selector, SelectionKey.OP_READ);
+      networkModule.insertSelectionKeyToHashMap(address, key);
+      // Messages sent before the registration may still be waiting for
+      // the socket
+      PceOutboundQueue outboundQueue = networkModule.getOutboundQueue(address);
+      if (outboundQueue != null && !outboundQueue.isEmpty()) {
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+      }
+    }
+
+    // Release the frame decoders of closed connections
+    while (releaseDecoderQueue.size() != 0) {
+      removeFrameDecoderFromHashMap(releaseDecoderQueue.take());
+    }
+
+    // Start writing newly queued messages
+    while (pendingWriteQueue.size() != 0) {
+      PceAddress address = pendingWriteQueue.take();
+      flushOutboundQueue(address, networkModule.getSelectionKey(address));
+    }
+
+    // Write the remaining messages of closed connections, the sockets are
+    // closed once the queues are drained
+    while (closeConnQueue.size() != 0) {
+      SocketChannel socketChannel = closeConnQueue.take();
+      PceOutboundQueue outboundQueue = closingOutboundQueues.remove(socketChannel);
+      SelectionKey key = socketChannel.keyFor(selector);
+      if (key == null || !key.isValid()) {
+        // The socket was never registered, the messages are written as far
+        // as the socket accepts them without blocking
+        if (outboundQueue != null && socketChannel.isOpen()) {
+          try {
+            outboundQueue.flush(socketChannel);
+          } catch (IOException e) {
+            logger.debug("| IOException in writing to closed socket");
+          }
+        }
+        closeSocket(socketChannel, key);
+      } else if (outboundQueue == null) {
+        closeSocket(socketChannel, key);
+      } else {
+        // Stop reading from the connection and write the remaining messages
+        key.attach(outboundQueue);
+        key.interestOps(SelectionKey.OP_WRITE);
+        closeDeadlineHashMap.put(key, System.currentTimeMillis() + CLOSE_TIMEOUT);
+        flushClosingConnection(key);
+      }
+    }
+  }
+
+  /**
+   * Function to write the remaining messages of a closed connection, the socket is closed once the
+   * queue is drained or the socket fails
+   *
+   * @param key selection key of the connection, with the outbound queue attached
+   */
+  private void flushClosingConnection(SelectionKey key) {
+    SocketChannel socketChannel = (SocketChannel) key.channel();
+    PceOutboundQueue outboundQueue = (PceOutboundQueue) key.attachment();
+    try {
+      outboundQueue.flush(socketChannel);
+    } catch (IOException e) {
+      logger.debug("| IOException in writing to closed socket");
+      closeSocket(socketChannel, key);
+      return;
+    }
+    if (outboundQueue.isEmpty()) {
+      closeSocket(socketChannel, key);
+    }
+  }
+
+  /** Function to close the connections that could not write their messages before the deadline */
+  private void closeExpiredConnections() {
+    if (closeDeadlineHashMap.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    Iterator<Map.Entry<SelectionKey, Long>> iter = closeDeadlineHashMap.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<SelectionKey, Long> entry = iter.next();
+      if (entry.getValue() <= now) {
+        iter.remove();
+        logger.info("Discarding unwritten messages of closed connection in " + name);
+        closeSocket((SocketChannel) entry.getKey().channel(), entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * Function to close the socket of a closed connection
+   *
+   * @param socketChannel
+   * @param key selection key of the connection, null if the socket is not registered
+   */
+  private void closeSocket(SocketChannel socketChannel, SelectionKey key) {
+    if (key != null) {
+      // cancel the key with the selector
+      key.cancel();
+      closeDeadlineHashMap.remove(key);
+    }
+    try {
+      // close the socket channel
+      socketChannel.close();
+    } catch (IOException e) {
+      logger.debug("| IOException in closing socket ");
+    }
+  }
+
+  private void readSocket(SelectionKey key) {
+    logger.debug("Entering: readSocket(SelectionKey key)");
+    logger.debug("| key: " + key.toString());
+
+    SocketChannel inputSocketChannel = (SocketChannel) key.channel();
+    PceAddress address = NetworkModuleImpl.getAddress(inputSocketChannel);
+
+    if (inputSocketChannel.isConnected()) {
+      try {
+        // Decoder holding the partial message received during the
+        // previous read cycles
+        PceFrameDecoder frameDecoder = getFrameDecoderFromHashMap(address);
+
+        int loopCount = 0;
+        int flag = 0;
+        while (true) {
+          int byteCounter;
+          byteCounter = frameDecoder.read(inputSocketChannel);
+
+          if (byteCounter == -1) {
+            logger.info(
+                "Socket Shut Down Cleanly, Closing Connection for address: "
+                    + address.getIPv4Address());
+            lm.getSessionModule().closeConnection(address);
+            break;
+          }
+
+          if (byteCounter < -1) {
+            // Unknown error
+            logger.info(
+                "Unknown error in socket. Closing Connection from address: "
+                    + address.getIPv4Address());
+            lm.getSessionModule().closeConnection(address);
+            break;
+          }
+
+          if (byteCounter == 0) {
+            if ((loopCount == 0) && (flag == 0)) {
+              flag = 1;
+              continue;
+            } else if ((loopCount == 0) && (flag == 1)) {
+              // Selector in read loop with no data to read,
+              // Closing Connection
+              logger.info(
+                  "Selector in read loop with no data to read, Closing Connection from address: "
+                      + address.getIPv4Address());
+              lm.getSessionModule().closeConnection(address);
+              break;
+            }
+            break;
+          }
+
+          // Forward the complete messages before the next read reuses
+          // the decoder buffer
+          ByteBuffer frame;
+          while ((frame = frameDecoder.nextFrame()) != null) {
+            // Messages are processed by other threads, hence the frame
+            // is copied out of the shared read buffer once
+            ByteBuffer messageBuffer = ByteBuffer.allocate(frame.remaining());
+            messageBuffer.put(frame).flip();
+
+            PceMessage receivedMessage = new PceMessage(messageBuffer);
+            receivedMessage.setAddress(address);
+            networkModule.sendMessage(receivedMessage, ModuleEnum.SESSION_MODULE);
+          }
+          loopCount++;
+        }
+      } catch (IOException e) {
+        logger.info(
+            "Error when reading from socket for address "
+                + address.getIPv4Address()
+                + " Closing connection: "
+                + e.getMessage());
+        lm.getSessionModule().closeConnection(address);
+      }
+
+    } else {
+      logger.debug(
+          "| Input Channel Closed for " + address.getIPv4Address() + " Closing connection");
+      lm.getSessionModule().closeConnection(address);
+    }
+  }
+
+  /**
+   * Function to write the queued messages of a connection. If the socket cannot take all
+   * messages, OP_WRITE is registered and the remaining messages are written once the socket
+   * becomes writable again.
+   *
+   * @param address
+   * @param key selection key of the connection, null if the socket is not registered yet
+   */
+  private void flushOutboundQueue(PceAddress address, SelectionKey key) {
+    logger.debug("Entering: flushOutboundQueue(PceAddress address, SelectionKey key)");
+
+    PceOutboundQueue outboundQueue = networkModule.getOutboundQueue(address);
+    SocketChannel outputSocketChannel = networkModule.getSocketChannel(address);
+    if (outboundQueue == null || outputSocketChannel == null) {
+      // Connection closed in the meantime
+      return;
+    }
+
+    try {
+      boolean drained;
+      do {
+        outboundQueue.flush(outputSocketChannel);
+        drained = outboundQueue.isEmpty();
+      } while (drained && !outboundQueue.completeWrite());
+
+      if (outboundQueue.releaseBackPressure()) {
+        logger.info("Outbound queue for " + address.getIPv4Address() + " drained");
+        lm.getSessionModule().updateBackPressure(address, false);
+      }
+
+      // Without a key the write is resumed once the socket is registered
+      if (key != null && key.isValid()) {
+        int interestOps =
+            drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+        if (key.interestOps() != interestOps) {
+          key.interestOps(interestOps);
+        }
+      }
+    } catch (IOException e) {
+      logger.info(
+          "Error when writing to socket for address "
+              + address.getIPv4Address()
+              + " Closing connection");
+      lm.getSessionModule().closeConnection(address);
+    }
+  }
+
+  /**
+   * Function to retrieve the frame decoder of a connection, a new decoder is created for the first
+   * read on a connection
+   *
+   * @param address
+   * @return
+   */
+  private PceFrameDecoder getFrameDecoderFromHashMap(PceAddress address) {
+    logger.debug("Entering: getFrameDecoderFromHashMap(Address address)");
+    logger.debug("| address: " + address.getIPv4Address());
+
+    PceFrameDecoder frameDecoder = frameDecoderHashMap.get(address.getIPv4Address());
+    if (frameDecoder == null) {
+      frameDecoder = new PceFrameDecoder(readBufferPool, maxMessageLength);
+      frameDecoderHashMap.put(address.getIPv4Address(), frameDecoder);
+    }
+    return frameDecoder;
+  }
+
+  /**
+   * Function to remove the frame decoder of a connection and return its buffer to the pool
+   *
+   * @param address
+   */
+  private void removeFrameDecoderFromHashMap(PceAddress address) {
+    logger.debug("Entering: removeFrameDecoderFromHashMap(Address address)");
+    logger.debug("| address: " + address.getIPv4Address());
+
+    PceFrameDecoder frameDecoder = frameDecoderHashMap.remove(address.getIPv4Address());
+    if (frameDecoder != null) {
+      frameDecoder.release();
+    }
+  }
+}
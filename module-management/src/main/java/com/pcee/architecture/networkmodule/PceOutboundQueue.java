@@ -0,0 +1,180 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.networkmodule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue of encoded messages waiting to be written to a single connection.
+ *
+ * <p>Messages are added by any thread and written by the selector thread only, several messages
+ * at a time with a single gathering write. The queue tracks the number of buffered bytes: once it
+ * reaches the high-water mark the connection is considered back-pressured, and it stays so until
+ * the queue has been drained to half of the high-water mark.
+ */
+public class PceOutboundQueue {
+
+  // Maximum number of messages handed to a single gathering write
+  private static final int MAX_GATHERED_BUFFERS = 64;
+
+  // Encoded messages in sending order, the head may be partially written
+  private final ConcurrentLinkedQueue<ByteBuffer> queue = new ConcurrentLinkedQueue<ByteBuffer>();
+
+  // Number of bytes queued and not written yet
+  private final AtomicLong queuedBytes = new AtomicLong();
+
+  // Flag set while a write of this queue is scheduled with the selector thread
+  private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+  // Flag set while the queue is above its high-water mark
+  private final AtomicBoolean backPressure = new AtomicBoolean();
+
+  // Flag set once the connection is closed, the queued messages are still written but no new
+  // messages are accepted
+  private volatile boolean closing;
+
+  // Queue size in bytes from which back-pressure is reported
+  private final long highWaterMark;
+
+  // Queue size in bytes below which back-pressure is released
+  private final long lowWaterMark;
+
+  // Array reused for the gathering writes, only used by the selector thread
+  private final ByteBuffer[] gatheredBuffers = new ByteBuffer[MAX_GATHERED_BUFFERS];
+
+  /**
+   * Default Constructor
+   *
+   * @param highWaterMark number of queued bytes from which back-pressure is reported
+   */
+  public PceOutboundQueue(long highWaterMark) {
+    if (highWaterMark < 1) {
+      throw new IllegalArgumentException("Invalid high-water mark: " + highWaterMark);
+    }
+    this.highWaterMark = highWaterMark;
+    this.lowWaterMark = highWaterMark / 2;
+  }
+
+  /**
+   * Function to queue an encoded message
+   *
+   * @param messageBuffer buffer holding the message between its position and limit
+   * @return true if this message pushed the queue above the high-water mark
+   */
+  public boolean add(ByteBuffer messageBuffer) {
+    queue.offer(messageBuffer);
+    long queued = queuedBytes.addAndGet(messageBuffer.remaining());
+    return queued >= highWaterMark && backPressure.compareAndSet(false, true);
+  }
+
+  /**
+   * Function to write as many queued messages as the channel accepts without blocking
+   *
+   * @param channel non-blocking channel of the connection
+   * @return the number of bytes written
+   * @throws IOException if the channel cannot be written
+   */
+  public long flush(GatheringByteChannel channel) throws IOException {
+    long totalWritten = 0;
+
+    while (true) {
+      int count = 0;
+      for (ByteBuffer messageBuffer : queue) {
+        if (count == MAX_GATHERED_BUFFERS) {
+          break;
+        }
+        gatheredBuffers[count++] = messageBuffer;
+      }
+      if (count == 0) {
+        break;
+      }
+
+      long written = channel.write(gatheredBuffers, 0, count);
+      totalWritten += written;
+      queuedBytes.addAndGet(-written);
+
+      // Remove the messages that were written completely
+      int completed = 0;
+      while (completed < count && !gatheredBuffers[completed].hasRemaining()) {
+        queue.poll();
+        completed++;
+      }
+      Arrays.fill(gatheredBuffers, 0, count, null);
+
+      if (completed < count) {
+        // The socket send buffer is full
+        break;
+      }
+    }
+
+    return totalWritten;
+  }
+
+  /**
+   * Function to mark the queue as scheduled for writing
+   *
+   * @return true if the caller has to schedule the write, false if it is already scheduled
+   */
+  public boolean scheduleWrite() {
+    return writeScheduled.compareAndSet(false, true);
+  }
+
+  /**
+   * Function to end a scheduled write once the queue has been drained. Messages may have been added
+   * concurrently without scheduling a write, in which case the write stays scheduled.
+   *
+   * @return true if the write is no longer scheduled
+   */
+  public boolean completeWrite() {
+    writeScheduled.set(false);
+    return queue.isEmpty() || !writeScheduled.compareAndSet(false, true);
+  }
+
+  /**
+   * Function to release the back-pressure once enough queued bytes have been written
+   *
+   * @return true if the queue left the back-pressured state with this call
+   */
+  public boolean releaseBackPressure() {
+    return queuedBytes.get() <= lowWaterMark && backPressure.compareAndSet(true, false);
+  }
+
+  /** Function to stop accepting messages, the queued messages are written before the close */
+  public void markClosing() {
+    closing = true;
+  }
+
+  public boolean isClosing() {
+    return closing;
+  }
+
+  public boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  public boolean isBackPressured() {
+    return backPressure.get();
+  }
+
+  public long getQueuedBytes() {
+    return queuedBytes.get();
+  }
+}
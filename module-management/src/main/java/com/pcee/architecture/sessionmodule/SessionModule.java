@@ -15,6 +15,7 @@
 package com.pcee.architecture.sessionmodule;
 
 import com.pcee.architecture.Module;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
 
 /**
  * Abstract Super class to unify multiple Session Layer implementations
@@ -22,4 +23,18 @@ import com.pcee.architecture.Module;
  * @author Marek Drogon
  * @author Mohit Chamania
  */
-public abstract class SessionModule implements Module {}
+public abstract class SessionModule implements Module {
+
+  /**
+   * Function used by the network module to report that messages for a connection are queued
+   * faster than the remote peer reads them
+   *
+   * @param address address of the remote peer
+   * @param backPressure true if the outbound queue exceeds its high-water mark, false once it has
+   *     been drained
+   */
+  public abstract void updateBackPressure(PceAddress address, boolean backPressure);
+
+  /** Function to check if the connection to a remote peer is currently back-pressured */
+  public abstract boolean isBackPressured(PceAddress address);
+}
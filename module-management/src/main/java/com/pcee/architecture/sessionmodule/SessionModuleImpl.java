@@ -16,14 +16,18 @@ package com.pcee.architecture.sessionmodule;
 
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.sessionmodule.statemachine.KeepaliveBatcher;
 import com.pcee.architecture.sessionmodule.statemachine.StateMachine;
 import com.pcee.architecture.sessionmodule.statemachine.StateMachineClientImpl;
+import com.pcee.architecture.sessionmodule.statemachine.StateMachineImpl;
 import com.pcee.architecture.sessionmodule.statemachine.StateMachineServerImpl;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
 import com.pcee.protocol.message.PceMessage;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Timer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,15 +50,29 @@ public class SessionModuleImpl extends SessionModule {
   // messages from different modules
   final int sessionThreads;
 
-  // Array Of Worker Threads to process incoming messages
+  // Array Of Worker Threads to process incoming messages, every thread processes the messages of
+  // the sessions of its shard in order
   private ReadingQueueThreadImpl[] readingQueueThread;
 
-  // HashMap to store association between address and the corresponding state
-  // machine
-  private HashMap<String, StateMachine> addressToStateMachineHashMap;
+  // Map to store association between address and the corresponding state
+  // machine, accessed by the network, session and computation threads
+  private ConcurrentHashMap<String, StateMachine> addressToStateMachineHashMap;
 
-  // A single Timer to manage timeout events for all state machines
-  private Timer stateMachineTimer;
+  // Lock making the lookup and creation of a state machine atomic
+  private final Object registrationLock = new Object();
+
+  // A single timing wheel to manage timeout events for all state machines
+  private HashedWheelTimer stateMachineTimer;
+
+  // Traffic-aware keepalive mode, in which any message sent to a peer replaces the next keepalive
+  private final boolean keepaliveSuppression;
+
+  // Batcher of the keepalives expiring in the same tick, null if keepalive suppression is disabled
+  private KeepaliveBatcher keepaliveBatcher;
+
+  // Addresses of the connections whose outbound queue in the network module
+  // is above its high-water mark
+  private Set<String> backPressuredAddresses = ConcurrentHashMap.newKeySet();
 
   /**
    * Default Constructor
@@ -66,15 +84,30 @@ public class SessionModuleImpl extends SessionModule {
 
     lm = layerManagement;
     sessionThreads = 1;
+    keepaliveSuppression = false;
     start();
   }
 
   public SessionModuleImpl(ModuleManagement layerManagement, int sessionThreads) {
+    this(layerManagement, sessionThreads, false);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param layerManagement
+   * @param sessionThreads number of threads processing the messages of the sessions
+   * @param keepaliveSuppression true if messages sent to a peer replace the keepalives and the
+   *     keepalives of a timer tick are sent in a single batch
+   */
+  public SessionModuleImpl(
+      ModuleManagement layerManagement, int sessionThreads, boolean keepaliveSuppression) {
     logger.debug(
-        "Entering: SessionModuleImpl(ModuleManagement layerManagement, int sessionThreads)");
+        "Entering: SessionModuleImpl(ModuleManagement layerManagement, int sessionThreads, boolean keepaliveSuppression)");
 
     lm = layerManagement;
-    this.sessionThreads = 1;
+    this.sessionThreads = Math.max(1, sessionThreads);
+    this.keepaliveSuppression = keepaliveSuppression;
     start();
   }
 
@@ -136,7 +169,8 @@ public class SessionModuleImpl extends SessionModule {
         closeConnection(sm.getAddress());
       }
       for (int i = 0; i < sessionThreads; i++) readingQueueThread[i].interrupt();
-      stateMachineTimer.cancel();
+      stateMachineTimer.stop();
+      if (keepaliveBatcher != null) logger.info("{}", keepaliveBatcher);
     }
   }
 
@@ -144,10 +178,11 @@ public class SessionModuleImpl extends SessionModule {
     logger.debug("Entering: start()");
 
     // Initialize the timer object
-    stateMachineTimer = new Timer();
+    stateMachineTimer = new HashedWheelTimer("SessionTimer");
+    if (keepaliveSuppression) keepaliveBatcher = new KeepaliveBatcher(lm, stateMachineTimer);
     // Create a new map for storing associations between address and state
     // machines
-    addressToStateMachineHashMap = new HashMap<String, StateMachine>();
+    addressToStateMachineHashMap = new ConcurrentHashMap<String, StateMachine>();
     // Initialize the reading worker threads
     readingQueueThread = new ReadingQueueThreadImpl[sessionThreads];
     for (int i = 0; i < sessionThreads; i++) {
@@ -159,31 +194,17 @@ public class SessionModuleImpl extends SessionModule {
 
   public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
     logger.debug("Entering: receiveMessage(PceMessage message, ModuleEnum sourceLayer)");
-    logger.debug("| message: " + message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: " + message.contentInformation());
+    }
     logger.debug("| sourceLayer: " + sourceLayer);
 
-    int x;
     switch (sourceLayer) {
       case NETWORK_MODULE:
-        // Simple hash function to determine to which worker thread a
-        // message should be assigned
-        // TODO
-        x = Integer.parseInt(message.getAddress().getIPv4Address().split(":")[1]) % sessionThreads;
-        readingQueueThread[x].addMessage(message, sourceLayer);
-        break;
       case COMPUTATION_MODULE:
-        x = Integer.parseInt(message.getAddress().getIPv4Address().split(":")[1]) % sessionThreads;
-        readingQueueThread[x].addMessage(message, sourceLayer);
-        // sendMessage(message, ModuleEnum.NETWORK_MODULE);
-        break;
       case CLIENT_MODULE:
-        x = Integer.parseInt(message.getAddress().getIPv4Address().split(":")[1]) % sessionThreads;
-        readingQueueThread[x].addMessage(message, sourceLayer);
-        // TODO
-        // x =
-        // Integer.parseInt(message.getAddress().getAddress().split(":")[1])
-        // % readingThreadCount;
-        // readingQueueThread[x].addMessage(message);
+        // All messages of a session are processed in order by the thread of its shard
+        readingQueueThread[getShard(message.getAddress())].addMessage(message, sourceLayer);
         break;
       default:
         logger.info("Error in recieveMessage(PceMessage message, LayerEnum sourceLayer)");
@@ -194,7 +215,9 @@ public class SessionModuleImpl extends SessionModule {
 
   public void sendMessage(PceMessage message, ModuleEnum targetLayer) {
     logger.debug("Entering: sendMessage(PceMessage message, ModuleEnum targetLayer)");
-    logger.debug("| message: " + message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: " + message.contentInformation());
+    }
     logger.debug("| targetLayer: " + targetLayer);
 
     switch (targetLayer) {
@@ -202,6 +225,12 @@ public class SessionModuleImpl extends SessionModule {
         lm.getNetworkModule().receiveMessage(message, ModuleEnum.SESSION_MODULE);
         break;
       case COMPUTATION_MODULE:
+        if (message.isExpired()) {
+          // The requesting peer no longer waits for the response
+          logger.info("Dropping expired request from " + message.getAddress().getIPv4Address());
+          lm.getRequestDeadlineMonitor().recordExpired(RequestDeadlineMonitor.Stage.SESSION);
+          break;
+        }
         lm.getComputationModule().receiveMessage(message, ModuleEnum.SESSION_MODULE);
         break;
       case CLIENT_MODULE:
@@ -234,7 +263,11 @@ public class SessionModuleImpl extends SessionModule {
       // If the connection is connected, register the new state machine
       // for the connection
       if (connected == true) {
-        createNewStateMachine(address, connectionInitialized, forceClient);
+        synchronized (registrationLock) {
+          if (!addressToStateMachineHashMap.containsKey(address.getIPv4Address())) {
+            createNewStateMachine(address, connectionInitialized, forceClient);
+          }
+        }
       }
     }
   }
@@ -243,12 +276,14 @@ public class SessionModuleImpl extends SessionModule {
     logger.debug("Entering: closeConnection(PceAddress address)");
     logger.debug("| address: " + address.getIPv4Address());
 
-    if (addressToStateMachineHashMap.containsKey(address.getIPv4Address())) {
+    // removing state machine from hash map, only the thread removing it releases the session
+    StateMachine stateMachine = removeStateMachineFromHashMap(address);
+    if (stateMachine != null) {
       // Releasing resources from the state machine
-      StateMachine stateMachine = getStateMachineFromHashMap(address);
       stateMachine.releaseResources();
-      // removing state machine from hash map
-      removeStateMachineFromHashMap(address);
+      backPressuredAddresses.remove(address.getIPv4Address());
+      // dropping the pending requests of the session
+      if (lm.isServer()) lm.getComputationModule().closeConnection(address);
       // closing connection in the network layer
       lm.getNetworkModule().closeConnection(address);
     } else {
@@ -256,6 +291,35 @@ public class SessionModuleImpl extends SessionModule {
     }
   }
 
+  public void updateBackPressure(PceAddress address, boolean backPressure) {
+    logger.debug("Entering: updateBackPressure(PceAddress address, boolean backPressure)");
+    logger.debug("| address: " + address.getIPv4Address());
+    logger.debug("| backPressure: " + backPressure);
+
+    if (backPressure) {
+      logger.info("Connection to " + address.getIPv4Address() + " is back-pressured");
+      backPressuredAddresses.add(address.getIPv4Address());
+    } else {
+      logger.info("Back-pressure released for " + address.getIPv4Address());
+      backPressuredAddresses.remove(address.getIPv4Address());
+    }
+  }
+
+  public boolean isBackPressured(PceAddress address) {
+    return backPressuredAddresses.contains(address.getIPv4Address());
+  }
+
+  /**
+   * Function to get the shard of a session. The shard depends only on the address of the
+   * connection, so that the messages of a session are always processed by the same thread.
+   *
+   * @param address
+   * @return index of the thread processing the messages of the session
+   */
+  int getShard(PceAddress address) {
+    return Math.floorMod(address.getIPv4Address().hashCode(), sessionThreads);
+  }
+
   /**
    * Function to create new state machine
    *
@@ -273,7 +337,7 @@ public class SessionModuleImpl extends SessionModule {
     // Creating new state machine
     // If LM is of type client, create a client state machine or else create a server state machine
     // (by default)
-    StateMachine stateMachine;
+    StateMachineImpl stateMachine;
     if (lm.isServer()) {
       // If in the server a state machine is registered forcefully as a client then we create a
       // client state machine or else we make
@@ -288,6 +352,7 @@ public class SessionModuleImpl extends SessionModule {
       stateMachine =
           new StateMachineClientImpl(lm, address, stateMachineTimer, connectionInitialized);
     }
+    if (keepaliveBatcher != null) stateMachine.setKeepaliveBatcher(keepaliveBatcher);
 
     // adding state machine to hash map
     insertStateMachineToHashMap(address, stateMachine);
@@ -300,7 +365,9 @@ public class SessionModuleImpl extends SessionModule {
    */
   private void processMessage(PceMessage message, ModuleEnum sourceLayer) {
     logger.debug("Entering: processMessage(PceMessage message)");
-    logger.debug("| message: " + message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: " + message.contentInformation());
+    }
     logger.debug("| address: " + message.getAddress().getIPv4Address());
 
     logger.info("Processing Message from " + message.getAddress().getIPv4Address());
@@ -348,13 +415,15 @@ public class SessionModuleImpl extends SessionModule {
    * Function to remove the state machine from the hash Map
    *
    * @param address
+   * @return the removed state machine, null if none was registered
    */
-  private void removeStateMachineFromHashMap(PceAddress address) {
+  private StateMachine removeStateMachineFromHashMap(PceAddress address) {
     logger.debug("Entering: removeStateMachineFromHashMap(PceAddress address)");
     logger.debug("| address: " + address.getIPv4Address());
 
     logger.info("Removing StateMachine for " + address.getIPv4Address());
-    addressToStateMachineHashMap.remove(address.getIPv4Address());
+    StateMachine stateMachine = addressToStateMachineHashMap.remove(address.getIPv4Address());
     logger.info("| StateMachines active: " + addressToStateMachineHashMap.size());
+    return stateMachine;
   }
 }
@@ -0,0 +1,94 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.sessionmodule.statemachine;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
+import com.pcee.protocol.keepalive.PceKeepaliveFrameFactory;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic-aware keepalive mode of the session module. A session only sends a keepalive if it sent
+ * no other message during the keepalive period: every outbound message restarts the keepalive
+ * timer, as RFC 5440 defines the keepalive timer as the minimum period between two messages sent
+ * to the peer. The keepalives of all sessions whose timers expire in the same tick of the timing
+ * wheel are handed over to the network module in a single batch.
+ *
+ * <p>Keepalives are added and flushed by the timer thread only.
+ */
+public class KeepaliveBatcher implements Runnable {
+
+  private final ModuleManagement lm;
+
+  // Keepalives of the current tick, only used by the timer thread
+  private final ArrayList<PceMessage> pendingKeepalives = new ArrayList<PceMessage>();
+
+  private final LongAdder sentKeepalives = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+
+  /**
+   * Default Constructor
+   *
+   * @param layerManagement
+   * @param stateTimer timer of the session timers, flushing the keepalives after every tick
+   */
+  public KeepaliveBatcher(ModuleManagement layerManagement, HashedWheelTimer stateTimer) {
+    lm = layerManagement;
+    stateTimer.addTickListener(this);
+  }
+
+  /**
+   * Function called by an expired keepalive timer to send a keepalive with the current batch
+   *
+   * @param address
+   */
+  void addKeepalive(PceAddress address) {
+    PceMessage keepalive =
+        PceMessageFactory.generateMessage(PceKeepaliveFrameFactory.generateKeepaliveFrame());
+    keepalive.setAddress(address);
+    pendingKeepalives.add(keepalive);
+  }
+
+  /** Function run after every tick to send the keepalives of the tick */
+  public void run() {
+    if (pendingKeepalives.isEmpty()) {
+      return;
+    }
+    sentKeepalives.add(pendingKeepalives.size());
+    batches.increment();
+    lm.getNetworkModule().receiveMessages(pendingKeepalives, ModuleEnum.SESSION_MODULE);
+    pendingKeepalives.clear();
+  }
+
+  /** Function to get the number of keepalives sent */
+  public long getSentKeepaliveCount() {
+    return sentKeepalives.sum();
+  }
+
+  /** Function to get the number of batches handed over to the network module */
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+  public String toString() {
+    return String.format(
+        "KeepaliveBatcher[keepalives=%d, batches=%d]", getSentKeepaliveCount(), getBatchCount());
+  }
+}
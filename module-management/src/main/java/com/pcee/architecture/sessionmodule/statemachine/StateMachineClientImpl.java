@@ -2,10 +2,10 @@ package com.pcee.architecture.sessionmodule.statemachine;
 
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
 import com.pcee.protocol.message.PceMessage;
 import com.pcee.protocol.message.PceMessageAnalyser;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
-import java.util.Timer;
 import java.util.concurrent.LinkedBlockingQueue;
 
 public class StateMachineClientImpl extends StateMachineImpl {
@@ -15,7 +15,7 @@ public class StateMachineClientImpl extends StateMachineImpl {
   public StateMachineClientImpl(
       ModuleManagement layerManagement,
       PceAddress Address,
-      Timer stateTimer,
+      HashedWheelTimer stateTimer,
       boolean connectionInitialized) {
     super(layerManagement, Address, stateTimer, connectionInitialized);
     sendingQueue = new LinkedBlockingQueue<PceMessage>();
@@ -44,7 +44,9 @@ public class StateMachineClientImpl extends StateMachineImpl {
   @Override
   public void updateState(PceMessage message, ModuleEnum sourceModule) {
     logger.debug("Entering: updateState(PceMessage message, ModuleEnum targetLayer)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
     // Client module should have a Buffer for messages not coming from the network (Client or
     // Computation Module) that shoudl be sent once the
     // State Machine comes to the session up state. This is done so that the client
@@ -100,7 +102,9 @@ public class StateMachineClientImpl extends StateMachineImpl {
 
   private void enterSessionUPState(PceMessage message, ModuleEnum sourceModule) {
     logger.debug("Entering: enterSessionUPState(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     // System.out.println("[StateMachine: " + address.getAddress() +
     // "] entering Session up State" );
@@ -147,7 +151,7 @@ public class StateMachineClientImpl extends StateMachineImpl {
           restartDeadTimer();
           if ((sourceModule.compareTo(ModuleEnum.CLIENT_MODULE) == 0)
               || (sourceModule.compareTo(ModuleEnum.COMPUTATION_MODULE) == 0)) {
-            lm.getSessionModule().sendMessage(message, ModuleEnum.NETWORK_MODULE);
+            forwardMessageToPeer(message);
           } else {
             logger.info(
                 "Client State Machine should not receive Path Computation Requests from any module other than Network");
@@ -175,6 +179,10 @@ public class StateMachineClientImpl extends StateMachineImpl {
       case 5:
         {
           logger.info("Received Notification Message");
+          // Notifications of the server, e.g. requests rejected by an overloaded PCE
+          if (sourceModule.compareTo(ModuleEnum.NETWORK_MODULE) == 0 && !lm.isServer()) {
+            lm.getSessionModule().sendMessage(message, ModuleEnum.CLIENT_MODULE);
+          }
 
           break;
         }
@@ -16,6 +16,7 @@ package com.pcee.architecture.sessionmodule.statemachine;
 
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
 import com.pcee.common.SessionId;
 import com.pcee.protocol.close.PceCloseFrame;
 import com.pcee.protocol.close.PceCloseFrameFactory;
@@ -28,8 +29,7 @@ import com.pcee.protocol.message.PceMessageFactory;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
 import com.pcee.protocol.open.PceOpenFrame;
 import com.pcee.protocol.open.PceOpenFrameFactory;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -100,15 +100,18 @@ public abstract class StateMachineImpl extends StateMachine {
   protected boolean connectionEstablished;
 
   // Reference variable to the session layer global timer
-  protected Timer stateTimer;
+  protected HashedWheelTimer stateTimer;
 
-  // /Timer tasks defined to implement operations for different timeout
-  // operations
-  protected TimerTask connectTimerTask;
-  protected TimerTask openWaitTimerTask;
-  protected TimerTask keepWaitTimerTask;
-  protected TimerTask keepAliveTimerTask;
-  protected TimerTask deadTimerTask;
+  // /Timers defined to implement operations for different timeout
+  // operations, created once and rescheduled for every restart
+  protected HashedWheelTimer.Handle connectTimerHandle;
+  protected HashedWheelTimer.Handle openWaitTimerHandle;
+  protected HashedWheelTimer.Handle keepWaitTimerHandle;
+  protected HashedWheelTimer.Handle keepAliveTimerHandle;
+  protected HashedWheelTimer.Handle deadTimerHandle;
+
+  // Batcher of the traffic-aware keepalive mode, null if every keepalive is sent on its own
+  protected KeepaliveBatcher keepaliveBatcher;
 
   // Boolean variables to check if timers are running
   protected boolean connectTimerRunning;
@@ -142,7 +145,7 @@ public abstract class StateMachineImpl extends StateMachine {
   public StateMachineImpl(
       ModuleManagement layerManagement,
       PceAddress Address,
-      Timer stateTimer,
+      HashedWheelTimer stateTimer,
       boolean connectionInitialized) {
     // logger.debug("Entering: StateMachineImpl(ModuleManagement layerManagement, PceAddress
     // Address, Timer stateTimer, boolean connectionInitialized)");
@@ -151,6 +154,11 @@ public abstract class StateMachineImpl extends StateMachine {
 
     address = Address;
     this.stateTimer = stateTimer;
+    connectTimerHandle = stateTimer.newHandle(this::connectTimerExpired);
+    openWaitTimerHandle = stateTimer.newHandle(this::openWaitTimerExpired);
+    keepWaitTimerHandle = stateTimer.newHandle(this::keepWaitTimerExpired);
+    keepAliveTimerHandle = stateTimer.newHandle(this::keepAliveTimerExpired);
+    deadTimerHandle = stateTimer.newHandle(this::deadTimerExpired);
     this.connectionInitialized = connectionInitialized;
     this.setState(0);
 
@@ -166,6 +174,16 @@ public abstract class StateMachineImpl extends StateMachine {
     if (connectionInitialized) this.updateState(true);
   }
 
+  /**
+   * Function to enable the traffic-aware keepalive mode, in which every message sent to the peer
+   * restarts the keepalive timer and expired keepalive timers are sent in batches
+   *
+   * @param keepaliveBatcher
+   */
+  public void setKeepaliveBatcher(KeepaliveBatcher keepaliveBatcher) {
+    this.keepaliveBatcher = keepaliveBatcher;
+  }
+
   protected void setState(int state) {
     logger.debug("Entering: setState(int state)");
     switch (state) {
@@ -287,7 +305,9 @@ public abstract class StateMachineImpl extends StateMachine {
    */
   protected void enterOpenWaitState(PceMessage message) {
     logger.debug("Entering: enterOpenWaitState(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     // PceMessageFrame frame =
     // PceMessageFactory.getPCEPMessageFrame(message);
@@ -383,7 +403,9 @@ public abstract class StateMachineImpl extends StateMachine {
    */
   protected void enterKeepWaitState(PceMessage message) {
     logger.debug("Entering: enterKeepWaitState(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     int messageType = message.getMessageHeader().getTypeDecimalValue();
 
@@ -462,7 +484,9 @@ public abstract class StateMachineImpl extends StateMachine {
    */
   protected void enterSessionUPState(PceMessage message) {
     logger.debug("Entering: enterSessionUPState(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     // System.out.println("[StateMachine: " + address.getAddress() +
     // "] entering Session up State" );
@@ -514,7 +538,7 @@ public abstract class StateMachineImpl extends StateMachine {
           if (message.getAddress().getPort() == 4189) {
             // System.out.println("\n\n\n\n\n ------------------------------------ Message Send
             // Check ------------------------------");
-            lm.getSessionModule().sendMessage(message, ModuleEnum.NETWORK_MODULE);
+            forwardMessageToPeer(message);
           } else lm.getSessionModule().sendMessage(message, ModuleEnum.COMPUTATION_MODULE);
 
           break;
@@ -530,7 +554,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
             lm.getSessionModule().sendMessage(message, ModuleEnum.CLIENT_MODULE);
           } else if (lm.isServer()) {
-            lm.getSessionModule().sendMessage(message, ModuleEnum.NETWORK_MODULE);
+            forwardMessageToPeer(message);
           } else {
             lm.getSessionModule().sendMessage(message, ModuleEnum.CLIENT_MODULE);
           }
@@ -601,10 +625,27 @@ public abstract class StateMachineImpl extends StateMachine {
 
   protected void sendMessageToPeer(PceMessage message, ModuleEnum targetLayer) {
     logger.debug("Entering: sendMessageToPeer(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     message.setAddress(address);
     lm.getSessionModule().sendMessage(message, targetLayer);
+    if (targetLayer == ModuleEnum.NETWORK_MODULE) messageSent();
+  }
+
+  // Function to send a message of another module to the peer, the address of the message is kept
+  protected void forwardMessageToPeer(PceMessage message) {
+    lm.getSessionModule().sendMessage(message, ModuleEnum.NETWORK_MODULE);
+    messageSent();
+  }
+
+  // Function called after a message was sent to the peer. In the traffic-aware keepalive mode the
+  // message replaces the next keepalive, RFC 5440 only requires a message every keepalive period
+  protected void messageSent() {
+    if (keepaliveBatcher != null && keepAliveTimerRunning) {
+      keepAliveTimerHandle.schedule(keepAlive, TimeUnit.SECONDS);
+    }
   }
 
   protected void checkMultipleConnections() {
@@ -644,11 +685,11 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("TERMINATING TIMERS");
 
-    if (connectTimerTask != null) cancelConnectTimer();
-    if (openWaitTimerTask != null) cancelOpenWaitTimer();
-    if (keepWaitTimerTask != null) cancelKeepWaitTimer();
-    if (deadTimerTask != null) cancelDeadTimer();
-    if (keepAliveTimerTask != null) cancelKeepAliveTimer();
+    if (connectTimerHandle.isScheduled()) cancelConnectTimer();
+    if (openWaitTimerHandle.isScheduled()) cancelOpenWaitTimer();
+    if (keepWaitTimerHandle.isScheduled()) cancelKeepWaitTimer();
+    if (deadTimerHandle.isScheduled()) cancelDeadTimer();
+    if (keepAliveTimerHandle.isScheduled()) cancelKeepAliveTimer();
   }
 
   public void releaseResources() {
@@ -728,14 +769,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     connectTimerRunning = true;
 
-    connectTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("ConnectTimer Expired");
-            checkPendingStatus();
-          }
-        };
-    stateTimer.schedule(connectTimerTask, connect * 1000);
+    connectTimerHandle.schedule(connect, TimeUnit.SECONDS);
   }
 
   protected void restartConnectTimer() {
@@ -743,15 +777,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Restarting Connect Timer");
 
-    this.connectTimerTask.cancel();
-    connectTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("Connect Timer Expired");
-            checkPendingStatus();
-          }
-        };
-    stateTimer.schedule(connectTimerTask, connect * 1000);
+    connectTimerHandle.schedule(connect, TimeUnit.SECONDS);
   }
 
   protected void cancelConnectTimer() {
@@ -760,11 +786,16 @@ public abstract class StateMachineImpl extends StateMachine {
     if (connectTimerRunning) {
       logger.info("Cancelling Connect Timer");
 
-      this.connectTimerTask.cancel();
+      connectTimerHandle.cancel();
       connectTimerRunning = false;
     }
   }
 
+  private void connectTimerExpired() {
+    logger.info("ConnectTimer Expired");
+    checkPendingStatus();
+  }
+
   /**************************************************************************************************
    * OpenWait
    */
@@ -773,16 +804,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Starting OpenWait Timer");
 
-    openWaitTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("OpenWaitTimer Expired");
-            sendErrorMessage(1, 2);
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(openWaitTimerTask, openWait * 1000);
+    openWaitTimerHandle.schedule(openWait, TimeUnit.SECONDS);
   }
 
   protected void restartOpenWaitTimer() {
@@ -790,17 +812,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Restarting OpenWait Timer");
 
-    this.openWaitTimerTask.cancel();
-    openWaitTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("OpenWait Timer Expired");
-            sendErrorMessage(1, 2);
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(openWaitTimerTask, openWait * 1000);
+    openWaitTimerHandle.schedule(openWait, TimeUnit.SECONDS);
   }
 
   protected void cancelOpenWaitTimer() {
@@ -808,7 +820,14 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Cancelling OpenWait Timer");
 
-    this.openWaitTimerTask.cancel();
+    openWaitTimerHandle.cancel();
+  }
+
+  private void openWaitTimerExpired() {
+    logger.info("OpenWaitTimer Expired");
+    sendErrorMessage(1, 2);
+    // releaseResources();
+    closeTCPConnection();
   }
 
   /**************************************************************************************************
@@ -819,16 +838,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Starting KeepWait Timer");
 
-    keepWaitTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("KeepWaitTimer Expired");
-            sendErrorMessage(1, 7);
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(keepWaitTimerTask, keepWait * 1000);
+    keepWaitTimerHandle.schedule(keepWait, TimeUnit.SECONDS);
   }
 
   protected void restartKeepWaitTimer() {
@@ -836,17 +846,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Restarting KeepWait Timer");
 
-    this.keepWaitTimerTask.cancel();
-    keepWaitTimerTask =
-        new TimerTask() {
-          public void run() {
-            logger.info("KeepWait Timer Expired");
-            sendErrorMessage(1, 7);
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(keepWaitTimerTask, keepWait * 1000);
+    keepWaitTimerHandle.schedule(keepWait, TimeUnit.SECONDS);
   }
 
   protected void cancelKeepWaitTimer() {
@@ -854,7 +854,14 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Cancelling KeepWait Timer");
 
-    this.keepWaitTimerTask.cancel();
+    keepWaitTimerHandle.cancel();
+  }
+
+  private void keepWaitTimerExpired() {
+    logger.info("KeepWaitTimer Expired");
+    sendErrorMessage(1, 7);
+    // releaseResources();
+    closeTCPConnection();
   }
 
   /**************************************************************************************************
@@ -867,13 +874,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     keepAliveTimerRunning = true;
 
-    keepAliveTimerTask =
-        new TimerTask() {
-          public void run() {
-            sendKeepAliveMessage();
-          }
-        };
-    stateTimer.schedule(keepAliveTimerTask, keepAlive * 1000);
+    keepAliveTimerHandle.schedule(keepAlive, TimeUnit.SECONDS);
   }
 
   protected void restartKeepAliveTimer() {
@@ -881,14 +882,18 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Restarting KeepAlive Timer");
 
-    this.keepAliveTimerTask.cancel();
-    keepAliveTimerTask =
-        new TimerTask() {
-          public void run() {
-            sendKeepAliveMessage();
-          }
-        };
-    stateTimer.schedule(keepAliveTimerTask, keepAlive * 1000);
+    keepAliveTimerHandle.schedule(keepAlive, TimeUnit.SECONDS);
+  }
+
+  // Task of the keepalive timer
+  private void keepAliveTimerExpired() {
+    if (keepaliveBatcher == null) {
+      sendKeepAliveMessage();
+    } else if (keepAliveTimerRunning) {
+      logger.debug("Batching KeepAlive Message to {}", address.getIPv4Address());
+      keepaliveBatcher.addKeepalive(address);
+      keepAliveTimerHandle.schedule(keepAlive, TimeUnit.SECONDS);
+    }
   }
 
   protected void cancelKeepAliveTimer() {
@@ -896,7 +901,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Cancelling KeepAlive Timer");
 
-    this.keepAliveTimerTask.cancel();
+    keepAliveTimerHandle.cancel();
   }
 
   /**************************************************************************************************
@@ -909,18 +914,7 @@ public abstract class StateMachineImpl extends StateMachine {
 
     deadTimerRunning = true;
 
-    deadTimerTask =
-        new TimerTask() {
-          public void run() {
-
-            cancelKeepAliveTimer(); // TODO remove after closing the
-            // connection is implemented
-            sendCloseMessage();
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(deadTimerTask, deadTimer * 1000);
+    deadTimerHandle.schedule(deadTimer, TimeUnit.SECONDS);
   }
 
   protected void restartDeadTimer() {
@@ -929,20 +923,10 @@ public abstract class StateMachineImpl extends StateMachine {
     logger.info("Restarting Dead Timer");
     if (!deadTimerRunning) {
       logger.debug("DeadTimer was not running. Restarting task");
-    } else this.deadTimerTask.cancel();
+    }
     deadTimerRunning = true;
-    deadTimerTask =
-        new TimerTask() {
-          public void run() {
-
-            cancelKeepAliveTimer(); // TODO remove after closing the
-            // connection is implemented
-            sendCloseMessage();
-            // releaseResources();
-            closeTCPConnection();
-          }
-        };
-    stateTimer.schedule(deadTimerTask, deadTimer * 1000);
+    // Restarted on every received message, rescheduling the handle does not allocate
+    deadTimerHandle.schedule(deadTimer, TimeUnit.SECONDS);
   }
 
   protected void cancelDeadTimer() {
@@ -950,7 +934,15 @@ public abstract class StateMachineImpl extends StateMachine {
 
     logger.info("Cancelling Dead Timer");
 
-    this.deadTimerTask.cancel();
+    deadTimerHandle.cancel();
+  }
+
+  private void deadTimerExpired() {
+    cancelKeepAliveTimer(); // TODO remove after closing the
+    // connection is implemented
+    sendCloseMessage();
+    // releaseResources();
+    closeTCPConnection();
   }
 
   public PceAddress getAddress() {
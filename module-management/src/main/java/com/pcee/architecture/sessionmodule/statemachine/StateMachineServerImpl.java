@@ -2,17 +2,17 @@ package com.pcee.architecture.sessionmodule.statemachine;
 
 import com.pcee.architecture.ModuleEnum;
 import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
 import com.pcee.protocol.message.PceMessage;
 import com.pcee.protocol.message.PceMessageAnalyser;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
-import java.util.Timer;
 
 public class StateMachineServerImpl extends StateMachineImpl {
 
   public StateMachineServerImpl(
       ModuleManagement layerManagement,
       PceAddress Address,
-      Timer stateTimer,
+      HashedWheelTimer stateTimer,
       boolean connectionInitialized) {
     super(layerManagement, Address, stateTimer, connectionInitialized);
   }
@@ -20,7 +20,9 @@ public class StateMachineServerImpl extends StateMachineImpl {
   @Override
   public void updateState(PceMessage message, ModuleEnum sourceModule) {
     logger.debug("Entering: updateState(PceMessage message, ModuleEnum targetLayer)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
     switch (state) {
       case 0:
         {
@@ -58,7 +60,9 @@ public class StateMachineServerImpl extends StateMachineImpl {
 
   private void enterSessionUPState(PceMessage message, ModuleEnum sourceModule) {
     logger.debug("Entering: enterSessionUPState(PceMessage message)");
-    logger.debug("| message: {}", message.contentInformation());
+    if (logger.isDebugEnabled()) {
+      logger.debug("| message: {}", message.contentInformation());
+    }
 
     // System.out.println("[StateMachine: " + address.getAddress() +
     // "] entering Session up State" );
@@ -117,7 +121,7 @@ public class StateMachineServerImpl extends StateMachineImpl {
           restartDeadTimer();
           // MessageHandler.readResponseMessage(message);
           if (sourceModule.compareTo(ModuleEnum.COMPUTATION_MODULE) == 0) {
-            lm.getSessionModule().sendMessage(message, ModuleEnum.NETWORK_MODULE);
+            forwardMessageToPeer(message);
           } else {
             logger.info(
                 "Server State Machine should not receive Path Computation Responses from any module other than Computation Module");
@@ -128,6 +132,10 @@ public class StateMachineServerImpl extends StateMachineImpl {
       case 5:
         {
           logger.info("Received Notification Message");
+          // Notifications generated by the computation module, e.g. for rejected requests
+          if (sourceModule.compareTo(ModuleEnum.COMPUTATION_MODULE) == 0) {
+            forwardMessageToPeer(message);
+          }
 
           break;
         }
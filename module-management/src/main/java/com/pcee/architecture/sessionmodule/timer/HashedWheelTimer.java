@@ -0,0 +1,313 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.architecture.sessionmodule.timer;
+
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel managing the timers of the PCEP sessions. The wheel is an array of buckets,
+ * every bucket holds the handles expiring in one tick of the wheel, modulo the length of the
+ * wheel. A single thread advances the wheel by one bucket per tick and runs the tasks of the
+ * expired handles.
+ *
+ * <p>A timer is a reusable {@link Handle}. Rescheduling a handle only stores its new deadline, the
+ * handle stays in its bucket and is moved to the bucket of the new deadline once the wheel reaches
+ * it. Restarting a timer on every received message therefore neither allocates nor locks. The
+ * accuracy of a timer is one tick.
+ */
+public class HashedWheelTimer {
+
+  private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+  /** Default duration of a tick in milliseconds */
+  public static final long DEFAULT_TICK_DURATION = 100;
+
+  /** Default number of buckets of the wheel */
+  public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  /** Timer of a session, scheduled again after it expired or was cancelled */
+  public static final class Handle {
+
+    private final HashedWheelTimer timer;
+
+    private final Runnable task;
+
+    // Time in nanoseconds at which the task runs, updated without holding the lock of the wheel
+    private volatile long deadline;
+
+    // Cleared when the timer is cancelled
+    private volatile boolean active;
+
+    // Set while the handle is linked into a bucket
+    private volatile boolean inWheel;
+
+    // Fields guarded by the lock of the wheel
+    private long remainingRounds;
+    private Bucket bucket;
+    private Handle previous;
+    private Handle next;
+
+    private Handle(HashedWheelTimer timer, Runnable task) {
+      this.timer = timer;
+      this.task = task;
+    }
+
+    /**
+     * Function to schedule the task after a delay, a scheduled timer is restarted
+     *
+     * @param delay
+     * @param unit
+     */
+    public void schedule(long delay, TimeUnit unit) {
+      long newDeadline = System.nanoTime() + unit.toNanos(delay);
+      long oldDeadline = deadline;
+      deadline = newDeadline;
+      active = true;
+      // A later deadline is handled lazily when the wheel reaches the bucket of the handle
+      if (!inWheel || newDeadline - oldDeadline < 0) {
+        timer.link(this);
+      }
+    }
+
+    /** Function to cancel the timer, the handle is removed when the wheel reaches it */
+    public void cancel() {
+      active = false;
+    }
+
+    /** Function to check if the timer is scheduled and has not expired yet */
+    public boolean isScheduled() {
+      return active && inWheel;
+    }
+  }
+
+  // Doubly linked list of the handles of a bucket
+  private static final class Bucket {
+
+    private Handle head;
+
+    private void add(Handle handle) {
+      handle.bucket = this;
+      handle.previous = null;
+      handle.next = head;
+      if (head != null) head.previous = handle;
+      head = handle;
+    }
+
+    private void remove(Handle handle) {
+      if (handle.previous != null) handle.previous.next = handle.next;
+      else head = handle.next;
+      if (handle.next != null) handle.next.previous = handle.previous;
+      handle.bucket = null;
+      handle.previous = null;
+      handle.next = null;
+    }
+  }
+
+  // Buckets of the wheel, the length is a power of two
+  private final Bucket[] wheel;
+
+  private final int mask;
+
+  private final long tickDuration;
+
+  // Time at which the wheel was started, tick n ends at startTime + (n + 1) * tickDuration
+  private final long startTime;
+
+  // Number of ticks processed, guarded by the lock of the wheel
+  private long tick;
+
+  // Handles that expired during the current tick, only used by the timer thread
+  private final ArrayList<Handle> expiredHandles = new ArrayList<Handle>();
+
+  // Listeners run by the timer thread after the tasks of every tick
+  private final CopyOnWriteArrayList<Runnable> tickListeners = new CopyOnWriteArrayList<Runnable>();
+
+  private final Thread workerThread;
+
+  private volatile boolean terminate = false;
+
+  // Statistics of the fired timers
+  private final LongAdder firedTimers = new LongAdder();
+  private final LongAdder totalFireLag = new LongAdder();
+  private final AtomicLong maxFireLag = new AtomicLong();
+
+  /** Default Constructor */
+  public HashedWheelTimer(String name) {
+    this(name, DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param name name of the timer thread
+   * @param tickDuration duration of a tick, the accuracy of the timers
+   * @param unit
+   * @param ticksPerWheel number of buckets, rounded up to a power of two
+   */
+  public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    if (tickDuration <= 0 || ticksPerWheel <= 0) {
+      throw new IllegalArgumentException("Tick duration and ticks per wheel must be positive");
+    }
+    int length = Integer.highestOneBit(ticksPerWheel);
+    if (length < ticksPerWheel) length <<= 1;
+    wheel = new Bucket[length];
+    for (int i = 0; i < length; i++) {
+      wheel[i] = new Bucket();
+    }
+    mask = length - 1;
+    this.tickDuration = unit.toNanos(tickDuration);
+    startTime = System.nanoTime();
+    workerThread = new Thread(this::run, name);
+    workerThread.start();
+  }
+
+  /**
+   * Function to create a timer, the timer is not scheduled
+   *
+   * @param task task run by the timer thread when the timer expires
+   * @return handle to schedule the timer
+   */
+  public Handle newHandle(Runnable task) {
+    return new Handle(this, task);
+  }
+
+  /**
+   * Function to add a listener run by the timer thread at the end of every tick, after the tasks of
+   * the timers expired in the tick. Used to process the work of these tasks in batches
+   *
+   * @param listener
+   */
+  public void addTickListener(Runnable listener) {
+    tickListeners.add(listener);
+  }
+
+  // Function to link a handle into the bucket of its deadline, or to move it to an earlier bucket
+  private synchronized void link(Handle handle) {
+    if (handle.inWheel) {
+      handle.bucket.remove(handle);
+    }
+    long deadlineTick = (handle.deadline - startTime) / tickDuration;
+    // A deadline in a processed tick expires with the next tick
+    long ticks = Math.max(deadlineTick, tick);
+    handle.remainingRounds = (ticks - tick) / wheel.length;
+    wheel[(int) (ticks & mask)].add(handle);
+    handle.inWheel = true;
+  }
+
+  /** Main loop of the timer thread */
+  private void run() {
+    while (!terminate) {
+      long tickEnd = startTime + (tick + 1) * tickDuration;
+      long sleepTime = tickEnd - System.nanoTime();
+      if (sleepTime > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepTime);
+        } catch (InterruptedException e) {
+          continue;
+        }
+      }
+      expireTimers();
+      for (Handle handle : expiredHandles) {
+        runTask(handle);
+      }
+      expiredHandles.clear();
+      for (Runnable listener : tickListeners) {
+        try {
+          listener.run();
+        } catch (RuntimeException e) {
+          logger.error("Tick listener failed", e);
+        }
+      }
+    }
+    logger.info("{}", this);
+  }
+
+  // Function to collect the expired handles of the current bucket and advance the wheel
+  private synchronized void expireTimers() {
+    long now = System.nanoTime();
+    Bucket bucket = wheel[(int) (tick & mask)];
+    Handle handle = bucket.head;
+    tick++;
+    while (handle != null) {
+      Handle next = handle.next;
+      if (handle.remainingRounds > 0) {
+        handle.remainingRounds--;
+      } else {
+        bucket.remove(handle);
+        // Rescheduling threads check the flag after updating the deadline, so that a concurrent
+        // update is either seen here or links the handle again
+        handle.inWheel = false;
+        if (handle.active) {
+          if (handle.deadline - now > 0) {
+            link(handle);
+          } else {
+            expiredHandles.add(handle);
+          }
+        }
+      }
+      handle = next;
+    }
+  }
+
+  private void runTask(Handle handle) {
+    long lag = System.nanoTime() - handle.deadline;
+    firedTimers.increment();
+    totalFireLag.add(lag);
+    maxFireLag.accumulateAndGet(lag, Math::max);
+    try {
+      handle.task.run();
+    } catch (RuntimeException e) {
+      logger.error("Timer task failed", e);
+    }
+  }
+
+  /** Function to get the number of timers that expired */
+  public long getFiredTimerCount() {
+    return firedTimers.sum();
+  }
+
+  /** Function to get the average time in milliseconds between the deadline and the task run */
+  public double getAverageFireLag() {
+    long fired = firedTimers.sum();
+    return fired == 0 ? 0 : totalFireLag.sum() / 1e6 / fired;
+  }
+
+  /** Function to get the maximum time in milliseconds between a deadline and the task run */
+  public double getMaxFireLag() {
+    return maxFireLag.get() / 1e6;
+  }
+
+  /** Function to stop the timer thread, scheduled timers do not run anymore */
+  public void stop() {
+    terminate = true;
+    workerThread.interrupt();
+  }
+
+  public String toString() {
+    return String.format(
+        "HashedWheelTimer[buckets=%d, tick=%.1f ms, fired=%d, avgLag=%.2f ms, maxLag=%.2f ms]",
+        wheel.length,
+        tickDuration / 1e6,
+        getFiredTimerCount(),
+        getAverageFireLag(),
+        getMaxFireLag());
+  }
+}
@@ -0,0 +1,174 @@
+package com.pcee.architecture.computationmodule;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.computationmodule.ted.TopologyInformation;
+import com.pcee.architecture.sessionmodule.SessionModule;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the number of answered requests per second of the computation module for PCReq messages
+ * carrying an increasing number of requests, starting with single-request messages. The requests
+ * are decoded from their wire format, computed and answered with PCRep messages that are encoded
+ * and counted by a session module stub.
+ *
+ * <p>Usage: RequestBatchBenchmark [topology] [requests] [requestBatchSize] [computationThreads]
+ */
+public class RequestBatchBenchmark {
+
+  // Session module encoding and counting the responses
+  private static class CountingSessionModule extends SessionModule {
+
+    private final LongAdder responseMessages = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
+      message.getMessageByteArray();
+      int objectCount = message.getObjectCount();
+      int requestCount = 0;
+      for (int i = 0; i < objectCount; i++) {
+        if (message.getObjectClass(i) == 2) requestCount++;
+      }
+      responses.add(requestCount);
+      responseMessages.increment();
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public void updateBackPressure(PceAddress address, boolean backPressure) {}
+
+    public boolean isBackPressured(PceAddress address) {
+      return false;
+    }
+  }
+
+  private static class BenchmarkModuleManagement extends ModuleManagement {
+
+    private final CountingSessionModule sessionModule = new CountingSessionModule();
+    private ComputationModule computationModule;
+
+    BenchmarkModuleManagement() {
+      super(false);
+    }
+
+    public SessionModule getSessionModule() {
+      return sessionModule;
+    }
+
+    public ComputationModule getComputationModule() {
+      return computationModule;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    String topology = args.length > 0 ? args[0] : "cli-launcher/src/main/resources/atlanta.txt";
+    int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+    int requestBatchSize = args.length > 2 ? Integer.parseInt(args[2]) : RequestBatch.DEFAULT_SIZE;
+    int computationThreads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+    TopologyInformation.setTopoPath(topology);
+    List<String> vertices =
+        new ArrayList<String>(TopologyInformation.getInstance().getGraph().getVertexIDSet());
+
+    BenchmarkModuleManagement lm = new BenchmarkModuleManagement();
+    // Every request is computed
+    ComputationModuleConfig config = new ComputationModuleConfig();
+    config.setComputationThreads(computationThreads);
+    config.setPathCacheSize(0);
+    config.setRequestQueueCapacity(requests);
+    config.setRequestBatchSize(requestBatchSize);
+    lm.computationModule = new ComputationModuleImpl(lm, config);
+
+    System.out.println(
+        "Vertices: "
+            + vertices.size()
+            + ", requests: "
+            + requests
+            + ", requestBatchSize: "
+            + requestBatchSize
+            + ", computationThreads: "
+            + computationThreads
+            + ", processors: "
+            + Runtime.getRuntime().availableProcessors());
+
+    Random random = new Random(1);
+    // Warm up the decoding and path computation before the measured runs
+    run(lm, vertices, random, requests, 1);
+    for (int requestsPerMessage = 1;
+        requestsPerMessage <= requestBatchSize;
+        requestsPerMessage *= 2) {
+      run(lm, vertices, random, requests, requestsPerMessage);
+    }
+    System.exit(0);
+  }
+
+  private static void run(
+      BenchmarkModuleManagement lm,
+      List<String> vertices,
+      Random random,
+      int requests,
+      int requestsPerMessage)
+      throws Exception {
+    // Messages are encoded before the measurement, as they would be received from the network
+    PceAddress peer = new PceAddress("127.0.0.1", 4189);
+    List<byte[]> messages = new ArrayList<byte[]>();
+    for (int requestID = 1; requestID <= requests; ) {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      for (int i = 0; i < requestsPerMessage && requestID <= requests; i++, requestID++) {
+        PceRequestParametersObject rp =
+            PceObjectFrameFactory.generatePCEPRequestParametersObject(
+                "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+        PceEndPointsObject endPoints =
+            PceObjectFrameFactory.generatePCEPEndPointsObject(
+                "1",
+                "0",
+                new PceAddress(vertices.get(random.nextInt(vertices.size())), false),
+                new PceAddress(vertices.get(random.nextInt(vertices.size())), false));
+        requestFrames.add(
+            PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPoints));
+      }
+      messages.add(PceMessageFactory.generateMessage(requestFrames).getMessageByteArray());
+    }
+
+    CountingSessionModule sessionModule = lm.sessionModule;
+    long startResponses = sessionModule.responses.sum();
+    long startResponseMessages = sessionModule.responseMessages.sum();
+    long startTime = System.nanoTime();
+    for (byte[] bytes : messages) {
+      PceMessage message = new PceMessage(bytes);
+      message.setAddress(peer);
+      lm.computationModule.receiveMessage(message, ModuleEnum.SESSION_MODULE);
+    }
+    while (sessionModule.responses.sum() - startResponses < requests) {
+      Thread.sleep(1);
+    }
+    long elapsed = System.nanoTime() - startTime;
+
+    System.out.printf(
+        "requestsPerMessage=%d %,.0f req/s, %d PCReq and %d PCRep messages%n",
+        requestsPerMessage,
+        requests * 1e9 / elapsed,
+        messages.size(),
+        sessionModule.responseMessages.sum() - startResponseMessages);
+  }
+}
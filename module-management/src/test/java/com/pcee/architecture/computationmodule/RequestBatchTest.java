@@ -0,0 +1,95 @@
+package com.pcee.architecture.computationmodule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.response.PceResponseFrame;
+import com.pcee.protocol.response.PceResponseFrameFactory;
+import java.util.LinkedList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestBatch Tests")
+class RequestBatchTest {
+
+  private RequestBatch batch;
+
+  @BeforeEach
+  void setUp() {
+    batch = new RequestBatch(new PceAddress("192.168.0.1", 4189));
+    for (int requestID = 1; requestID <= 3; requestID++) {
+      batch.addRequest(requestID);
+    }
+  }
+
+  private static PceResponseFrame noPathResponse(int requestID) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceResponseFrame response = PceResponseFrameFactory.generatePathComputationResponseFrame(rp);
+    response.insertNoPathObject(PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0"));
+    return response;
+  }
+
+  private LinkedList<PceResponseFrame> decodeResponses() {
+    PceMessage message = new PceMessage(batch.generateResponseMessage().getMessageByteArray());
+    return PceResponseFrameFactory.getPathComputationResponseFrames(message);
+  }
+
+  @Test
+  void testBatchIsCompleteWhenAllResponsesAreAdded() {
+    assertFalse(batch.addResponse(noPathResponse(2)));
+    assertFalse(batch.addResponse(noPathResponse(1)));
+    // Responses to requests outside the batch are ignored
+    assertFalse(batch.addResponse(noPathResponse(7)));
+    assertTrue(batch.addResponse(noPathResponse(3)));
+
+    LinkedList<PceResponseFrame> responses = decodeResponses();
+    assertEquals(3, responses.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i + 1, responses.get(i).getRequestID());
+    }
+  }
+
+  @Test
+  void testExpiredRequestIsAnsweredWithinTheBatch() {
+    assertFalse(batch.addResponse(noPathResponse(1)));
+    assertFalse(batch.addExpiredRequest(2));
+    assertTrue(batch.addResponse(noPathResponse(3)));
+
+    LinkedList<PceResponseFrame> responses = decodeResponses();
+    assertEquals(3, responses.size());
+    PceResponseFrame expired = responses.get(1);
+    assertEquals(2, expired.getRequestID());
+    assertTrue(expired.containsNoPathObject());
+    assertEquals(
+        PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE,
+        expired.extractNoPathObject().getNoPathVectorDecimalValue());
+  }
+
+  @Test
+  void testBatchOfExpiredRequestsIsCompleted() {
+    assertFalse(batch.addExpiredRequest(1));
+    assertFalse(batch.addExpiredRequest(2));
+    assertTrue(batch.addExpiredRequest(3));
+    // A request is answered once
+    assertFalse(batch.addExpiredRequest(3));
+    assertEquals(3, decodeResponses().size());
+  }
+
+  @Test
+  void testRemovedRequestIsNotPartOfTheResponse() {
+    assertFalse(batch.addResponse(noPathResponse(1)));
+    assertFalse(batch.removeRequest(2));
+    assertTrue(batch.removeRequest(3));
+
+    LinkedList<PceResponseFrame> responses = decodeResponses();
+    assertEquals(1, responses.size());
+    assertEquals(1, responses.get(0).getRequestID());
+  }
+}
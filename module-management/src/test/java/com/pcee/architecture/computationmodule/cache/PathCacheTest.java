@@ -0,0 +1,176 @@
+package com.pcee.architecture.computationmodule.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PathCache Tests")
+class PathCacheTest {
+
+  private PathCache cache;
+
+  private static PathCacheKey key(String source, String destination, double bandwidth) {
+    return new PathCacheKey(
+        source, destination, bandwidth, PathCacheKey.NO_OBJECTIVE_FUNCTION, "Simple");
+  }
+
+  // Path over the vertices A, B, C... with the edges A-B, B-C...
+  private static CachedPath path(long tedVersion, String... vertexIDs) {
+    String[] edgeIDs = new String[vertexIDs.length - 1];
+    for (int i = 0; i < edgeIDs.length; i++) {
+      edgeIDs[i] = vertexIDs[i] + "-" + vertexIDs[i + 1];
+    }
+    return new CachedPath(Arrays.asList(vertexIDs), Arrays.asList(edgeIDs), 10, tedVersion);
+  }
+
+  private void update(long version, boolean capacityIncreased, boolean metricsDecreased) {
+    cache.topologyUpdated(
+        new TedSnapshot(version, null),
+        Collections.singletonList("X-Y"),
+        capacityIncreased,
+        metricsDecreased);
+  }
+
+  @BeforeEach
+  void setUp() {
+    cache = new PathCache(3, 0);
+  }
+
+  @Nested
+  @DisplayName("Lookup and eviction")
+  class LookupTests {
+
+    @Test
+    void testHitsAndMisses() {
+      assertNull(cache.get(key("A", "C", 0)));
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+
+      assertEquals(Arrays.asList("A", "B", "C"), cache.get(key("A", "C", 0)).getVertexIDs());
+      assertNull(cache.get(key("A", "C", 5)));
+      assertEquals(1, cache.getHitCount());
+      assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testMetricBoundsArePartOfTheKey() {
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+      PathCacheKey bounded =
+          new PathCacheKey(
+              "A", "C", 0, PathCacheKey.NO_OBJECTIVE_FUNCTION, "Simple", "delay<=5.0");
+
+      assertNull(cache.get(bounded));
+      cache.put(bounded, path(1, "A", "C"));
+      assertEquals(Arrays.asList("A", "C"), cache.get(bounded).getVertexIDs());
+      assertEquals(Arrays.asList("A", "B", "C"), cache.get(key("A", "C", 0)).getVertexIDs());
+    }
+
+    @Test
+    void testLeastRecentlyUsedPathIsEvicted() {
+      cache.put(key("A", "B", 0), path(1, "A", "B"));
+      cache.put(key("A", "C", 0), path(1, "A", "C"));
+      cache.put(key("A", "D", 0), path(1, "A", "D"));
+      cache.get(key("A", "B", 0));
+
+      cache.put(key("A", "E", 0), path(1, "A", "E"));
+
+      assertEquals(3, cache.size());
+      assertEquals(1, cache.getEvictionCount());
+      assertNull(cache.get(key("A", "C", 0)));
+      assertNotNull(cache.get(key("A", "B", 0)));
+    }
+
+    @Test
+    void testDisabledCache() {
+      cache = new PathCache(0, 10);
+
+      assertFalse(cache.put(key("A", "B", 0), path(1, "A", "B")));
+      assertNull(cache.get(key("A", "B", 0)));
+      assertEquals(4.0, cache.getBucketBandwidth(4));
+    }
+
+    @Test
+    void testBandwidthIsRoundedUpToBucket() {
+      cache = new PathCache(3, 10);
+
+      assertEquals(10.0, cache.getBucketBandwidth(0.5));
+      assertEquals(10.0, cache.getBucketBandwidth(10));
+      assertEquals(20.0, cache.getBucketBandwidth(10.5));
+      assertEquals(0.0, cache.getBucketBandwidth(0));
+    }
+  }
+
+  @Nested
+  @DisplayName("Invalidation")
+  class InvalidationTests {
+
+    @Test
+    void testPathsThroughModifiedEdgeAreInvalidated() {
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+      cache.put(key("A", "D", 0), path(1, "A", "D"));
+
+      cache.topologyUpdated(
+          new TedSnapshot(2, null), Collections.singletonList("B-C"), false, false);
+
+      assertNull(cache.get(key("A", "C", 0)));
+      assertNotNull(cache.get(key("A", "D", 0)));
+      assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void testCapacityIncreaseInvalidatesBandwidthConstrainedPaths() {
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+      cache.put(key("A", "C", 5), path(1, "A", "B", "C"));
+
+      update(2, true, false);
+
+      assertNotNull(cache.get(key("A", "C", 0)));
+      assertNull(cache.get(key("A", "C", 5)));
+    }
+
+    @Test
+    void testCapacityChangeInvalidatesCapacityDependentPaths() {
+      // Minimum load path, its result depends on the load of every edge without bandwidth
+      PathCacheKey minLoad = new PathCacheKey("A", "C", 0, 2, "MinLoad", "", true);
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+      cache.put(minLoad, path(1, "A", "B", "C"));
+
+      // A reservation on an edge off the path
+      update(2, false, false);
+
+      assertNotNull(cache.get(key("A", "C", 0)));
+      assertNull(cache.get(minLoad));
+
+      cache.put(minLoad, path(2, "A", "B", "C"));
+      update(3, true, false);
+
+      assertNotNull(cache.get(key("A", "C", 0)));
+      assertNull(cache.get(minLoad));
+    }
+
+    @Test
+    void testMetricDecreaseInvalidatesAllPaths() {
+      cache.put(key("A", "C", 0), path(1, "A", "B", "C"));
+      cache.put(key("A", "D", 5), path(1, "A", "D"));
+
+      update(2, false, true);
+
+      assertEquals(0, cache.size());
+      assertEquals(2, cache.getInvalidationCount());
+    }
+
+    @Test
+    void testPathComputedOnOutdatedVersionIsNotInserted() {
+      update(3, false, false);
+
+      assertFalse(cache.put(key("A", "C", 0), path(2, "A", "B", "C")));
+      assertTrue(cache.put(key("A", "C", 0), path(3, "A", "B", "C")));
+      assertEquals(1, cache.size());
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.computationmodule.ComputationModule;
+import com.pcee.architecture.computationmodule.cache.PathCache;
+import com.pcee.architecture.computationmodule.ted.TopologyInformation;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the number of computed requests per second of the platform thread pool, the virtual
+ * thread executor and the fork/join executor. Responses are counted by a computation module stub
+ * that optionally blocks the computing thread for a while, standing in for a task waiting for the
+ * response of a remote peer.
+ *
+ * <p>Usage: ComputationExecutorBenchmark [topology] [requests] [concurrency] [blockingMillis]
+ */
+public class ComputationExecutorBenchmark {
+
+  // Computation module counting the responses of the computed requests
+  private static class CountingComputationModule extends ComputationModule {
+
+    private final LongAdder responses = new LongAdder();
+    private final long blockingMillis;
+
+    CountingComputationModule(long blockingMillis) {
+      this.blockingMillis = blockingMillis;
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {
+      if (blockingMillis > 0) {
+        try {
+          Thread.sleep(blockingMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      responses.increment();
+    }
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public boolean isValidRequestToRemotePeer(PceAddress address, String requestID) {
+      return true;
+    }
+
+    public void registerRequestToRemotePeer(
+        PceAddress address, String requestID, LinkedBlockingQueue<PceMessage> queue) {}
+
+    protected void processResponseFromRemotePeer(PceMessage message) {}
+  }
+
+  private static class BenchmarkModuleManagement extends ModuleManagement {
+
+    private final CountingComputationModule computationModule;
+
+    BenchmarkModuleManagement(long blockingMillis) {
+      super(false);
+      computationModule = new CountingComputationModule(blockingMillis);
+    }
+
+    public ComputationModule getComputationModule() {
+      return computationModule;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    String topology = args.length > 0 ? args[0] : "cli-launcher/src/main/resources/atlanta.txt";
+    int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+    int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+    long blockingMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+    TopologyInformation.setTopoPath(topology);
+    List<String> vertices =
+        new ArrayList<String>(TopologyInformation.getInstance().getGraph().getVertexIDSet());
+    // The same requests are computed by every executor
+    Random random = new Random(1);
+    String[][] endPoints = new String[requests][];
+    for (int i = 0; i < requests; i++) {
+      String source = vertices.get(random.nextInt(vertices.size()));
+      String destination = vertices.get(random.nextInt(vertices.size()));
+      endPoints[i] = new String[] {source, destination};
+    }
+
+    System.out.println(
+        "Vertices: "
+            + vertices.size()
+            + ", requests: "
+            + requests
+            + ", concurrency: "
+            + concurrency
+            + ", blocking: "
+            + blockingMillis
+            + " ms, processors: "
+            + Runtime.getRuntime().availableProcessors());
+
+    String[] types = {
+      ComputationExecutor.PLATFORM, ComputationExecutor.VIRTUAL, ComputationExecutor.FORK_JOIN
+    };
+    // Warm up the path computation before the measured runs
+    run(ComputationExecutor.PLATFORM, endPoints, concurrency, 0);
+    for (String type : types) {
+      double requestsPerSecond = run(type, endPoints, concurrency, blockingMillis);
+      System.out.printf("%-9s %,.0f req/s%n", type, requestsPerSecond);
+    }
+    System.exit(0);
+  }
+
+  private static double run(
+      String type, String[][] endPoints, int concurrency, long blockingMillis) throws Exception {
+    BenchmarkModuleManagement lm = new BenchmarkModuleManagement(blockingMillis);
+    RequestScheduler requestScheduler = new RequestScheduler(endPoints.length, 0);
+    // Every request is computed
+    PathCache pathCache = new PathCache(0, 0);
+    ComputationExecutor executor;
+    if (ComputationExecutor.PLATFORM.equals(type)) {
+      executor = new ThreadPool(lm, concurrency, requestScheduler, pathCache);
+    } else {
+      executor = new BoundedTaskExecutor(lm, type, concurrency, requestScheduler, pathCache);
+    }
+
+    PceAddress peer = new PceAddress("127.0.0.1", 4189);
+    long startTime = System.nanoTime();
+    for (int i = 0; i < endPoints.length; i++) {
+      PceRequestParametersObject rp =
+          PceObjectFrameFactory.generatePCEPRequestParametersObject(
+              "1", "0", "0", "0", "0", "1", Integer.toString(i + 1));
+      PceEndPointsObject endPointsObject =
+          PceObjectFrameFactory.generatePCEPEndPointsObject(
+              "1",
+              "0",
+              new PceAddress(endPoints[i][0], false),
+              new PceAddress(endPoints[i][1], false));
+      PceMessage request =
+          PceMessageFactory.generateMessage(
+              PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPointsObject));
+      request.setAddress(peer);
+      requestScheduler.offer(request);
+    }
+    while (lm.computationModule.responses.sum() < endPoints.length) {
+      Thread.sleep(1);
+    }
+    long elapsed = System.nanoTime() - startTime;
+
+    executor.stop();
+    lm.getNetworkModule().stop(false);
+    return endPoints.length * 1e9 / elapsed;
+  }
+}
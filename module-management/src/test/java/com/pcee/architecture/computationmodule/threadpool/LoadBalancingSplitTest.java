@@ -0,0 +1,108 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.multipath.impl.SimpleMultiPathComputationConstraint;
+import com.graph.path.algorithms.multipath.kshortest.impl.YenKShortestPathComputationAlgorithm;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LoadBalancingSplit Tests")
+class LoadBalancingSplitTest {
+
+  private static final String A = "192.168.0.1";
+  private static final String B = "192.168.0.2";
+  private static final String C = "192.168.0.3";
+  private static final String D = "192.168.0.4";
+
+  private Gcontroller graph;
+
+  private void addEdge(String source, String destination, double weight, double capacity) {
+    VertexElement sourceVertex = graph.getVertex(source);
+    VertexElement destinationVertex = graph.getVertex(destination);
+    EdgeElement edge =
+        new EdgeElement(source + "-" + destination, sourceVertex, destinationVertex, graph);
+    edge.setEdgeParams(new BasicEdgeParams(edge, 1, weight, capacity));
+    graph.addEdge(edge);
+  }
+
+  @BeforeEach
+  void setUp() {
+    graph = new GcontrollerImpl();
+    for (String vertexID : new String[] {A, B, C, D}) {
+      graph.addVertex(new VertexElement(vertexID, graph));
+    }
+  }
+
+  // Three candidates from A to D by ascending weight: A-D, A-B-D and A-C-D
+  private List<PathElement> createParallelPaths() {
+    addEdge(A, D, 1, 10);
+    addEdge(A, B, 1, 100);
+    addEdge(B, D, 1, 100);
+    addEdge(A, C, 2, 100);
+    addEdge(C, D, 2, 100);
+    return candidates(3);
+  }
+
+  private List<PathElement> candidates(int pathCount) {
+    return new YenKShortestPathComputationAlgorithm()
+        .computePath(
+            graph,
+            new SimpleMultiPathComputationConstraint(
+                graph.getVertex(A), graph.getVertex(D), pathCount, 0));
+  }
+
+  @Test
+  void testShortestPathCarriesTheBandwidthIfPossible() {
+    List<PathElement> paths = createParallelPaths();
+
+    assertArrayEquals(new double[] {8, 0, 0}, LoadBalancingSplit.split(paths, 3, 8, 0));
+  }
+
+  @Test
+  void testBandwidthIsSplitByAscendingWeight() {
+    List<PathElement> paths = createParallelPaths();
+
+    assertArrayEquals(new double[] {10, 40, 0}, LoadBalancingSplit.split(paths, 3, 50, 0));
+    assertArrayEquals(new double[] {10, 100, 40}, LoadBalancingSplit.split(paths, 3, 150, 0));
+  }
+
+  @Test
+  void testLastPathCarriesTheRemainder() {
+    List<PathElement> paths = createParallelPaths();
+
+    assertArrayEquals(new double[] {0, 90, 0}, LoadBalancingSplit.split(paths, 1, 90, 0));
+    assertNull(LoadBalancingSplit.split(paths, 2, 150, 0));
+  }
+
+  @Test
+  void testEveryPathCarriesTheMinimumBandwidth() {
+    List<PathElement> paths = createParallelPaths();
+
+    // A-D keeps 6 of the 15 for the next path instead of leaving a remainder of 5
+    assertArrayEquals(new double[] {9, 6, 0}, LoadBalancingSplit.split(paths, 3, 15, 6));
+    // A-D cannot carry 12
+    assertArrayEquals(new double[] {0, 30, 0}, LoadBalancingSplit.split(paths, 3, 30, 12));
+  }
+
+  @Test
+  void testPathsShareTheCapacityOfCommonLinks() {
+    addEdge(A, B, 1, 10);
+    addEdge(B, D, 1, 100);
+    addEdge(B, C, 1, 100);
+    addEdge(C, D, 1, 100);
+    List<PathElement> paths = candidates(2);
+
+    assertEquals(2, paths.size());
+    assertArrayEquals(new double[] {10, 0}, LoadBalancingSplit.split(paths, 2, 10, 0));
+    assertNull(LoadBalancingSplit.split(paths, 2, 15, 0));
+  }
+}
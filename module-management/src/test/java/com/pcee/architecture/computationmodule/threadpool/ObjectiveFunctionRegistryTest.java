@@ -0,0 +1,289 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.PathElement;
+import com.graph.path.algorithms.constraints.impl.MetricBoundConstraint;
+import com.graph.path.algorithms.constraints.impl.SimplePathComputationConstraint;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ObjectiveFunctionRegistry Tests")
+class ObjectiveFunctionRegistryTest {
+
+  private ObjectiveFunctionRegistry registry;
+
+  private Gcontroller graph;
+
+  private void addEdge(String source, String destination, double delay, double weight) {
+    VertexElement sourceVertex = graph.getVertex(source);
+    VertexElement destinationVertex = graph.getVertex(destination);
+    EdgeElement edge =
+        new EdgeElement(source + "-" + destination, sourceVertex, destinationVertex, graph);
+    edge.setEdgeParams(new BasicEdgeParams(edge, delay, weight, 100));
+    graph.addEdge(edge);
+  }
+
+  // A-D is the cheapest path, A-B-D is the fastest and A-C-E-D the least loaded
+  @BeforeEach
+  void setUp() {
+    registry = new ObjectiveFunctionRegistry();
+    graph = new GcontrollerImpl();
+    for (String vertexID : new String[] {"A", "B", "C", "D", "E"}) {
+      graph.addVertex(new VertexElement(vertexID, graph));
+    }
+    addEdge("A", "D", 10, 1);
+    addEdge("A", "B", 1, 5);
+    addEdge("B", "D", 1, 5);
+    addEdge("A", "C", 5, 3);
+    addEdge("C", "E", 5, 3);
+    addEdge("E", "D", 5, 3);
+    graph.getEdge("A-D").getEdgeParams().reserveCapacity(80);
+    graph.getEdge("B-D").getEdgeParams().reserveCapacity(50);
+    graph.getEdge("C-E").getEdgeParams().reserveCapacity(20);
+  }
+
+  private String computePath(int code, double bw) {
+    SimplePathComputationConstraint constraint =
+        new SimplePathComputationConstraint(graph.getVertex("A"), graph.getVertex("D"), bw);
+    PathElement path = registry.get(code).getAlgorithm().computePath(graph, constraint);
+    return path == null ? null : path.getVertexSequence();
+  }
+
+  private static PceRequestFrame request(boolean bandwidth, int ofCode) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", "1");
+    PceEndPointsObject endPoints =
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1", "0", new PceAddress("192.168.1.1", false), new PceAddress("192.168.1.2", false));
+    PceRequestFrame requestFrame =
+        PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPoints);
+    if (bandwidth) {
+      requestFrame.insertBandwidthObject(
+          PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 10f));
+    }
+    if (ofCode != 0) {
+      requestFrame.insertObjectiveFunctionObject(
+          PceObjectFrameFactory.generatePCEPObjectiveFunctionObject("1", "0", ofCode));
+    }
+    return requestFrame;
+  }
+
+  @Nested
+  @DisplayName("Dispatch")
+  class DispatchTests {
+
+    @Test
+    void testRequestIsDispatchedByOfCode() {
+      assertEquals(
+          ObjectiveFunctionRegistry.MLP,
+          registry.getObjectiveFunction(request(false, ObjectiveFunctionRegistry.MLP)).getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.MIN_DELAY,
+          registry
+              .getObjectiveFunction(request(true, ObjectiveFunctionRegistry.MIN_DELAY))
+              .getCode());
+    }
+
+    @Test
+    void testDefaultObjectiveFunctionDependsOnBandwidth() {
+      assertEquals(
+          ObjectiveFunctionRegistry.MCP,
+          registry.getObjectiveFunction(request(false, 0)).getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.MBP,
+          registry.getObjectiveFunction(request(true, 0)).getCode());
+      // Unsupported objective functions are replaced by the default one
+      assertEquals(
+          ObjectiveFunctionRegistry.MBP,
+          registry.getObjectiveFunction(request(true, 1000)).getCode());
+    }
+
+    @Test
+    void testBoundedRequestMinimizesMetricOfObjectiveFunction() {
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND,
+          registry.getBoundedObjectiveFunction(request(true, 0)).getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND,
+          registry
+              .getBoundedObjectiveFunction(request(false, ObjectiveFunctionRegistry.MCC))
+              .getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND_DELAY,
+          registry
+              .getBoundedObjectiveFunction(request(false, ObjectiveFunctionRegistry.MIN_DELAY))
+              .getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND_DELAY,
+          registry
+              .getBoundedObjectiveFunction(
+                  request(false, ObjectiveFunctionRegistry.MIN_DELAY_A_STAR))
+              .getCode());
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND_HOPS,
+          registry
+              .getBoundedObjectiveFunction(request(true, ObjectiveFunctionRegistry.MBC))
+              .getCode());
+      // Unknown objective functions are replaced by the default one
+      assertEquals(
+          ObjectiveFunctionRegistry.METRIC_BOUND,
+          registry.getBoundedObjectiveFunction(request(false, 1000)).getCode());
+    }
+
+    @Test
+    void testLoadObjectiveFunctionsAreNotSupportedWithBounds() {
+      assertNull(
+          registry.getBoundedObjectiveFunction(request(true, ObjectiveFunctionRegistry.MBP)));
+      assertNull(
+          registry.getBoundedObjectiveFunction(request(false, ObjectiveFunctionRegistry.MLP)));
+      assertNull(
+          registry.getBoundedObjectiveFunction(request(false, ObjectiveFunctionRegistry.MLL)));
+    }
+
+    @Test
+    void testAlgorithmsAreShared() {
+      assertSame(
+          registry.getObjectiveFunction(request(false, 0)).getAlgorithm(),
+          registry.getObjectiveFunction(request(false, 0)).getAlgorithm());
+      assertSame(
+          registry.get(ObjectiveFunctionRegistry.MLP).getAlgorithm(),
+          registry.get(ObjectiveFunctionRegistry.MLL).getAlgorithm());
+    }
+
+    @Test
+    void testCapacityDependentObjectiveFunctions() {
+      assertTrue(registry.get(ObjectiveFunctionRegistry.MLP).isCapacityDependent());
+      assertTrue(registry.get(ObjectiveFunctionRegistry.MLL).isCapacityDependent());
+      assertTrue(registry.get(ObjectiveFunctionRegistry.MBP).isCapacityDependent());
+      assertFalse(registry.get(ObjectiveFunctionRegistry.MCP).isCapacityDependent());
+      assertFalse(registry.get(ObjectiveFunctionRegistry.MIN_DELAY).isCapacityDependent());
+    }
+
+    @Test
+    void testLatencyIsRecordedPerObjectiveFunction() {
+      registry.get(ObjectiveFunctionRegistry.MLP).recordLatency(3000);
+      registry.get(ObjectiveFunctionRegistry.MLP).recordLatency(5000);
+
+      assertEquals(2, registry.get(ObjectiveFunctionRegistry.MLP).getComputationCount());
+      assertEquals(4, registry.get(ObjectiveFunctionRegistry.MLP).getMeanLatency());
+      assertEquals(5, registry.get(ObjectiveFunctionRegistry.MLP).getMaxLatency());
+      assertEquals(0, registry.get(ObjectiveFunctionRegistry.MLL).getComputationCount());
+    }
+  }
+
+  @Nested
+  @DisplayName("Algorithms")
+  class AlgorithmTests {
+
+    @Test
+    void testMinimumCostPath() {
+      assertEquals("A-D", computePath(ObjectiveFunctionRegistry.MCP, 0));
+      // A-D only has 20 units of capacity left
+      assertEquals("A-C-E-D", computePath(ObjectiveFunctionRegistry.MCP, 30));
+    }
+
+    @Test
+    void testMinimumLoadPath() {
+      assertEquals("A-C-E-D", computePath(ObjectiveFunctionRegistry.MLP, 0));
+      assertEquals("A-C-E-D", computePath(ObjectiveFunctionRegistry.MLL, 0));
+    }
+
+    @Test
+    void testMinimumLoadPathPrefersCheaperPathOfSameLoad() {
+      graph.getEdge("A-D").getEdgeParams().releaseCapacity(60);
+
+      // A-D and A-C-E-D both have a load of 20%
+      assertEquals("A-D", computePath(ObjectiveFunctionRegistry.MLP, 0));
+    }
+
+    @Test
+    void testMinimumBandwidthConsumption() {
+      graph.getEdge("A-D").getEdgeParams().setWeight(100);
+
+      assertEquals("A-D", computePath(ObjectiveFunctionRegistry.MBC, 0));
+      assertEquals("A-B-D", computePath(ObjectiveFunctionRegistry.MBC, 30));
+    }
+
+    @Test
+    void testMinimumDelayPath() {
+      assertEquals("A-B-D", computePath(ObjectiveFunctionRegistry.MIN_DELAY, 0));
+      assertEquals("A-C-E-D", computePath(ObjectiveFunctionRegistry.MIN_DELAY, 60));
+    }
+
+    @Test
+    void testMinimumDelayPathSearchVariants() {
+      for (int code :
+          new int[] {
+            ObjectiveFunctionRegistry.MIN_DELAY_BIDIRECTIONAL,
+            ObjectiveFunctionRegistry.MIN_DELAY_A_STAR
+          }) {
+        assertEquals("A-B-D", computePath(code, 0));
+        assertEquals("A-C-E-D", computePath(code, 60));
+        assertNull(computePath(code, 90));
+      }
+    }
+
+    @Test
+    void testMetricBoundPath() {
+      MetricBoundConstraint constraint =
+          new MetricBoundConstraint(graph.getVertex("A"), graph.getVertex("D"), 0);
+      constraint.setMaxDelay(5);
+      PathElement path =
+          registry
+              .get(ObjectiveFunctionRegistry.METRIC_BOUND)
+              .getAlgorithm()
+              .computePath(graph, constraint);
+
+      // A-D is cheaper but exceeds the delay bound
+      assertEquals("A-B-D", path.getVertexSequence());
+      assertEquals("A-D", computePath(ObjectiveFunctionRegistry.METRIC_BOUND, 0));
+    }
+
+    @Test
+    void testMetricBoundPathOfOtherMetrics() {
+      MetricBoundConstraint constraint =
+          new MetricBoundConstraint(graph.getVertex("A"), graph.getVertex("D"), 0);
+      constraint.setMaxHops(2);
+
+      // A-D is the cheapest path within two hops, A-B-D the fastest
+      assertEquals(
+          "A-D",
+          registry
+              .get(ObjectiveFunctionRegistry.METRIC_BOUND)
+              .getAlgorithm()
+              .computePath(graph, constraint)
+              .getVertexSequence());
+      assertEquals(
+          "A-B-D",
+          registry
+              .get(ObjectiveFunctionRegistry.METRIC_BOUND_DELAY)
+              .getAlgorithm()
+              .computePath(graph, constraint)
+              .getVertexSequence());
+      constraint.setMaxDelay(9);
+      // A-D has the fewest hops but exceeds the delay bound
+      assertEquals(
+          "A-B-D",
+          registry
+              .get(ObjectiveFunctionRegistry.METRIC_BOUND_HOPS)
+              .getAlgorithm()
+              .computePath(graph, constraint)
+              .getVertexSequence());
+    }
+  }
+}
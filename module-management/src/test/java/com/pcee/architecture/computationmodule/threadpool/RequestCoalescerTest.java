@@ -0,0 +1,94 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.architecture.computationmodule.cache.PathCacheKey;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import com.pcee.protocol.message.PceCommonMessageHeader;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+
+  private RequestCoalescer coalescer;
+
+  private static PathCacheKey key(String destination) {
+    return new PathCacheKey("A", destination, 0, PathCacheKey.NO_OBJECTIVE_FUNCTION, "Simple");
+  }
+
+  private static WorkerTask task() {
+    return new WorkerTask(null, null, new TedSnapshot(1, null), null, null, null);
+  }
+
+  // Task for a request received on the session of a peer
+  private static WorkerTask task(PceAddress address) {
+    PceMessage request =
+        new PceMessage(new PceCommonMessageHeader(1, 3), new LinkedList<PceObjectFrame>());
+    request.setAddress(address);
+    return new WorkerTask(null, request, new TedSnapshot(1, null), null, null, null);
+  }
+
+  @BeforeEach
+  void setUp() {
+    coalescer = new RequestCoalescer();
+  }
+
+  @Test
+  void testIdenticalRequestsAreAttachedToLeader() {
+    WorkerTask first = task();
+    WorkerTask second = task();
+
+    assertTrue(coalescer.join(key("B"), 1, task()));
+    assertFalse(coalescer.join(key("B"), 1, first));
+    assertFalse(coalescer.join(key("B"), 1, second));
+
+    assertEquals(Arrays.asList(first, second), coalescer.complete(key("B"), 1));
+    assertEquals(1, coalescer.getComputationCount());
+    assertEquals(2, coalescer.getCoalescedRequestCount());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void testDifferentSignaturesAreComputedSeparately() {
+    assertTrue(coalescer.join(key("B"), 1, task()));
+    assertTrue(coalescer.join(key("C"), 1, task()));
+    assertTrue(coalescer.join(key("B"), 2, task()), "Other TED version");
+
+    assertEquals(3, coalescer.getInFlightCount());
+    assertEquals(0, coalescer.getCoalescedRequestCount());
+  }
+
+  @Test
+  void testCompletedComputationIsNotJoined() {
+    assertTrue(coalescer.join(key("B"), 1, task()));
+    List<WorkerTask> followers = coalescer.complete(key("B"), 1);
+
+    assertTrue(followers.isEmpty());
+    assertTrue(coalescer.join(key("B"), 1, task()));
+    assertEquals(2, coalescer.getComputationCount());
+  }
+
+  @Test
+  void testTasksOfClosedSessionAreCancelled() {
+    PceAddress closed = new PceAddress("10.0.0.1", 4189);
+    WorkerTask open = task(new PceAddress("10.0.0.2", 4189));
+    WorkerTask cancelled = task(closed);
+
+    assertTrue(coalescer.join(key("B"), 1, task(closed)));
+    assertFalse(coalescer.join(key("B"), 1, cancelled));
+    assertFalse(coalescer.join(key("B"), 1, open));
+
+    assertEquals(1, coalescer.cancel(closed));
+    assertTrue(cancelled.isCancelled());
+    assertFalse(open.isCancelled());
+    assertEquals(Arrays.asList(open), coalescer.complete(key("B"), 1));
+  }
+}
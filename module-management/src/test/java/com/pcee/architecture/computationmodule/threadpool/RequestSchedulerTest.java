@@ -0,0 +1,165 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.PceCommonMessageHeader;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RequestScheduler Tests")
+class RequestSchedulerTest {
+
+  // Builds a path computation request holding only an RP object
+  private static PceMessage request(int requestID, int priority) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "0", Integer.toString(requestID));
+    rp.setPriFlagDecimalValue(priority);
+    LinkedList<PceObjectFrame> objects = new LinkedList<PceObjectFrame>();
+    objects.add(rp);
+    return new PceMessage(new PceCommonMessageHeader(1, 3), objects);
+  }
+
+  // Builds a path computation request received on the session of a peer
+  private static PceMessage request(int requestID, int priority, PceAddress address) {
+    PceMessage message = request(requestID, priority);
+    message.setAddress(address);
+    return message;
+  }
+
+  private static int requestID(PceMessage message) {
+    PceRequestParametersObject rp = (PceRequestParametersObject) message.getFirstObject(2);
+    return rp.getRequestIDNumberDecimalValue();
+  }
+
+  @Nested
+  @DisplayName("Ordering")
+  class OrderingTests {
+
+    @Test
+    void testRequestsAreOrderedByPriority() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(10, 0);
+      scheduler.offer(request(1, 1));
+      scheduler.offer(request(2, 7));
+      scheduler.offer(request(3, 0));
+      scheduler.offer(request(4, 7));
+      scheduler.offer(request(5, 4));
+
+      assertEquals(2, scheduler.size(7));
+      assertEquals(2, requestID(scheduler.take()));
+      assertEquals(4, requestID(scheduler.take()));
+      assertEquals(5, requestID(scheduler.take()));
+      assertEquals(1, requestID(scheduler.take()));
+      assertEquals(3, requestID(scheduler.take()));
+      assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void testWaitingRequestsAreAged() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(10, 10);
+      scheduler.offer(request(1, 0));
+      Thread.sleep(100);
+      scheduler.offer(request(2, 7));
+
+      // Waiting for more than 7 aging intervals promotes the request above priority 7
+      assertEquals(1, requestID(scheduler.take()));
+      assertEquals(2, requestID(scheduler.take()));
+    }
+
+    @Test
+    void testTakeWaitsForRequest() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(10, 0);
+      Thread producer =
+          new Thread(
+              () -> {
+                try {
+                  Thread.sleep(50);
+                } catch (InterruptedException e) {
+                  return;
+                }
+                scheduler.offer(request(1, 3));
+              });
+      producer.start();
+
+      assertEquals(1, requestID(scheduler.take()));
+      producer.join();
+    }
+  }
+
+  @Nested
+  @DisplayName("Capacity and metrics")
+  class CapacityTests {
+
+    @Test
+    void testFullSchedulerRejectsRequests() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(2, 0);
+
+      assertTrue(scheduler.offer(request(1, 1)));
+      assertTrue(scheduler.offer(request(2, 1)));
+      assertFalse(scheduler.offer(request(3, 7)));
+      assertEquals(1, scheduler.getRejectedRequestCount());
+
+      scheduler.take();
+      assertTrue(scheduler.offer(request(4, 1)));
+    }
+
+    @Test
+    void testBatchIsQueuedUpToCapacity() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(3, 0);
+      scheduler.offer(request(1, 1));
+
+      List<PceMessage> batch = Arrays.asList(request(2, 1), request(3, 7), request(4, 7));
+      assertEquals(2, scheduler.offerAll(batch));
+
+      assertEquals(3, scheduler.size());
+      assertEquals(1, scheduler.getRejectedRequestCount());
+      assertEquals(3, requestID(scheduler.take()));
+      assertEquals(1, requestID(scheduler.take()));
+      assertEquals(2, requestID(scheduler.take()));
+    }
+
+    @Test
+    void testRequestsOfClosedSessionAreRemoved() throws InterruptedException {
+      PceAddress closed = new PceAddress("10.0.0.1", 4189);
+      PceAddress open = new PceAddress("10.0.0.2", 4189);
+      RequestScheduler scheduler = new RequestScheduler(10, 0);
+      scheduler.offer(request(1, 1, closed));
+      scheduler.offer(request(2, 5, open));
+      scheduler.offer(request(3, 5, closed));
+      scheduler.offer(request(4, 1, open));
+
+      assertEquals(2, scheduler.removeRequests(closed));
+
+      assertEquals(2, scheduler.size());
+      assertEquals(2, scheduler.getRemovedRequestCount());
+      assertEquals(2, requestID(scheduler.take()));
+      assertEquals(4, requestID(scheduler.take()));
+    }
+
+    @Test
+    void testDepthAndWaitTimeAreRecorded() throws InterruptedException {
+      RequestScheduler scheduler = new RequestScheduler(10, 0);
+      scheduler.offer(request(1, 1));
+      scheduler.offer(request(2, 1));
+      scheduler.offer(request(3, 1));
+      Thread.sleep(20);
+      scheduler.take();
+      scheduler.take();
+
+      assertEquals(1, scheduler.size());
+      assertEquals(3, scheduler.getMaxDepth());
+      assertEquals(2, scheduler.getScheduledRequestCount());
+      assertTrue(scheduler.getMaxWaitTime() >= 20);
+      assertTrue(scheduler.getAverageWaitTime() >= 20);
+    }
+  }
+}
@@ -0,0 +1,313 @@
+package com.pcee.architecture.computationmodule.threadpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.graph.elements.edge.EdgeElement;
+import com.graph.elements.edge.params.impl.BasicEdgeParams;
+import com.graph.elements.vertex.VertexElement;
+import com.graph.graphcontroller.Gcontroller;
+import com.graph.graphcontroller.impl.GcontrollerImpl;
+import com.graph.path.algorithms.common.CancellationFlag;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.RequestDeadlineMonitor;
+import com.pcee.architecture.computationmodule.ted.TedSnapshot;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.request.PceRequestFrame;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import com.pcee.protocol.response.PceResponseFrame;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SvecBatchExecutor Tests")
+class SvecBatchExecutorTest {
+
+  private static final String A = "192.168.0.1";
+  private static final String B = "192.168.0.2";
+  private static final String C = "192.168.0.3";
+  private static final String D = "192.168.0.4";
+  private static final String E = "192.168.0.5";
+
+  private Gcontroller graph;
+
+  // Module management holding the deadline monitor back until it is released, so that a message
+  // stays in the executor
+  private static class BlockingModuleManagement extends ModuleManagement {
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    BlockingModuleManagement() {
+      super(false);
+    }
+
+    public RequestDeadlineMonitor getRequestDeadlineMonitor() {
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.getRequestDeadlineMonitor();
+    }
+  }
+
+  private List<PceRequestFrame> requestFrames;
+
+  private void addEdge(String source, String destination, double weight, double capacity) {
+    VertexElement sourceVertex = graph.getVertex(source);
+    VertexElement destinationVertex = graph.getVertex(destination);
+    EdgeElement edge =
+        new EdgeElement(source + "-" + destination, sourceVertex, destinationVertex, graph);
+    edge.setEdgeParams(new BasicEdgeParams(edge, 1, weight, capacity));
+    graph.addEdge(edge);
+  }
+
+  // Three paths from A to D: A-D, A-B-D and A-C-D, the path over B also crosses E
+  @BeforeEach
+  void setUp() {
+    graph = new GcontrollerImpl();
+    for (String vertexID : new String[] {A, B, C, D, E}) {
+      graph.addVertex(new VertexElement(vertexID, graph));
+    }
+    addEdge(A, D, 1, 10);
+    addEdge(A, B, 1, 100);
+    addEdge(B, D, 1, 100);
+    addEdge(A, C, 2, 100);
+    addEdge(C, D, 2, 100);
+    addEdge(B, E, 5, 100);
+    requestFrames = new ArrayList<PceRequestFrame>();
+  }
+
+  private PceRequestFrame addRequest(int requestID, String source, String destination) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceEndPointsObject endPoints =
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1", "0", new PceAddress(source, false), new PceAddress(destination, false));
+    PceRequestFrame requestFrame =
+        PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPoints);
+    requestFrames.add(requestFrame);
+    return requestFrame;
+  }
+
+  private void addSvec(String nFlag, String lFlag, String... requestIDs) {
+    LinkedList<String> requestIDList = new LinkedList<String>(List.of(requestIDs));
+    requestFrames
+        .get(0)
+        .insertSynchronizationVectorObject(
+            PceObjectFrameFactory.generatePCEPSynchronizationVectorObject(
+                "1", "0", "0", nFlag, lFlag, requestIDList));
+  }
+
+  private List<SvecGroupTask> computeGroups() {
+    PceMessage message =
+        new PceMessage(PceMessageFactory.generateMessage(requestFrames).getMessageByteArray());
+    List<SvecGroupTask> groups =
+        SvecBatchExecutor.createGroups(
+            new TedSnapshot(1, graph), message, new CancellationFlag());
+    for (SvecGroupTask group : groups) {
+      group.invoke();
+    }
+    return groups;
+  }
+
+  // Traversed vertices as printed by the ERO
+  private static String path(String... vertexIDs) {
+    return "[" + String.join("-", vertexIDs) + "-]";
+  }
+
+  @Test
+  void testRequestsAreGroupedBySvec() {
+    addRequest(1, A, D);
+    addRequest(2, A, D);
+    addRequest(3, A, D);
+    addRequest(4, A, D);
+    addSvec("0", "1", "1", "3");
+    addSvec("0", "1", "3", "4");
+
+    List<SvecGroupTask> groups = computeGroups();
+
+    assertEquals(2, groups.size());
+    assertEquals(3, groups.get(0).getResponses().size());
+    assertEquals(1, groups.get(0).getResponses().get(0).getRequestID());
+    assertEquals(3, groups.get(0).getResponses().get(1).getRequestID());
+    assertEquals(4, groups.get(0).getResponses().get(2).getRequestID());
+    assertEquals(2, groups.get(1).getResponses().get(0).getRequestID());
+  }
+
+  @Test
+  void testLinkDiversePaths() {
+    addRequest(1, A, D);
+    addRequest(2, A, D);
+    addRequest(3, A, D);
+    addRequest(4, A, D);
+    addSvec("0", "1", "1", "2", "3", "4");
+
+    List<PceResponseFrame> responses = computeGroups().get(0).getResponses();
+
+    assertEquals(path(A, D), responses.get(0).getTraversedVertexes());
+    assertEquals(path(A, B, D), responses.get(1).getTraversedVertexes());
+    assertEquals(path(A, C, D), responses.get(2).getTraversedVertexes());
+    assertTrue(responses.get(3).containsNoPathObject());
+  }
+
+  @Test
+  void testNodeDiversePathsMayShareEndPoints() {
+    addRequest(1, A, E);
+    addRequest(2, A, D);
+    addSvec("1", "0", "1", "2");
+
+    List<PceResponseFrame> responses = computeGroups().get(0).getResponses();
+
+    assertEquals(path(A, B, E), responses.get(0).getTraversedVertexes());
+    assertEquals(path(A, D), responses.get(1).getTraversedVertexes());
+  }
+
+  // The shortest path A-B-C-D leaves no path to a second member once its links are excluded,
+  // the members are computed together as the disjoint paths A-B-D and A-C-D
+  private void createTrapTopology() {
+    graph = new GcontrollerImpl();
+    for (String vertexID : new String[] {A, B, C, D}) {
+      graph.addVertex(new VertexElement(vertexID, graph));
+    }
+    addEdge(A, B, 1, 100);
+    addEdge(B, C, 1, 100);
+    addEdge(C, D, 1, 100);
+    addEdge(A, C, 3, 100);
+    addEdge(B, D, 3, 100);
+  }
+
+  @Test
+  void testLinkDiverseMembersAreComputedTogether() {
+    createTrapTopology();
+    addRequest(1, A, D);
+    addRequest(2, A, D);
+    addSvec("0", "1", "1", "2");
+
+    List<PceResponseFrame> responses = computeGroups().get(0).getResponses();
+
+    assertEquals(
+        Set.of(path(A, B, D), path(A, C, D)),
+        Set.of(responses.get(0).getTraversedVertexes(), responses.get(1).getTraversedVertexes()));
+  }
+
+  @Test
+  void testNodeDiverseMembersAreComputedTogether() {
+    createTrapTopology();
+    for (int requestID = 1; requestID <= 2; requestID++) {
+      addRequest(requestID, A, D)
+          .insertBandwidthObject(PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 60f));
+    }
+    addSvec("1", "0", "1", "2");
+
+    List<PceResponseFrame> responses = computeGroups().get(0).getResponses();
+
+    assertEquals(
+        Set.of(path(A, B, D), path(A, C, D)),
+        Set.of(responses.get(0).getTraversedVertexes(), responses.get(1).getTraversedVertexes()));
+    assertEquals(100.0, graph.getEdge(A + "-" + B).getEdgeParams().getAvailableCapacity());
+  }
+
+  @Test
+  void testCapacityIsConsumedByEarlierMembers() {
+    for (int requestID = 1; requestID <= 3; requestID++) {
+      addRequest(requestID, A, D)
+          .insertBandwidthObject(PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 6f));
+    }
+    addSvec("0", "0", "1", "2", "3");
+
+    List<PceResponseFrame> responses = computeGroups().get(0).getResponses();
+
+    assertEquals(path(A, D), responses.get(0).getTraversedVertexes());
+    assertEquals(path(A, B, D), responses.get(1).getTraversedVertexes());
+    assertEquals(path(A, B, D), responses.get(2).getTraversedVertexes());
+    // The reservations are made on a copy, the snapshot is left unchanged
+    assertEquals(10.0, graph.getEdge(A + "-" + D).getEdgeParams().getAvailableCapacity());
+  }
+
+  @Test
+  void testExpiredMessageIsNotComputed() {
+    addRequest(1, A, D);
+    addSvec("0", "1", "1");
+    PceMessage message =
+        new PceMessage(PceMessageFactory.generateMessage(requestFrames).getMessageByteArray());
+    CancellationFlag cancellationFlag = new CancellationFlag();
+    cancellationFlag.setDeadline(System.nanoTime() - 1);
+
+    SvecGroupTask group =
+        SvecBatchExecutor.createGroups(new TedSnapshot(1, graph), message, cancellationFlag).get(0);
+    group.invoke();
+
+    assertEquals(1, group.getExpiredRequests());
+    assertTrue(group.getResponses().get(0).containsNoPathObject());
+  }
+
+  private PceMessage expiredMessage() {
+    PceMessage message =
+        new PceMessage(PceMessageFactory.generateMessage(requestFrames).getMessageByteArray());
+    message.setAddress(new PceAddress("127.0.0.1", 4189));
+    message.setDeadline(System.nanoTime() - 1);
+    return message;
+  }
+
+  private static void awaitExpired(ModuleManagement lm, long expected) throws Exception {
+    for (int i = 0; i < 500; i++) {
+      if (lm.getRequestDeadlineMonitor().getExpiredCount(RequestDeadlineMonitor.Stage.QUEUE)
+          >= expected) return;
+      Thread.sleep(10);
+    }
+    fail("Requests were not dropped");
+  }
+
+  @Test
+  void testMessageExpiredBeforeComputationIsDropped() throws Exception {
+    addRequest(1, A, D);
+    addRequest(2, A, D);
+    addSvec("0", "1", "1", "2");
+    BlockingModuleManagement lm = new BlockingModuleManagement();
+    lm.released.countDown();
+    SvecBatchExecutor executor = new SvecBatchExecutor(lm, 1);
+
+    assertTrue(executor.submit(expiredMessage()));
+
+    // Both requests are recorded as expired, the message is not computed
+    awaitExpired(lm, 2);
+    assertTrue(executor.toString().contains("expiredMessages=1"));
+    assertTrue(executor.toString().contains("completedMessages=0"));
+    executor.stop();
+  }
+
+  @Test
+  void testMessagesBeyondCapacityAreRejected() throws Exception {
+    addRequest(1, A, D);
+    addSvec("0", "1", "1");
+    BlockingModuleManagement lm = new BlockingModuleManagement();
+    SvecBatchExecutor executor = new SvecBatchExecutor(lm, 2, 1);
+
+    assertTrue(executor.submit(expiredMessage()));
+    assertFalse(executor.submit(expiredMessage()));
+    assertTrue(executor.toString().contains("rejectedMessages=1"));
+
+    // The capacity is available again once the first message left the executor
+    lm.released.countDown();
+    awaitExpired(lm, 1);
+    boolean submitted = executor.submit(expiredMessage());
+    for (int i = 0; i < 500 && !submitted; i++) {
+      Thread.sleep(10);
+      submitted = executor.submit(expiredMessage());
+    }
+    assertTrue(submitted);
+    awaitExpired(lm, 2);
+    executor.stop();
+  }
+}
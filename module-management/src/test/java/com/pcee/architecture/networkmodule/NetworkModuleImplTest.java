@@ -0,0 +1,209 @@
+package com.pcee.architecture.networkmodule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.SessionModule;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NetworkModuleImpl Tests")
+class NetworkModuleImplTest {
+
+  private static final int PORT = 14190;
+
+  private static final int REACTORS = 3;
+
+  private static final int KEEPALIVES_BEFORE_CLOSE = 200000;
+
+  // CLOSE message with the reason "no explanation provided"
+  private static final byte[] CLOSE = {
+    0x20, 0x07, 0x00, 0x0C, 0x0F, 0x10, 0x00, 0x08, 0x00, 0x00, 0x00, 0x01
+  };
+
+  private RecordingModuleManagement lm;
+  private NetworkModuleImpl networkModule;
+  private List<SocketChannel> clients = new ArrayList<SocketChannel>();
+
+  // Session module recording the received messages
+  private static class RecordingSessionModule extends SessionModule {
+
+    private final LinkedBlockingQueue<PceMessage> receivedMessages =
+        new LinkedBlockingQueue<PceMessage>();
+    private NetworkModule networkModule;
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
+      receivedMessages.add(message);
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {
+      networkModule.closeConnection(address);
+    }
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public void updateBackPressure(PceAddress address, boolean backPressure) {}
+
+    public boolean isBackPressured(PceAddress address) {
+      return false;
+    }
+  }
+
+  private static class RecordingModuleManagement extends ModuleManagement {
+
+    private final RecordingSessionModule sessionModule = new RecordingSessionModule();
+
+    RecordingModuleManagement() {
+      super(false);
+    }
+
+    public SessionModule getSessionModule() {
+      return sessionModule;
+    }
+  }
+
+  private SocketChannel connect() throws IOException {
+    SocketChannel client = SocketChannel.open(new InetSocketAddress("127.0.0.1", PORT));
+    clients.add(client);
+    return client;
+  }
+
+  private PceMessage receive() throws InterruptedException {
+    return lm.sessionModule.receivedMessages.poll(5, TimeUnit.SECONDS);
+  }
+
+  private int totalConnectionCount() {
+    int total = 0;
+    for (int count : networkModule.getReactorConnectionCounts()) {
+      total += count;
+    }
+    return total;
+  }
+
+  @BeforeEach
+  void setUp() {
+    lm = new RecordingModuleManagement();
+    networkModule =
+        new NetworkModuleImpl(
+            true,
+            lm,
+            PORT,
+            PceFrameDecoder.DEFAULT_MAX_FRAME_LENGTH,
+            NetworkModuleImpl.DEFAULT_OUTBOUND_HIGH_WATER_MARK,
+            REACTORS);
+    lm.sessionModule.networkModule = networkModule;
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    for (SocketChannel client : clients) {
+      client.close();
+    }
+    networkModule.stop(false);
+    lm.getNetworkModule().stop(false);
+    // Let the selectors close before the port is reused
+    Thread.sleep(100);
+  }
+
+  @Nested
+  @DisplayName("Reactors")
+  class ReactorTests {
+
+    @Test
+    void testConnectionsAreSpreadOverReactors() throws Exception {
+      // Every connection sends a keepalive, so that it is registered once
+      // the message is received
+      for (int i = 0; i < 2 * REACTORS; i++) {
+        connect().write(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x00, 0x04}));
+        assertNotNull(receive());
+      }
+
+      assertArrayEquals(new int[] {2, 2, 2}, networkModule.getReactorConnectionCounts());
+    }
+
+    @Test
+    void testClosedConnectionIsReleased() throws Exception {
+      SocketChannel client = connect();
+      client.write(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x00, 0x04}));
+      assertNotNull(receive());
+      assertEquals(1, totalConnectionCount());
+
+      client.close();
+
+      long deadline = System.currentTimeMillis() + 5000;
+      while (totalConnectionCount() != 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(0, totalConnectionCount());
+    }
+
+    @Test
+    void testMessagesAreWrittenByTheReactor() throws Exception {
+      SocketChannel client = connect();
+      client.write(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x00, 0x04}));
+      PceMessage keepalive = receive();
+
+      networkModule.receiveMessage(keepalive, ModuleEnum.SESSION_MODULE);
+
+      ByteBuffer reply = ByteBuffer.allocate(4);
+      while (reply.hasRemaining()) {
+        assertTrue(client.read(reply) >= 0);
+      }
+      assertArrayEquals(new byte[] {0x20, 0x02, 0x00, 0x04}, reply.array());
+    }
+
+    @Test
+    void testQueuedMessagesAreWrittenBeforeClose() throws Exception {
+      SocketChannel client = connect();
+      client.write(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x00, 0x04}));
+      PceAddress address = receive().getAddress();
+
+      // Enough keepalives to fill the socket buffers, followed by a CLOSE
+      List<PceMessage> messages = new ArrayList<PceMessage>();
+      for (int i = 0; i < KEEPALIVES_BEFORE_CLOSE; i++) {
+        PceMessage keepalive = new PceMessage(new byte[] {0x20, 0x02, 0x00, 0x04});
+        keepalive.setAddress(address);
+        messages.add(keepalive);
+      }
+      PceMessage close = new PceMessage(CLOSE);
+      close.setAddress(address);
+      messages.add(close);
+      networkModule.receiveMessages(messages, ModuleEnum.SESSION_MODULE);
+      networkModule.closeConnection(address);
+
+      // The peer receives every message before the end of the stream
+      int length = 4 * KEEPALIVES_BEFORE_CLOSE + CLOSE.length;
+      ByteBuffer received = ByteBuffer.allocate(length + 1);
+      while (client.read(received) >= 0) {
+        assertTrue(received.hasRemaining());
+      }
+      assertEquals(length, received.position());
+      byte[] last = new byte[CLOSE.length];
+      received.position(4 * KEEPALIVES_BEFORE_CLOSE);
+      received.get(last);
+      assertArrayEquals(CLOSE, last);
+      assertEquals(0, totalConnectionCount());
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.pcee.architecture.networkmodule;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.sessionmodule.SessionModule;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the number of received messages per second for an increasing number of reactor threads.
+ * Every client connection sends keepalive messages as fast as possible, the messages are framed by
+ * the reactors and counted by a session module stub.
+ *
+ * <p>Usage: NetworkReactorBenchmark [connections] [messagesPerConnection] [maxReactors]
+ */
+public class NetworkReactorBenchmark {
+
+  private static final int PORT = 14189;
+
+  private static final byte[] KEEPALIVE = {0x20, 0x02, 0x00, 0x04};
+
+  // Session module counting the received messages
+  private static class CountingSessionModule extends SessionModule {
+
+    private final LongAdder receivedMessages = new LongAdder();
+    private NetworkModule networkModule;
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
+      receivedMessages.increment();
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {
+      networkModule.closeConnection(address);
+    }
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public void updateBackPressure(PceAddress address, boolean backPressure) {}
+
+    public boolean isBackPressured(PceAddress address) {
+      return false;
+    }
+  }
+
+  private static class BenchmarkModuleManagement extends ModuleManagement {
+
+    private final CountingSessionModule sessionModule = new CountingSessionModule();
+
+    BenchmarkModuleManagement() {
+      super(false);
+    }
+
+    public SessionModule getSessionModule() {
+      return sessionModule;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+    int messagesPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+    int maxReactors = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+    System.out.println(
+        "Connections: "
+            + connections
+            + ", messages per connection: "
+            + messagesPerConnection
+            + ", processors: "
+            + Runtime.getRuntime().availableProcessors());
+
+    for (int reactors = 1; reactors <= maxReactors; reactors *= 2) {
+      double messagesPerSecond = run(reactors, connections, messagesPerConnection);
+      System.out.printf("reactors=%d %,.0f msg/s%n", reactors, messagesPerSecond);
+    }
+    System.exit(0);
+  }
+
+  private static double run(int reactors, int connections, int messagesPerConnection)
+      throws Exception {
+    BenchmarkModuleManagement lm = new BenchmarkModuleManagement();
+    CountingSessionModule sessionModule = lm.sessionModule;
+    NetworkModuleImpl networkModule =
+        new NetworkModuleImpl(
+            true,
+            lm,
+            PORT,
+            PceFrameDecoder.DEFAULT_MAX_FRAME_LENGTH,
+            NetworkModuleImpl.DEFAULT_OUTBOUND_HIGH_WATER_MARK,
+            reactors);
+    sessionModule.networkModule = networkModule;
+
+    List<SocketChannel> clients = new ArrayList<SocketChannel>();
+    for (int i = 0; i < connections; i++) {
+      clients.add(SocketChannel.open(new InetSocketAddress("127.0.0.1", PORT)));
+    }
+
+    // Batch of messages written with a single system call
+    int messagesPerBatch = 256;
+    ByteBuffer batch = ByteBuffer.allocate(KEEPALIVE.length * messagesPerBatch);
+    for (int i = 0; i < messagesPerBatch; i++) {
+      batch.put(KEEPALIVE);
+    }
+
+    long expected = (long) connections * messagesPerConnection;
+    long startTime = System.nanoTime();
+    List<Thread> senders = new ArrayList<Thread>();
+    for (SocketChannel client : clients) {
+      Thread sender =
+          new Thread(
+              () -> {
+                ByteBuffer buffer = batch.duplicate();
+                try {
+                  for (int sent = 0; sent < messagesPerConnection; sent += messagesPerBatch) {
+                    int count = Math.min(messagesPerBatch, messagesPerConnection - sent);
+                    buffer.limit(count * KEEPALIVE.length).position(0);
+                    while (buffer.hasRemaining()) {
+                      client.write(buffer);
+                    }
+                  }
+                } catch (IOException e) {
+                  e.printStackTrace();
+                }
+              });
+      sender.start();
+      senders.add(sender);
+    }
+    for (Thread sender : senders) {
+      sender.join();
+    }
+    while (sessionModule.receivedMessages.sum() < expected) {
+      Thread.sleep(1);
+    }
+    long elapsed = System.nanoTime() - startTime;
+
+    for (SocketChannel client : clients) {
+      client.close();
+    }
+    networkModule.stop(false);
+    lm.getNetworkModule().stop(false);
+    // Let the reactors close their selectors before the port is reused
+    Thread.sleep(200);
+    return expected * 1e9 / elapsed;
+  }
+}
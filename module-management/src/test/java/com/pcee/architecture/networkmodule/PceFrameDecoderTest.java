@@ -0,0 +1,228 @@
+package com.pcee.architecture.networkmodule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PceFrameDecoder Tests")
+class PceFrameDecoderTest {
+
+  private PceBufferPool bufferPool;
+
+  // Channel returning the queued chunks, one chunk per read call at most
+  private static class ChunkedChannel implements ReadableByteChannel {
+
+    private final LinkedList<ByteBuffer> chunks = new LinkedList<ByteBuffer>();
+
+    ChunkedChannel(byte[]... chunks) {
+      for (byte[] chunk : chunks) {
+        this.chunks.add(ByteBuffer.wrap(chunk));
+      }
+    }
+
+    public int read(ByteBuffer destination) {
+      if (chunks.isEmpty()) {
+        return -1;
+      }
+      ByteBuffer chunk = chunks.getFirst();
+      int length = Math.min(chunk.remaining(), destination.remaining());
+      destination.put(chunk.slice(chunk.position(), length));
+      chunk.position(chunk.position() + length);
+      if (!chunk.hasRemaining()) {
+        chunks.removeFirst();
+      }
+      return length;
+    }
+
+    public boolean isOpen() {
+      return true;
+    }
+
+    public void close() {}
+  }
+
+  // Builds a message with a valid common header followed by a recognizable body
+  private byte[] createMessage(int type, int length) {
+    byte[] message = new byte[length];
+    message[0] = 0x20;
+    message[1] = (byte) type;
+    message[2] = (byte) (length >>> 8);
+    message[3] = (byte) length;
+    for (int i = 4; i < length; i++) {
+      message[i] = (byte) (i + type);
+    }
+    return message;
+  }
+
+  private byte[] concat(byte[]... parts) {
+    int length = 0;
+    for (byte[] part : parts) {
+      length += part.length;
+    }
+    byte[] result = new byte[length];
+    int offset = 0;
+    for (byte[] part : parts) {
+      System.arraycopy(part, 0, result, offset, part.length);
+      offset += part.length;
+    }
+    return result;
+  }
+
+  private byte[] toArray(ByteBuffer frame) {
+    byte[] bytes = new byte[frame.remaining()];
+    frame.duplicate().get(bytes);
+    return bytes;
+  }
+
+  // Reads the channel until end-of-stream and collects a copy of every frame
+  private List<byte[]> decodeAll(PceFrameDecoder decoder, ReadableByteChannel channel)
+      throws IOException {
+    List<byte[]> frames = new ArrayList<byte[]>();
+    while (decoder.read(channel) != -1) {
+      ByteBuffer frame;
+      while ((frame = decoder.nextFrame()) != null) {
+        frames.add(toArray(frame));
+      }
+    }
+    return frames;
+  }
+
+  @BeforeEach
+  void setUp() {
+    bufferPool = new PceBufferPool(64, 4);
+  }
+
+  @Nested
+  @DisplayName("Framing")
+  class FramingTests {
+
+    @Test
+    void testFragmentedMessage() throws IOException {
+      byte[] message = createMessage(3, 40);
+      byte[][] chunks = new byte[message.length][];
+      for (int i = 0; i < message.length; i++) {
+        chunks[i] = new byte[] {message[i]};
+      }
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 1000);
+
+      List<byte[]> frames = decodeAll(decoder, new ChunkedChannel(chunks));
+
+      assertEquals(1, frames.size());
+      assertArrayEquals(message, frames.get(0));
+      assertEquals(0, decoder.getBufferedByteCount());
+    }
+
+    @Test
+    void testCoalescedMessages() throws IOException {
+      byte[] first = createMessage(2, 4);
+      byte[] second = createMessage(3, 28);
+      byte[] third = createMessage(4, 12);
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 1000);
+
+      List<byte[]> frames = decodeAll(decoder, new ChunkedChannel(concat(first, second, third)));
+
+      assertEquals(3, frames.size());
+      assertArrayEquals(first, frames.get(0));
+      assertArrayEquals(second, frames.get(1));
+      assertArrayEquals(third, frames.get(2));
+    }
+
+    @Test
+    void testMessagesSplitAcrossReads() throws IOException {
+      byte[] stream = concat(createMessage(2, 4), createMessage(3, 50), createMessage(4, 30));
+      byte[] head = Arrays.copyOfRange(stream, 0, 37);
+      byte[] tail = Arrays.copyOfRange(stream, 37, stream.length);
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 1000);
+
+      List<byte[]> frames = decodeAll(decoder, new ChunkedChannel(head, tail));
+
+      assertEquals(3, frames.size());
+      assertArrayEquals(createMessage(4, 30), frames.get(2));
+    }
+
+    @Test
+    void testMessageLargerThanPooledBuffer() throws IOException {
+      byte[] large = createMessage(3, 300);
+      byte[] small = createMessage(2, 4);
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 1000);
+
+      List<byte[]> frames = decodeAll(decoder, new ChunkedChannel(concat(small, large, small)));
+
+      assertEquals(3, frames.size());
+      assertArrayEquals(large, frames.get(1));
+      assertArrayEquals(small, frames.get(2));
+    }
+
+    @Test
+    void testIncompleteMessageIsNotReturned() throws IOException {
+      byte[] message = createMessage(3, 20);
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 1000);
+
+      decoder.read(new ChunkedChannel(Arrays.copyOf(message, 10)));
+
+      assertNull(decoder.nextFrame());
+      assertEquals(10, decoder.getBufferedByteCount());
+    }
+  }
+
+  @Nested
+  @DisplayName("Invalid messages")
+  class InvalidMessageTests {
+
+    @Test
+    void testOversizedMessageIsRejected() throws IOException {
+      byte[] message = createMessage(3, 200);
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 100);
+
+      decoder.read(new ChunkedChannel(Arrays.copyOf(message, 8)));
+
+      assertThrows(IOException.class, decoder::nextFrame);
+    }
+
+    @Test
+    void testMessageShorterThanHeaderIsRejected() throws IOException {
+      byte[] message = createMessage(3, 8);
+      message[3] = 2;
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 100);
+
+      decoder.read(new ChunkedChannel(message));
+
+      assertThrows(IOException.class, decoder::nextFrame);
+    }
+  }
+
+  @Nested
+  @DisplayName("Buffer pooling")
+  class BufferPoolTests {
+
+    @Test
+    void testBufferIsReturnedOnRelease() throws IOException {
+      PceFrameDecoder decoder = new PceFrameDecoder(bufferPool, 100);
+      decoder.read(new ChunkedChannel(createMessage(2, 4)));
+      assertEquals(0, bufferPool.getPooledBufferCount());
+
+      decoder.release();
+
+      assertEquals(1, bufferPool.getPooledBufferCount());
+      assertTrue(bufferPool.acquire().isDirect());
+    }
+
+    @Test
+    void testForeignBuffersAreNotPooled() {
+      bufferPool.release(ByteBuffer.allocateDirect(128));
+      bufferPool.release(ByteBuffer.allocate(64));
+
+      assertEquals(0, bufferPool.getPooledBufferCount());
+    }
+  }
+}
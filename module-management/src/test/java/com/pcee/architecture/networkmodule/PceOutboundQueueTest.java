@@ -0,0 +1,157 @@
+package com.pcee.architecture.networkmodule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PceOutboundQueue Tests")
+class PceOutboundQueueTest {
+
+  // Channel accepting a limited number of bytes per write call
+  private static class LimitedChannel implements GatheringByteChannel {
+
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private int capacityPerWrite;
+    private int writeCalls;
+
+    LimitedChannel(int capacityPerWrite) {
+      this.capacityPerWrite = capacityPerWrite;
+    }
+
+    public long write(ByteBuffer[] sources, int offset, int length) {
+      writeCalls++;
+      long total = 0;
+      for (int i = offset; i < offset + length && total < capacityPerWrite; i++) {
+        while (sources[i].hasRemaining() && total < capacityPerWrite) {
+          written.write(sources[i].get());
+          total++;
+        }
+      }
+      return total;
+    }
+
+    public long write(ByteBuffer[] sources) {
+      return write(sources, 0, sources.length);
+    }
+
+    public int write(ByteBuffer source) {
+      return (int) write(new ByteBuffer[] {source});
+    }
+
+    public boolean isOpen() {
+      return true;
+    }
+
+    public void close() {}
+  }
+
+  private ByteBuffer createMessage(int value, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) value;
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  @Nested
+  @DisplayName("Writing")
+  class WriteTests {
+
+    @Test
+    void testQueuedMessagesAreGathered() throws IOException {
+      PceOutboundQueue queue = new PceOutboundQueue(1000);
+      queue.add(createMessage(1, 4));
+      queue.add(createMessage(2, 20));
+      queue.add(createMessage(3, 8));
+      LimitedChannel channel = new LimitedChannel(1000);
+
+      assertEquals(32, queue.flush(channel));
+
+      assertEquals(1, channel.writeCalls);
+      assertTrue(queue.isEmpty());
+      assertEquals(0, queue.getQueuedBytes());
+      byte[] written = channel.written.toByteArray();
+      assertEquals(1, written[0]);
+      assertEquals(2, written[4]);
+      assertEquals(3, written[31]);
+    }
+
+    @Test
+    void testPartialWriteKeepsRemainingBytes() throws IOException {
+      PceOutboundQueue queue = new PceOutboundQueue(1000);
+      queue.add(createMessage(1, 10));
+      queue.add(createMessage(2, 10));
+      LimitedChannel channel = new LimitedChannel(15);
+
+      assertEquals(15, queue.flush(channel));
+      assertFalse(queue.isEmpty());
+      assertEquals(5, queue.getQueuedBytes());
+
+      assertEquals(5, queue.flush(channel));
+      assertTrue(queue.isEmpty());
+      assertEquals(20, channel.written.size());
+    }
+
+    @Test
+    void testFullSocketStopsFlush() throws IOException {
+      PceOutboundQueue queue = new PceOutboundQueue(1000);
+      queue.add(createMessage(1, 10));
+      LimitedChannel channel = new LimitedChannel(0);
+
+      assertEquals(0, queue.flush(channel));
+      assertEquals(1, channel.writeCalls);
+      assertEquals(10, queue.getQueuedBytes());
+    }
+  }
+
+  @Nested
+  @DisplayName("Scheduling and back-pressure")
+  class SchedulingTests {
+
+    @Test
+    void testWriteIsScheduledOnce() {
+      PceOutboundQueue queue = new PceOutboundQueue(1000);
+
+      assertTrue(queue.scheduleWrite());
+      assertFalse(queue.scheduleWrite());
+      assertTrue(queue.completeWrite());
+      assertTrue(queue.scheduleWrite());
+    }
+
+    @Test
+    void testWriteStaysScheduledForLateMessages() {
+      PceOutboundQueue queue = new PceOutboundQueue(1000);
+      queue.scheduleWrite();
+      // Added while the selector thread was writing, no new write was scheduled
+      queue.add(createMessage(1, 4));
+      assertFalse(queue.scheduleWrite());
+
+      assertFalse(queue.completeWrite());
+      assertFalse(queue.scheduleWrite());
+    }
+
+    @Test
+    void testBackPressureHysteresis() throws IOException {
+      PceOutboundQueue queue = new PceOutboundQueue(100);
+
+      assertFalse(queue.add(createMessage(1, 60)));
+      assertTrue(queue.add(createMessage(2, 60)));
+      assertFalse(queue.add(createMessage(3, 60)), "Back-pressure is only reported once");
+      assertTrue(queue.isBackPressured());
+
+      queue.flush(new LimitedChannel(120));
+      assertFalse(queue.releaseBackPressure(), "Still above the low-water mark");
+
+      queue.flush(new LimitedChannel(20));
+      assertTrue(queue.releaseBackPressure());
+      assertFalse(queue.isBackPressured());
+      assertFalse(queue.releaseBackPressure());
+    }
+  }
+}
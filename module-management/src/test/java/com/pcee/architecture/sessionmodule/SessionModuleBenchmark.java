@@ -0,0 +1,222 @@
+package com.pcee.architecture.sessionmodule;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.computationmodule.ComputationModule;
+import com.pcee.architecture.networkmodule.NetworkModule;
+import com.pcee.protocol.keepalive.PceKeepaliveFrameFactory;
+import com.pcee.protocol.message.PceConstantValues;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.open.PceOpenFrameFactory;
+import com.pcee.protocol.request.PceRequestFrameFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the number of keepalive and path computation request messages per second processed by
+ * the session module for an increasing number of session threads. Every connection completes the
+ * PCEP handshake with a server state machine before the measured messages are delivered, the
+ * requests forwarded to the computation module are counted by a stub that also checks that the
+ * requests of every session arrive in order.
+ *
+ * <p>Usage: SessionModuleBenchmark [connections] [messagesPerConnection] [maxSessionThreads]
+ */
+public class SessionModuleBenchmark {
+
+  // Network module dropping the messages sent to the peers
+  private static class NullNetworkModule extends NetworkModule {
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {}
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+  }
+
+  // Computation module counting the forwarded requests
+  private static class CountingComputationModule extends ComputationModule {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder reorderedRequests = new LongAdder();
+    // ID of the last request forwarded for every session
+    private final ConcurrentHashMap<String, Integer> lastRequestIDs =
+        new ConcurrentHashMap<String, Integer>();
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
+      int requestID =
+          ((PceRequestParametersObject) message.getFirstObject(2)).getRequestIDNumberDecimalValue();
+      Integer lastRequestID = lastRequestIDs.put(message.getAddress().getIPv4Address(), requestID);
+      if (lastRequestID != null && lastRequestID >= requestID) {
+        reorderedRequests.increment();
+      }
+      requests.increment();
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public boolean isValidRequestToRemotePeer(PceAddress address, String requestID) {
+      return true;
+    }
+
+    public void registerRequestToRemotePeer(
+        PceAddress address, String requestID, LinkedBlockingQueue<PceMessage> queue) {}
+
+    protected void processResponseFromRemotePeer(PceMessage message) {}
+  }
+
+  private static class BenchmarkModuleManagement extends ModuleManagement {
+
+    private final NullNetworkModule networkModule = new NullNetworkModule();
+    private final CountingComputationModule computationModule = new CountingComputationModule();
+    private SessionModule sessionModule;
+
+    BenchmarkModuleManagement() {
+      super(false);
+    }
+
+    public NetworkModule getNetworkModule() {
+      return networkModule;
+    }
+
+    public SessionModule getSessionModule() {
+      return sessionModule;
+    }
+
+    public ComputationModule getComputationModule() {
+      return computationModule;
+    }
+
+    public boolean isServer() {
+      return true;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+    int messagesPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+    int maxSessionThreads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+    System.out.println(
+        "Connections: "
+            + connections
+            + ", messages per connection: "
+            + messagesPerConnection
+            + ", processors: "
+            + Runtime.getRuntime().availableProcessors());
+
+    for (int sessionThreads = 1; sessionThreads <= maxSessionThreads; sessionThreads *= 2) {
+      run(sessionThreads, connections, messagesPerConnection);
+    }
+    System.exit(0);
+  }
+
+  private static void run(int sessionThreads, int connections, int messagesPerConnection)
+      throws Exception {
+    BenchmarkModuleManagement lm = new BenchmarkModuleManagement();
+    SessionModuleImpl sessionModule = new SessionModuleImpl(lm, sessionThreads);
+    lm.sessionModule = sessionModule;
+    CountingComputationModule computationModule = lm.computationModule;
+
+    PceAddress[] addresses = new PceAddress[connections];
+    for (int i = 0; i < connections; i++) {
+      addresses[i] = new PceAddress("10.0." + (i / 250) + "." + (i % 250 + 1), 40000 + i);
+      sessionModule.registerConnection(addresses[i], true, false, false);
+      // Open and keepalive of the peer bring the session up
+      PceMessage open =
+          PceMessageFactory.generateMessage(
+              PceOpenFrameFactory.generateOpenFrame(
+                  PceConstantValues.KEEPALIVE_TIMER, PceConstantValues.DEAD_TIMER, "1", "1"));
+      open.setAddress(addresses[i]);
+      sessionModule.receiveMessage(open, ModuleEnum.NETWORK_MODULE);
+      sessionModule.receiveMessage(keepalive(addresses[i]), ModuleEnum.NETWORK_MODULE);
+    }
+
+    // Keepalives are not forwarded, a request closing every session marks their completion
+    long startTime = System.nanoTime();
+    for (int i = 0; i < messagesPerConnection; i++) {
+      for (PceAddress address : addresses) {
+        sessionModule.receiveMessage(keepalive(address), ModuleEnum.NETWORK_MODULE);
+      }
+    }
+    for (PceAddress address : addresses) {
+      sessionModule.receiveMessage(request(address, 1), ModuleEnum.NETWORK_MODULE);
+    }
+    awaitRequests(computationModule, connections);
+    double keepalivesPerSecond =
+        (double) connections * messagesPerConnection * 1e9 / (System.nanoTime() - startTime);
+
+    PceMessage[][] requests = new PceMessage[connections][messagesPerConnection];
+    for (int i = 0; i < connections; i++) {
+      for (int j = 0; j < messagesPerConnection; j++) {
+        requests[i][j] = request(addresses[i], j + 2);
+      }
+    }
+    startTime = System.nanoTime();
+    for (int j = 0; j < messagesPerConnection; j++) {
+      for (int i = 0; i < connections; i++) {
+        sessionModule.receiveMessage(requests[i][j], ModuleEnum.NETWORK_MODULE);
+      }
+    }
+    awaitRequests(computationModule, connections + (long) connections * messagesPerConnection);
+    double requestsPerSecond =
+        (double) connections * messagesPerConnection * 1e9 / (System.nanoTime() - startTime);
+
+    System.out.printf(
+        "sessionThreads=%d keepalive %,.0f msg/s, PCReq %,.0f msg/s, reordered requests %d%n",
+        sessionThreads,
+        keepalivesPerSecond,
+        requestsPerSecond,
+        computationModule.reorderedRequests.sum());
+    sessionModule.stop(false);
+  }
+
+  private static void awaitRequests(CountingComputationModule computationModule, long expected)
+      throws InterruptedException {
+    while (computationModule.requests.sum() < expected) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static PceMessage keepalive(PceAddress address) {
+    PceMessage keepalive =
+        PceMessageFactory.generateMessage(PceKeepaliveFrameFactory.generateKeepaliveFrame());
+    keepalive.setAddress(address);
+    return keepalive;
+  }
+
+  private static PceMessage request(PceAddress address, int requestID) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceEndPointsObject endPoints =
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1", "0", new PceAddress("192.169.2.1", false), new PceAddress("192.169.2.14", false));
+    PceMessage request =
+        PceMessageFactory.generateMessage(
+            PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPoints));
+    request.setAddress(address);
+    return request;
+  }
+}
@@ -0,0 +1,243 @@
+package com.pcee.architecture.sessionmodule.statemachine;
+
+import com.pcee.architecture.ModuleEnum;
+import com.pcee.architecture.ModuleManagement;
+import com.pcee.architecture.networkmodule.NetworkModule;
+import com.pcee.architecture.sessionmodule.SessionModule;
+import com.pcee.architecture.sessionmodule.timer.HashedWheelTimer;
+import com.pcee.protocol.keepalive.PceKeepaliveFrameFactory;
+import com.pcee.protocol.message.PceConstantValues;
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import com.pcee.protocol.open.PceOpenFrameFactory;
+import com.pcee.protocol.response.PceResponseFrameFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the keepalives sent per second by server state machines with and without the
+ * traffic-aware keepalive mode. Every session sends path computation responses at random times
+ * with a configurable average interval, the messages and writer wake-ups reaching the network
+ * module are counted by a stub. Without suppression every keepalive wakes up the writer on its
+ * own, with suppression the responses replace the keepalives and the remaining keepalives of a
+ * tick share one wake-up.
+ *
+ * <p>Usage: KeepaliveSuppressionBenchmark [sessions] [keepaliveSeconds] [responseIntervalMillis]
+ * [durationSeconds]
+ */
+public class KeepaliveSuppressionBenchmark {
+
+  private static final int KEEPALIVE_TYPE = 2;
+
+  // Network module counting the messages and the calls waking up the writer
+  private static class CountingNetworkModule extends NetworkModule {
+
+    private final LongAdder keepalives = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder writerWakeUps = new LongAdder();
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {
+      count(message);
+      writerWakeUps.increment();
+    }
+
+    public void receiveMessages(List<PceMessage> messages, ModuleEnum sourceLayer) {
+      for (PceMessage message : messages) {
+        count(message);
+      }
+      writerWakeUps.increment();
+    }
+
+    private void count(PceMessage message) {
+      messages.increment();
+      if (message.getMessageHeader().getTypeDecimalValue() == KEEPALIVE_TYPE) {
+        keepalives.increment();
+      }
+    }
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {}
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+  }
+
+  // Session module passing the messages of the state machines to the network module
+  private static class ForwardingSessionModule extends SessionModule {
+
+    private NetworkModule networkModule;
+
+    public void receiveMessage(PceMessage message, ModuleEnum sourceLayer) {}
+
+    public void sendMessage(PceMessage message, ModuleEnum targetLayer) {
+      if (targetLayer == ModuleEnum.NETWORK_MODULE) {
+        networkModule.receiveMessage(message, ModuleEnum.SESSION_MODULE);
+      }
+    }
+
+    public void stop(boolean graceful) {}
+
+    public void start() {}
+
+    public void closeConnection(PceAddress address) {}
+
+    public void registerConnection(
+        PceAddress address, boolean connected, boolean connectionInitialized, boolean forceClient) {}
+
+    public void updateBackPressure(PceAddress address, boolean backPressure) {}
+
+    public boolean isBackPressured(PceAddress address) {
+      return false;
+    }
+  }
+
+  private static class BenchmarkModuleManagement extends ModuleManagement {
+
+    private final CountingNetworkModule networkModule = new CountingNetworkModule();
+    private final ForwardingSessionModule sessionModule = new ForwardingSessionModule();
+
+    BenchmarkModuleManagement() {
+      super(false);
+      sessionModule.networkModule = networkModule;
+    }
+
+    public NetworkModule getNetworkModule() {
+      return networkModule;
+    }
+
+    public SessionModule getSessionModule() {
+      return sessionModule;
+    }
+
+    public boolean isServer() {
+      return true;
+    }
+  }
+
+  // Server state machine with a shorter keepalive period
+  private static class BenchmarkStateMachine extends StateMachineServerImpl {
+
+    BenchmarkStateMachine(
+        ModuleManagement lm, PceAddress address, HashedWheelTimer timer, int keepAlive) {
+      super(lm, address, timer, false);
+      this.keepAlive = keepAlive;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+    int keepAlive = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    int responseInterval = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int duration = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    System.out.println(
+        "Sessions: "
+            + sessions
+            + ", keepalive: "
+            + keepAlive
+            + " s, average response interval: "
+            + responseInterval
+            + " ms, duration: "
+            + duration
+            + " s");
+
+    double[] baseline = run(false, sessions, keepAlive, responseInterval, duration);
+    double[] suppressed = run(true, sessions, keepAlive, responseInterval, duration);
+    System.out.printf(
+        "saved %,.0f keepalives/s (%.1f%%), %,.0f writer wake-ups/s (%.1f%%)%n",
+        baseline[0] - suppressed[0],
+        100 * (baseline[0] - suppressed[0]) / baseline[0],
+        baseline[1] - suppressed[1],
+        100 * (baseline[1] - suppressed[1]) / baseline[1]);
+    System.exit(0);
+  }
+
+  /** Returns the keepalives and the writer wake-ups per second */
+  private static double[] run(
+      boolean keepaliveSuppression,
+      int sessions,
+      int keepAlive,
+      int responseInterval,
+      int duration)
+      throws Exception {
+    BenchmarkModuleManagement lm = new BenchmarkModuleManagement();
+    CountingNetworkModule networkModule = lm.networkModule;
+    HashedWheelTimer timer = new HashedWheelTimer("BenchmarkTimer");
+    KeepaliveBatcher batcher = keepaliveSuppression ? new KeepaliveBatcher(lm, timer) : null;
+
+    BenchmarkStateMachine[] stateMachines = new BenchmarkStateMachine[sessions];
+    PceMessage[] responses = new PceMessage[sessions];
+    for (int i = 0; i < sessions; i++) {
+      PceAddress address = new PceAddress("10.0." + (i / 250) + "." + (i % 250 + 1), 40000 + i);
+      stateMachines[i] = new BenchmarkStateMachine(lm, address, timer, keepAlive);
+      stateMachines[i].setKeepaliveBatcher(batcher);
+      // Open and keepalive of the peer bring the session up
+      PceMessage open =
+          PceMessageFactory.generateMessage(
+              PceOpenFrameFactory.generateOpenFrame(
+                  PceConstantValues.KEEPALIVE_TIMER, PceConstantValues.DEAD_TIMER, "1", "1"));
+      open.setAddress(address);
+      stateMachines[i].updateState(open, ModuleEnum.NETWORK_MODULE);
+      PceMessage keepalive =
+          PceMessageFactory.generateMessage(PceKeepaliveFrameFactory.generateKeepaliveFrame());
+      keepalive.setAddress(address);
+      stateMachines[i].updateState(keepalive, ModuleEnum.NETWORK_MODULE);
+      responses[i] = response(address, i + 1);
+    }
+
+    // Every round sends the responses of a random subset of the sessions, the probability of a
+    // response depends on the time since the previous round
+    Random random = new Random(1);
+    long startKeepalives = networkModule.keepalives.sum();
+    long startMessages = networkModule.messages.sum();
+    long startWakeUps = networkModule.writerWakeUps.sum();
+    long startTime = System.nanoTime();
+    long endTime = startTime + duration * 1_000_000_000L;
+    long roundTime = startTime;
+    while (roundTime < endTime) {
+      Thread.sleep(10);
+      long now = System.nanoTime();
+      double responseProbability = (now - roundTime) / 1e6 / responseInterval;
+      roundTime = now;
+      for (int i = 0; i < sessions; i++) {
+        if (random.nextDouble() < responseProbability) {
+          stateMachines[i].updateState(responses[i], ModuleEnum.COMPUTATION_MODULE);
+        }
+      }
+    }
+    double elapsed = (System.nanoTime() - startTime) / 1e9;
+    double keepalivesPerSecond = (networkModule.keepalives.sum() - startKeepalives) / elapsed;
+    double messagesPerSecond = (networkModule.messages.sum() - startMessages) / elapsed;
+    double wakeUpsPerSecond = (networkModule.writerWakeUps.sum() - startWakeUps) / elapsed;
+
+    System.out.printf(
+        "keepaliveSuppression=%b keepalives %,.0f msg/s, messages %,.0f msg/s, writer wake-ups"
+            + " %,.0f/s%n",
+        keepaliveSuppression,
+        keepalivesPerSecond,
+        messagesPerSecond,
+        wakeUpsPerSecond);
+    timer.stop();
+    return new double[] {keepalivesPerSecond, wakeUpsPerSecond};
+  }
+
+  private static PceMessage response(PceAddress address, int requestID) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceMessage response =
+        PceMessageFactory.generateMessage(
+            PceResponseFrameFactory.generatePathComputationResponseFrame(rp));
+    response.setAddress(address);
+    return response;
+  }
+}
@@ -0,0 +1,132 @@
+package com.pcee.architecture.sessionmodule.timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HashedWheelTimer Tests")
+class HashedWheelTimerTest {
+
+  // Small wheel, so that timers of a few hundred milliseconds span several rounds
+  private HashedWheelTimer timer;
+
+  @BeforeEach
+  void setUp() {
+    timer = new HashedWheelTimer("TestTimer", 5, TimeUnit.MILLISECONDS, 8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timer.stop();
+  }
+
+  @Nested
+  @DisplayName("Scheduling")
+  class SchedulingTests {
+
+    @Test
+    void testTimerFiresAfterDelay() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(1);
+      AtomicLong firedAt = new AtomicLong();
+      HashedWheelTimer.Handle handle =
+          timer.newHandle(
+              () -> {
+                firedAt.set(System.nanoTime());
+                fired.countDown();
+              });
+      long start = System.nanoTime();
+
+      handle.schedule(100, TimeUnit.MILLISECONDS);
+      assertTrue(handle.isScheduled());
+
+      assertTrue(fired.await(2, TimeUnit.SECONDS));
+      assertTrue(firedAt.get() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+      assertFalse(handle.isScheduled());
+      assertEquals(1, timer.getFiredTimerCount());
+    }
+
+    @Test
+    void testRestartPostponesTimer() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(1);
+      AtomicLong firedAt = new AtomicLong();
+      HashedWheelTimer.Handle handle =
+          timer.newHandle(
+              () -> {
+                firedAt.set(System.nanoTime());
+                fired.countDown();
+              });
+      long start = System.nanoTime();
+
+      // Restarted like a dead timer on every received message
+      for (int i = 0; i < 10; i++) {
+        handle.schedule(60, TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+      }
+
+      assertTrue(fired.await(2, TimeUnit.SECONDS));
+      assertTrue(firedAt.get() - start >= TimeUnit.MILLISECONDS.toNanos(240));
+      assertEquals(1, timer.getFiredTimerCount());
+    }
+
+    @Test
+    void testEarlierDeadlineIsHonoured() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(1);
+      HashedWheelTimer.Handle handle = timer.newHandle(fired::countDown);
+
+      handle.schedule(10, TimeUnit.SECONDS);
+      handle.schedule(50, TimeUnit.MILLISECONDS);
+
+      assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExpiredTimerCanBeScheduledAgain() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(2);
+      HashedWheelTimer.Handle handle = timer.newHandle(fired::countDown);
+
+      handle.schedule(20, TimeUnit.MILLISECONDS);
+      Thread.sleep(200);
+      handle.schedule(20, TimeUnit.MILLISECONDS);
+
+      assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+  }
+
+  @Nested
+  @DisplayName("Cancellation and metrics")
+  class CancellationTests {
+
+    @Test
+    void testCancelledTimerDoesNotFire() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(1);
+      HashedWheelTimer.Handle handle = timer.newHandle(fired::countDown);
+
+      handle.schedule(50, TimeUnit.MILLISECONDS);
+      handle.cancel();
+
+      assertFalse(handle.isScheduled());
+      assertFalse(fired.await(300, TimeUnit.MILLISECONDS));
+      assertEquals(0, timer.getFiredTimerCount());
+    }
+
+    @Test
+    void testFireLagIsRecorded() throws InterruptedException {
+      CountDownLatch fired = new CountDownLatch(3);
+      for (int i = 0; i < 3; i++) {
+        timer.newHandle(fired::countDown).schedule(10 * i, TimeUnit.MILLISECONDS);
+      }
+
+      assertTrue(fired.await(2, TimeUnit.SECONDS));
+      assertEquals(3, timer.getFiredTimerCount());
+      assertTrue(timer.getAverageFireLag() >= 0);
+      assertTrue(timer.getMaxFireLag() >= timer.getAverageFireLag());
+    }
+  }
+}
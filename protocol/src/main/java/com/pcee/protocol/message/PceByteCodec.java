@@ -0,0 +1,219 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.protocol.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte level codec for PCEP headers and objects. Fields are read and written in network byte order
+ * directly on the wire representation using bit masks, so that no intermediate '0'/'1' string has
+ * to be built. Bit positions follow the layout diagrams (bit 0 is the most significant bit of the
+ * first byte), which allows the START_BIT constants in {@link PceConstantValues} to be used as is.
+ *
+ * <p>The binary string helpers at the end of this class are only meant for the legacy string API.
+ */
+public final class PceByteCodec {
+
+  // Precomputed 8 character binary representation of every byte value
+  private static final String[] BYTE_TO_BINARY_STRING = new String[256];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      BYTE_TO_BINARY_STRING[i] = toBinaryString(i, 8);
+    }
+  }
+
+  private PceByteCodec() {}
+
+  /**
+   * Function to read an unsigned bit field of up to 32 bits
+   *
+   * @param bytes buffer holding the encoded data
+   * @param byteOffset offset of the structure (header or object) inside the buffer
+   * @param startBit first bit of the field relative to byteOffset
+   * @param bitLength number of bits of the field
+   * @return the unsigned field value
+   */
+  public static long readBits(byte[] bytes, int byteOffset, int startBit, int bitLength) {
+    checkBitLength(bitLength);
+    int firstByte = byteOffset + (startBit >>> 3);
+    int leadingBits = startBit & 7;
+    int totalBits = leadingBits + bitLength;
+    int byteCount = (totalBits + 7) >>> 3;
+
+    long value = 0;
+    for (int i = 0; i < byteCount; i++) {
+      value = (value << 8) | (bytes[firstByte + i] & 0xFF);
+    }
+    value >>>= (byteCount << 3) - totalBits;
+    return value & mask(bitLength);
+  }
+
+  /**
+   * Function to read an unsigned bit field of up to 32 bits using absolute indexes, so that the
+   * position of the buffer is never modified
+   *
+   * @param buffer buffer holding the encoded data, heap or direct
+   * @param byteOffset index of the structure (header or object) inside the buffer
+   * @param startBit first bit of the field relative to byteOffset
+   * @param bitLength number of bits of the field
+   * @return the unsigned field value
+   */
+  public static long readBits(ByteBuffer buffer, int byteOffset, int startBit, int bitLength) {
+    checkBitLength(bitLength);
+    int firstByte = byteOffset + (startBit >>> 3);
+    int leadingBits = startBit & 7;
+    int totalBits = leadingBits + bitLength;
+    int byteCount = (totalBits + 7) >>> 3;
+
+    long value = 0;
+    for (int i = 0; i < byteCount; i++) {
+      value = (value << 8) | (buffer.get(firstByte + i) & 0xFF);
+    }
+    value >>>= (byteCount << 3) - totalBits;
+    return value & mask(bitLength);
+  }
+
+  /**
+   * Function to write an unsigned bit field of up to 32 bits, leaving the surrounding bits intact.
+   * Values wider than the field are truncated to the field length.
+   */
+  public static void writeBits(
+      byte[] bytes, int byteOffset, int startBit, int bitLength, long value) {
+    checkBitLength(bitLength);
+    int firstByte = byteOffset + (startBit >>> 3);
+    int leadingBits = startBit & 7;
+    int totalBits = leadingBits + bitLength;
+    int byteCount = (totalBits + 7) >>> 3;
+    int trailingBits = (byteCount << 3) - totalBits;
+
+    long fieldMask = mask(bitLength) << trailingBits;
+    long shiftedValue = (value << trailingBits) & fieldMask;
+
+    for (int i = byteCount - 1; i >= 0; i--) {
+      int index = firstByte + i;
+      int byteMask = (int) (fieldMask & 0xFF);
+      bytes[index] = (byte) ((bytes[index] & ~byteMask) | (shiftedValue & byteMask));
+      fieldMask >>>= 8;
+      shiftedValue >>>= 8;
+    }
+  }
+
+  public static int readUnsignedByte(byte[] bytes, int offset) {
+    return bytes[offset] & 0xFF;
+  }
+
+  public static int readUnsignedByte(ByteBuffer buffer, int offset) {
+    return buffer.get(offset) & 0xFF;
+  }
+
+  public static int readUnsignedShort(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+  }
+
+  public static int readUnsignedShort(ByteBuffer buffer, int offset) {
+    return buffer.getShort(offset) & 0xFFFF;
+  }
+
+  public static int readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFF) << 24)
+        | ((bytes[offset + 1] & 0xFF) << 16)
+        | ((bytes[offset + 2] & 0xFF) << 8)
+        | (bytes[offset + 3] & 0xFF);
+  }
+
+  public static void writeByte(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) value;
+  }
+
+  public static void writeShort(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 8);
+    bytes[offset + 1] = (byte) value;
+  }
+
+  public static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  /** Function to get the largest value that fits in a field of the given bit length */
+  public static long mask(int bitLength) {
+    return bitLength >= 64 ? -1L : (1L << bitLength) - 1;
+  }
+
+  /** Function to build the fixed width '0'/'1' representation of a field value */
+  public static String toBinaryString(long value, int bitLength) {
+    char[] bits = new char[bitLength];
+    for (int i = bitLength - 1; i >= 0; i--) {
+      bits[i] = (value & 1) == 1 ? '1' : '0';
+      value >>>= 1;
+    }
+    return new String(bits);
+  }
+
+  /**
+   * Function to parse a '0'/'1' string that has already been validated by {@link
+   * PceComputationFactory#setBinaryString(String, int)}
+   */
+  public static long parseBinaryString(String binaryString) {
+    long value = 0;
+    for (int i = 0; i < binaryString.length(); i++) {
+      value = (value << 1) | (binaryString.charAt(i) == '1' ? 1 : 0);
+    }
+    return value;
+  }
+
+  /** Function to expand a region of the buffer into its '0'/'1' representation */
+  public static String toBinaryString(byte[] bytes, int offset, int length) {
+    StringBuilder builder = new StringBuilder(length * 8);
+    for (int i = offset; i < offset + length; i++) {
+      builder.append(BYTE_TO_BINARY_STRING[bytes[i] & 0xFF]);
+    }
+    return builder.toString();
+  }
+
+  /** Function to pack a '0'/'1' string into a new byte array, trailing partial bytes are dropped */
+  public static byte[] toByteArray(String binaryString) {
+    byte[] bytes = new byte[binaryString.length() / 8];
+    writeBinaryString(binaryString, bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Function to pack a '0'/'1' string into an existing buffer
+   *
+   * @return the offset following the last written byte
+   */
+  public static int writeBinaryString(String binaryString, byte[] bytes, int offset) {
+    int byteLength = binaryString.length() / 8;
+    for (int i = 0; i < byteLength; i++) {
+      int value = 0;
+      int bitIndex = i << 3;
+      for (int j = 0; j < 8; j++) {
+        value = (value << 1) | (binaryString.charAt(bitIndex + j) == '1' ? 1 : 0);
+      }
+      bytes[offset + i] = (byte) value;
+    }
+    return offset + byteLength;
+  }
+
+  private static void checkBitLength(int bitLength) {
+    if (bitLength < 1 || bitLength > 32) {
+      throw new IllegalArgumentException("Unsupported bit field length: " + bitLength);
+    }
+  }
+}
@@ -14,6 +14,8 @@
  */
 package com.pcee.protocol.message;
 
+import java.nio.ByteBuffer;
+
 /**
  *
  *
@@ -30,10 +32,10 @@ public class PceCommonMessageHeader {
 
   private final String NAME = "Message Header";
 
-  private String version;
-  private String type;
-  private String length;
-  private String flags;
+  private int version;
+  private int type;
+  private int length;
+  private int flags;
 
   private final int versionStartBit = PceConstantValues.COMMON_MESSAGE_HEADER_VERSION_START_BIT;
   private int versionEndBit = PceConstantValues.COMMON_MESSAGE_HEADER_VERSION_END_BIT;
@@ -57,14 +59,40 @@ public class PceCommonMessageHeader {
 
   public PceCommonMessageHeader(int version, int type) {
     this.setVersionDecimalValue(version);
-    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
+    this.setFlagsDecimalValue(0);
     this.setTypeDecimalValue(type);
     this.setLengthDecimalValue(0);
   }
 
+  /**
+   * Decodes the header from its wire representation
+   *
+   * @param bytes buffer holding the message
+   * @param offset offset of the first header byte
+   */
+  public PceCommonMessageHeader(byte[] bytes, int offset) {
+    this(ByteBuffer.wrap(bytes), offset);
+  }
+
+  /**
+   * Constructor decoding the header from a buffer without modifying its position
+   *
+   * @param buffer buffer holding the message
+   * @param offset index of the first header byte
+   */
+  public PceCommonMessageHeader(ByteBuffer buffer, int offset) {
+    this.version = (int) PceByteCodec.readBits(buffer, offset, versionStartBit, versionLength);
+    this.flags = (int) PceByteCodec.readBits(buffer, offset, flagsStartBit, flagsLength);
+    this.type = (int) PceByteCodec.readBits(buffer, offset, typeStartBit, typeLength);
+    this.length = (int) PceByteCodec.readBits(buffer, offset, lengthStartBit, lengthLength);
+  }
+
   /** Header */
   public String getHeaderBinaryString() {
-    return version + flags + type + length;
+    return getVersionBinaryString()
+        + getFlagsBinaryString()
+        + getTypeBinaryString()
+        + getLengthBinaryString();
   }
 
   public void setHeaderBinaryString(String rawBinaryString) {
@@ -82,103 +110,120 @@ public class PceCommonMessageHeader {
     this.setLengthBinaryString(lengthBinaryString);
   }
 
+  /**
+   * Encodes the header into its wire representation
+   *
+   * @param bytes buffer receiving the message
+   * @param offset offset of the first header byte
+   * @return the offset following the header
+   */
+  public int writeHeaderBytes(byte[] bytes, int offset) {
+    PceByteCodec.writeBits(bytes, offset, versionStartBit, versionLength, version);
+    PceByteCodec.writeBits(bytes, offset, flagsStartBit, flagsLength, flags);
+    PceByteCodec.writeBits(bytes, offset, typeStartBit, typeLength, type);
+    PceByteCodec.writeBits(bytes, offset, lengthStartBit, lengthLength, length);
+    return offset + PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+  }
+
   /** version */
   public int getVersionDecimalValue() {
-    return (int) PceComputationFactory.getDecimalValue(version);
+    return version;
   }
 
   public String getVersionBinaryString() {
-    return this.version;
+    return PceByteCodec.toBinaryString(version, versionLength);
   }
 
   public void setVersionDecimalValue(int decimalValue) {
-    int binaryLength = versionLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.version = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.version = checkDecimalValue(decimalValue, versionLength);
   }
 
   public void setVersionBinaryString(String binaryString) {
-    this.version = PceComputationFactory.setBinaryString(binaryString, versionLength);
+    this.version = (int) PceComputationFactory.parseBinaryField(binaryString, versionLength);
   }
 
   public void setVersionBinaryString(int startingBit, String binaryString) {
     this.version =
-        PceComputationFactory.setBinaryString(version, startingBit, binaryString, versionLength);
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getVersionDecimalValue(), startingBit, binaryString, versionLength);
   }
 
   /** type */
   public int getTypeDecimalValue() {
-    return (int) PceComputationFactory.getDecimalValue(type);
+    return type;
   }
 
   public String getTypeBinaryString() {
-    return this.type;
+    return PceByteCodec.toBinaryString(type, typeLength);
   }
 
   public void setTypeDecimalValue(int decimalValue) {
-    int binaryLength = typeLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.type = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.type = checkDecimalValue(decimalValue, typeLength);
   }
 
   public void setTypeBinaryString(String binaryString) {
-    this.type = PceComputationFactory.setBinaryString(binaryString, typeLength);
+    this.type = (int) PceComputationFactory.parseBinaryField(binaryString, typeLength);
   }
 
   public void setTypeBinaryString(int startingBit, String binaryString) {
-    this.type = PceComputationFactory.setBinaryString(type, startingBit, binaryString, typeLength);
+    this.type =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getTypeDecimalValue(), startingBit, binaryString, typeLength);
   }
 
   /** length */
   public int getLengthDecimalValue() {
-    return (int) PceComputationFactory.getDecimalValue(length);
+    return length;
   }
 
   public String getLengthBinaryString() {
-    return this.length;
+    return PceByteCodec.toBinaryString(length, lengthLength);
   }
 
   public void setLengthDecimalValue(int decimalValue) {
-    int binaryLength = lengthLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.length = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.length = checkDecimalValue(decimalValue, lengthLength);
   }
 
   public void setLengthBinaryString(String binaryString) {
-    this.length = PceComputationFactory.setBinaryString(binaryString, lengthLength);
+    this.length = (int) PceComputationFactory.parseBinaryField(binaryString, lengthLength);
   }
 
   public void setLengthBinaryString(int startingBit, String binaryString) {
     this.length =
-        PceComputationFactory.setBinaryString(length, startingBit, binaryString, lengthLength);
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getLengthDecimalValue(), startingBit, binaryString, lengthLength);
   }
 
   /** flags */
   public int getFlagsDecimalValue() {
-    return (int) PceComputationFactory.getDecimalValue(flags);
+    return flags;
   }
 
   public String getFlagsBinaryString() {
-    return this.flags;
+    return PceByteCodec.toBinaryString(flags, flagsLength);
   }
 
   public void setFlagsDecimalValue(int decimalValue) {
-    int binaryLength = flagsLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.flags = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.flags = checkDecimalValue(decimalValue, flagsLength);
   }
 
   public void setFlagsBinaryString(String binaryString) {
-    this.flags = PceComputationFactory.setBinaryString(binaryString, flagsLength);
+    this.flags = (int) PceComputationFactory.parseBinaryField(binaryString, flagsLength);
   }
 
   public void setFlagsBinaryString(int startingBit, String binaryString) {
     this.flags =
-        PceComputationFactory.setBinaryString(flags, startingBit, binaryString, flagsLength);
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getFlagsDecimalValue(), startingBit, binaryString, flagsLength);
+  }
+
+  private static int checkDecimalValue(int decimalValue, int binaryLength) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
+    return PceComputationFactory.checkInputDecimalValue(decimalValue, maxValue);
   }
 
   @Override
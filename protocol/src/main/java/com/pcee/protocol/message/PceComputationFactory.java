@@ -28,30 +28,11 @@ public class PceComputationFactory {
   private static final Logger logger = PceeLoggerFactory.getLogger(PceComputationFactory.class);
 
   public static byte[] rawMessageToByteArray(String rawMessage) {
-
-    int byteArrayLength = rawMessage.length() / 8;
-    byte[] byteArray = new byte[byteArrayLength];
-    String rawMessageString = rawMessage;
-
-    for (int i = 0; i < byteArrayLength; i++) {
-      String bits = rawMessageString.substring(0, 8);
-      rawMessageString = rawMessageString.substring(8);
-
-      byteArray[i] = binaryStringToByteConverter(bits);
-    }
-
-    return byteArray;
+    return PceByteCodec.toByteArray(rawMessage);
   }
 
   public static String byteArrayToRawMessage(byte[] byteArray) {
-
-    StringBuilder rawMessageString = new StringBuilder();
-
-    for (byte b : byteArray) {
-      rawMessageString.append(byteToBinaryStringConverter(b));
-    }
-
-    return rawMessageString.toString();
+    return PceByteCodec.toBinaryString(byteArray, 0, byteArray.length);
   }
 
   public static byte binaryStringToByteConverter(String rawString) {
@@ -137,6 +118,19 @@ public class PceComputationFactory {
     return x;
   }
 
+  /** Numeric counterpart of setBinaryString for members kept in binary form */
+  public static long parseBinaryField(String binaryString, int headerMemberLength) {
+    return PceByteCodec.parseBinaryString(setBinaryString(binaryString, headerMemberLength));
+  }
+
+  /** Numeric counterpart of setBinaryString with starting bit for members kept in binary form */
+  public static long parseBinaryField(
+      long headerMember, int startingBit, String binaryString, int headerMemberLength) {
+    String headerMemberString = PceByteCodec.toBinaryString(headerMember, headerMemberLength);
+    return PceByteCodec.parseBinaryString(
+        setBinaryString(headerMemberString, startingBit, binaryString, headerMemberLength));
+  }
+
   public static String getBinaryString(String headerMember, int headerMemberBitIndex) {
     return Character.toString(headerMember.charAt(headerMemberBitIndex));
   }
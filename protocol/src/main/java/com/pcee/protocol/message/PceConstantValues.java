@@ -241,7 +241,7 @@ public class PceConstantValues {
   public static final short REQUEST_PARAMETERS_OBJECT_FLAG_R_START_BIT = 28;
   public static final short REQUEST_PARAMETERS_OBJECT_FLAG_R_END_BIT = 28;
 
-  public static final short REQUEST_PARAMETERS_OBJECT_FLAG_PRI_LENGTH = 1;
+  public static final short REQUEST_PARAMETERS_OBJECT_FLAG_PRI_LENGTH = 3;
   public static final short REQUEST_PARAMETERS_OBJECT_FLAG_PRI_START_BIT = 29;
   public static final short REQUEST_PARAMETERS_OBJECT_FLAG_PRI_END_BIT = 31;
 
@@ -267,6 +267,17 @@ public class PceConstantValues {
   public static final short NO_PATH_OBJECT_RESERVED_START_BIT = 24;
   public static final short NO_PATH_OBJECT_RESERVED_END_BIT = 31;
 
+  public static final short NO_PATH_VECTOR_TLV_TYPE = 1;
+  public static final short NO_PATH_VECTOR_TLV_LENGTH = 64;
+
+  public static final short NO_PATH_VECTOR_TLV_TYPE_LENGTH = 16;
+  public static final short NO_PATH_VECTOR_TLV_TYPE_START_BIT = 32;
+  public static final short NO_PATH_VECTOR_TLV_TYPE_END_BIT = 47;
+
+  public static final short NO_PATH_VECTOR_TLV_VALUE_LENGTH = 32;
+  public static final short NO_PATH_VECTOR_TLV_VALUE_START_BIT = 64;
+  public static final short NO_PATH_VECTOR_TLV_VALUE_END_BIT = 95;
+
   public static final short END_POINTS_OBJECT_LENGTH = 64;
 
   public static final short END_POINTS_OBJECT_SOURCE_ADDRESS_LENGTH = 32;
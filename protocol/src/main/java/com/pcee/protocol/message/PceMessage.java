@@ -14,29 +14,58 @@
  */
 package com.pcee.protocol.message;
 
+import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
 import com.pcee.protocol.message.objectframe.PceObjectFrame;
 import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.LinkedList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * A PCEP message. Messages received from the network are backed by the buffer they were read into:
+ * only the common message header is decoded on construction, object boundaries are indexed and
+ * objects are decoded on first access. Messages built locally hold their object list directly.
+ */
 public class PceMessage {
 
+  private static final Logger logger = LoggerFactory.getLogger(PceMessage.class);
+
+  private static final int HEADER_BYTE_LENGTH = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+  private static final int OBJECT_HEADER_BYTE_LENGTH =
+      PceConstantValues.COMMON_OBJECT_HEADER_LENGTH / 8;
+
   private final String NAME = "Message Header";
 
   private final PceCommonMessageHeader messageHeader;
-  private final LinkedList<PceObjectFrame> objectsList;
   private PceAddress address;
+  // System.nanoTime() value after which the message is no longer answered, 0 if it has no deadline
+  private long deadline = 0;
 
-  public PceMessage(byte[] messageByteArray) {
-    String rawMessageString = PceComputationFactory.byteArrayToRawMessage(messageByteArray);
+  // Wire representation of a received message, null for locally built messages
+  private final ByteBuffer messageBuffer;
+  // Start index of every valid object inside messageBuffer, built on first access
+  private int[] objectOffsets;
+  // Objects decoded so far, indexed like objectOffsets
+  private PceObjectFrame[] decodedObjects;
+  // Complete object list, authoritative as soon as it has been built
+  private LinkedList<PceObjectFrame> objectsList;
 
-    String messageHeaderString =
-        rawMessageString.substring(0, PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH);
-    String objectsRawString =
-        rawMessageString.substring(PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH);
+  public PceMessage(byte[] messageByteArray) {
+    this(ByteBuffer.wrap(messageByteArray));
+  }
 
-    this.messageHeader = new PceCommonMessageHeader(messageHeaderString);
-    this.objectsList = PceObjectFrameFactory.PCEPObjectFabrication(objectsRawString);
+  /**
+   * Constructor for a received message. The buffer content between its position and limit is
+   * shared, not copied, and must therefore not be modified while the message is in use.
+   *
+   * @param messageBuffer buffer holding exactly one encoded message
+   */
+  public PceMessage(ByteBuffer messageBuffer) {
+    this.messageBuffer = messageBuffer.slice();
+    this.messageHeader = new PceCommonMessageHeader(this.messageBuffer, 0);
   }
 
   //	public PceMessage(String rawMessageString) {
@@ -52,22 +81,140 @@ public class PceMessage {
   public PceMessage(PceCommonMessageHeader header, LinkedList<PceObjectFrame> objectsList) {
     this.messageHeader = header;
     this.objectsList = objectsList;
+    this.messageBuffer = null;
   }
 
   public PceCommonMessageHeader getMessageHeader() {
     return messageHeader;
   }
 
+  /**
+   * Function to get the complete object list, decoding all objects that have not been accessed
+   * yet. Changes made to the returned list are reflected in the encoded message.
+   */
   public LinkedList<PceObjectFrame> getObjectsList() {
+    if (objectsList == null) {
+      int objectCount = indexObjects();
+      LinkedList<PceObjectFrame> list = new LinkedList<PceObjectFrame>();
+      for (int i = 0; i < objectCount; i++) {
+        list.add(getObject(i));
+      }
+      objectsList = list;
+    }
     return objectsList;
   }
 
+  /** Function to get the number of objects without decoding them */
+  public int getObjectCount() {
+    if (objectsList != null) {
+      return objectsList.size();
+    }
+    return indexObjects();
+  }
+
+  /** Function to get the object class of an object without decoding its body */
+  public int getObjectClass(int index) {
+    if (objectsList != null) {
+      return objectsList.get(index).getObjectHeader().getClassDecimalValue();
+    }
+    checkObjectIndex(index);
+    if (decodedObjects[index] != null) {
+      return decodedObjects[index].getObjectHeader().getClassDecimalValue();
+    }
+    return PceByteCodec.readUnsignedByte(messageBuffer, objectOffsets[index]);
+  }
+
+  /** Function to get the common header of an object without decoding its body */
+  public PceCommonObjectHeader getObjectHeader(int index) {
+    if (objectsList != null) {
+      return objectsList.get(index).getObjectHeader();
+    }
+    checkObjectIndex(index);
+    if (decodedObjects[index] != null) {
+      return decodedObjects[index].getObjectHeader();
+    }
+    return new PceCommonObjectHeader(messageBuffer, objectOffsets[index]);
+  }
+
+  /** Function to get a single object, decoding it on first access */
+  public PceObjectFrame getObject(int index) {
+    if (objectsList != null) {
+      return objectsList.get(index);
+    }
+    checkObjectIndex(index);
+    PceObjectFrame objectFrame = decodedObjects[index];
+    if (objectFrame == null) {
+      int offset = objectOffsets[index];
+      PceCommonObjectHeader objectHeader = new PceCommonObjectHeader(messageBuffer, offset);
+      objectFrame =
+          PceObjectFrameFactory.getPCEPObjectFrame(
+              objectHeader, messageBuffer, offset, objectHeader.getLengthDecimalValue());
+      decodedObjects[index] = objectFrame;
+    }
+    return objectFrame;
+  }
+
+  /**
+   * Function to get the first object of a given class
+   *
+   * @return the decoded object, or null if the message holds no object of this class
+   */
+  public PceObjectFrame getFirstObject(int objectClass) {
+    int objectCount = getObjectCount();
+    for (int i = 0; i < objectCount; i++) {
+      if (getObjectClass(i) == objectClass) {
+        return getObject(i);
+      }
+    }
+    return null;
+  }
+
+  private void checkObjectIndex(int index) {
+    int objectCount = indexObjects();
+    if (index < 0 || index >= objectCount) {
+      throw new IndexOutOfBoundsException("Object index: " + index + ", Size: " + objectCount);
+    }
+  }
+
+  /**
+   * Function to locate the objects of a received message by walking the object length fields.
+   * Trailing data that does not form a complete object is ignored.
+   *
+   * @return the number of valid objects
+   */
+  private int indexObjects() {
+    if (objectOffsets != null) {
+      return objectOffsets.length;
+    }
+
+    int endOffset = messageBuffer.limit();
+    int[] offsets = new int[(endOffset - HEADER_BYTE_LENGTH) / OBJECT_HEADER_BYTE_LENGTH + 1];
+    int objectCount = 0;
+    int offset = HEADER_BYTE_LENGTH;
+
+    while (offset + OBJECT_HEADER_BYTE_LENGTH <= endOffset) {
+      int objectByteLength = PceByteCodec.readUnsignedShort(messageBuffer, offset + 2);
+
+      if (objectByteLength < OBJECT_HEADER_BYTE_LENGTH || offset + objectByteLength > endOffset) {
+        logger.error("Error at PCEPObjectFabrication. Object length = " + objectByteLength);
+        break;
+      }
+
+      offsets[objectCount++] = offset;
+      offset += objectByteLength;
+    }
+
+    objectOffsets = Arrays.copyOf(offsets, objectCount);
+    decodedObjects = new PceObjectFrame[objectCount];
+    return objectCount;
+  }
+
   public String getMessageString() {
 
     StringBuilder messageStringBuffer = new StringBuilder();
     messageStringBuffer.append(messageHeader.getHeaderBinaryString());
 
-    for (PceObjectFrame pceObjectFrame : objectsList) {
+    for (PceObjectFrame pceObjectFrame : getObjectsList()) {
 
       String currentHeaderString = pceObjectFrame.getObjectHeader().getHeaderBinaryString();
       String currentObjectString = pceObjectFrame.getObjectBinaryString();
@@ -78,7 +225,55 @@ public class PceMessage {
   }
 
   public byte[] getMessageByteArray() {
-    return PceComputationFactory.rawMessageToByteArray(getMessageString());
+    if (objectsList == null) {
+      return encodeFromBuffer();
+    }
+
+    int byteLength = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+    for (PceObjectFrame pceObjectFrame : objectsList) {
+      byteLength += pceObjectFrame.getObjectFrameByteLength();
+    }
+
+    byte[] messageByteArray = new byte[byteLength];
+    int offset = messageHeader.writeHeaderBytes(messageByteArray, 0);
+    for (PceObjectFrame pceObjectFrame : objectsList) {
+      offset = pceObjectFrame.writeObjectFrameBytes(messageByteArray, offset);
+    }
+
+    return messageByteArray;
+  }
+
+  /**
+   * Function to encode a received message whose object list was never materialized. Objects that
+   * were not accessed are copied unchanged from the original buffer.
+   */
+  private byte[] encodeFromBuffer() {
+    int objectCount = indexObjects();
+    int byteLength = HEADER_BYTE_LENGTH;
+    for (int i = 0; i < objectCount; i++) {
+      byteLength +=
+          decodedObjects[i] != null
+              ? decodedObjects[i].getObjectFrameByteLength()
+              : getRawObjectByteLength(i);
+    }
+
+    byte[] messageByteArray = new byte[byteLength];
+    int offset = messageHeader.writeHeaderBytes(messageByteArray, 0);
+    for (int i = 0; i < objectCount; i++) {
+      if (decodedObjects[i] != null) {
+        offset = decodedObjects[i].writeObjectFrameBytes(messageByteArray, offset);
+      } else {
+        int rawLength = getRawObjectByteLength(i);
+        messageBuffer.get(objectOffsets[i], messageByteArray, offset, rawLength);
+        offset += rawLength;
+      }
+    }
+
+    return messageByteArray;
+  }
+
+  private int getRawObjectByteLength(int index) {
+    return PceByteCodec.readUnsignedShort(messageBuffer, objectOffsets[index] + 2);
   }
 
   public PceAddress getAddress() {
@@ -89,11 +284,25 @@ public class PceMessage {
     this.address = address;
   }
 
+  /** Function to get the deadline of the message in System.nanoTime() units, 0 if none is set */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  /** Function to check if the deadline of the message has passed */
+  public boolean isExpired() {
+    return deadline != 0 && System.nanoTime() - deadline >= 0;
+  }
+
   public String toString() {
     String messageHeaderInfo = messageHeader.toString();
     StringBuilder objectFrameBuffer = new StringBuilder();
 
-    for (PceObjectFrame pceObjectFrame : objectsList) {
+    for (PceObjectFrame pceObjectFrame : getObjectsList()) {
       objectFrameBuffer.append(pceObjectFrame.toString());
     }
 
@@ -104,7 +313,7 @@ public class PceMessage {
     String messageHeaderInfo = messageHeader.binaryInformation();
     StringBuilder objectFrameBuffer = new StringBuilder();
 
-    for (PceObjectFrame pceObjectFrame : objectsList) {
+    for (PceObjectFrame pceObjectFrame : getObjectsList()) {
       String msg = pceObjectFrame.binaryInformation();
       objectFrameBuffer.append(msg);
     }
@@ -117,7 +326,7 @@ public class PceMessage {
 
     objectFrameBuffer.append("[" + NAME + "]");
 
-    for (PceObjectFrame pceObjectFrame : objectsList) {
+    for (PceObjectFrame pceObjectFrame : getObjectsList()) {
       /*			System.out.println("*****************************************************");
       System.out.println("objectList.size() = " + objectsList.size());
       System.out.println("contentInformation() "+ i + " : " + objectsList.get(i));
@@ -15,14 +15,11 @@
 package com.pcee.protocol.message;
 
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
-import com.pcee.protocol.message.objectframe.PceObjectFrame;
-import java.util.LinkedList;
 
 public class PceMessageAnalyser {
 
   public static boolean checkMessageFormat(PceMessage message) {
     PceCommonMessageHeader messageHeader = message.getMessageHeader();
-    LinkedList<PceObjectFrame> objectsList = message.getObjectsList();
 
     int messageType = messageHeader.getTypeDecimalValue();
 
@@ -34,11 +31,11 @@ public class PceMessageAnalyser {
 
       case 1:
         {
-          if (objectsList.size() > 1) {
+          if (message.getObjectCount() > 1) {
             return false;
           }
 
-          PceCommonObjectHeader objectHeader = objectsList.get(0).getObjectHeader();
+          PceCommonObjectHeader objectHeader = message.getObjectHeader(0);
 
           if (objectHeader.getClassDecimalValue() != 1 || objectHeader.getTypeDecimalValue() != 1) {
             return false;
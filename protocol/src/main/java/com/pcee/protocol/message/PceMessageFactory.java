@@ -17,6 +17,7 @@ package com.pcee.protocol.message;
 import com.pcee.protocol.message.objectframe.*;
 import com.pcee.protocol.message.objectframe.impl.*;
 import java.util.LinkedList;
+import java.util.List;
 
 public class PceMessageFactory {
 
@@ -45,14 +46,10 @@ public class PceMessageFactory {
 
     messageHeader.setLengthDecimalValue(messageHeaderByteLength + objectFrameByteLength);
 
-    String messageHeaderBinaryString = messageHeader.getHeaderBinaryString();
-    String objectFrameBinaryString = errorObject.getObjectFrameBinaryString();
+    LinkedList<PceObjectFrame> objectsList = new LinkedList<PceObjectFrame>();
+    objectsList.add(errorObject);
 
-    String rawMessageString = messageHeaderBinaryString + objectFrameBinaryString;
-
-    byte[] byteArray = PceComputationFactory.rawMessageToByteArray(rawMessageString);
-
-    return new PceMessage(byteArray);
+    return new PceMessage(messageHeader, objectsList);
   }
 
   public static PceMessage generateMessage(PceMessageFrame messageFrame) {
@@ -66,4 +63,26 @@ public class PceMessageFactory {
 
     return new PceMessage(messageHeader, objectsList);
   }
+
+  /**
+   * Function to encode several frames of the same message type into a single message, e.g. the
+   * requests of a PCReq or the responses of a PCRep message
+   *
+   * @param messageFrames frames in the order of the message, at least one
+   * @return message holding the objects of all frames
+   */
+  public static PceMessage generateMessage(List<? extends PceMessageFrame> messageFrames) {
+    PceCommonMessageHeader messageHeader =
+        new PceCommonMessageHeader(1, messageFrames.get(0).getMessageType());
+    LinkedList<PceObjectFrame> objectsList = new LinkedList<PceObjectFrame>();
+    int messageByteLength = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+    for (PceMessageFrame messageFrame : messageFrames) {
+      objectsList.addAll(messageFrame.getObjectFrameLinkedList());
+      messageByteLength += messageFrame.getByteLength();
+    }
+
+    messageHeader.setLengthDecimalValue(messageByteLength);
+
+    return new PceMessage(messageHeader, objectsList);
+  }
 }
@@ -14,8 +14,10 @@
  */
 package com.pcee.protocol.message.objectframe;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
+import java.nio.ByteBuffer;
 
 /**
  *
@@ -37,11 +39,11 @@ public class PceCommonObjectHeader {
 
   private final String NAME = "Object Header";
 
-  private String objectClass;
-  private String type;
-  private String reserved;
-  private String length;
-  private String flags;
+  private int objectClass;
+  private int type;
+  private int reserved;
+  private int length;
+  private int flags;
 
   private int objectClassStartBit = PceConstantValues.COMMON_OBJECT_HEADER_CLASS_START_BIT;
   private int objectClassEndBit = PceConstantValues.COMMON_OBJECT_HEADER_CLASS_END_BIT;
@@ -78,15 +80,45 @@ public class PceCommonObjectHeader {
   public PceCommonObjectHeader(int objectClass, int type, String pFlag, String iFlag) {
     this.setClassDecimalValue(objectClass);
     this.setTypeDecimalValue(type);
-    this.setReservedBinaryString(PceComputationFactory.generateZeroString(reservedLength));
-    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
+    this.setReservedDecimalValue(0);
+    this.setFlagsDecimalValue(0);
     this.setPFlagBinaryString(pFlag);
     this.setIFlagBinaryString(iFlag);
     this.setLengthDecimalValue(0);
   }
 
+  /**
+   * Decodes the header from its wire representation
+   *
+   * @param bytes buffer holding the object
+   * @param offset offset of the first header byte
+   */
+  public PceCommonObjectHeader(byte[] bytes, int offset) {
+    this(ByteBuffer.wrap(bytes), offset);
+  }
+
+  /**
+   * Constructor decoding the header from a buffer without modifying its position
+   *
+   * @param buffer buffer holding the object
+   * @param offset index of the first header byte
+   */
+  public PceCommonObjectHeader(ByteBuffer buffer, int offset) {
+    this.objectClass =
+        (int) PceByteCodec.readBits(buffer, offset, objectClassStartBit, objectClassLength);
+    this.type = (int) PceByteCodec.readBits(buffer, offset, typeStartBit, typeLength);
+    this.reserved = (int) PceByteCodec.readBits(buffer, offset, reservedStartBit, reservedLength);
+    this.flags = (int) PceByteCodec.readBits(buffer, offset, flagsStartBit, flagsLength);
+    this.length = (int) PceByteCodec.readBits(buffer, offset, lengthStartBit, lengthLength);
+  }
+
   public String getHeaderBinaryString() {
-    String binaryString = objectClass + type + reserved + flags + length;
+    String binaryString =
+        getClassBinaryString()
+            + getTypeBinaryString()
+            + getReservedBinaryString()
+            + getFlagsBinaryString()
+            + getLengthBinaryString();
     return binaryString;
   }
 
@@ -109,188 +141,176 @@ public class PceCommonObjectHeader {
     this.setLengthBinaryString(lengthBinaryString);
   }
 
+  /**
+   * Encodes the header into its wire representation
+   *
+   * @param bytes buffer receiving the object
+   * @param offset offset of the first header byte
+   * @return the offset following the header
+   */
+  public int writeHeaderBytes(byte[] bytes, int offset) {
+    PceByteCodec.writeBits(bytes, offset, objectClassStartBit, objectClassLength, objectClass);
+    PceByteCodec.writeBits(bytes, offset, typeStartBit, typeLength, type);
+    PceByteCodec.writeBits(bytes, offset, reservedStartBit, reservedLength, reserved);
+    PceByteCodec.writeBits(bytes, offset, flagsStartBit, flagsLength, flags);
+    PceByteCodec.writeBits(bytes, offset, lengthStartBit, lengthLength, length);
+    return offset + PceConstantValues.COMMON_OBJECT_HEADER_LENGTH / 8;
+  }
+
   /** objectClass */
   public int getClassDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(objectClass);
-    return decimalValue;
+    return objectClass;
   }
 
   public String getClassBinaryString() {
-    return this.objectClass;
+    return PceByteCodec.toBinaryString(objectClass, objectClassLength);
   }
 
   public void setClassDecimalValue(int decimalValue) {
-    int binaryLength = objectClassLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.objectClass = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.objectClass = checkDecimalValue(decimalValue, objectClassLength);
   }
 
   public void setClassBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, objectClassLength);
-    this.objectClass = checkedBinaryString;
+    this.objectClass =
+        (int) PceComputationFactory.parseBinaryField(binaryString, objectClassLength);
   }
 
   public void setClassBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            objectClass, startingBit, binaryString, objectClassLength);
-    this.objectClass = checkedBinaryString;
+    this.objectClass =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getClassDecimalValue(), startingBit, binaryString, objectClassLength);
   }
 
   /** type */
   public int getTypeDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(type);
-    return decimalValue;
+    return type;
   }
 
   public String getTypeBinaryString() {
-    return this.type;
+    return PceByteCodec.toBinaryString(type, typeLength);
   }
 
   public void setTypeDecimalValue(int decimalValue) {
-    int binaryLength = typeLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.type = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.type = checkDecimalValue(decimalValue, typeLength);
   }
 
   public void setTypeBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, typeLength);
-    this.type = checkedBinaryString;
+    this.type = (int) PceComputationFactory.parseBinaryField(binaryString, typeLength);
   }
 
   public void setTypeBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(type, startingBit, binaryString, typeLength);
-    this.type = checkedBinaryString;
+    this.type =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getTypeDecimalValue(), startingBit, binaryString, typeLength);
   }
 
   /** reserved */
   public int getReservedDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(reserved);
-    return decimalValue;
+    return reserved;
   }
 
   public String getReservedBinaryString() {
-    return this.reserved;
+    return PceByteCodec.toBinaryString(reserved, reservedLength);
   }
 
   public void setReservedDecimalValue(int decimalValue) {
-    int binaryLength = reservedLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.reserved = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.reserved = checkDecimalValue(decimalValue, reservedLength);
   }
 
   public void setReservedBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved = (int) PceComputationFactory.parseBinaryField(binaryString, reservedLength);
   }
 
   public void setReservedBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(reserved, startingBit, binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getReservedDecimalValue(), startingBit, binaryString, reservedLength);
   }
 
   /** length */
   public int getLengthDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(length);
-    return decimalValue;
+    return length;
   }
 
   public String getLengthBinaryString() {
-    return this.length;
+    return PceByteCodec.toBinaryString(length, lengthLength);
   }
 
   public void setLengthDecimalValue(int decimalValue) {
-    int binaryLength = lengthLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.length = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.length = checkDecimalValue(decimalValue, lengthLength);
   }
 
   public void setLengthBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, lengthLength);
-    this.length = checkedBinaryString;
+    this.length = (int) PceComputationFactory.parseBinaryField(binaryString, lengthLength);
   }
 
   public void setLengthBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(length, startingBit, binaryString, lengthLength);
-    this.length = checkedBinaryString;
+    this.length =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getLengthDecimalValue(), startingBit, binaryString, lengthLength);
   }
 
   /** flags */
   public int getFlagsDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flags);
-    return decimalValue;
+    return flags;
   }
 
   public String getFlagsBinaryString() {
-    return this.flags;
+    return PceByteCodec.toBinaryString(flags, flagsLength);
   }
 
   public void setFlagsDecimalValue(int decimalValue) {
-    int binaryLength = flagsLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.flags = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.flags = checkDecimalValue(decimalValue, flagsLength);
   }
 
   public void setFlagsBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags = (int) PceComputationFactory.parseBinaryField(binaryString, flagsLength);
   }
 
   public void setFlagsBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, startingBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                getFlagsDecimalValue(), startingBit, binaryString, flagsLength);
   }
 
   /** pFlag */
   public int getPFlagDecimalValue() {
-    int relativeStartBit = (pFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + pFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlagBit(pFlagStartBit);
   }
 
   public String getPFlagBinaryString() {
-    String binaryString = flags.substring(0, (pFlagStartBit - flagsStartBit) + pFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlagBit(pFlagStartBit), pFlagLength);
   }
 
   public void setPFlagBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            this.flags, (pFlagStartBit - flagsStartBit), binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(pFlagStartBit - flagsStartBit, binaryString);
   }
 
   /** iFlag */
   public int getIFlagDecimalValue() {
-    int relativeStartBit = (iFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + iFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlagBit(iFlagStartBit);
   }
 
   public String getIFlagBinaryString() {
-    int relativeStartBit = (iFlagStartBit - flagsStartBit);
-    String binaryString = flags.substring(relativeStartBit, relativeStartBit + iFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlagBit(iFlagStartBit), iFlagLength);
   }
 
   public void setIFlagBinaryString(String binaryString) {
-    int relativeStartBit = (iFlagStartBit - flagsStartBit);
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, relativeStartBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(iFlagStartBit - flagsStartBit, binaryString);
+  }
+
+  private int getFlagBit(int flagStartBit) {
+    return (flags >>> (flagsEndBit - flagStartBit)) & 1;
+  }
+
+  private static int checkDecimalValue(int decimalValue, int binaryLength) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
+    return PceComputationFactory.checkInputDecimalValue(decimalValue, maxValue);
   }
 
   public String toString() {
@@ -14,6 +14,8 @@
  */
 package com.pcee.protocol.message.objectframe;
 
+import com.pcee.protocol.message.PceByteCodec;
+
 public interface PceObjectFrame {
 
   String NAME = new String();
@@ -33,4 +35,17 @@ public interface PceObjectFrame {
   String binaryInformation();
 
   String contentInformation();
+
+  /**
+   * Encodes the object frame (header and body) into its wire representation. Objects keeping their
+   * fields in binary form override this, the default goes through the binary string of the body.
+   *
+   * @param bytes buffer receiving the object frame
+   * @param offset offset of the first header byte
+   * @return the offset following the object frame
+   */
+  default int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = getObjectHeader().writeHeaderBytes(bytes, offset);
+    return PceByteCodec.writeBinaryString(getObjectBinaryString(), bytes, bodyOffset);
+  }
 }
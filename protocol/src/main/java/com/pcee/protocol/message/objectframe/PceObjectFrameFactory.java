@@ -16,11 +16,13 @@ package com.pcee.protocol.message.objectframe;
 
 import com.pcee.common.RequestId;
 import com.pcee.common.SessionId;
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.impl.*;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.EroSubobjects;
 import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import org.slf4j.Logger;
@@ -168,6 +170,14 @@ public class PceObjectFrameFactory {
     return object;
   }
 
+  public static PceTypedNotificationObject generatePCEPNotificationObject(
+      String pFlag, String iFlag, int type, int value) {
+    PceCommonObjectHeader objectHeader = new PceCommonObjectHeader(12, 1, pFlag, iFlag);
+    PceTypedNotificationObject object = new PceTypedNotificationObject(objectHeader, type, value);
+
+    return object;
+  }
+
   public static PceLoadBalancingObject generatePCEPLoadBalancingObject(
       String pFlag, String iFlag, int maxLSP, String minBandwidth) {
     PceCommonObjectHeader objectHeader = new PceCommonObjectHeader(14, 1, pFlag, iFlag);
@@ -204,6 +214,35 @@ public class PceObjectFrameFactory {
     return objectArray;
   }
 
+  /**
+   * Decodes all objects of a message directly from its wire representation
+   *
+   * @param bytes buffer holding the message
+   * @param offset offset of the first object header
+   * @param endOffset offset following the last object
+   * @return the decoded object frames
+   */
+  public static LinkedList<PceObjectFrame> PCEPObjectFabrication(
+      byte[] bytes, int offset, int endOffset) {
+    LinkedList<PceObjectFrame> objectArray = new LinkedList<PceObjectFrame>();
+    int headerByteLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH / 8;
+
+    while (offset + headerByteLength <= endOffset) {
+      PceCommonObjectHeader objectHeader = new PceCommonObjectHeader(bytes, offset);
+      int objectByteLength = objectHeader.getLengthDecimalValue();
+
+      if (objectByteLength < headerByteLength || offset + objectByteLength > endOffset) {
+        logger.error("Error at PCEPObjectFabrication. Object length = " + objectByteLength);
+        break;
+      }
+
+      objectArray.add(getPCEPObjectFrame(objectHeader, bytes, offset, objectByteLength));
+      offset += objectByteLength;
+    }
+
+    return objectArray;
+  }
+
   public static void main(String[] args) {
     String objectString = "00000000100000001000000000000000";
     String length = objectString.substring(8, 16);
@@ -222,6 +261,64 @@ public class PceObjectFrameFactory {
 
     PceCommonObjectHeader objectHeader = new PceCommonObjectHeader(objectHeaderString);
 
+    return getPCEPObjectFrame(objectHeader, objectString);
+  }
+
+  /**
+   * Decodes a single object frame from its wire representation. Objects without a byte level
+   * decoder are handed their body as binary string.
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the object header
+   * @param objectByteLength length of the object frame including its header
+   */
+  public static PceObjectFrame getPCEPObjectFrame(
+      PceCommonObjectHeader objectHeader, byte[] bytes, int offset, int objectByteLength) {
+    int headerByteLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH / 8;
+    int bodyOffset = offset + headerByteLength;
+
+    switch (objectHeader.getClassDecimalValue()) {
+      case 2:
+        return new PceRequestParametersObject(objectHeader, bytes, bodyOffset);
+      case 3:
+        return new PceNoPathObject(objectHeader, bytes, bodyOffset);
+      case 4:
+        return new PceEndPointsObject(objectHeader, bytes, bodyOffset);
+      case 5:
+        return new PceBandwidthObject(objectHeader, bytes, bodyOffset);
+      case 6:
+        return new PceMetricObject(objectHeader, bytes, bodyOffset);
+      default:
+        String objectString =
+            PceByteCodec.toBinaryString(bytes, bodyOffset, objectByteLength - headerByteLength);
+        return getPCEPObjectFrame(objectHeader, objectString);
+    }
+  }
+
+  /**
+   * Function to decode an object held in a (possibly direct) buffer. Heap buffers are decoded in
+   * place, only the bytes of the requested object are copied out of direct buffers.
+   *
+   * @param objectHeader already decoded common object header
+   * @param buffer buffer holding the object
+   * @param offset index of the first byte of the object header
+   * @param objectByteLength length of the object including its header
+   */
+  public static PceObjectFrame getPCEPObjectFrame(
+      PceCommonObjectHeader objectHeader, ByteBuffer buffer, int offset, int objectByteLength) {
+    if (buffer.hasArray()) {
+      return getPCEPObjectFrame(
+          objectHeader, buffer.array(), buffer.arrayOffset() + offset, objectByteLength);
+    }
+
+    byte[] objectBytes = new byte[objectByteLength];
+    buffer.get(offset, objectBytes);
+    return getPCEPObjectFrame(objectHeader, objectBytes, 0, objectByteLength);
+  }
+
+  public static PceObjectFrame getPCEPObjectFrame(
+      PceCommonObjectHeader objectHeader, String objectString) {
     switch (objectHeader.getClassDecimalValue()) {
       case 1:
         return new PceOpenObject(objectHeader, objectString);
@@ -243,6 +340,10 @@ public class PceObjectFrameFactory {
         return new PceLabelSwitchedPathAttributesObject(objectHeader, objectString);
       case 10:
         return new PceIncludeRouteObject(objectHeader, objectString);
+      case 11:
+        return new PceSynchronizationVectorObject(objectHeader, objectString);
+      case 12:
+        return new PceTypedNotificationObject(objectHeader, objectString);
       case 13:
         return new PceErrorObject(objectHeader, objectString);
       case 14:
@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -54,7 +55,7 @@ public class PceBandwidthObject implements PceObjectFrame {
 
   private final String NAME = "Bandwidth";
 
-  private String bandwidth;
+  private long bandwidth;
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
@@ -70,6 +71,19 @@ public class PceBandwidthObject implements PceObjectFrame {
     this.updateHeaderLength();
   }
 
+  /**
+   * Decodes the object body from its wire representation
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the first body byte
+   */
+  public PceBandwidthObject(PceCommonObjectHeader objectHeader, byte[] bytes, int offset) {
+    this.setObjectHeader(objectHeader);
+    this.bandwidth = PceByteCodec.readBits(bytes, offset, bandwidthStartBit, bandwidthLength);
+    this.updateHeaderLength();
+  }
+
   public PceBandwidthObject(PceCommonObjectHeader objectHeader, float bandwidth) {
     this.setObjectHeader(objectHeader);
     this.setBandwidthFloatValue(bandwidth);
@@ -90,7 +104,7 @@ public class PceBandwidthObject implements PceObjectFrame {
   }
 
   public String getObjectBinaryString() {
-    String binaryString = bandwidth;
+    String binaryString = getBandwidthBinaryString();
     return binaryString;
   }
 
@@ -100,8 +114,14 @@ public class PceBandwidthObject implements PceObjectFrame {
     this.setBandwidthBinaryString(bandwidthBinaryString);
   }
 
+  public int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = this.getObjectHeader().writeHeaderBytes(bytes, offset);
+    PceByteCodec.writeBits(bytes, bodyOffset, bandwidthStartBit, bandwidthLength, bandwidth);
+    return bodyOffset + bandwidthLength / 8;
+  }
+
   public int getObjectFrameByteLength() {
-    int objectLength = bandwidth.length();
+    int objectLength = bandwidthLength;
     int headerLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH;
     int objectFrameByteLength = (objectLength + headerLength) / 8;
     return objectFrameByteLength;
@@ -116,31 +136,19 @@ public class PceBandwidthObject implements PceObjectFrame {
 
   /** bandwidth */
   public float getBandwidthFloatValue() {
-    return Float.intBitsToFloat(Integer.parseInt(bandwidth, 2));
+    return Float.intBitsToFloat((int) bandwidth);
   }
 
   public String getBandwidthBinaryString() {
-    return this.bandwidth;
+    return PceByteCodec.toBinaryString(bandwidth, bandwidthLength);
   }
 
   public void setBandwidthFloatValue(float floatValue) {
-
-    int floatBits = Float.floatToIntBits(floatValue);
-
-    String s = Integer.toBinaryString(floatBits);
-
-    if (s.length() > 32) {
-      System.out.println(
-          "ERROR in PCEPBandwithObject.setBandwidthFloatValue(...)!!! Bandwith value is bigger than 32 bits, exiting now to let you fix it! :P");
-      System.exit(0);
-    }
-    setBandwidthBinaryString(s);
+    this.bandwidth = Float.floatToIntBits(floatValue) & PceByteCodec.mask(bandwidthLength);
   }
 
   public void setBandwidthBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, bandwidthLength);
-    this.bandwidth = checkedBinaryString;
+    this.bandwidth = PceComputationFactory.parseBinaryField(binaryString, bandwidthLength);
   }
 
   public String toString() {
@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -37,8 +38,8 @@ public class PceEndPointsObject implements PceObjectFrame {
 
   private final String NAME = "End-Points";
 
-  private String sourceAddress;
-  private String destinationAddress;
+  private long sourceAddress;
+  private long destinationAddress;
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
@@ -60,6 +61,22 @@ public class PceEndPointsObject implements PceObjectFrame {
     this.updateHeaderLength();
   }
 
+  /**
+   * Decodes the object body from its wire representation
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the first body byte
+   */
+  public PceEndPointsObject(PceCommonObjectHeader objectHeader, byte[] bytes, int offset) {
+    this.setObjectHeader(objectHeader);
+    this.sourceAddress =
+        PceByteCodec.readBits(bytes, offset, sourceAddressStartBit, sourceAddressLength);
+    this.destinationAddress =
+        PceByteCodec.readBits(bytes, offset, destinationAddressStartBit, destinationAddressLength);
+    this.updateHeaderLength();
+  }
+
   public PceEndPointsObject(
       PceCommonObjectHeader objectHeader, PceAddress sourceAddress, PceAddress destinationAddress) {
     this.setObjectHeader(objectHeader);
@@ -83,7 +100,8 @@ public class PceEndPointsObject implements PceObjectFrame {
   }
 
   public String getObjectBinaryString() {
-    String binaryString = sourceAddress + destinationAddress;
+    String binaryString =
+        getSourceAddressBinaryString() + getDestinationAddressBinaryString();
     return binaryString;
   }
 
@@ -97,8 +115,21 @@ public class PceEndPointsObject implements PceObjectFrame {
     this.setDestinationAddressBinaryString(destinationAddressBinaryString);
   }
 
+  public int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = this.getObjectHeader().writeHeaderBytes(bytes, offset);
+    PceByteCodec.writeBits(
+        bytes, bodyOffset, sourceAddressStartBit, sourceAddressLength, sourceAddress);
+    PceByteCodec.writeBits(
+        bytes,
+        bodyOffset,
+        destinationAddressStartBit,
+        destinationAddressLength,
+        destinationAddress);
+    return bodyOffset + (sourceAddressLength + destinationAddressLength) / 8;
+  }
+
   public int getObjectFrameByteLength() {
-    int objectLength = sourceAddress.length() + destinationAddress.length();
+    int objectLength = sourceAddressLength + destinationAddressLength;
     int headerLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH;
     int objectFrameByteLength = (objectLength + headerLength) / 8;
     return objectFrameByteLength;
@@ -117,7 +148,7 @@ public class PceEndPointsObject implements PceObjectFrame {
   // return decimalValue;
   // }
   public String getSourceAddressBinaryString() {
-    return this.sourceAddress;
+    return PceByteCodec.toBinaryString(sourceAddress, sourceAddressLength);
   }
 
   // public void setSourceAddressDecimalValue(int decimalValue) {
@@ -129,9 +160,7 @@ public class PceEndPointsObject implements PceObjectFrame {
   // binaryLength);
   // }
   public void setSourceAddressBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, sourceAddressLength);
-    this.sourceAddress = checkedBinaryString;
+    this.sourceAddress = PceComputationFactory.parseBinaryField(binaryString, sourceAddressLength);
   }
 
   /*
@@ -147,7 +176,7 @@ public class PceEndPointsObject implements PceObjectFrame {
   // return decimalValue;
   // }
   public String getDestinationAddressBinaryString() {
-    return this.destinationAddress;
+    return PceByteCodec.toBinaryString(destinationAddress, destinationAddressLength);
   }
 
   // public void setDestinationAddressDecimalValue(int decimalValue) {
@@ -159,16 +188,14 @@ public class PceEndPointsObject implements PceObjectFrame {
   // binaryLength);
   // }
   public void setDestinationAddressBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, destinationAddressLength);
-    this.destinationAddress = checkedBinaryString;
+    this.destinationAddress =
+        PceComputationFactory.parseBinaryField(binaryString, destinationAddressLength);
   }
 
   public void setDestinationAddressBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
+    this.destinationAddress =
+        PceComputationFactory.parseBinaryField(
             destinationAddress, startingBit, binaryString, destinationAddressLength);
-    this.destinationAddress = checkedBinaryString;
   }
 
   public String toString() {
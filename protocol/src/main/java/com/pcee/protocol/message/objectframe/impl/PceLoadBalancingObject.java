@@ -189,6 +189,11 @@ public class PceLoadBalancingObject implements PceObjectFrame {
     return this.minBandwidth;
   }
 
+  /** Function to get the minimum bandwidth of each path, encoded in IEEE floating point format */
+  public float getMinBandwidthFloatValue() {
+    return Float.intBitsToFloat((int) PceComputationFactory.getDecimalValue(minBandwidth));
+  }
+
   // public void setMinBandwidthDecimalValue(int decimalValue) {
   // int binaryLength = minBandwidthLength;
   // int maxValue = (int)
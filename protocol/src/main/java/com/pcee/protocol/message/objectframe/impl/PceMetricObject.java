@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -34,12 +35,24 @@ import com.pcee.protocol.message.objectframe.PceObjectFrame;
  */
 public class PceMetricObject implements PceObjectFrame {
 
+  /** Metric type: IGP metric */
+  public static final int METRIC_TYPE_IGP = 1;
+
+  /** Metric type: TE metric */
+  public static final int METRIC_TYPE_TE = 2;
+
+  /** Metric type: hop count */
+  public static final int METRIC_TYPE_HOP_COUNT = 3;
+
+  /** Metric type: path delay (RFC 8233) */
+  public static final int METRIC_TYPE_PATH_DELAY = 12;
+
   private final String NAME = "Metric";
 
-  private String reserved;
-  private String type;
-  private String metricValue;
-  private String flags;
+  private int reserved;
+  private int type;
+  private long metricValue;
+  private int flags;
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
@@ -78,6 +91,23 @@ public class PceMetricObject implements PceObjectFrame {
     this.updateHeaderLength();
   }
 
+  /**
+   * Decodes the object body from its wire representation
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the first body byte
+   */
+  public PceMetricObject(PceCommonObjectHeader objectHeader, byte[] bytes, int offset) {
+    this.setObjectHeader(objectHeader);
+    this.reserved = (int) PceByteCodec.readBits(bytes, offset, reservedStartBit, reservedLength);
+    this.flags = (int) PceByteCodec.readBits(bytes, offset, flagsStartBit, flagsLength);
+    this.type = (int) PceByteCodec.readBits(bytes, offset, typeStartBit, typeLength);
+    this.metricValue =
+        PceByteCodec.readBits(bytes, offset, metricValueStartBit, metricValueLength);
+    this.updateHeaderLength();
+  }
+
   /**
    * @param objectHeader
    * @param cFlag
@@ -88,12 +118,10 @@ public class PceMetricObject implements PceObjectFrame {
   public PceMetricObject(
       PceCommonObjectHeader objectHeader, String cFlag, String bFlag, int type, float metricValue) {
     this.setObjectHeader(objectHeader);
-    this.setReservedBinaryString(PceComputationFactory.generateZeroString(reservedLength));
-    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
     this.setCFlagBinaryString(cFlag);
     this.setBFlagBinaryString(bFlag);
     this.setTypeDecimalValue(type);
-    this.setMetricValueBinaryString(Integer.toBinaryString(Float.floatToIntBits(metricValue)));
+    this.setMetricValueFloatValue(metricValue);
     this.updateHeaderLength();
   }
 
@@ -121,7 +149,11 @@ public class PceMetricObject implements PceObjectFrame {
    * @see com.pcee.protocol.message.objectframe.PceObjectFrame#getObjectBinaryString()
    */
   public String getObjectBinaryString() {
-    String binaryString = reserved + flags + type + metricValue;
+    String binaryString =
+        getReservedBinaryString()
+            + getFlagsBinaryString()
+            + getTypeBinaryString()
+            + getMetricValueBinaryString();
     return binaryString;
   }
 
@@ -145,12 +177,23 @@ public class PceMetricObject implements PceObjectFrame {
     this.setMetricValueBinaryString(metricValueBinaryString);
   }
 
+  /* (non-Javadoc)
+   * @see com.pcee.protocol.message.objectframe.PceObjectFrame#writeObjectFrameBytes(byte[], int)
+   */
+  public int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = this.getObjectHeader().writeHeaderBytes(bytes, offset);
+    PceByteCodec.writeBits(bytes, bodyOffset, reservedStartBit, reservedLength, reserved);
+    PceByteCodec.writeBits(bytes, bodyOffset, flagsStartBit, flagsLength, flags);
+    PceByteCodec.writeBits(bytes, bodyOffset, typeStartBit, typeLength, type);
+    PceByteCodec.writeBits(bytes, bodyOffset, metricValueStartBit, metricValueLength, metricValue);
+    return bodyOffset + (reservedLength + flagsLength + typeLength + metricValueLength) / 8;
+  }
+
   /* (non-Javadoc)
    * @see com.pcee.protocol.message.objectframe.PceObjectFrame#getObjectFrameByteLength()
    */
   public int getObjectFrameByteLength() {
-    int objectLength =
-        reserved.length() + flags.length() + type.length() + (metricValue + "").length();
+    int objectLength = reservedLength + flagsLength + typeLength + metricValueLength;
     int headerLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH;
     int objectFrameByteLength = (objectLength + headerLength) / 8;
     return objectFrameByteLength;
@@ -168,16 +211,14 @@ public class PceMetricObject implements PceObjectFrame {
 
   /** reserved */
   public String getReservedBinaryString() {
-    return this.reserved;
+    return PceByteCodec.toBinaryString(reserved, reservedLength);
   }
 
   /**
    * @param binaryString
    */
   public void setReservedBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved = (int) PceComputationFactory.parseBinaryField(binaryString, reservedLength);
   }
 
   /**
@@ -185,40 +226,36 @@ public class PceMetricObject implements PceObjectFrame {
    * @param binaryString
    */
   public void setReservedBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(reserved, startingBit, binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                reserved, startingBit, binaryString, reservedLength);
   }
 
   /** type */
   public int getTypeDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(type);
-    return decimalValue;
+    return type;
   }
 
   /**
    * @return
    */
   public String getTypeBinaryString() {
-    return this.type;
+    return PceByteCodec.toBinaryString(type, typeLength);
   }
 
   /**
    * @param decimalValue
    */
   public void setTypeDecimalValue(int decimalValue) {
-    int binaryLength = typeLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.type = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.type = checkDecimalValue(decimalValue, typeLength);
   }
 
   /**
    * @param binaryString
    */
   public void setTypeBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, typeLength);
-    this.type = checkedBinaryString;
+    this.type = (int) PceComputationFactory.parseBinaryField(binaryString, typeLength);
   }
 
   /**
@@ -226,23 +263,31 @@ public class PceMetricObject implements PceObjectFrame {
    * @param binaryString
    */
   public void setTypeBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(type, startingBit, binaryString, typeLength);
-    this.type = checkedBinaryString;
+    this.type =
+        (int) PceComputationFactory.parseBinaryField(type, startingBit, binaryString, typeLength);
   }
 
   /** metricValue */
+  public float getMetricValueFloatValue() {
+    return Float.intBitsToFloat((int) metricValue);
+  }
+
+  /**
+   * @param floatValue
+   */
+  public void setMetricValueFloatValue(float floatValue) {
+    this.metricValue = Float.floatToIntBits(floatValue) & PceByteCodec.mask(metricValueLength);
+  }
+
   public String getMetricValueBinaryString() {
-    return this.metricValue + "";
+    return PceByteCodec.toBinaryString(metricValue, metricValueLength);
   }
 
   /**
    * @param binaryString
    */
   public void setMetricValueBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, metricValueLength);
-    this.metricValue = checkedBinaryString;
+    this.metricValue = PceComputationFactory.parseBinaryField(binaryString, metricValueLength);
   }
 
   /**
@@ -250,41 +295,35 @@ public class PceMetricObject implements PceObjectFrame {
    * @param binaryString
    */
   public void setMetricValueBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            String.valueOf(metricValue), startingBit, binaryString, metricValueLength);
-    this.metricValue = checkedBinaryString;
+    this.metricValue =
+        PceComputationFactory.parseBinaryField(
+            metricValue, startingBit, binaryString, metricValueLength);
   }
 
   /** flags */
   public int getFlagsDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flags);
-    return decimalValue;
+    return flags;
   }
 
   /**
    * @return
    */
   public String getFlagsBinaryString() {
-    return this.flags;
+    return PceByteCodec.toBinaryString(flags, flagsLength);
   }
 
   /**
    * @param decimalValue
    */
   public void setFlagsDecimalValue(int decimalValue) {
-    int binaryLength = flagsLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.flags = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.flags = checkDecimalValue(decimalValue, flagsLength);
   }
 
   /**
    * @param binaryString
    */
   public void setFlagsBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags = (int) PceComputationFactory.parseBinaryField(binaryString, flagsLength);
   }
 
   /**
@@ -292,62 +331,51 @@ public class PceMetricObject implements PceObjectFrame {
    * @param binaryString
    */
   public void setFlagsBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, startingBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags =
+        (int) PceComputationFactory.parseBinaryField(flags, startingBit, binaryString, flagsLength);
   }
 
   /** cFlag */
   public int getCFlagDecimalValue() {
-    int relativeStartBit = (cFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + cFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return (flags >>> (flagsEndBit - cFlagStartBit)) & 1;
   }
 
   /**
    * @return
    */
   public String getCFlagBinaryString() {
-    String binaryString = flags.substring(0, (cFlagStartBit - flagsStartBit) + cFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getCFlagDecimalValue(), cFlagLength);
   }
 
   /**
    * @param binaryString
    */
   public void setCFlagBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            this.flags, (cFlagStartBit - flagsStartBit), binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(cFlagStartBit - flagsStartBit, binaryString);
   }
 
   /** bFlag */
   public int getBFlagDecimalValue() {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + bFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return (flags >>> (flagsEndBit - bFlagStartBit)) & 1;
   }
 
   /**
    * @return
    */
   public String getBFlagBinaryString() {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String binaryString = flags.substring(relativeStartBit, relativeStartBit + bFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getBFlagDecimalValue(), bFlagLength);
   }
 
   /**
    * @param binaryString
    */
   public void setBFlagBinaryString(String binaryString) {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, relativeStartBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(bFlagStartBit - flagsStartBit, binaryString);
+  }
+
+  private static int checkDecimalValue(int decimalValue, int binaryLength) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
+    return PceComputationFactory.checkInputDecimalValue(decimalValue, maxValue);
   }
 
   /* (non-Javadoc)
@@ -396,7 +424,7 @@ public class PceMetricObject implements PceObjectFrame {
     System.out.println("length: " + Integer.toBinaryString(Float.floatToIntBits(245.9f)).length());
     System.out.println("float value : " + Integer.toBinaryString(Float.floatToIntBits(245.9f)));
     System.out.println(
-        "Binary presentation of metric value: " + Integer.valueOf(object.metricValue, 2));
+        "Binary presentation of metric value: " + object.getMetricValueBinaryString());
     System.out.println("value of value after : " + Integer.valueOf(value, 2));
   }
 }
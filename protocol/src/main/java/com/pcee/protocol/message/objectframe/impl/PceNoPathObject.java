@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -33,14 +34,27 @@ import com.pcee.protocol.message.objectframe.PceObjectFrame;
  * |                                                               |
  * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
  * </pre>
+ *
+ * <p>The only supported TLV is the NO-PATH-VECTOR TLV (type 1) carrying 32 bit of flags.
  */
 public class PceNoPathObject implements PceObjectFrame {
 
+  /** NO-PATH-VECTOR flag: PCE currently unavailable */
+  public static final int NO_PATH_VECTOR_PCE_UNAVAILABLE = 0x1;
+
+  /** NO-PATH-VECTOR flag: unknown destination */
+  public static final int NO_PATH_VECTOR_UNKNOWN_DESTINATION = 0x2;
+
+  /** NO-PATH-VECTOR flag: unknown source */
+  public static final int NO_PATH_VECTOR_UNKNOWN_SOURCE = 0x4;
+
   private final String NAME = "No-Path";
 
-  private String natureOfIssue;
-  private String reserved;
-  private String flags;
+  private int natureOfIssue;
+  private int reserved;
+  private int flags;
+  // Flags of the NO-PATH-VECTOR TLV, -1 if the TLV is not present
+  private long noPathVector = -1;
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
@@ -63,19 +77,51 @@ public class PceNoPathObject implements PceObjectFrame {
   private int reservedEndBit = PceConstantValues.NO_PATH_OBJECT_RESERVED_END_BIT;
   private int reservedLength = PceConstantValues.NO_PATH_OBJECT_RESERVED_LENGTH;
 
+  private int noPathVectorTypeStartBit = PceConstantValues.NO_PATH_VECTOR_TLV_TYPE_START_BIT;
+  private int noPathVectorTypeEndBit = PceConstantValues.NO_PATH_VECTOR_TLV_TYPE_END_BIT;
+  private int noPathVectorTypeLength = PceConstantValues.NO_PATH_VECTOR_TLV_TYPE_LENGTH;
+
+  private int noPathVectorValueStartBit = PceConstantValues.NO_PATH_VECTOR_TLV_VALUE_START_BIT;
+  private int noPathVectorValueEndBit = PceConstantValues.NO_PATH_VECTOR_TLV_VALUE_END_BIT;
+  private int noPathVectorValueLength = PceConstantValues.NO_PATH_VECTOR_TLV_VALUE_LENGTH;
+
   public PceNoPathObject(PceCommonObjectHeader objectHeader, String binaryString) {
     this.setObjectHeader(objectHeader);
     this.setObjectBinaryString(binaryString);
     this.updateHeaderLength();
   }
 
+  /**
+   * Decodes the object body from its wire representation
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the first body byte
+   */
+  public PceNoPathObject(PceCommonObjectHeader objectHeader, byte[] bytes, int offset) {
+    this.setObjectHeader(objectHeader);
+    this.natureOfIssue =
+        (int) PceByteCodec.readBits(bytes, offset, natureOfIssueStartBit, natureOfIssueLength);
+    this.flags = (int) PceByteCodec.readBits(bytes, offset, flagsStartBit, flagsLength);
+    this.reserved = (int) PceByteCodec.readBits(bytes, offset, reservedStartBit, reservedLength);
+    int bodyByteLength =
+        objectHeader.getLengthDecimalValue() - PceConstantValues.COMMON_OBJECT_HEADER_LENGTH / 8;
+    if (bodyByteLength >= (noPathVectorValueEndBit + 1) / 8
+        && PceByteCodec.readBits(bytes, offset, noPathVectorTypeStartBit, noPathVectorTypeLength)
+            == PceConstantValues.NO_PATH_VECTOR_TLV_TYPE) {
+      this.noPathVector =
+          PceByteCodec.readBits(bytes, offset, noPathVectorValueStartBit, noPathVectorValueLength);
+    }
+    this.updateHeaderLength();
+  }
+
   public PceNoPathObject(
       PceCommonObjectHeader objectHeader, int natureOfIssue, String constraintsFlag) {
     this.setObjectHeader(objectHeader);
     this.setNatureOfIssueDecimalValue(natureOfIssue);
-    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
+    this.setFlagsDecimalValue(0);
     this.setConstraintsFlagBinaryString(constraintsFlag);
-    this.setReservedBinaryString(PceComputationFactory.generateZeroString(reservedLength));
+    this.setReservedDecimalValue(0);
     this.updateHeaderLength();
   }
 
@@ -94,7 +140,15 @@ public class PceNoPathObject implements PceObjectFrame {
   }
 
   public String getObjectBinaryString() {
-    String binaryString = natureOfIssue + flags + reserved;
+    String binaryString =
+        getNatureOfIssueBinaryString() + getFlagsBinaryString() + getReservedBinaryString();
+    if (containsNoPathVector()) {
+      binaryString +=
+          PceByteCodec.toBinaryString(
+                  PceConstantValues.NO_PATH_VECTOR_TLV_TYPE, noPathVectorTypeLength)
+              + PceByteCodec.toBinaryString(noPathVectorValueLength / 8, 16)
+              + PceByteCodec.toBinaryString(noPathVector, noPathVectorValueLength);
+    }
     return binaryString;
   }
 
@@ -110,10 +164,37 @@ public class PceNoPathObject implements PceObjectFrame {
     this.setFlagsBinaryString(flagsBinaryString);
     this.setConstraintsFlagBinaryString(constraintsFlagBinaryString);
     this.setReservedBinaryString(reservedBinaryString);
+
+    this.noPathVector = -1;
+    if (binaryString.length() > noPathVectorValueEndBit) {
+      String typeBinaryString =
+          binaryString.substring(noPathVectorTypeStartBit, noPathVectorTypeEndBit + 1);
+      if (PceByteCodec.parseBinaryString(typeBinaryString)
+          == PceConstantValues.NO_PATH_VECTOR_TLV_TYPE) {
+        this.noPathVector =
+            PceByteCodec.parseBinaryString(
+                binaryString.substring(noPathVectorValueStartBit, noPathVectorValueEndBit + 1));
+      }
+    }
+  }
+
+  public int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = this.getObjectHeader().writeHeaderBytes(bytes, offset);
+    PceByteCodec.writeBits(
+        bytes, bodyOffset, natureOfIssueStartBit, natureOfIssueLength, natureOfIssue);
+    PceByteCodec.writeBits(bytes, bodyOffset, flagsStartBit, flagsLength, flags);
+    PceByteCodec.writeBits(bytes, bodyOffset, reservedStartBit, reservedLength, reserved);
+    int tlvOffset = bodyOffset + (natureOfIssueLength + flagsLength + reservedLength) / 8;
+    if (!containsNoPathVector()) return tlvOffset;
+    PceByteCodec.writeShort(bytes, tlvOffset, PceConstantValues.NO_PATH_VECTOR_TLV_TYPE);
+    PceByteCodec.writeShort(bytes, tlvOffset + 2, noPathVectorValueLength / 8);
+    PceByteCodec.writeInt(bytes, tlvOffset + 4, (int) noPathVector);
+    return tlvOffset + PceConstantValues.NO_PATH_VECTOR_TLV_LENGTH / 8;
   }
 
   public int getObjectFrameByteLength() {
-    int objectLength = natureOfIssue.length() + flags.length() + reserved.length();
+    int objectLength = natureOfIssueLength + flagsLength + reservedLength;
+    if (containsNoPathVector()) objectLength += PceConstantValues.NO_PATH_VECTOR_TLV_LENGTH;
     int headerLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH;
     int objectFrameByteLength = (objectLength + headerLength) / 8;
     return objectFrameByteLength;
@@ -128,120 +209,118 @@ public class PceNoPathObject implements PceObjectFrame {
 
   /** natureOfIssue */
   public int getNatureOfIssueDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(natureOfIssue);
-    return decimalValue;
+    return natureOfIssue;
   }
 
   public String getNatureOfIssueBinaryString() {
-    return this.natureOfIssue;
+    return PceByteCodec.toBinaryString(natureOfIssue, natureOfIssueLength);
   }
 
   public void setNatureOfIssueDecimalValue(int decimalValue) {
-    int binaryLength = natureOfIssueLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.natureOfIssue =
-        PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.natureOfIssue = checkDecimalValue(decimalValue, natureOfIssueLength);
   }
 
   public void setNatureOfIssueBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, natureOfIssueLength);
-    this.natureOfIssue = checkedBinaryString;
+    this.natureOfIssue =
+        (int) PceComputationFactory.parseBinaryField(binaryString, natureOfIssueLength);
   }
 
   public void setNatureOfIssueBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            natureOfIssue, startingBit, binaryString, natureOfIssueLength);
-    this.natureOfIssue = checkedBinaryString;
+    this.natureOfIssue =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                natureOfIssue, startingBit, binaryString, natureOfIssueLength);
   }
 
   /** reserved */
   public int getReservedDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(reserved);
-    return decimalValue;
+    return reserved;
   }
 
   public String getReservedBinaryString() {
-    return this.reserved;
+    return PceByteCodec.toBinaryString(reserved, reservedLength);
   }
 
   public void setReservedDecimalValue(int decimalValue) {
-    int binaryLength = reservedLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.reserved = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.reserved = checkDecimalValue(decimalValue, reservedLength);
   }
 
   public void setReservedBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved = (int) PceComputationFactory.parseBinaryField(binaryString, reservedLength);
   }
 
   public void setReservedBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(reserved, startingBit, binaryString, reservedLength);
-    this.reserved = checkedBinaryString;
+    this.reserved =
+        (int)
+            PceComputationFactory.parseBinaryField(
+                reserved, startingBit, binaryString, reservedLength);
   }
 
   /** flags */
   public int getFlagsDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flags);
-    return decimalValue;
+    return flags;
   }
 
   public String getFlagsBinaryString() {
-    return this.flags;
+    return PceByteCodec.toBinaryString(flags, flagsLength);
   }
 
   public void setFlagsDecimalValue(int decimalValue) {
-    int binaryLength = flagsLength;
-    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
-
-    this.flags = PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.flags = checkDecimalValue(decimalValue, flagsLength);
   }
 
   public void setFlagsBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags = (int) PceComputationFactory.parseBinaryField(binaryString, flagsLength);
   }
 
   public void setFlagsBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, startingBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags =
+        (int) PceComputationFactory.parseBinaryField(flags, startingBit, binaryString, flagsLength);
   }
 
   /** constraintsFlag */
   public int getConstraintsFlagDecimalValue() {
-    int relativeStartBit = (constraintsFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + constraintsFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return (flags >>> (flagsEndBit - constraintsFlagStartBit)) & 1;
   }
 
   public String getConstraintsFlagBinaryString() {
-    String binaryString =
-        flags.substring(0, (constraintsFlagStartBit - flagsStartBit) + constraintsFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getConstraintsFlagDecimalValue(), constraintsFlagLength);
   }
 
   public void setConstraintsFlagBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            this.flags, (constraintsFlagStartBit - flagsStartBit), binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(constraintsFlagStartBit - flagsStartBit, binaryString);
+  }
+
+  /** NO-PATH-VECTOR TLV */
+  public boolean containsNoPathVector() {
+    return noPathVector >= 0;
+  }
+
+  public long getNoPathVectorDecimalValue() {
+    return containsNoPathVector() ? noPathVector : 0;
+  }
+
+  /** Function to add a NO-PATH-VECTOR TLV holding the given flags, or replace its flags */
+  public void setNoPathVectorDecimalValue(long decimalValue) {
+    this.noPathVector = decimalValue & PceByteCodec.mask(noPathVectorValueLength);
+    this.updateHeaderLength();
+  }
+
+  private static int checkDecimalValue(int decimalValue, int binaryLength) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength);
+    return PceComputationFactory.checkInputDecimalValue(decimalValue, maxValue);
   }
 
   public String toString() {
     String natureOfIssueInfo = "NatureOfIssue=" + this.getNatureOfIssueDecimalValue();
     String flagsInfo = ",Flags=" + this.getFlagsBinaryString();
     String reservedInfo = ",Reserved=" + this.getReservedBinaryString();
+    String noPathVectorInfo =
+        containsNoPathVector() ? ",NoPathVector=" + Long.toHexString(noPathVector) : "";
 
     String headerInfo = this.getObjectHeader().toString();
-    String objectInfo = "<No-Path:" + natureOfIssueInfo + flagsInfo + reservedInfo + ">";
+    String objectInfo =
+        "<No-Path:" + natureOfIssueInfo + flagsInfo + reservedInfo + noPathVectorInfo + ">";
 
     return headerInfo + objectInfo;
   }
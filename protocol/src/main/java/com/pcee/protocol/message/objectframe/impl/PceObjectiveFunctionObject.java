@@ -22,7 +22,7 @@ import com.pcee.protocol.message.objectframe.PceObjectFrame;
  */
 public class PceObjectiveFunctionObject implements PceObjectFrame {
 
-  private final String NAME = "Error";
+  private final String NAME = "Objective Function";
 
   private String reserved;
   private String ofCode;
@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -41,8 +42,8 @@ public class PceRequestParametersObject implements PceObjectFrame {
 
   private final String NAME = "Request Parameters";
 
-  private String requestIDNumber;
-  private String flags;
+  private long requestIDNumber;
+  private long flags;
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
@@ -80,6 +81,21 @@ public class PceRequestParametersObject implements PceObjectFrame {
     this.updateHeaderLength();
   }
 
+  /**
+   * Decodes the object body from its wire representation
+   *
+   * @param objectHeader already decoded object header
+   * @param bytes buffer holding the object
+   * @param offset offset of the first body byte
+   */
+  public PceRequestParametersObject(PceCommonObjectHeader objectHeader, byte[] bytes, int offset) {
+    this.setObjectHeader(objectHeader);
+    this.flags = PceByteCodec.readBits(bytes, offset, flagsStartBit, flagsLength);
+    this.requestIDNumber =
+        PceByteCodec.readBits(bytes, offset, requestIDNumberStartBit, requestIDNumberLength);
+    this.updateHeaderLength();
+  }
+
   public PceRequestParametersObject(
       PceCommonObjectHeader objectHeader,
       String oFlag,
@@ -88,7 +104,7 @@ public class PceRequestParametersObject implements PceObjectFrame {
       String priFlag,
       String requestIDNumber) {
     this.setObjectHeader(objectHeader);
-    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
+    this.flags = 0;
     this.setOFlagBinaryString(oFlag);
     this.setBFlagBinaryString(bFlag);
     this.setRFlagBinaryString(rFlag);
@@ -119,7 +135,7 @@ public class PceRequestParametersObject implements PceObjectFrame {
   }
 
   public String getObjectBinaryString() {
-    String binaryString = flags + requestIDNumber;
+    String binaryString = getFlagsBinaryString() + getRequestIDNumberBinaryString();
     return binaryString;
   }
 
@@ -140,8 +156,16 @@ public class PceRequestParametersObject implements PceObjectFrame {
     this.setRequestIDNumberBinaryString(requestIDNumberBinaryString);
   }
 
+  public int writeObjectFrameBytes(byte[] bytes, int offset) {
+    int bodyOffset = this.getObjectHeader().writeHeaderBytes(bytes, offset);
+    PceByteCodec.writeBits(bytes, bodyOffset, flagsStartBit, flagsLength, flags);
+    PceByteCodec.writeBits(
+        bytes, bodyOffset, requestIDNumberStartBit, requestIDNumberLength, requestIDNumber);
+    return bodyOffset + (flagsLength + requestIDNumberLength) / 8;
+  }
+
   public int getObjectFrameByteLength() {
-    int objectLength = flags.length() + requestIDNumber.length();
+    int objectLength = flagsLength + requestIDNumberLength;
     int headerLength = PceConstantValues.COMMON_OBJECT_HEADER_LENGTH;
     int objectFrameByteLength = (objectLength + headerLength) / 8;
     return objectFrameByteLength;
@@ -156,33 +180,29 @@ public class PceRequestParametersObject implements PceObjectFrame {
 
   /** requestIDNumber */
   public int getRequestIDNumberDecimalValue() {
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(requestIDNumber);
-    return decimalValue;
+    return (int) requestIDNumber;
   }
 
   public String getRequestIDNumberBinaryString() {
-    return this.requestIDNumber;
+    return PceByteCodec.toBinaryString(requestIDNumber, requestIDNumberLength);
   }
 
   public void setRequestIDNumberDecimalValue(int decimalValue) {
     int binaryLength = requestIDNumberLength;
     int maxValue = (int) PceComputationFactory.MaxValueFabrication(binaryLength - 1);
 
-    this.requestIDNumber =
-        PceComputationFactory.setDecimalValue(decimalValue, maxValue, binaryLength);
+    this.requestIDNumber = PceComputationFactory.checkInputDecimalValue(decimalValue, maxValue);
   }
 
   public void setRequestIDNumberBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(binaryString, requestIDNumberLength);
-    this.requestIDNumber = checkedBinaryString;
+    this.requestIDNumber =
+        PceComputationFactory.parseBinaryField(binaryString, requestIDNumberLength);
   }
 
   public void setRequestIDNumberBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
+    this.requestIDNumber =
+        PceComputationFactory.parseBinaryField(
             requestIDNumber, startingBit, binaryString, requestIDNumberLength);
-    this.requestIDNumber = checkedBinaryString;
   }
 
   /** flags */
@@ -191,7 +211,7 @@ public class PceRequestParametersObject implements PceObjectFrame {
   // return decimalValue;
   // }
   public String getFlagsBinaryString() {
-    return this.flags;
+    return PceByteCodec.toBinaryString(flags, flagsLength);
   }
 
   // public void setFlagsDecimalValue(int decimalValue) {
@@ -202,97 +222,81 @@ public class PceRequestParametersObject implements PceObjectFrame {
   // this.flags = this.setDecimalValue(decimalValue, maxValue, binaryLength);
   // }
   public void setFlagsBinaryString(String binaryString) {
-    String checkedBinaryString = PceComputationFactory.setBinaryString(binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags = PceComputationFactory.parseBinaryField(binaryString, flagsLength);
   }
 
   public void setFlagsBinaryString(int startingBit, String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, startingBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.flags =
+        PceComputationFactory.parseBinaryField(flags, startingBit, binaryString, flagsLength);
   }
 
   /** oFlag */
   public int getOFlagDecimalValue() {
-    int relativeStartBit = (oFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + oFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlag(oFlagStartBit, oFlagLength);
   }
 
   public String getOFlagBinaryString() {
-    String binaryString = flags.substring(0, (oFlagStartBit - flagsStartBit) + oFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlag(oFlagStartBit, oFlagLength), oFlagLength);
   }
 
   public void setOFlagBinaryString(String binaryString) {
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(
-            this.flags, (oFlagStartBit - flagsStartBit), binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(oFlagStartBit - flagsStartBit, binaryString);
   }
 
   /** bFlag */
   public int getBFlagDecimalValue() {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + bFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlag(bFlagStartBit, bFlagLength);
   }
 
   public String getBFlagBinaryString() {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String binaryString = flags.substring(relativeStartBit, relativeStartBit + bFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlag(bFlagStartBit, bFlagLength), bFlagLength);
   }
 
   public void setBFlagBinaryString(String binaryString) {
-    int relativeStartBit = (bFlagStartBit - flagsStartBit);
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, relativeStartBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(bFlagStartBit - flagsStartBit, binaryString);
   }
 
   /** rFlag */
   public int getRFlagDecimalValue() {
-    int relativeStartBit = (rFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + rFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlag(rFlagStartBit, rFlagLength);
   }
 
   public String getRFlagBinaryString() {
-    int relativeStartBit = (rFlagStartBit - flagsStartBit);
-    String binaryString = flags.substring(relativeStartBit, relativeStartBit + rFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlag(rFlagStartBit, rFlagLength), rFlagLength);
   }
 
   public void setRFlagBinaryString(String binaryString) {
-    int relativeStartBit = (rFlagStartBit - flagsStartBit);
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, relativeStartBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    this.setFlagsBinaryString(rFlagStartBit - flagsStartBit, binaryString);
   }
 
   /** priFlag */
   public int getPriFlagDecimalValue() {
-    int relativeStartBit = (priFlagStartBit - flagsStartBit);
-    String flagString = flags.substring(relativeStartBit, relativeStartBit + priFlagLength);
-    int decimalValue = (int) PceComputationFactory.getDecimalValue(flagString);
-    return decimalValue;
+    return getFlag(priFlagStartBit, priFlagLength);
   }
 
   public String getPriFlagBinaryString() {
-    int relativeStartBit = (priFlagStartBit - flagsStartBit);
-    String binaryString = flags.substring(relativeStartBit, relativeStartBit + priFlagLength);
-    return binaryString;
+    return PceByteCodec.toBinaryString(getFlag(priFlagStartBit, priFlagLength), priFlagLength);
   }
 
+  /**
+   * Sets the 3 bit priority field. Shorter strings are interpreted as the low order bits of the
+   * priority, i.e. "1" sets the priority to 1.
+   */
   public void setPriFlagBinaryString(String binaryString) {
-    int relativeStartBit = (priFlagStartBit - flagsStartBit);
-    String checkedBinaryString =
-        PceComputationFactory.setBinaryString(flags, relativeStartBit, binaryString, flagsLength);
-    this.flags = checkedBinaryString;
+    String priBinaryString =
+        PceComputationFactory.appendZerosToBinaryString(binaryString, priFlagLength);
+    this.setFlagsBinaryString(priFlagStartBit - flagsStartBit, priBinaryString);
+  }
+
+  public void setPriFlagDecimalValue(int decimalValue) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(priFlagLength);
+    this.setPriFlagBinaryString(
+        PceComputationFactory.setDecimalValue(decimalValue, maxValue, priFlagLength));
+  }
+
+  private int getFlag(int flagStartBit, int flagLength) {
+    int shift = flagsEndBit - (flagStartBit + flagLength - 1);
+    return (int) ((flags >>> shift) & PceByteCodec.mask(flagLength));
   }
 
   public String toString() {
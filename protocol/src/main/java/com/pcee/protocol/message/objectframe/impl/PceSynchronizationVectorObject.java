@@ -14,6 +14,7 @@
  */
 package com.pcee.protocol.message.objectframe.impl;
 
+import com.pcee.protocol.message.PceByteCodec;
 import com.pcee.protocol.message.PceComputationFactory;
 import com.pcee.protocol.message.PceConstantValues;
 import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
@@ -44,8 +45,12 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
 
   private PceCommonObjectHeader objectHeader;
   // private LinkedList<PceTlvObject> tlvList;
+  // Request ID numbers as binary strings of REQUEST_ID_NUMBER_LENGTH bits
   private LinkedList<String> requestIDNumbers;
 
+  private static final int REQUEST_ID_NUMBER_LENGTH =
+      PceConstantValues.REQUEST_PARAMETERS_OBJECT_REQUEST_ID_NUMBER_LENGTH;
+
   private int reservedStartBit = PceConstantValues.SVEC_OBJECT_RESERVED_START_BIT;
   private int reservedEndBit = PceConstantValues.SVEC_OBJECT_RESERVED_END_BIT;
   private int reservedLength = PceConstantValues.SVEC_OBJECT_RESERVED_LENGTH;
@@ -66,7 +71,7 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
   private int lFlagEndBit = PceConstantValues.SVEC_OBJECT_FLAG_L_END_BIT;
   private int lFlagLength = PceConstantValues.SVEC_OBJECT_FLAG_L_LENGTH;
 
-  /** Testconstructor, not implemented for the requestIDNumbers */
+  /** Constructor decoding the object body, including the request ID numbers */
   public PceSynchronizationVectorObject(PceCommonObjectHeader objectHeader, String binaryString) {
     this.setObjectHeader(objectHeader);
     this.setObjectBinaryString(binaryString);
@@ -79,13 +84,19 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
       String nFlag,
       String lFlag,
       LinkedList<String> requestIDNumbers) {
+    // The request ID numbers are given as decimal strings, like in the RP object
+    LinkedList<String> requestIDNumberBinaryStrings = new LinkedList<String>();
+    for (String requestIDNumber : requestIDNumbers) {
+      requestIDNumberBinaryStrings.add(
+          PceByteCodec.toBinaryString(Long.parseLong(requestIDNumber), REQUEST_ID_NUMBER_LENGTH));
+    }
     this.setObjectHeader(objectHeader);
     this.setReservedBinaryString(PceComputationFactory.generateZeroString(reservedLength));
     this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
     this.setSFlagBinaryString(sFlag);
     this.setNFlagBinaryString(nFlag);
     this.setLFlagBinaryString(lFlag);
-    this.requestIDNumbers = requestIDNumbers;
+    this.requestIDNumbers = requestIDNumberBinaryStrings;
     this.updateHeaderLength();
   }
 
@@ -128,6 +139,13 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
     this.setSFlagBinaryString(sFlagBinaryString);
     this.setNFlagBinaryString(nFlagBinaryString);
     this.setLFlagBinaryString(lFlagBinaryString);
+
+    requestIDNumbers = new LinkedList<String>();
+    for (int start = flagsEndBit + 1;
+        start + REQUEST_ID_NUMBER_LENGTH <= binaryString.length();
+        start += REQUEST_ID_NUMBER_LENGTH) {
+      requestIDNumbers.add(binaryString.substring(start, start + REQUEST_ID_NUMBER_LENGTH));
+    }
   }
 
   public int getObjectFrameByteLength() {
@@ -153,6 +171,15 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
     return length;
   }
 
+  /** requestIDNumbers */
+  public LinkedList<Integer> getRequestIDNumbersDecimalValues() {
+    LinkedList<Integer> decimalValues = new LinkedList<Integer>();
+    for (String requestIDNumber : requestIDNumbers) {
+      decimalValues.add((int) PceComputationFactory.getDecimalValue(requestIDNumber));
+    }
+    return decimalValues;
+  }
+
   /** reserved */
   // public int getReservedDecimalValue() {
   // int decimalValue = (int) getDecimalValue(reserved);
@@ -218,7 +245,8 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
   }
 
   public String getSFlagBinaryString() {
-    String binaryString = flags.substring(0, (sFlagStartBit - flagsStartBit) + sFlagLength);
+    int relativeStartBit = (sFlagStartBit - flagsStartBit);
+    String binaryString = flags.substring(relativeStartBit, relativeStartBit + sFlagLength);
     return binaryString;
   }
 
@@ -280,9 +308,8 @@ public class PceSynchronizationVectorObject implements PceObjectFrame {
 
     StringBuffer requestIDNumbersStringBuffer = new StringBuffer();
 
-    for (int i = 0; i < requestIDNumbers.size(); i++) {
-      String reuqestIDNumberString = requestIDNumbers.get(i);
-      requestIDNumbersStringBuffer.append(",RequestID=" + reuqestIDNumberString);
+    for (int requestIDNumber : getRequestIDNumbersDecimalValues()) {
+      requestIDNumbersStringBuffer.append(",RequestID=" + requestIDNumber);
     }
     requestIDNumbersStringBuffer.append(">");
 
@@ -0,0 +1,180 @@
+/**
+ * This file is part of Path Computation Element Emulator (PCEE).
+ *
+ * <p>PCEE is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * <p>PCEE is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU General Public License along with PCEE. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.pcee.protocol.message.objectframe.impl;
+
+import com.pcee.protocol.message.PceComputationFactory;
+import com.pcee.protocol.message.PceConstantValues;
+import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
+
+/**
+ * Notification object carrying the Notification-type (NT) and Notification-value (NV) fields
+ * defined in RFC 5440, section 7.14.
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |   Reserved    |     Flags     |      NT       |     NV        |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ */
+public class PceTypedNotificationObject extends PceNotificationObject {
+
+  /** NT=1: Pending request cancelled */
+  public static final int TYPE_PENDING_REQUEST_CANCELLED = 1;
+
+  /** NT=1, NV=2: The PCE cancels a set of pending requests */
+  public static final int VALUE_PCE_CANCELS_REQUESTS = 2;
+
+  /** NT=2: Overloaded PCE */
+  public static final int TYPE_OVERLOADED_PCE = 2;
+
+  /** NT=2, NV=1: The PCE is currently overloaded */
+  public static final int VALUE_PCE_OVERLOADED = 1;
+
+  /** NT=2, NV=2: The PCE is no longer overloaded */
+  public static final int VALUE_PCE_NO_LONGER_OVERLOADED = 2;
+
+  private final String NAME = "Notification";
+
+  private String reserved;
+  private String flags;
+  private String type;
+  private String value;
+
+  private int reservedStartBit = PceConstantValues.NOTIFICATION_OBJECT_RESERVED_START_BIT;
+  private int reservedEndBit = PceConstantValues.NOTIFICATION_OBJECT_RESERVED_END_BIT;
+  private int reservedLength = PceConstantValues.NOTIFICATION_OBJECT_RESERVED_LENGTH;
+
+  private int flagsStartBit = PceConstantValues.NOTIFICATION_OBJECT_FLAGS_START_BIT;
+  private int flagsEndBit = PceConstantValues.NOTIFICATION_OBJECT_FLAGS_END_BIT;
+  private int flagsLength = PceConstantValues.NOTIFICATION_OBJECT_FLAGS_LENGTH;
+
+  private int typeStartBit = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_TYPE_START_BIT;
+  private int typeEndBit = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_TYPE_END_BIT;
+  private int typeLength = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_TYPE_LENGTH;
+
+  private int valueStartBit = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_VALUE_START_BIT;
+  private int valueEndBit = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_VALUE_END_BIT;
+  private int valueLength = PceConstantValues.NOTIFICATION_OBJECT_NOTIFICATION_VALUE_LENGTH;
+
+  public PceTypedNotificationObject(PceCommonObjectHeader objectHeader, String binaryString) {
+    this.setObjectHeader(objectHeader);
+    this.setObjectBinaryString(binaryString);
+    this.updateHeaderLength();
+  }
+
+  public PceTypedNotificationObject(PceCommonObjectHeader objectHeader, int type, int value) {
+    this.setObjectHeader(objectHeader);
+    this.setReservedBinaryString(PceComputationFactory.generateZeroString(reservedLength));
+    this.setFlagsBinaryString(PceComputationFactory.generateZeroString(flagsLength));
+    this.setTypeDecimalValue(type);
+    this.setValueDecimalValue(value);
+    this.updateHeaderLength();
+  }
+
+  /** Object */
+  public String getObjectBinaryString() {
+    return reserved + flags + type + value;
+  }
+
+  public void setObjectBinaryString(String binaryString) {
+    String reservedBinaryString = binaryString.substring(reservedStartBit, reservedEndBit + 1);
+    String flagsBinaryString = binaryString.substring(flagsStartBit, flagsEndBit + 1);
+    String typeBinaryString = binaryString.substring(typeStartBit, typeEndBit + 1);
+    String valueBinaryString = binaryString.substring(valueStartBit, valueEndBit + 1);
+
+    this.setReservedBinaryString(reservedBinaryString);
+    this.setFlagsBinaryString(flagsBinaryString);
+    this.setTypeBinaryString(typeBinaryString);
+    this.setValueBinaryString(valueBinaryString);
+  }
+
+  /** reserved */
+  public String getReservedBinaryString() {
+    return this.reserved;
+  }
+
+  public void setReservedBinaryString(String binaryString) {
+    this.reserved = PceComputationFactory.setBinaryString(binaryString, reservedLength);
+  }
+
+  /** flags */
+  public String getFlagsBinaryString() {
+    return this.flags;
+  }
+
+  public void setFlagsBinaryString(String binaryString) {
+    this.flags = PceComputationFactory.setBinaryString(binaryString, flagsLength);
+  }
+
+  /** type */
+  public int getTypeDecimalValue() {
+    return (int) PceComputationFactory.getDecimalValue(type);
+  }
+
+  public String getTypeBinaryString() {
+    return this.type;
+  }
+
+  public void setTypeDecimalValue(int decimalValue) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(typeLength);
+    this.type = PceComputationFactory.setDecimalValue(decimalValue, maxValue, typeLength);
+  }
+
+  public void setTypeBinaryString(String binaryString) {
+    this.type = PceComputationFactory.setBinaryString(binaryString, typeLength);
+  }
+
+  /** value */
+  public int getValueDecimalValue() {
+    return (int) PceComputationFactory.getDecimalValue(value);
+  }
+
+  public String getValueBinaryString() {
+    return this.value;
+  }
+
+  public void setValueDecimalValue(int decimalValue) {
+    int maxValue = (int) PceComputationFactory.MaxValueFabrication(valueLength);
+    this.value = PceComputationFactory.setDecimalValue(decimalValue, maxValue, valueLength);
+  }
+
+  public void setValueBinaryString(String binaryString) {
+    this.value = PceComputationFactory.setBinaryString(binaryString, valueLength);
+  }
+
+  public String toString() {
+    String flagsInfo = "Flags=" + this.getFlagsBinaryString();
+    String typeInfo = ",Type=" + this.getTypeDecimalValue();
+    String valueInfo = ",Value=" + this.getValueDecimalValue();
+
+    String headerInfo = this.getObjectHeader().toString();
+    String objectInfo = NAME + ":" + flagsInfo + typeInfo + valueInfo + ">";
+
+    return headerInfo + objectInfo;
+  }
+
+  public String binaryInformation() {
+    String headerInfo = this.getObjectHeader().binaryInformation();
+    String objectInfo = "[" + reserved + "'" + flags + "'" + type + "'" + value + "]";
+
+    return headerInfo + objectInfo;
+  }
+
+  public String contentInformation() {
+    return "[" + NAME + "]";
+  }
+}
@@ -64,12 +64,12 @@ public class PceNotificationFrame implements PceMessageFrame {
 
     if (rpList != null) {
       for (int i = 0; i < rpList.size(); i++) {
-        length += rpList.get(0).getObjectFrameByteLength();
+        length += rpList.get(i).getObjectFrameByteLength();
       }
     }
 
     for (int i = 0; i < notificationList.size(); i++) {
-      length += notificationList.get(0).getObjectFrameByteLength();
+      length += notificationList.get(i).getObjectFrameByteLength();
     }
 
     return length;
@@ -81,12 +81,12 @@ public class PceNotificationFrame implements PceMessageFrame {
 
     if (rpList != null) {
       for (int i = 0; i < rpList.size(); i++) {
-        objectsString.append(rpList.get(0).getObjectFrameBinaryString());
+        objectsString.append(rpList.get(i).getObjectFrameBinaryString());
       }
     }
 
     for (int i = 0; i < notificationList.size(); i++) {
-      objectsString.append(notificationList.get(0).getObjectFrameBinaryString());
+      objectsString.append(notificationList.get(i).getObjectFrameBinaryString());
     }
 
     return objectsString.toString();
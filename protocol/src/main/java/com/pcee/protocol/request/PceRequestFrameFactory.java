@@ -15,8 +15,6 @@
 package com.pcee.protocol.request;
 
 import com.pcee.protocol.message.PceMessage;
-import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
-import com.pcee.protocol.message.objectframe.PceObjectFrame;
 import com.pcee.protocol.message.objectframe.impl.*;
 import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
 import java.util.LinkedList;
@@ -34,29 +32,42 @@ public class PceRequestFrameFactory {
     return new PceRequestFrame(RP, endPoints, bandwidth);
   }
 
+  /**
+   * Function to decode the first request of a PCReq message
+   *
+   * @param message
+   * @return the first request frame, holding the SVEC objects of the message
+   */
   public static PceRequestFrame getPathComputationRequestFrame(PceMessage message) {
+    return getPathComputationRequestFrames(message).getFirst();
+  }
 
+  /**
+   * Function to decode all requests of a PCReq message. RFC 5440 allows several requests per
+   * message, every RP object starts a new request. The SVEC objects preceding the requests are
+   * inserted into the first request frame, so that the frames are encoded into the same objects.
+   *
+   * @param message
+   * @return request frames in the order of the message, at least one
+   */
+  public static LinkedList<PceRequestFrame> getPathComputationRequestFrames(PceMessage message) {
+
+    LinkedList<PceRequestFrame> requestFrames = new LinkedList<PceRequestFrame>();
     LinkedList<PceSynchronizationVectorObject> SVECList = null;
-    PceRequestParametersObject RP = null;
-    PceEndPointsObject endPoints = null;
-    PceLabelSwitchedPathAttributesObject LSPA = null;
-    PceBandwidthObject bandwidth = null;
-    LinkedList<PceMetricObject> metricList = null;
-    PceReportedRouteObject RRO = null;
-    PceIncludeRouteObject IRO = null;
-    PceLoadBalancingObject loadBalancing = null;
+    // Set once the RRO of the current request was read, a following BANDWIDTH object holds the
+    // bandwidth of the existing LSP and not the requested bandwidth
+    boolean RROFound = false;
     //		PCEPGeneralizedEndPointsTNAObject generalizedEndPointTNA = null;
-    LinkedList<PceObjectFrame> objectList = message.getObjectsList();
-
-    for (int i = 0; i < objectList.size(); i++) {
+    // Objects are only decoded once their class is known to be relevant for the frame
+    int objectCount = message.getObjectCount();
 
-      PceObjectFrame objectFrame = objectList.get(i);
-      PceCommonObjectHeader objectFrameHeader = objectFrame.getObjectHeader();
+    for (int i = 0; i < objectCount; i++) {
 
-      switch (objectFrameHeader.getClassDecimalValue()) {
+      switch (message.getObjectClass(i)) {
         case 11:
           {
-            PceSynchronizationVectorObject SVEC = (PceSynchronizationVectorObject) objectFrame;
+            PceSynchronizationVectorObject SVEC =
+                (PceSynchronizationVectorObject) message.getObject(i);
 
             if (SVECList != null) {
               SVECList.add(SVEC);
@@ -70,56 +81,68 @@ public class PceRequestFrameFactory {
 
         case 2:
           {
-            RP = (PceRequestParametersObject) objectFrame;
+            PceRequestParametersObject RP = (PceRequestParametersObject) message.getObject(i);
+            requestFrames.add(new PceRequestFrame(RP, null));
+            RROFound = false;
             break;
           }
         case 4:
           {
-            // generalizedEndPointTNA = (PCEPGeneralizedEndPointsTNAObject) objectFrame;
-            endPoints = (PceEndPointsObject) objectFrame;
+            // generalizedEndPointTNA = (PCEPGeneralizedEndPointsTNAObject) message.getObject(i);
+            getCurrentRequestFrame(requestFrames)
+                .insertEndPointsObject((PceEndPointsObject) message.getObject(i));
             break;
           }
         case 9:
           {
-            LSPA = (PceLabelSwitchedPathAttributesObject) objectFrame;
+            getCurrentRequestFrame(requestFrames)
+                .insertLabelSwitchedPathAttributesObject(
+                    (PceLabelSwitchedPathAttributesObject) message.getObject(i));
             break;
           }
 
         case 5:
           {
-            bandwidth = (PceBandwidthObject) objectFrame;
+            if (!RROFound) {
+              getCurrentRequestFrame(requestFrames)
+                  .insertBandwidthObject((PceBandwidthObject) message.getObject(i));
+            }
             break;
           }
 
         case 6:
           {
-            PceMetricObject metricObject = (PceMetricObject) objectFrame;
-
-            if (metricList != null) {
-              metricList.add(metricObject);
-            } else {
-              metricList = new LinkedList<PceMetricObject>();
-              metricList.add(metricObject);
-            }
-
+            getCurrentRequestFrame(requestFrames)
+                .insertMetricObject((PceMetricObject) message.getObject(i));
             break;
           }
 
         case 8:
           {
-            RRO = (PceReportedRouteObject) objectFrame;
+            getCurrentRequestFrame(requestFrames)
+                .insertReportedRouteObject((PceReportedRouteObject) message.getObject(i));
+            RROFound = true;
             break;
           }
 
         case 10:
           {
-            IRO = (PceIncludeRouteObject) objectFrame;
+            getCurrentRequestFrame(requestFrames)
+                .insertIncludeRouteObject((PceIncludeRouteObject) message.getObject(i));
             break;
           }
 
         case 14:
           {
-            loadBalancing = (PceLoadBalancingObject) objectFrame;
+            getCurrentRequestFrame(requestFrames)
+                .insertLoadBalancingObject((PceLoadBalancingObject) message.getObject(i));
+            break;
+          }
+
+        case 21:
+          {
+            getCurrentRequestFrame(requestFrames)
+                .insertObjectiveFunctionObject((PceObjectiveFunctionObject) message.getObject(i));
             break;
           }
 
@@ -130,39 +153,28 @@ public class PceRequestFrameFactory {
       }
     }
 
-    PceRequestFrame requestFrame = new PceRequestFrame(RP, endPoints);
-
-    if (endPoints != null) {
-      requestFrame = new PceRequestFrame(RP, endPoints);
+    // A message without request objects is decoded into an empty request
+    if (requestFrames.isEmpty()) {
+      requestFrames.add(new PceRequestFrame(null, null));
     }
-
     if (SVECList != null) {
-      requestFrame.insertSynchronizationVectorObjectList(SVECList);
-    }
-    if (LSPA != null) {
-      requestFrame.insertLabelSwitchedPathAttributesObject(LSPA);
-    }
-    if (bandwidth != null) {
-      requestFrame.insertBandwidthObject(bandwidth);
-    }
-    if (metricList != null) {
-      requestFrame.insertMetricObjectList(metricList);
-    }
-    if (RRO != null) {
-      requestFrame.insertReportedRouteObject(RRO);
-    }
-    if (IRO != null) {
-      requestFrame.insertIncludeRouteObject(IRO);
-    }
-    if (loadBalancing != null) {
-      requestFrame.insertLoadBalancingObject(loadBalancing);
+      requestFrames.getFirst().insertSynchronizationVectorObjectList(SVECList);
     }
 
     // if(generalizedEndPointTNA!=null){
     // requestFrame = new PceRequestFrame(RP,generalizedEndPointTNA);
     //	}
 
-    return requestFrame;
+    return requestFrames;
+  }
+
+  // Function to get the request the next object belongs to, objects preceding the first RP object
+  // are kept in a request without RP object
+  private static PceRequestFrame getCurrentRequestFrame(LinkedList<PceRequestFrame> requestFrames) {
+    if (requestFrames.isEmpty()) {
+      requestFrames.add(new PceRequestFrame(null, null));
+    }
+    return requestFrames.getLast();
   }
 
   public static PceRequestFrame generatePathComputationRequestFrame(
@@ -15,8 +15,6 @@
 package com.pcee.protocol.response;
 
 import com.pcee.protocol.message.PceMessage;
-import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
-import com.pcee.protocol.message.objectframe.PceObjectFrame;
 import com.pcee.protocol.message.objectframe.impl.*;
 import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
 import java.util.LinkedList;
@@ -29,81 +27,79 @@ public class PceResponseFrameFactory {
     return new PceResponseFrame(RP);
   }
 
+  /**
+   * Function to decode the first response of a PCRep message
+   *
+   * @param message
+   * @return the first response frame
+   */
   public static PceResponseFrame getPathComputationResponseFrame(PceMessage message) {
+    return getPathComputationResponseFrames(message).getFirst();
+  }
 
-    PceRequestParametersObject RP = null;
-    PceNoPathObject noPath = null;
-    PceLabelSwitchedPathAttributesObject LSPA = null;
-    LinkedList<PceBandwidthObject> bwList = null;
-    LinkedList<PceMetricObject> metricList = null;
-    PceIncludeRouteObject IRO = null;
-    LinkedList<PceExplicitRouteObject> EROList = null;
+  /**
+   * Function to decode all responses of a PCRep message, every RP object starts a new response
+   *
+   * @param message
+   * @return response frames in the order of the message, at least one
+   */
+  public static LinkedList<PceResponseFrame> getPathComputationResponseFrames(PceMessage message) {
 
-    LinkedList<PceObjectFrame> objectList = message.getObjectsList();
+    LinkedList<PceResponseFrame> responseFrames = new LinkedList<PceResponseFrame>();
 
-    for (int i = 0; i < objectList.size(); i++) {
+    // Objects are only decoded once their class is known to be relevant for the frame
+    int objectCount = message.getObjectCount();
 
-      PceObjectFrame objectFrame = objectList.get(i);
-      PceCommonObjectHeader objectFrameHeader = objectFrame.getObjectHeader();
+    for (int i = 0; i < objectCount; i++) {
 
-      switch (objectFrameHeader.getClassDecimalValue()) {
+      switch (message.getObjectClass(i)) {
         case 2:
           {
-            RP = (PceRequestParametersObject) objectFrame;
+            PceRequestParametersObject RP = (PceRequestParametersObject) message.getObject(i);
+            responseFrames.add(new PceResponseFrame(RP));
             break;
           }
 
         case 3:
           {
-            noPath = (PceNoPathObject) objectFrame;
+            getCurrentResponseFrame(responseFrames)
+                .insertNoPathObject((PceNoPathObject) message.getObject(i));
             break;
           }
 
         case 9:
           {
-            LSPA = (PceLabelSwitchedPathAttributesObject) objectFrame;
+            getCurrentResponseFrame(responseFrames)
+                .insertLabelSwitchedPathAttributesObject(
+                    (PceLabelSwitchedPathAttributesObject) message.getObject(i));
             break;
           }
 
         case 5:
           {
-            PceBandwidthObject bw = (PceBandwidthObject) objectFrame;
-            if (bwList == null) bwList = new LinkedList<PceBandwidthObject>();
-            bwList.add(bw);
+            getCurrentResponseFrame(responseFrames)
+                .insertBandwidthObject((PceBandwidthObject) message.getObject(i));
             break;
           }
 
         case 6:
           {
-            PceMetricObject metricObject = (PceMetricObject) objectFrame;
-
-            if (metricList != null) {
-              metricList.add(metricObject);
-            } else {
-              metricList = new LinkedList<PceMetricObject>();
-              metricList.add(metricObject);
-            }
-
+            getCurrentResponseFrame(responseFrames)
+                .insertMetricObject((PceMetricObject) message.getObject(i));
             break;
           }
 
         case 10:
           {
-            IRO = (PceIncludeRouteObject) objectFrame;
+            getCurrentResponseFrame(responseFrames)
+                .insertIncludeRouteObject((PceIncludeRouteObject) message.getObject(i));
             break;
           }
 
         case 7:
           {
-            PceExplicitRouteObject ERO = (PceGenericExplicitRouteObjectImpl) objectFrame;
-
-            if (EROList != null) {
-              EROList.add(ERO);
-            } else {
-              EROList = new LinkedList<PceExplicitRouteObject>();
-              EROList.add(ERO);
-            }
-
+            PceExplicitRouteObject ERO = (PceGenericExplicitRouteObjectImpl) message.getObject(i);
+            getCurrentResponseFrame(responseFrames).insertExplicitRouteObject(ERO);
             break;
           }
 
@@ -114,32 +110,21 @@ public class PceResponseFrameFactory {
       }
     }
 
-    PceResponseFrame responseFrame = new PceResponseFrame(RP);
-
-    if (noPath != null) {
-      responseFrame.insertNoPathObject(noPath);
-    }
-
-    if (LSPA != null) {
-      responseFrame.insertLabelSwitchedPathAttributesObject(LSPA);
+    // A message without response objects is decoded into an empty response
+    if (responseFrames.isEmpty()) {
+      responseFrames.add(new PceResponseFrame(null));
     }
 
-    if (bwList != null) {
-      responseFrame.insertBandwidthObjectList(bwList);
-    }
-
-    if (metricList != null) {
-      responseFrame.insertMetricObjectList(metricList);
-    }
-
-    if (IRO != null) {
-      responseFrame.insertIncludeRouteObject(IRO);
-    }
+    return responseFrames;
+  }
 
-    if (EROList != null) {
-      responseFrame.insertExplicitRouteObjectList(EROList);
+  // Function to get the response the next object belongs to, objects preceding the first RP object
+  // are kept in a response without RP object
+  private static PceResponseFrame getCurrentResponseFrame(
+      LinkedList<PceResponseFrame> responseFrames) {
+    if (responseFrames.isEmpty()) {
+      responseFrames.add(new PceResponseFrame(null));
     }
-
-    return responseFrame;
+    return responseFrames.getLast();
   }
 }
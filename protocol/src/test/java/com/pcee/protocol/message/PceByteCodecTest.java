@@ -0,0 +1,201 @@
+package com.pcee.protocol.message;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.objectframe.PceCommonObjectHeader;
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceMetricObject;
+import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.EroSubobjects;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@DisplayName("PceByteCodec Tests")
+class PceByteCodecTest {
+
+  // Builds a request/response style message covering byte native and string backed objects
+  private PceMessage createMessage() {
+    LinkedList<PceObjectFrame> objects = new LinkedList<PceObjectFrame>();
+    objects.add(
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "1", "0", "1", "1", "77"));
+    objects.add(
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1",
+            "0",
+            new PceAddress("192.168.1.5", false),
+            new PceAddress("10.0.0.250", false)));
+    objects.add(PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 101.5f));
+    objects.add(PceObjectFrameFactory.generatePCEPMetricObject("1", "0", "1", "1", 2, 245.9f));
+    objects.add(PceObjectFrameFactory.generatePCEPNoPathObject("1", "1", 1, "1"));
+
+    ArrayList<EroSubobjects> subObjects = new ArrayList<EroSubobjects>();
+    subObjects.add(new PceAddress("1.2.3.4", false));
+    subObjects.add(new PceAddress("5.6.7.8", false));
+    objects.add(PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", subObjects));
+    objects.add(PceObjectFrameFactory.generatePCEPCloseObject("1", "0", 2));
+
+    PceCommonMessageHeader header = new PceCommonMessageHeader(1, 3);
+    int length = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+    for (PceObjectFrame object : objects) {
+      length += object.getObjectFrameByteLength();
+    }
+    header.setLengthDecimalValue(length);
+
+    return new PceMessage(header, objects);
+  }
+
+  @Nested
+  @DisplayName("Bit field access")
+  class BitFieldTests {
+
+    @ParameterizedTest(name = "Start bit: {0}, Length: {1}, Value: {2}")
+    @CsvSource({
+      "0, 3, 5",
+      "3, 5, 17",
+      "8, 8, 255",
+      "14, 1, 1",
+      "16, 16, 65535",
+      "5, 13, 4097",
+      "0, 32, 4294967295"
+    })
+    void testWriteThenReadBits(int startBit, int bitLength, long value) {
+      byte[] bytes = new byte[6];
+      PceByteCodec.writeBits(bytes, 1, startBit, bitLength, value);
+
+      assertEquals(value, PceByteCodec.readBits(bytes, 1, startBit, bitLength));
+      assertEquals(0, bytes[0], "Bytes before the offset should be untouched");
+    }
+
+    @Test
+    void testWriteBitsKeepsNeighbouringBits() {
+      byte[] bytes = {(byte) 0xFF, (byte) 0xFF};
+      PceByteCodec.writeBits(bytes, 0, 4, 8, 0);
+
+      assertArrayEquals(new byte[] {(byte) 0xF0, (byte) 0x0F}, bytes);
+    }
+
+    @Test
+    void testUnsupportedBitLength() {
+      assertThrows(
+          IllegalArgumentException.class, () -> PceByteCodec.readBits(new byte[8], 0, 0, 33));
+    }
+
+    @Test
+    void testBinaryStringConversion() {
+      byte[] bytes = {(byte) 0xA5, 0x01};
+      String binaryString = PceByteCodec.toBinaryString(bytes, 0, bytes.length);
+
+      assertEquals("1010010100000001", binaryString);
+      assertArrayEquals(bytes, PceByteCodec.toByteArray(binaryString));
+      assertEquals("00101", PceByteCodec.toBinaryString(5, 5));
+      assertEquals(5, PceByteCodec.parseBinaryString("00101"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Header decoding")
+  class HeaderTests {
+
+    @Test
+    void testMessageHeaderMatchesStringDecoding() {
+      String binaryString = "10101010101010101010101010101010";
+      PceCommonMessageHeader fromString = new PceCommonMessageHeader(binaryString);
+      PceCommonMessageHeader fromBytes =
+          new PceCommonMessageHeader(PceByteCodec.toByteArray(binaryString), 0);
+
+      assertEquals(fromString.getVersionDecimalValue(), fromBytes.getVersionDecimalValue());
+      assertEquals(fromString.getFlagsDecimalValue(), fromBytes.getFlagsDecimalValue());
+      assertEquals(fromString.getTypeDecimalValue(), fromBytes.getTypeDecimalValue());
+      assertEquals(fromString.getLengthDecimalValue(), fromBytes.getLengthDecimalValue());
+      assertEquals(binaryString, fromBytes.getHeaderBinaryString());
+
+      byte[] encoded = new byte[4];
+      assertEquals(4, fromBytes.writeHeaderBytes(encoded, 0));
+      assertArrayEquals(PceByteCodec.toByteArray(binaryString), encoded);
+    }
+
+    @Test
+    void testObjectHeaderMatchesStringDecoding() {
+      PceCommonObjectHeader header = new PceCommonObjectHeader(21, 3, "1", "0");
+      header.setLengthDecimalValue(300);
+
+      byte[] encoded = new byte[4];
+      header.writeHeaderBytes(encoded, 0);
+      PceCommonObjectHeader decoded = new PceCommonObjectHeader(encoded, 0);
+
+      assertEquals(21, decoded.getClassDecimalValue());
+      assertEquals(3, decoded.getTypeDecimalValue());
+      assertEquals(1, decoded.getPFlagDecimalValue());
+      assertEquals(0, decoded.getIFlagDecimalValue());
+      assertEquals(300, decoded.getLengthDecimalValue());
+      assertEquals(header.getHeaderBinaryString(), decoded.getHeaderBinaryString());
+    }
+  }
+
+  @Nested
+  @DisplayName("Message encoding and decoding")
+  class MessageTests {
+
+    @Test
+    void testEncodingMatchesBinaryString() {
+      PceMessage message = createMessage();
+
+      assertArrayEquals(
+          PceComputationFactory.rawMessageToByteArray(message.getMessageString()),
+          message.getMessageByteArray());
+    }
+
+    @Test
+    void testDecodingRoundTrip() {
+      PceMessage message = createMessage();
+      PceMessage decoded = new PceMessage(message.getMessageByteArray());
+
+      assertEquals(message.getObjectsList().size(), decoded.getObjectsList().size());
+      assertEquals(message.getMessageString(), decoded.getMessageString());
+
+      PceRequestParametersObject rp = (PceRequestParametersObject) decoded.getObjectsList().get(0);
+      assertEquals(77, rp.getRequestIDNumberDecimalValue());
+      assertEquals(1, rp.getOFlagDecimalValue());
+      assertEquals(1, rp.getRFlagDecimalValue());
+
+      PceEndPointsObject endPoints = (PceEndPointsObject) decoded.getObjectsList().get(1);
+      assertEquals(
+          "192.168.1.5",
+          new PceAddress(endPoints.getSourceAddressBinaryString()).getIPv4Address(false));
+
+      PceBandwidthObject bandwidth = (PceBandwidthObject) decoded.getObjectsList().get(2);
+      assertEquals(101.5f, bandwidth.getBandwidthFloatValue(), 0.0f);
+
+      PceMetricObject metric = (PceMetricObject) decoded.getObjectsList().get(3);
+      assertEquals(2, metric.getTypeDecimalValue());
+      assertEquals(1, metric.getBFlagDecimalValue());
+      assertEquals(245.9f, metric.getMetricValueFloatValue(), 0.0f);
+
+      PceNoPathObject noPath = (PceNoPathObject) decoded.getObjectsList().get(4);
+      assertEquals(1, noPath.getNatureOfIssueDecimalValue());
+      assertEquals(1, noPath.getConstraintsFlagDecimalValue());
+    }
+
+    @Test
+    void testTruncatedObjectIsDropped() {
+      byte[] bytes = createMessage().getMessageByteArray();
+      byte[] truncated = new byte[bytes.length - 2];
+      System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+      PceMessage decoded = new PceMessage(truncated);
+
+      assertEquals(createMessage().getObjectsList().size() - 1, decoded.getObjectsList().size());
+    }
+  }
+}
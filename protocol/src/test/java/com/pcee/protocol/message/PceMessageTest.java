@@ -0,0 +1,186 @@
+package com.pcee.protocol.message;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.objectframe.PceObjectFrame;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceBandwidthObject;
+import com.pcee.protocol.message.objectframe.impl.PceNoPathObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PceMessage Tests")
+class PceMessageTest {
+
+  // Builds a path computation request holding RP, END-POINTS, BANDWIDTH and METRIC objects
+  private byte[] createRequestBytes() {
+    LinkedList<PceObjectFrame> objects = new LinkedList<PceObjectFrame>();
+    objects.add(
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", "12"));
+    objects.add(
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1", "0", new PceAddress("192.168.1.1", false), new PceAddress("192.168.1.9", false)));
+    objects.add(PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 50f));
+    objects.add(PceObjectFrameFactory.generatePCEPMetricObject("1", "0", "0", "0", 2, 10f));
+
+    PceCommonMessageHeader header = new PceCommonMessageHeader(1, 3);
+    int length = PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8;
+    for (PceObjectFrame object : objects) {
+      length += object.getObjectFrameByteLength();
+    }
+    header.setLengthDecimalValue(length);
+
+    return new PceMessage(header, objects).getMessageByteArray();
+  }
+
+  @Nested
+  @DisplayName("Lazy object decoding")
+  class LazyDecodingTests {
+
+    @Test
+    void testObjectsAreIndexedWithoutDecoding() {
+      PceMessage message = new PceMessage(createRequestBytes());
+
+      assertEquals(3, message.getMessageHeader().getTypeDecimalValue());
+      assertEquals(4, message.getObjectCount());
+      assertEquals(2, message.getObjectClass(0));
+      assertEquals(4, message.getObjectClass(1));
+      assertEquals(5, message.getObjectClass(2));
+      assertEquals(6, message.getObjectClass(3));
+      assertEquals(5, message.getObjectHeader(2).getClassDecimalValue());
+      assertThrows(IndexOutOfBoundsException.class, () -> message.getObject(4));
+    }
+
+    @Test
+    void testDecodedObjectsAreCached() {
+      PceMessage message = new PceMessage(createRequestBytes());
+
+      PceObjectFrame bandwidth = message.getObject(2);
+      assertSame(bandwidth, message.getObject(2));
+      assertSame(bandwidth, message.getFirstObject(5));
+      assertSame(bandwidth, message.getObjectsList().get(2));
+      assertNull(message.getFirstObject(7));
+    }
+
+    @Test
+    void testUntouchedMessageIsEncodedUnchanged() {
+      byte[] bytes = createRequestBytes();
+
+      assertArrayEquals(bytes, new PceMessage(bytes).getMessageByteArray());
+    }
+
+    @Test
+    void testChangesToDecodedObjectsAreEncoded() {
+      PceMessage message = new PceMessage(createRequestBytes());
+
+      PceRequestParametersObject rp = (PceRequestParametersObject) message.getObject(0);
+      rp.setRequestIDNumberDecimalValue(99);
+
+      PceMessage decoded = new PceMessage(message.getMessageByteArray());
+      assertEquals(
+          99, ((PceRequestParametersObject) decoded.getObject(0)).getRequestIDNumberDecimalValue());
+    }
+
+    @Test
+    void testRequestPriorityIsEncoded() {
+      PceMessage message = new PceMessage(createRequestBytes());
+      PceRequestParametersObject rp = (PceRequestParametersObject) message.getObject(0);
+      assertEquals(1, rp.getPriFlagDecimalValue());
+      rp.setPriFlagDecimalValue(6);
+
+      PceMessage decoded = new PceMessage(message.getMessageByteArray());
+      PceRequestParametersObject decodedRp = (PceRequestParametersObject) decoded.getObject(0);
+      assertEquals(6, decodedRp.getPriFlagDecimalValue());
+      assertEquals("110", decodedRp.getPriFlagBinaryString());
+      assertEquals(12, decodedRp.getRequestIDNumberDecimalValue());
+    }
+
+    @Test
+    void testNoPathVectorIsEncoded() {
+      PceNoPathObject noPath = PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0");
+      assertFalse(noPath.containsNoPathVector());
+      noPath.setNoPathVectorDecimalValue(PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE);
+      LinkedList<PceObjectFrame> objects = new LinkedList<PceObjectFrame>();
+      objects.add(noPath);
+      PceCommonMessageHeader header = new PceCommonMessageHeader(1, 4);
+      header.setLengthDecimalValue(
+          PceConstantValues.COMMON_MESSAGE_HEADER_LENGTH / 8 + noPath.getObjectFrameByteLength());
+
+      PceMessage decoded = new PceMessage(new PceMessage(header, objects).getMessageByteArray());
+      PceNoPathObject decodedNoPath = (PceNoPathObject) decoded.getObject(0);
+      assertEquals(16, decodedNoPath.getObjectFrameByteLength());
+      assertTrue(decodedNoPath.containsNoPathVector());
+      assertEquals(
+          PceNoPathObject.NO_PATH_VECTOR_PCE_UNAVAILABLE,
+          decodedNoPath.getNoPathVectorDecimalValue());
+    }
+
+    @Test
+    void testChangesToObjectListAreEncoded() {
+      PceMessage message = new PceMessage(createRequestBytes());
+      message.getObjectsList().removeLast();
+
+      PceMessage decoded = new PceMessage(message.getMessageByteArray());
+      assertEquals(3, decoded.getObjectCount());
+    }
+  }
+
+  @Nested
+  @DisplayName("Request deadlines")
+  class DeadlineTests {
+
+    @Test
+    void testMessageWithoutDeadlineNeverExpires() {
+      assertFalse(new PceMessage(createRequestBytes()).isExpired());
+    }
+
+    @Test
+    void testDeadlineExpires() {
+      PceMessage message = new PceMessage(createRequestBytes());
+
+      message.setDeadline(System.nanoTime() + 60_000_000_000L);
+      assertFalse(message.isExpired());
+      message.setDeadline(System.nanoTime() - 1);
+      assertTrue(message.isExpired());
+    }
+  }
+
+  @Nested
+  @DisplayName("Buffer backed messages")
+  class BufferTests {
+
+    @Test
+    void testMessageIsReadFromBufferPosition() {
+      byte[] bytes = createRequestBytes();
+      ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 16);
+      buffer.position(7);
+      buffer.put(bytes);
+      buffer.flip().position(7);
+
+      PceMessage message = new PceMessage(buffer);
+
+      assertEquals(7, buffer.position(), "The buffer position should not be modified");
+      assertEquals(4, message.getObjectCount());
+      assertArrayEquals(bytes, message.getMessageByteArray());
+    }
+
+    @Test
+    void testDirectBufferDecoding() {
+      byte[] bytes = createRequestBytes();
+      ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+      buffer.put(bytes).flip();
+
+      PceMessage message = new PceMessage(buffer);
+
+      PceBandwidthObject bandwidth = (PceBandwidthObject) message.getFirstObject(5);
+      assertEquals(50f, bandwidth.getBandwidthFloatValue(), 0.0f);
+      assertEquals(new PceMessage(bytes).getMessageString(), message.getMessageString());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.pcee.protocol.request;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceEndPointsObject;
+import com.pcee.protocol.message.objectframe.impl.PceLoadBalancingObject;
+import com.pcee.protocol.message.objectframe.impl.PceRequestParametersObject;
+import com.pcee.protocol.message.objectframe.impl.PceSynchronizationVectorObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PceRequestFrameFactory Tests")
+class PceRequestFrameFactoryTest {
+
+  private static PceRequestFrame request(int requestID, String source, String destination) {
+    PceRequestParametersObject rp =
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID));
+    PceEndPointsObject endPoints =
+        PceObjectFrameFactory.generatePCEPEndPointsObject(
+            "1", "0", new PceAddress(source, false), new PceAddress(destination, false));
+    return PceRequestFrameFactory.generatePathComputationRequestFrame(rp, endPoints);
+  }
+
+  // Encodes the frames into a single message and decodes it like a received message
+  private static PceMessage receive(List<PceRequestFrame> requestFrames) {
+    return new PceMessage(PceMessageFactory.generateMessage(requestFrames).getMessageByteArray());
+  }
+
+  @Nested
+  @DisplayName("getPathComputationRequestFrames(PceMessage message)")
+  class MultipleRequestTests {
+
+    @Test
+    void testEveryRequestIsDecoded() {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      requestFrames.add(request(1, "192.168.1.1", "192.168.1.2"));
+      PceRequestFrame second = request(2, "192.168.1.3", "192.168.1.4");
+      second.insertBandwidthObject(
+          PceObjectFrameFactory.generatePCEPBandwidthObject("1", "0", 50f));
+      requestFrames.add(second);
+      PceRequestFrame third = request(3, "192.168.1.5", "192.168.1.6");
+      third.insertMetricObject(
+          PceObjectFrameFactory.generatePCEPMetricObject("1", "0", "0", "0", 2, 10f));
+      requestFrames.add(third);
+
+      LinkedList<PceRequestFrame> decoded =
+          PceRequestFrameFactory.getPathComputationRequestFrames(receive(requestFrames));
+
+      assertEquals(3, decoded.size());
+      assertEquals(1, decoded.get(0).getRequestID());
+      assertEquals("192.168.1.2", decoded.get(0).getDestinationAddress().getIPv4Address(false));
+      assertFalse(decoded.get(0).containsBandwidthObject());
+      assertEquals(2, decoded.get(1).getRequestID());
+      assertEquals("192.168.1.3", decoded.get(1).getSourceAddress().getIPv4Address(false));
+      assertEquals(50f, decoded.get(1).extractBandwidthObject().getBandwidthFloatValue());
+      assertFalse(decoded.get(1).containsMetricObjectList());
+      assertEquals(3, decoded.get(2).getRequestID());
+      assertEquals(1, decoded.get(2).extractMetricObjectList().size());
+      assertFalse(decoded.get(2).containsBandwidthObject());
+    }
+
+    @Test
+    void testLoadBalancingIsDecoded() {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      PceRequestFrame first = request(1, "192.168.1.1", "192.168.1.2");
+      first.insertLoadBalancingObject(
+          PceObjectFrameFactory.generatePCEPLoadBalancingObject(
+              "1", "0", 4, Integer.toBinaryString(Float.floatToIntBits(2.5f))));
+      requestFrames.add(first);
+
+      PceLoadBalancingObject loadBalancing =
+          PceRequestFrameFactory.getPathComputationRequestFrames(receive(requestFrames))
+              .getFirst()
+              .extractLoadBalancingObject();
+
+      assertEquals(4, loadBalancing.getMaxLSPDecimalValue());
+      assertEquals(2.5f, loadBalancing.getMinBandwidthFloatValue());
+    }
+
+    @Test
+    void testObjectiveFunctionIsDecoded() {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      requestFrames.add(request(1, "192.168.1.1", "192.168.1.2"));
+      PceRequestFrame second = request(2, "192.168.1.3", "192.168.1.4");
+      second.insertObjectiveFunctionObject(
+          PceObjectFrameFactory.generatePCEPObjectiveFunctionObject("1", "0", 2));
+      requestFrames.add(second);
+
+      LinkedList<PceRequestFrame> decoded =
+          PceRequestFrameFactory.getPathComputationRequestFrames(receive(requestFrames));
+
+      assertFalse(decoded.get(0).containsObjectiveFunctionObject());
+      assertEquals(2, decoded.get(1).extractObjectiveFunctionObject().getOfCodeDecimalValue());
+    }
+
+    @Test
+    void testSingleRequestIsDecoded() {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      requestFrames.add(request(7, "192.168.1.1", "192.168.1.2"));
+      PceMessage message = receive(requestFrames);
+
+      PceRequestFrame requestFrame = PceRequestFrameFactory.getPathComputationRequestFrame(message);
+
+      assertEquals(1, PceRequestFrameFactory.getPathComputationRequestFrames(message).size());
+      assertEquals(7, requestFrame.getRequestID());
+    }
+
+    @Test
+    void testSynchronizationVectorIsDecoded() {
+      List<PceRequestFrame> requestFrames = new ArrayList<PceRequestFrame>();
+      requestFrames.add(request(1, "192.168.1.1", "192.168.1.2"));
+      requestFrames.add(request(258, "192.168.1.1", "192.168.1.2"));
+      LinkedList<String> requestIDs = new LinkedList<String>();
+      requestIDs.add("1");
+      requestIDs.add("258");
+      requestFrames
+          .get(0)
+          .insertSynchronizationVectorObject(
+              PceObjectFrameFactory.generatePCEPSynchronizationVectorObject(
+                  "1", "0", "0", "1", "1", requestIDs));
+
+      LinkedList<PceRequestFrame> decoded =
+          PceRequestFrameFactory.getPathComputationRequestFrames(receive(requestFrames));
+
+      assertEquals(2, decoded.size());
+      assertEquals(258, decoded.get(1).getRequestID());
+      PceSynchronizationVectorObject svec =
+          decoded.getFirst().extractSynchronizationVectorObjectList().getFirst();
+      assertEquals(List.of(1, 258), svec.getRequestIDNumbersDecimalValues());
+      assertEquals(0, svec.getSFlagDecimalValue());
+      assertEquals(1, svec.getNFlagDecimalValue());
+      assertEquals(1, svec.getLFlagDecimalValue());
+      assertEquals(16, svec.getObjectHeader().getLengthDecimalValue());
+    }
+  }
+}
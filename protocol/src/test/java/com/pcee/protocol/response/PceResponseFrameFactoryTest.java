@@ -0,0 +1,96 @@
+package com.pcee.protocol.response;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.pcee.protocol.message.PceMessage;
+import com.pcee.protocol.message.PceMessageFactory;
+import com.pcee.protocol.message.objectframe.PceObjectFrameFactory;
+import com.pcee.protocol.message.objectframe.impl.PceExplicitRouteObject;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.EroSubobjects;
+import com.pcee.protocol.message.objectframe.impl.erosubobjects.PceAddress;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PceResponseFrameFactory Tests")
+class PceResponseFrameFactoryTest {
+
+  private static PceExplicitRouteObject explicitRoute(String... vertexIDs) {
+    ArrayList<EroSubobjects> vertices = new ArrayList<EroSubobjects>();
+    for (String vertexID : vertexIDs) {
+      vertices.add(new PceAddress(vertexID, false));
+    }
+    return PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", vertices);
+  }
+
+  private static PceResponseFrame response(int requestID) {
+    return PceResponseFrameFactory.generatePathComputationResponseFrame(
+        PceObjectFrameFactory.generatePCEPRequestParametersObject(
+            "1", "0", "0", "0", "0", "1", Integer.toString(requestID)));
+  }
+
+  @Nested
+  @DisplayName("getPathComputationResponseFrames(PceMessage message)")
+  class MultipleResponseTests {
+
+    @Test
+    void testEveryResponseIsDecoded() {
+      ArrayList<EroSubobjects> vertices = new ArrayList<EroSubobjects>();
+      vertices.add(new PceAddress("192.168.1.1", false));
+      vertices.add(new PceAddress("192.168.1.5", false));
+      vertices.add(new PceAddress("192.168.1.2", false));
+      PceResponseFrame path = response(1);
+      path.insertExplicitRouteObject(
+          PceObjectFrameFactory.generatePCEPExplicitRouteObject("1", "0", vertices));
+      PceResponseFrame noPath = response(2);
+      noPath.insertNoPathObject(PceObjectFrameFactory.generatePCEPNoPathObject("1", "0", 1, "0"));
+      List<PceResponseFrame> responseFrames = new ArrayList<PceResponseFrame>();
+      responseFrames.add(path);
+      responseFrames.add(noPath);
+
+      PceMessage message =
+          new PceMessage(PceMessageFactory.generateMessage(responseFrames).getMessageByteArray());
+      LinkedList<PceResponseFrame> decoded =
+          PceResponseFrameFactory.getPathComputationResponseFrames(message);
+
+      assertEquals(4, message.getMessageHeader().getTypeDecimalValue());
+      assertEquals(2, decoded.size());
+      assertEquals(1, decoded.get(0).getRequestID());
+      assertEquals(1, decoded.get(0).extractExplicitRouteObjectList().size());
+      assertFalse(decoded.get(0).containsNoPathObject());
+      assertEquals(2, decoded.get(1).getRequestID());
+      assertTrue(decoded.get(1).containsNoPathObject());
+      assertFalse(decoded.get(1).containsExplicitRouteObjectList());
+    }
+
+    @Test
+    void testEveryExplicitRouteIsDecoded() {
+      LinkedList<PceExplicitRouteObject> EROList = new LinkedList<PceExplicitRouteObject>();
+      EROList.add(explicitRoute("192.168.1.1", "192.168.1.2"));
+      EROList.add(explicitRoute("192.168.1.1", "192.168.1.5", "192.168.1.2"));
+      EROList.add(explicitRoute("192.168.1.1", "192.168.1.6", "192.168.1.7", "192.168.1.2"));
+      PceResponseFrame paths = response(1);
+      paths.insertExplicitRouteObjectList(EROList);
+      List<PceResponseFrame> responseFrames = new ArrayList<PceResponseFrame>();
+      responseFrames.add(paths);
+      responseFrames.add(response(2));
+      responseFrames.get(1).insertExplicitRouteObject(explicitRoute("192.168.1.3", "192.168.1.4"));
+
+      PceMessage message =
+          new PceMessage(PceMessageFactory.generateMessage(responseFrames).getMessageByteArray());
+      LinkedList<PceResponseFrame> decoded =
+          PceResponseFrameFactory.getPathComputationResponseFrames(message);
+
+      assertEquals(2, decoded.size());
+      assertEquals(3, decoded.get(0).extractExplicitRouteObjectList().size());
+      assertEquals(
+          "[192.168.1.1-192.168.1.2-][192.168.1.1-192.168.1.5-192.168.1.2-]"
+              + "[192.168.1.1-192.168.1.6-192.168.1.7-192.168.1.2-]",
+          decoded.get(0).getTraversedVertexes());
+      assertEquals(1, decoded.get(1).extractExplicitRouteObjectList().size());
+    }
+  }
+}
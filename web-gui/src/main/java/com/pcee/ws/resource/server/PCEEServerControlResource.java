@@ -94,8 +94,7 @@ public class PCEEServerControlResource {
 
     List<String> setOfNodes = new ArrayList<String>();
 
-    for (VertexElement v :
-        TopologyInformation.getInstance().getGraph().createCopy().getVertexSet()) {
+    for (VertexElement v : TopologyInformation.getInstance().getGraph().getVertexSet()) {
       setOfNodes.add(
           v.getVertexID()
               + " "
@@ -117,7 +116,7 @@ public class PCEEServerControlResource {
 
     List<String> setOfLinks = new ArrayList<String>();
 
-    for (EdgeElement e : TopologyInformation.getInstance().getGraph().createCopy().getEdgeSet()) {
+    for (EdgeElement e : TopologyInformation.getInstance().getGraph().getEdgeSet()) {
       setOfLinks.add(
           e.getSourceVertex().getVertexID() + " " + e.getDestinationVertex().getVertexID());
     }